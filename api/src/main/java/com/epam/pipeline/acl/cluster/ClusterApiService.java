@@ -16,11 +16,11 @@
 
 package com.epam.pipeline.acl.cluster;
 
-import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.epam.pipeline.controller.ResultWriter;
 import com.epam.pipeline.controller.vo.FilterNodesVO;
 import com.epam.pipeline.entity.cluster.AllowedInstanceAndPriceTypes;
 import com.epam.pipeline.entity.cluster.FilterPodsRequest;
@@ -95,9 +95,11 @@ public class ClusterApiService {
     }
 
     @PreAuthorize(NODE_READ)
-    public InputStream getUsageStatisticsFile(final String name, final LocalDateTime from, final LocalDateTime to,
-                                              final Duration interval, final MonitoringReportType type) {
-        return usageMonitoringManager.getStatsForNodeAsInputStream(name, from, to, interval, type);
+    public ResultWriter getUsageStatisticsReport(final String name, final LocalDateTime from,
+                                                 final LocalDateTime to, final Duration interval,
+                                                 final MonitoringReportType type, final String reportName) {
+        return ResultWriter.checked(reportName,
+            out -> usageMonitoringManager.writeStatsForNode(name, from, to, interval, type, out));
     }
 
     public List<InstanceType> getAllowedInstanceTypes(final Long regionId, final Boolean spot) {
@@ -15,11 +15,12 @@
 
 package com.epam.pipeline.app;
 
+import com.epam.pipeline.manager.cache.NearCacheManager;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -27,9 +28,13 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import redis.clients.jedis.JedisPoolConfig;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 @EnableCaching
@@ -37,10 +42,12 @@ public class CacheConfiguration {
 
     public static final String PREFERENCE_CACHE = "preferences";
     public static final String ACL_CACHE = "aclCache";
+    public static final List<String> CACHES = Arrays.asList(PREFERENCE_CACHE, ACL_CACHE);
 
     private static final String REDIS = "REDIS";
     private static final String MEMORY = "MEMORY";
     private static final String CACHE_TYPE = "cache.type";
+    private static final String CACHE_INVALIDATION_CHANNEL = "cache.invalidation";
 
     @Value("${cache.type:}")
     private String cacheType;
@@ -57,24 +64,55 @@ public class CacheConfiguration {
     @Value("${redis.pool.timeout:20000}")
     private Integer poolTimeout;
 
+    @Value("${cache.local.size:10000}")
+    private Long localCacheSize;
+
+    @Value("${cache.local.ttl.seconds:120}")
+    private Long localCacheTtl;
+
     @Bean
     @Primary
-    public CacheManager cacheManager(final Optional<RedisCacheManager> redisCacheManager) {
+    public CacheManager cacheManager(final Optional<NearCacheManager> redisNearCacheManager) {
         switch (cacheType) {
             case MEMORY:
-                return new ConcurrentMapCacheManager(PREFERENCE_CACHE, ACL_CACHE);
+                return new NearCacheManager(CACHES, localCacheSize, localCacheTtl);
             case REDIS:
-                return redisCacheManager
+                return redisNearCacheManager
                         .orElseThrow(IllegalArgumentException::new);
             default:
                 return new NoOpCacheManager();
         }
     }
 
+    @Bean
+    public PublicMetrics cacheMetrics(final CacheManager cacheManager) {
+        return () -> cacheManager instanceof NearCacheManager
+                ? ((NearCacheManager) cacheManager).getMetrics()
+                : Collections.emptyList();
+    }
+
     @Bean
     @ConditionalOnProperty(value = CACHE_TYPE, havingValue = REDIS)
     public RedisCacheManager redisCacheManager(final RedisTemplate template) {
-        return new RedisCacheManager(template, Arrays.asList(PREFERENCE_CACHE, ACL_CACHE));
+        return new RedisCacheManager(template, CACHES);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = CACHE_TYPE, havingValue = REDIS)
+    public NearCacheManager redisNearCacheManager(final RedisCacheManager redisCacheManager,
+                                                  final RedisTemplate<Object, Object> redisTemplate) {
+        return new NearCacheManager(CACHES, redisCacheManager, redisTemplate, CACHE_INVALIDATION_CHANNEL,
+                localCacheSize, localCacheTtl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = CACHE_TYPE, havingValue = REDIS)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            final RedisConnectionFactory redisConnectionFactory, final NearCacheManager redisNearCacheManager) {
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(redisNearCacheManager, new ChannelTopic(CACHE_INVALIDATION_CHANNEL));
+        return container;
     }
 
     @Bean
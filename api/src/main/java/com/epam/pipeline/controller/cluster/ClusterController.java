@@ -49,7 +49,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -257,11 +256,11 @@ public class ClusterController extends AbstractRestController {
         @RequestParam(value = INTERVAL, required = false, defaultValue = "PT1M") final Duration interval,
         @RequestParam(value = REPORT_TYPE, required = false, defaultValue = "CSV") final MonitoringReportType type,
         final HttpServletResponse response) throws IOException {
-        final InputStream inputStream = clusterApiService.getUsageStatisticsFile(name, from, to, interval, type);
         final String reportName =
             String.format(REPORT_NAME_TEMPLATE, name, from, to, interval, type.name().toLowerCase())
                 .replace(TIME_SEPARATION_CHAR, UNDERSCORE);
-        writeStreamToResponse(response, inputStream, reportName);
+        writeToResponse(response,
+            clusterApiService.getUsageStatisticsReport(name, from, to, interval, type, reportName));
     }
 
     @RequestMapping(value = "/cluster/node/{name}/disks", method = RequestMethod.GET)
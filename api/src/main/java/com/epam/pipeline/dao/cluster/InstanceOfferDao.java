@@ -21,6 +21,9 @@ import com.epam.pipeline.entity.cluster.InstanceOffer;
 import com.epam.pipeline.entity.cluster.InstanceType;
 import com.epam.pipeline.entity.region.CloudProvider;
 import org.apache.commons.collections4.CollectionUtils;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
@@ -28,10 +31,25 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class InstanceOfferDao extends NamedParameterJdbcDaoSupport {
@@ -44,23 +62,67 @@ public class InstanceOfferDao extends NamedParameterJdbcDaoSupport {
     private final String loadFirstInstanceOffer;
     private final String loadInstanceTypesQuery;
     private final String removeInstanceOffersForRegionQuery;
+    private final String createStagedInstanceOfferQuery;
+    private final String copyStagedInstanceOffersQuery;
+    private final String removeStagedInstanceOffersForRegionQuery;
+    private final String removeOutdatedInstanceOffersQuery;
+    private final String publishStagedInstanceOffersQuery;
+    private final String removeStagedInstanceOffersQuery;
 
     private static final int INSERT_BATCH_SIZE = 10000;
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+    private static final String STAGED_REGIONS = "STAGED_REGIONS";
+    private static final String ACTUAL_REGIONS = "ACTUAL_REGIONS";
+    private static final String COPY_NULL = "\\N";
+    private static final String COPY_DELIMITER = "\t";
+    private static final String COPY_ROW_END = "\n";
 
     @Transactional(propagation = Propagation.MANDATORY)
-    @SuppressWarnings("unchecked")
     public void insertInstanceOffers(List<InstanceOffer> offerList) {
         for (int i = 0; i < offerList.size(); i += INSERT_BATCH_SIZE) {
-            final List<InstanceOffer> batchList = offerList.subList(i,
-                    i + INSERT_BATCH_SIZE > offerList.size() ? offerList.size() : i + INSERT_BATCH_SIZE);
+            insertBatch(createInstanceOfferQuery, offerList.subList(i,
+                    i + INSERT_BATCH_SIZE > offerList.size() ? offerList.size() : i + INSERT_BATCH_SIZE));
+        }
+    }
 
-            Map<String, Object>[] batchValues = new Map[batchList.size()];
-            for (int j = 0; j < batchList.size(); j++) {
-                InstanceOffer offer = batchList.get(j);
-                batchValues[j] = InstanceOfferParameters.getParameters(offer).getValues();
-            }
-            getNamedParameterJdbcTemplate().batchUpdate(createInstanceOfferQuery, batchValues);
+    /**
+     * Loads instance offers of a region to the staging table replacing previously staged offers of the region.
+     * Offers are streamed with PostgreSQL COPY protocol if it is available, otherwise they are inserted in batches.
+     * Staged offers are not visible to price queries until they are published.
+     *
+     * @param regionId region of the offers
+     * @param offers producer which passes all offers of the region to the given consumer
+     * @return number of staged offers
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public long stageInstanceOffers(final Long regionId, final Consumer<Consumer<InstanceOffer>> offers) {
+        getJdbcTemplate().update(removeStagedInstanceOffersForRegionQuery, regionId);
+        return getJdbcTemplate().execute((ConnectionCallback<Long>) connection ->
+                connection.isWrapperFor(PGConnection.class)
+                        ? copyStagedInstanceOffers(connection.unwrap(PGConnection.class), offers)
+                        : insertStagedInstanceOffers(offers));
+    }
+
+    /**
+     * Replaces instance offers of the staged regions with the staged ones and removes offers of the regions
+     * which no longer exist. Everything is done in a single transaction, so price queries observe either
+     * the previous or the new price list of a region, but never an empty one.
+     *
+     * @param stagedRegionIds regions which offers were staged
+     * @param actualRegionIds all existing regions
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void publishStagedInstanceOffers(final Collection<Long> stagedRegionIds,
+                                            final Collection<Long> actualRegionIds) {
+        if (CollectionUtils.isEmpty(stagedRegionIds)) {
+            return;
         }
+        final MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue(STAGED_REGIONS, stagedRegionIds)
+                .addValue(ACTUAL_REGIONS, CollectionUtils.union(stagedRegionIds, actualRegionIds));
+        getNamedParameterJdbcTemplate().update(removeOutdatedInstanceOffersQuery, params);
+        getNamedParameterJdbcTemplate().update(publishStagedInstanceOffersQuery, params);
+        getNamedParameterJdbcTemplate().update(removeStagedInstanceOffersQuery, params);
     }
 
     @Transactional(propagation = Propagation.MANDATORY)
@@ -73,6 +135,54 @@ public class InstanceOfferDao extends NamedParameterJdbcDaoSupport {
         getJdbcTemplate().update(removeInstanceOffersForRegionQuery, regionId);
     }
 
+    private long copyStagedInstanceOffers(final PGConnection connection,
+                                          final Consumer<Consumer<InstanceOffer>> offers) throws SQLException {
+        final AtomicLong count = new AtomicLong();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, copyStagedInstanceOffersQuery, COPY_BUFFER_SIZE),
+                StandardCharsets.UTF_8))) {
+            offers.accept(offer -> {
+                try {
+                    writer.write(InstanceOfferParameters.getCopyRow(offer));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count.incrementAndGet();
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new SQLException("Failed to copy instance offers to the staging table: " + e.getMessage(), e);
+        }
+        return count.get();
+    }
+
+    private long insertStagedInstanceOffers(final Consumer<Consumer<InstanceOffer>> offers) {
+        final List<InstanceOffer> batch = new ArrayList<>();
+        final AtomicLong count = new AtomicLong();
+        offers.accept(offer -> {
+            batch.add(offer);
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                insertBatch(createStagedInstanceOfferQuery, batch);
+                count.addAndGet(batch.size());
+                batch.clear();
+            }
+        });
+        insertBatch(createStagedInstanceOfferQuery, batch);
+        return count.addAndGet(batch.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insertBatch(final String query, final List<InstanceOffer> batchList) {
+        if (batchList.isEmpty()) {
+            return;
+        }
+        Map<String, Object>[] batchValues = new Map[batchList.size()];
+        for (int j = 0; j < batchList.size(); j++) {
+            InstanceOffer offer = batchList.get(j);
+            batchValues[j] = InstanceOfferParameters.getParameters(offer).getValues();
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(query, batchValues);
+    }
+
     public List<InstanceOffer> loadInstanceOffers(InstanceOfferRequestVO instanceOfferRequestVO) {
         MapSqlParameterSource params = new MapSqlParameterSource();
         String query = wherePattern.matcher(loadInstanceOfferQuery)
@@ -223,6 +333,35 @@ public class InstanceOfferDao extends NamedParameterJdbcDaoSupport {
             return params;
         }
 
+        /**
+         * Builds a row of COPY text format, columns order matches the order of enum constants.
+         */
+        static String getCopyRow(InstanceOffer offer) {
+            return Stream.of(offer.getSku(), offer.getTermType(), offer.getUnit(), offer.getPricePerUnit(),
+                    offer.getCurrency(), offer.getInstanceType(), offer.getTenancy(), offer.getOperatingSystem(),
+                    offer.getProductFamily(), offer.getVolumeType(), formatCopyDate(offer.getPriceListPublishDate()),
+                    offer.getVCPU(), offer.getMemory(), offer.getMemoryUnit(), offer.getInstanceFamily(),
+                    offer.getGpu(), offer.getRegionId())
+                    .map(InstanceOfferParameters::formatCopyValue)
+                    .collect(Collectors.joining(COPY_DELIMITER, "", COPY_ROW_END));
+        }
+
+        private static String formatCopyDate(Date date) {
+            return date == null ? null
+                    : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(date.toInstant().atOffset(ZoneOffset.UTC));
+        }
+
+        private static String formatCopyValue(Object value) {
+            if (value == null) {
+                return COPY_NULL;
+            }
+            return value.toString()
+                    .replace("\\", "\\\\")
+                    .replace("\t", "\\t")
+                    .replace("\n", "\\n")
+                    .replace("\r", "\\r");
+        }
+
         static RowMapper<InstanceOffer> getRowMapper() {
             return (rs, rowNum) -> {
                 InstanceOffer instanceOffer = new InstanceOffer();
@@ -46,9 +46,9 @@ import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Period;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -201,7 +201,7 @@ public abstract class AbstractMetricRequester implements MetricRequester, Monito
         final LocalDate fromDate = from.toLocalDate();
         final LocalDate toDate = to.toLocalDate();
         return Stream.iterate(fromDate, date -> date.plusDays(1))
-                .limit(Period.between(fromDate, toDate).getDays() + 1)
+                .limit(ChronoUnit.DAYS.between(fromDate, toDate) + 1)
                 .map(date -> date.format(DATE_FORMATTER))
                 .map(str -> String.format(INDEX_NAME_PATTERN, str))
                 .toArray(String[]::new);
@@ -38,6 +38,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -116,6 +117,25 @@ public class FSRequester extends AbstractMetricRequester {
                                         .subAggregation(average(AVG_AGGREGATION + LIMIT, LIMIT)))));
     }
 
+    @Override
+    public Set<String> requestResourceNames(final String nodeName, final LocalDateTime from,
+                                           final LocalDateTime to) {
+        final SearchRequest request = request(from, to,
+                statsQuery(nodeName, NODE, from, to)
+                        .size(0)
+                        .aggregation(ordered(AggregationBuilders.terms(AGGREGATION_DISK_NAME))
+                                .field(path(FIELD_METRICS_TAGS, RESOURCE_ID))));
+        return Optional.ofNullable(executeRequest(request).getAggregations())
+                .map(aggregations -> aggregations.get(AGGREGATION_DISK_NAME))
+                .filter(it -> it instanceof Terms)
+                .map(Terms.class::cast)
+                .map(Terms::getBuckets)
+                .map(List::stream)
+                .orElseGet(Stream::empty)
+                .map(Terms.Bucket::getKeyAsString)
+                .collect(Collectors.toSet());
+    }
+
     @Override
     protected List<MonitoringStats> parseStatsResponse(final SearchResponse response) {
         return Optional.ofNullable(response.getAggregations())
@@ -20,7 +20,9 @@ import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Node usage monitoring requester.
@@ -39,4 +41,16 @@ public interface MonitoringRequester {
      * @return Monitoring stats for the given period.
      */
     List<MonitoringStats> requestStats(String nodeName, LocalDateTime from, LocalDateTime to, Duration interval);
+
+    /**
+     * Collects names of node resources which stats are split by, e.g. disks or network interfaces.
+     *
+     * @param nodeName Node name to collect resource names for.
+     * @param from Minimal date for collecting resource names.
+     * @param to Maximal date for collecting resource names.
+     * @return Names of the resources which have any stats in the given period.
+     */
+    default Set<String> requestResourceNames(String nodeName, LocalDateTime from, LocalDateTime to) {
+        return Collections.emptySet();
+    }
 }
@@ -28,10 +28,12 @@ import org.elasticsearch.search.aggregations.bucket.MultiBucketsAggregation;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -68,6 +70,12 @@ public class NetworkRequester extends AbstractMetricRequester {
                                 .subAggregation(average(AVG_AGGREGATION + TX_RATE, TX_RATE))));
     }
 
+    @Override
+    public Set<String> requestResourceNames(final String nodeName, final LocalDateTime from,
+                                           final LocalDateTime to) {
+        return Collections.singleton(SYNTHETIC_NETWORK_INTERFACE);
+    }
+
     @Override
     protected List<MonitoringStats> parseStatsResponse(final SearchResponse response) {
         return Optional.ofNullable(response.getAggregations())
@@ -200,6 +200,11 @@ public class BillingHelper {
         return uniqueRunsAggregation;
     }
 
+    public SumAggregationBuilder aggregateRollupRunsCountSum() {
+        return AggregationBuilders.sum(BillingUtils.RUN_COUNT_AGG)
+                .field(BillingUtils.ROLLUP_RUN_COUNT_FIELD);
+    }
+
     public SumAggregationBuilder aggregateCostSum() {
         return costAggregation;
     }
@@ -28,8 +28,11 @@ import com.epam.pipeline.entity.billing.BillingGrouping;
 import com.epam.pipeline.entity.security.acl.AclClass;
 import com.epam.pipeline.exception.search.SearchException;
 import com.epam.pipeline.manager.metadata.MetadataManager;
+import com.epam.pipeline.manager.utils.ElasticClientEndpoint;
+import com.epam.pipeline.manager.utils.ElasticClientLease;
 import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
 import com.epam.pipeline.utils.CommonUtils;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -88,13 +91,17 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -109,6 +116,7 @@ public class BillingManager {
     private final Map<BillingGrouping, EntityBillingDetailsLoader> billingDetailsLoaders;
 
     private final BillingHelper billingHelper;
+    private final BillingRollupHelper billingRollupHelper;
     private final BillingExportManager billingExportManager;
     private final MessageHelper messageHelper;
     private final MetadataManager metadataManager;
@@ -119,6 +127,7 @@ public class BillingManager {
 
     @Autowired
     public BillingManager(final BillingHelper billingHelper,
+                          final BillingRollupHelper billingRollupHelper,
                           final BillingExportManager billingExportManager,
                           final MessageHelper messageHelper,
                           final MetadataManager metadataManager,
@@ -127,6 +136,7 @@ public class BillingManager {
                           final @Value("${billing.center.key}") String billingCenterKey,
                           final List<EntityBillingDetailsLoader> billingDetailsLoaders) {
         this.billingHelper = billingHelper;
+        this.billingRollupHelper = billingRollupHelper;
         this.billingExportManager = billingExportManager;
         this.messageHelper = messageHelper;
         this.metadataManager = metadataManager;
@@ -151,20 +161,18 @@ public class BillingManager {
 
     public List<BillingChartInfo> getBillingChartInfo(final BillingChartRequest request) {
         verifyRequest(request);
-        try (RestHighLevelClient elasticsearchClient = elasticHelper.buildClient()) {
-            final LocalDate from = request.getFrom();
-            final LocalDate to = request.getTo();
-            final BillingGrouping grouping = request.getGrouping();
-            final DateHistogramInterval interval = request.getInterval();
-            final Map<String, List<String>> filters = billingHelper.getFilters(request.getFilters());
+        final LocalDate from = request.getFrom();
+        final LocalDate to = request.getTo();
+        final BillingGrouping grouping = request.getGrouping();
+        final DateHistogramInterval interval = request.getInterval();
+        final Map<String, List<String>> filters = billingHelper.getFilters(request.getFilters());
+        try (ElasticClientLease lease = elasticHelper.getClient(ElasticClientEndpoint.BILLING)) {
             if (interval != null) {
-                return getBillingStats(elasticsearchClient, from, to, filters, interval);
+                return getBillingStats(lease.getClient(), from, to, filters, interval);
             } else {
-                return getBillingStats(elasticsearchClient.getLowLevelClient(), from, to, filters, grouping,
+                return getGroupingBillingStats(lease.getClient(), from, to, filters, grouping,
                         request.isLoadDetails());
             }
-        } catch (IOException e) {
-            throw new SearchException(e.getMessage(), e);
         }
     }
 
@@ -185,7 +193,7 @@ public class BillingManager {
     }
 
     public Double getQuotaExpense(final Quota quota, final LocalDate from, final LocalDate to) {
-        try (RestHighLevelClient elasticsearchClient = elasticHelper.buildClient()) {
+        try (ElasticClientLease lease = elasticHelper.getClient(ElasticClientEndpoint.BILLING)) {
             final HashMap<String, List<String>> filters = buildQuotaFilters(quota);
             final SearchRequest searchRequest = new SearchRequest()
                     .indicesOptions(IndicesOptions.strictExpandOpen())
@@ -194,7 +202,7 @@ public class BillingManager {
                             .size(0)
                             .aggregation(billingHelper.aggregateCostSum())
                             .query(billingHelper.queryByDateAndFilters(from, to, filters)));
-            final SearchResponse searchResponse = elasticsearchClient.search(searchRequest, RequestOptions.DEFAULT);
+            final SearchResponse searchResponse = lease.getClient().search(searchRequest, RequestOptions.DEFAULT);
             return Optional.ofNullable(searchResponse.getAggregations())
                     .map(aggregations -> aggregations.<ParsedSum>get(BillingUtils.COST_FIELD))
                     .map(ParsedSum::getValue)
@@ -251,6 +259,11 @@ public class BillingManager {
             throw new IllegalArgumentException(messageHelper
                                                    .getMessage(MessageConstants.ERROR_BILLING_INTERVAL_NOT_SUPPORTED));
         }
+        final List<BillingRollupSegment> segments = billingRollupHelper.planHistogram(elasticsearchClient,
+                from, to, filters, interval);
+        if (BillingRollupHelper.isRolledUp(segments)) {
+            return getRolledUpBillingStats(elasticsearchClient, filters, interval, segments);
+        }
 
         final AggregationBuilder intervalAgg = AggregationBuilders.dateHistogram(
                         BillingUtils.HISTOGRAM_AGGREGATION_NAME)
@@ -281,11 +294,137 @@ public class BillingManager {
         }
     }
 
+    /**
+     * Builds histogram from rollup and raw segments of the requested period. Costs of the same bucket
+     * are summarized and buckets without any costs are filled with zeros the same way Elasticsearch does.
+     */
+    private List<BillingChartInfo> getRolledUpBillingStats(final RestHighLevelClient elasticsearchClient,
+                                                           final Map<String, List<String>> filters,
+                                                           final DateHistogramInterval interval,
+                                                           final List<BillingRollupSegment> segments) {
+        final NavigableMap<LocalDate, Long> costs = new TreeMap<>();
+        segments.forEach(segment -> {
+            final SearchRequest searchRequest = new SearchRequest()
+                    .indicesOptions(IndicesOptions.strictExpandOpen())
+                    .indices(segment.isRaw()
+                            ? billingHelper.indicesByDate(segment.getFrom(), segment.getTo())
+                            : new String[]{billingRollupHelper.getHistogramRollupIndex(segment.getPeriod())})
+                    .source(new SearchSourceBuilder()
+                            .size(0)
+                            .aggregation(AggregationBuilders.dateHistogram(BillingUtils.HISTOGRAM_AGGREGATION_NAME)
+                                    .field(BillingUtils.BILLING_DATE_FIELD)
+                                    .dateHistogramInterval(interval)
+                                    .subAggregation(billingHelper.aggregateCostSum()))
+                            .query(billingHelper.queryByDateAndFilters(segment.getFrom(), segment.getTo(), filters)));
+            final SearchResponse searchResponse = billingHelper.searchWith(elasticsearchClient).apply(searchRequest);
+            billingHelper.histogramBuckets(searchResponse.getAggregations(), BillingUtils.HISTOGRAM_AGGREGATION_NAME)
+                .forEach(bucket -> costs.merge(toLocalDate((DateTime) bucket.getKey()),
+                        billingHelper.getCostSum(bucket.getAggregations()), Long::sum));
+        });
+        if (costs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<BillingChartInfo> charts = new ArrayList<>();
+        long accumulatedCost = 0L;
+        for (LocalDate date = costs.firstKey(); !date.isAfter(costs.lastKey()); date = nextBucket(date, interval)) {
+            final long cost = costs.getOrDefault(date, 0L);
+            accumulatedCost += cost;
+            charts.add(getChartInfo(date, cost, accumulatedCost, interval));
+        }
+        return charts;
+    }
+
+    private LocalDate nextBucket(final LocalDate date, final DateHistogramInterval interval) {
+        return DateHistogramInterval.YEAR.equals(interval) ? date.plusYears(1) : date.plusMonths(1);
+    }
+
+    /**
+     * Loads grouped billing stats. If some parts of the requested period are already rolled up, they are loaded
+     * from rollup indices and merged with the stats of the remaining parts which are loaded from raw indices.
+     */
+    private List<BillingChartInfo> getGroupingBillingStats(final RestHighLevelClient elasticsearchClient,
+                                                           final LocalDate from, final LocalDate to,
+                                                           final Map<String, List<String>> filters,
+                                                           final BillingGrouping grouping,
+                                                           final boolean isLoadDetails) {
+        final List<BillingRollupSegment> segments = billingRollupHelper.planGrouping(elasticsearchClient,
+                from, to, filters, grouping, isLoadDetails);
+        if (!BillingRollupHelper.isRolledUp(segments)) {
+            return getBillingStats(elasticsearchClient.getLowLevelClient(), from, to, filters, grouping,
+                    isLoadDetails);
+        }
+        final String groupingField = grouping.getCorrespondingField();
+        final Map<String, GroupingStats> stats = new HashMap<>();
+        try {
+            for (final BillingRollupSegment segment : segments) {
+                final Optional<Aggregations> aggregations = segment.isRaw()
+                        ? searchForGrouping(elasticsearchClient.getLowLevelClient(),
+                            buildGroupingRequest(segment.getFrom(), segment.getTo(), filters, grouping),
+                            groupingField).map(SearchResponse::getAggregations)
+                        : Optional.ofNullable(billingHelper.searchWith(elasticsearchClient)
+                            .apply(buildRollupGroupingRequest(segment, filters, grouping))
+                            .getAggregations());
+                aggregations.ifPresent(aggs -> billingHelper.termBuckets(aggs, groupingField)
+                        .forEach(bucket -> stats.computeIfAbsent(bucket.getKeyAsString(), key -> new GroupingStats())
+                                .add(billingHelper, bucket.getAggregations())));
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new SearchException(e.getMessage(), e);
+        }
+        if (stats.isEmpty()) {
+            return getEmptyGroupingResponse(grouping);
+        }
+        return stats.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, GroupingStats>>comparingLong(entry -> entry.getValue().getCost())
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .map(entry -> buildChartInfo(from, to, grouping, entry.getKey(), entry.getValue().getCost(),
+                        isLoadDetails, entry.getValue().getRunUsageDetails(grouping)))
+                .collect(Collectors.toList());
+    }
+
+    private SearchRequest buildRollupGroupingRequest(final BillingRollupSegment segment,
+                                                     final Map<String, List<String>> filters,
+                                                     final BillingGrouping grouping) {
+        final AggregationBuilder fieldAgg = AggregationBuilders.terms(grouping.getCorrespondingField())
+                .field(grouping.getCorrespondingField())
+                .size(Integer.MAX_VALUE)
+                .subAggregation(billingHelper.aggregateCostSum());
+        if (grouping.runUsageDetailsRequired()) {
+            fieldAgg.subAggregation(billingHelper.aggregateRunUsageSum());
+            fieldAgg.subAggregation(billingHelper.aggregateRollupRunsCountSum());
+        }
+        return new SearchRequest()
+                .indicesOptions(IndicesOptions.strictExpandOpen())
+                .indices(billingRollupHelper.getRollupIndex(segment.getPeriod(), grouping.getCorrespondingField()))
+                .source(new SearchSourceBuilder()
+                        .size(0)
+                        .aggregation(fieldAgg)
+                        .query(billingHelper.queryByDateAndFilters(segment.getFrom(), segment.getTo(), filters)));
+    }
+
     private List<BillingChartInfo> getBillingStats(final RestClient elasticsearchLowLevelClient,
                                                    final LocalDate from, final LocalDate to,
                                                    final Map<String, List<String>> filters,
                                                    final BillingGrouping grouping,
                                                    final boolean isLoadDetails) {
+        final SearchRequest searchRequest = buildGroupingRequest(from, to, filters, grouping);
+
+        try {
+            return searchForGrouping(elasticsearchLowLevelClient, searchRequest, grouping.getCorrespondingField())
+                    .map(response -> getBillingChartInfoForGrouping(from, to, grouping, response, isLoadDetails))
+                    .filter(CollectionUtils::isNotEmpty)
+                    .orElseGet(() -> getEmptyGroupingResponse(grouping));
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    private SearchRequest buildGroupingRequest(final LocalDate from, final LocalDate to,
+                                               final Map<String, List<String>> filters,
+                                               final BillingGrouping grouping) {
         final SearchSourceBuilder searchSource = new SearchSourceBuilder();
         if (grouping != null) {
             final AggregationBuilder fieldAgg = AggregationBuilders.terms(grouping.getCorrespondingField())
@@ -308,22 +447,12 @@ public class BillingManager {
         }
         searchSource.aggregation(billingHelper.aggregateCostSum());
 
-        final SearchRequest searchRequest = new SearchRequest()
+        return new SearchRequest()
                 .indicesOptions(IndicesOptions.strictExpandOpen())
                 .indices(billingHelper.indicesByDate(from, to))
                 .source(searchSource
                         .size(0)
                         .query(billingHelper.queryByDateAndFilters(from, to, filters)));
-
-        try {
-            return searchForGrouping(elasticsearchLowLevelClient, searchRequest, grouping.getCorrespondingField())
-                    .map(response -> getBillingChartInfoForGrouping(from, to, grouping, response, isLoadDetails))
-                    .filter(CollectionUtils::isNotEmpty)
-                    .orElseGet(() -> getEmptyGroupingResponse(grouping));
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            throw new SearchException(e.getMessage(), e);
-        }
     }
 
     private Optional<SearchResponse> searchForGrouping(final RestClient lowLevelClient, final SearchRequest request,
@@ -461,34 +590,19 @@ public class BillingManager {
                                                 final boolean loadDetails) {
         final ParsedSum sumAggResult = aggregations.get(BillingUtils.COST_FIELD);
         final long costVal = new Double(sumAggResult.getValue()).longValue();
-        final BillingChartInfo.BillingChartInfoBuilder builder = BillingChartInfo.builder()
-            .periodStart(from.atStartOfDay())
-            .periodEnd(to.atTime(LocalTime.MAX))
-            .cost(costVal);
-        final Map<String, String> groupingInfo = new HashMap<>();
-        final EntityBillingDetailsLoader detailsLoader = billingDetailsLoaders.get(grouping);
-        final Map<String, String> entityDetails = new HashMap<>();
-        if (grouping != null) {
-            if (detailsLoader == null) {
-                groupingInfo.put(grouping.toString(), groupValue);
-            } else {
-                entityDetails.putAll(detailsLoader.loadInformation(groupValue, loadDetails));
-                groupingInfo.put(grouping.name(), entityDetails.remove(EntityBillingDetailsLoader.NAME));
-            }
-        }
+        final Map<String, String> usageDetails = new HashMap<>();
         if (loadDetails) {
-            groupingInfo.putAll(entityDetails);
             if (grouping.runUsageDetailsRequired()) {
                 final ParsedSum usageAggResult = aggregations.get(BillingUtils.RUN_USAGE_AGG);
                 final long usageVal = new Double(usageAggResult.getValue()).longValue();
-                groupingInfo.put(BillingUtils.RUN_USAGE_AGG, Long.toString(usageVal));
+                usageDetails.put(BillingUtils.RUN_USAGE_AGG, Long.toString(usageVal));
                 final ParsedValueCount uniqueRunIds = aggregations.get(BillingUtils.RUN_COUNT_AGG);
-                groupingInfo.put(BillingUtils.RUNS, Long.toString(uniqueRunIds.getValue()));
+                usageDetails.put(BillingUtils.RUNS, Long.toString(uniqueRunIds.getValue()));
             }
             if (grouping.storageUsageDetailsRequired()) {
                 final ParsedSimpleValue totalStorageUsage = aggregations.get(BillingUtils.TOTAL_STORAGE_USAGE_AGG);
                 final long storageUsageVal = new Double(totalStorageUsage.value()).longValue();
-                groupingInfo.put(BillingUtils.TOTAL_STORAGE_USAGE_AGG, Long.toString(storageUsageVal));
+                usageDetails.put(BillingUtils.TOTAL_STORAGE_USAGE_AGG, Long.toString(storageUsageVal));
                 if (BillingGrouping.STORAGE.equals(grouping)) {
                     final ParsedTopHits hits = aggregations.get(BillingUtils.BUCKET_DOCUMENTS);
                     final String lastStorageUsageValue = Optional.of(hits.getHits())
@@ -499,10 +613,38 @@ public class BillingManager {
                         .map(source -> source.get(BillingUtils.STORAGE_USAGE_FIELD))
                         .map(Object::toString)
                         .orElse("0");
-                    groupingInfo.put(BillingUtils.LAST_STORAGE_USAGE_VALUE, lastStorageUsageValue);
+                    usageDetails.put(BillingUtils.LAST_STORAGE_USAGE_VALUE, lastStorageUsageValue);
                 }
             }
         }
+        return buildChartInfo(from, to, grouping, groupValue, costVal, loadDetails, usageDetails);
+    }
+
+    private BillingChartInfo buildChartInfo(final LocalDate from, final LocalDate to,
+                                            final BillingGrouping grouping,
+                                            final String groupValue,
+                                            final long cost,
+                                            final boolean loadDetails,
+                                            final Map<String, String> usageDetails) {
+        final BillingChartInfo.BillingChartInfoBuilder builder = BillingChartInfo.builder()
+            .periodStart(from.atStartOfDay())
+            .periodEnd(to.atTime(LocalTime.MAX))
+            .cost(cost);
+        final Map<String, String> groupingInfo = new HashMap<>();
+        final EntityBillingDetailsLoader detailsLoader = billingDetailsLoaders.get(grouping);
+        final Map<String, String> entityDetails = new HashMap<>();
+        if (grouping != null) {
+            if (detailsLoader == null) {
+                groupingInfo.put(grouping.toString(), groupValue);
+            } else {
+                entityDetails.putAll(detailsLoader.loadInformation(groupValue, loadDetails));
+                groupingInfo.put(grouping.name(), entityDetails.remove(EntityBillingDetailsLoader.NAME));
+            }
+        }
+        if (loadDetails) {
+            groupingInfo.putAll(entityDetails);
+            groupingInfo.putAll(usageDetails);
+        }
         builder.groupingInfo(groupingInfo);
         return builder.build();
     }
@@ -515,16 +657,23 @@ public class BillingManager {
     }
 
     private BillingChartInfo getChartInfo(final Histogram.Bucket bucket, final DateHistogramInterval interval) {
-        final BillingChartInfo.BillingChartInfoBuilder builder = BillingChartInfo.builder()
-            .groupingInfo(null);
         final ParsedSum sumAggResult = bucket.getAggregations().get(BillingUtils.COST_FIELD);
         final long costVal = new Double(sumAggResult.getValue()).longValue();
-        builder.cost(costVal);
         final ParsedSimpleValue accumulatedSumAggResult = bucket.getAggregations().get(BillingUtils.ACCUMULATED_COST);
         final long accumulatedCostVal = new Double(accumulatedSumAggResult.getValueAsString()).longValue();
-        builder.accumulatedCost(accumulatedCostVal);
-        final DateTime date = (DateTime) bucket.getKey();
-        final LocalDate periodStart = LocalDate.of(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth());
+        return getChartInfo(toLocalDate((DateTime) bucket.getKey()), costVal, accumulatedCostVal, interval);
+    }
+
+    private LocalDate toLocalDate(final DateTime date) {
+        return LocalDate.of(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth());
+    }
+
+    private BillingChartInfo getChartInfo(final LocalDate periodStart, final long cost, final long accumulatedCost,
+                                          final DateHistogramInterval interval) {
+        final BillingChartInfo.BillingChartInfoBuilder builder = BillingChartInfo.builder()
+            .groupingInfo(null)
+            .cost(cost)
+            .accumulatedCost(accumulatedCost);
         builder.periodStart(periodStart.atStartOfDay());
         final TemporalAdjuster adjuster = periodAdjusters.get(interval);
         if (adjuster != null) {
@@ -534,4 +683,30 @@ public class BillingManager {
         }
         return builder.build();
     }
+
+    /**
+     * Billing stats of a single grouping value summarized over several segments of a requested period.
+     */
+    @Getter
+    private static class GroupingStats {
+
+        private long cost;
+        private long runUsage;
+        private long runCount;
+
+        void add(final BillingHelper billingHelper, final Aggregations aggregations) {
+            cost += billingHelper.getCostSum(aggregations);
+            runUsage += billingHelper.getRunUsageSum(aggregations);
+            runCount += billingHelper.getLongValue(aggregations, BillingUtils.RUN_COUNT_AGG);
+        }
+
+        Map<String, String> getRunUsageDetails(final BillingGrouping grouping) {
+            final Map<String, String> details = new HashMap<>();
+            if (grouping.runUsageDetailsRequired()) {
+                details.put(BillingUtils.RUN_USAGE_AGG, Long.toString(runUsage));
+                details.put(BillingUtils.RUNS, Long.toString(runCount));
+            }
+            return details;
+        }
+    }
 }
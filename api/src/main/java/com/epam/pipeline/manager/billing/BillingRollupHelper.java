@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.billing;
+
+import com.epam.pipeline.entity.billing.BillingGrouping;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.EnumUtils;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Routes billing requests to pre-aggregated rollup indices which are maintained by billing-report-agent.
+ *
+ * A requested period is split into segments: full months and weeks which are already rolled up are served by
+ * the coarsest corresponding rollup index, all the remaining days are served by raw billing indices.
+ * Rollups are used only if they can answer a request exactly, i.e. all the filters and the grouping are
+ * available in rollup documents.
+ */
+@Slf4j
+@Service
+public class BillingRollupHelper {
+
+    private static final String RESOURCE_TYPE_FIELD = BillingGrouping.RESOURCE_TYPE.getCorrespondingField();
+    private static final String STATE_INDEX_NAME = "state";
+    private static final String COMPLETE_UNTIL_FIELD = "complete_until";
+    private static final String SEPARATOR = "-";
+
+    private final boolean enabled;
+    private final String rollupIndexPrefix;
+
+    public BillingRollupHelper(final @Value("${billing.rollup.enabled:true}") boolean enabled,
+                               final @Value("${billing.index.common.prefix}") String commonPrefix,
+                               final @Value("${billing.rollup.index.name:rollup}") String rollupIndexName) {
+        this.enabled = enabled;
+        this.rollupIndexPrefix = String.join(SEPARATOR, commonPrefix, rollupIndexName);
+    }
+
+    public static boolean isRolledUp(final List<BillingRollupSegment> segments) {
+        return segments.stream().anyMatch(segment -> !segment.isRaw());
+    }
+
+    public List<BillingRollupSegment> planGrouping(final RestHighLevelClient client,
+                                                   final LocalDate from, final LocalDate to,
+                                                   final Map<String, List<String>> filters,
+                                                   final BillingGrouping grouping,
+                                                   final boolean loadDetails) {
+        if (!enabled || loadDetails && grouping.storageUsageDetailsRequired()
+                || !isSupported(filters, grouping.getCorrespondingField())) {
+            return Collections.singletonList(BillingRollupSegment.raw(from, to));
+        }
+        return plan(client, from, to, grouping.getCorrespondingField(), EnumSet.allOf(BillingRollupPeriod.class));
+    }
+
+    /**
+     * Histogram buckets are built by documents dates, so only monthly rollups are used since weekly ones
+     * may span two months.
+     */
+    public List<BillingRollupSegment> planHistogram(final RestHighLevelClient client,
+                                                    final LocalDate from, final LocalDate to,
+                                                    final Map<String, List<String>> filters,
+                                                    final DateHistogramInterval interval) {
+        if (!enabled || DateHistogramInterval.DAY.equals(interval) || !isSupported(filters, RESOURCE_TYPE_FIELD)) {
+            return Collections.singletonList(BillingRollupSegment.raw(from, to));
+        }
+        return plan(client, from, to, RESOURCE_TYPE_FIELD, EnumSet.of(BillingRollupPeriod.MONTH));
+    }
+
+    public String getRollupIndex(final BillingRollupPeriod period, final String dimension) {
+        return String.join(SEPARATOR, rollupIndexPrefix, period.getIndexName(), dimension);
+    }
+
+    public String getHistogramRollupIndex(final BillingRollupPeriod period) {
+        return getRollupIndex(period, RESOURCE_TYPE_FIELD);
+    }
+
+    /**
+     * Splits the specified period into segments using the coarsest period which is completely rolled up
+     * for each date. Adjacent segments of the same kind are merged.
+     *
+     * @param completeUntil dates (exclusive) until which the corresponding periods are rolled up
+     */
+    static List<BillingRollupSegment> split(final LocalDate from, final LocalDate to,
+                                            final Map<BillingRollupPeriod, LocalDate> completeUntil) {
+        final List<BillingRollupSegment> segments = new ArrayList<>();
+        LocalDate date = from;
+        while (!date.isAfter(to)) {
+            final LocalDate start = date;
+            final Optional<BillingRollupPeriod> period = findPeriod(start, to, completeUntil);
+            final LocalDate end = period.map(it -> it.getEnd(start)).orElse(start);
+            append(segments, new BillingRollupSegment(period.orElse(null), start, end));
+            date = end.plusDays(1);
+        }
+        return segments;
+    }
+
+    private static Optional<BillingRollupPeriod> findPeriod(final LocalDate date, final LocalDate to,
+                                                            final Map<BillingRollupPeriod, LocalDate> completeUntil) {
+        return Arrays.stream(BillingRollupPeriod.values())
+            .filter(period -> isCovered(period, date, to, completeUntil))
+            .filter(period -> !overlapsCoarserPeriod(period, date, to, completeUntil))
+            .findFirst();
+    }
+
+    private static boolean isCovered(final BillingRollupPeriod period, final LocalDate date, final LocalDate to,
+                                     final Map<BillingRollupPeriod, LocalDate> completeUntil) {
+        final LocalDate end = period.getEnd(date);
+        return period.getStart(date).equals(date)
+            && !end.isAfter(to)
+            && Optional.ofNullable(completeUntil.get(period)).map(end::isBefore).orElse(false);
+    }
+
+    /**
+     * Finer period shall not be used if it overlaps the beginning of a coarser period which can be used instead,
+     * e.g. a week which ends in a fully rolled up month.
+     */
+    private static boolean overlapsCoarserPeriod(final BillingRollupPeriod period, final LocalDate date,
+                                                 final LocalDate to,
+                                                 final Map<BillingRollupPeriod, LocalDate> completeUntil) {
+        final LocalDate end = period.getEnd(date);
+        return Arrays.stream(BillingRollupPeriod.values())
+            .filter(coarser -> coarser.ordinal() < period.ordinal())
+            .anyMatch(coarser -> {
+                final LocalDate coarserStart = coarser.getNextStart(date);
+                return !coarserStart.isAfter(end) && isCovered(coarser, coarserStart, to, completeUntil);
+            });
+    }
+
+    private static void append(final List<BillingRollupSegment> segments, final BillingRollupSegment segment) {
+        final int last = segments.size() - 1;
+        if (last >= 0 && segments.get(last).getPeriod() == segment.getPeriod()) {
+            segments.set(last, new BillingRollupSegment(segment.getPeriod(), segments.get(last).getFrom(),
+                                                        segment.getTo()));
+        } else {
+            segments.add(segment);
+        }
+    }
+
+    private boolean isSupported(final Map<String, List<String>> filters, final String dimension) {
+        return MapUtils.emptyIfNull(filters).keySet().stream()
+            .allMatch(field -> field.equals(dimension) || field.equals(RESOURCE_TYPE_FIELD));
+    }
+
+    private List<BillingRollupSegment> plan(final RestHighLevelClient client,
+                                            final LocalDate from, final LocalDate to,
+                                            final String dimension,
+                                            final Set<BillingRollupPeriod> periods) {
+        final Map<BillingRollupPeriod, LocalDate> completeUntil = new EnumMap<>(BillingRollupPeriod.class);
+        loadCompleteUntil(client).forEach((period, date) -> {
+            if (periods.contains(period) && isIndexExists(client, getRollupIndex(period, dimension))) {
+                completeUntil.put(period, date);
+            }
+        });
+        final List<BillingRollupSegment> segments = split(from, to, completeUntil);
+        log.debug("Billing request for {} - {} by {} is split into {}.", from, to, dimension, segments);
+        return segments;
+    }
+
+    private Map<BillingRollupPeriod, LocalDate> loadCompleteUntil(final RestHighLevelClient client) {
+        final Map<BillingRollupPeriod, LocalDate> completeUntil = new EnumMap<>(BillingRollupPeriod.class);
+        final SearchRequest request = new SearchRequest()
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
+            .indices(String.join(SEPARATOR, rollupIndexPrefix, STATE_INDEX_NAME))
+            .source(new SearchSourceBuilder().size(BillingRollupPeriod.values().length));
+        try {
+            final SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+            for (final SearchHit hit : response.getHits().getHits()) {
+                final BillingRollupPeriod period = EnumUtils.getEnum(BillingRollupPeriod.class, hit.getId());
+                final Object date = MapUtils.emptyIfNull(hit.getSourceAsMap()).get(COMPLETE_UNTIL_FIELD);
+                if (period != null && date instanceof String) {
+                    completeUntil.put(period, LocalDate.parse((String) date));
+                }
+            }
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("Failed to load billing rollups state, raw billing indices will be used: {}", e.getMessage());
+        }
+        return completeUntil;
+    }
+
+    private boolean isIndexExists(final RestHighLevelClient client, final String index) {
+        try {
+            return client.indices().exists(new GetIndexRequest().indices(index), RequestOptions.DEFAULT);
+        } catch (IOException | ElasticsearchException e) {
+            log.warn("Failed to check billing rollup index {}: {}", index, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.billing;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Part of a requested billing period which is served either by a rollup index of the specified period
+ * or by raw billing indices if the period is not specified.
+ */
+@Value
+public class BillingRollupSegment {
+
+    BillingRollupPeriod period;
+    LocalDate from;
+    LocalDate to;
+
+    public static BillingRollupSegment raw(final LocalDate from, final LocalDate to) {
+        return new BillingRollupSegment(null, from, to);
+    }
+
+    public boolean isRaw() {
+        return period == null;
+    }
+}
@@ -109,6 +109,7 @@ public final class BillingUtils {
     public static final String STORAGE_COST_AGG = "cost_storages";
     public static final String HISTOGRAM_AGGREGATION_FORMAT = "yyyy-MM";
     public static final String RUN_COUNT_AGG = "count_runs";
+    public static final String ROLLUP_RUN_COUNT_FIELD = "run_count";
     public static final String PROVIDER_FIELD = "provider";
     public static final String SORT_AGG = "sort";
     public static final String DISCOUNT_SCRIPT_TEMPLATE = "_value + _value * (%s)";
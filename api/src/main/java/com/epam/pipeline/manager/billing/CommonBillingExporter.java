@@ -2,12 +2,12 @@ package com.epam.pipeline.manager.billing;
 
 import com.epam.pipeline.controller.vo.billing.BillingExportRequest;
 import com.epam.pipeline.controller.vo.billing.BillingExportType;
-import com.epam.pipeline.exception.search.SearchException;
+import com.epam.pipeline.manager.utils.ElasticClientEndpoint;
+import com.epam.pipeline.manager.utils.ElasticClientLease;
 import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.client.RestHighLevelClient;
 
 import java.io.IOException;
 import java.io.Writer;
@@ -28,12 +28,9 @@ public class CommonBillingExporter<B> implements BillingExporter {
     @Override
     public void export(final BillingExportRequest request, final Writer writer) {
         final BillingWriter<B> billingWriter = writerSupplier.apply(request, writer);
-        try (RestHighLevelClient elasticSearchClient = elasticHelper.buildClient()) {
+        try (ElasticClientLease lease = elasticHelper.getClient(ElasticClientEndpoint.BILLING)) {
             billingWriter.writeHeader();
-            loader.billings(elasticSearchClient, request).forEach(billingWriter::write);
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            throw new SearchException(e.getMessage(), e);
+            loader.billings(lease.getClient(), request).forEach(billingWriter::write);
         } finally {
             try {
                 billingWriter.flush();
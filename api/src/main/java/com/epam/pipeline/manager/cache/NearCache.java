@@ -0,0 +1,265 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cache;
+
+import com.google.common.cache.CacheBuilder;
+import lombok.Getter;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Two-tier cache which keeps recently used entries in a size and time bounded in-process cache in front of
+ * an optional shared remote cache.
+ *
+ * All modifications are written through to the remote cache and reported to the invalidation listener,
+ * so other nodes can evict the changed entries from their local caches.
+ *
+ * A value may be loaded before its entry is invalidated and put into the cache after that. Therefore each
+ * cache miss is stamped with the current invalidation generation of its key, and a value put by the same
+ * thread afterwards is dropped if the entry was invalidated in the meantime.
+ */
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class NearCache implements Cache {
+
+    private static final String METRIC_PREFIX = "cache.";
+    private static final int GENERATION_STRIPES = 64;
+    private static final int MAX_PENDING_LOADS = 64;
+
+    @Getter
+    private final String name;
+    private final com.google.common.cache.Cache<Object, ValueWrapper> local;
+    private final Cache remote;
+    private final Consumer<Object> invalidationListener;
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong clearGeneration = new AtomicLong();
+    private final ThreadLocal<Map<Object, Long>> pendingLoads = ThreadLocal.withInitial(PendingLoads::new);
+
+    /**
+     * @param name cache name
+     * @param remote shared cache, local only cache is created if it is not specified
+     * @param invalidationListener receives a key of each changed entry or null if all entries were evicted
+     * @param size max number of locally cached entries
+     * @param ttl max time in seconds an entry is kept in the local cache
+     */
+    public NearCache(final String name, final Cache remote, final Consumer<Object> invalidationListener,
+                     final long size, final long ttl) {
+        this.name = name;
+        this.remote = remote;
+        this.invalidationListener = invalidationListener;
+        this.local = CacheBuilder.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        localMisses.increment();
+        final long generation = getGeneration(key);
+        if (remote == null) {
+            pendingLoads.get().put(key, generation);
+            return null;
+        }
+        final ValueWrapper value = remote.get(key);
+        if (value == null) {
+            remoteMisses.increment();
+            pendingLoads.get().put(key, generation);
+            return null;
+        }
+        remoteHits.increment();
+        putLocal(key, value, generation);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Class<T> type) {
+        final Object value = Optional.ofNullable(get(key)).map(ValueWrapper::get).orElse(null);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(String.format("Cached value is not of required type [%s]: %s",
+                    type.getName(), value));
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        final ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        final T value = load(key, valueLoader);
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+        final Long generation = pendingLoads.get().remove(key);
+        if (isInvalidated(key, generation)) {
+            return;
+        }
+        if (remote != null) {
+            remote.put(key, value);
+        }
+        putLocal(key, new SimpleValueWrapper(value), generation);
+        invalidationListener.accept(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final Long generation = pendingLoads.get().remove(key);
+        if (isInvalidated(key, generation)) {
+            return null;
+        }
+        if (remote == null) {
+            final ValueWrapper wrapper = new SimpleValueWrapper(value);
+            final ValueWrapper existing = local.asMap().putIfAbsent(key, wrapper);
+            if (existing == null) {
+                if (isInvalidated(key, generation)) {
+                    local.asMap().remove(key, wrapper);
+                }
+                invalidationListener.accept(key);
+            }
+            return existing;
+        }
+        final ValueWrapper existing = remote.putIfAbsent(key, value);
+        putLocal(key, Optional.ofNullable(existing).orElseGet(() -> new SimpleValueWrapper(value)), generation);
+        if (existing == null) {
+            invalidationListener.accept(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(final Object key) {
+        if (remote != null) {
+            remote.evict(key);
+        }
+        evictLocal(key);
+        invalidationListener.accept(key);
+    }
+
+    @Override
+    public void clear() {
+        if (remote != null) {
+            remote.clear();
+        }
+        clearLocal();
+        invalidationListener.accept(null);
+    }
+
+    /**
+     * Evicts an entry from the local cache only.
+     */
+    public void evictLocal(final Object key) {
+        generations.incrementAndGet(getStripe(key));
+        local.invalidate(key);
+    }
+
+    /**
+     * Evicts all entries from the local cache only.
+     */
+    public void clearLocal() {
+        clearGeneration.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    public List<Metric<?>> getMetrics() {
+        final String prefix = METRIC_PREFIX + name + ".";
+        return Arrays.asList(
+                new Metric<>(prefix + "size", local.size()),
+                new Metric<>(prefix + "local.hits", localHits.sum()),
+                new Metric<>(prefix + "local.misses", localMisses.sum()),
+                new Metric<>(prefix + "remote.hits", remoteHits.sum()),
+                new Metric<>(prefix + "remote.misses", remoteMisses.sum()));
+    }
+
+    /**
+     * Puts a value into the local cache unless its entry was invalidated after the specified generation.
+     * The generation is checked once again after the put, since an invalidation may happen concurrently.
+     */
+    private void putLocal(final Object key, final ValueWrapper value, final Long generation) {
+        if (isInvalidated(key, generation)) {
+            return;
+        }
+        local.put(key, value);
+        if (isInvalidated(key, generation)) {
+            local.asMap().remove(key, value);
+        }
+    }
+
+    private boolean isInvalidated(final Object key, final Long generation) {
+        return generation != null && generation != getGeneration(key);
+    }
+
+    private long getGeneration(final Object key) {
+        return clearGeneration.get() + generations.get(getStripe(key));
+    }
+
+    private int getStripe(final Object key) {
+        return Math.floorMod(Objects.hashCode(key), GENERATION_STRIPES);
+    }
+
+    private <T> T load(final Object key, final Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Generations of the recent cache misses of a thread. Only a limited number of misses is tracked,
+     * values of the evicted ones are put without a check.
+     */
+    private static class PendingLoads extends LinkedHashMap<Object, Long> {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Object, Long> eldest) {
+            return size() > MAX_PENDING_LOADS;
+        }
+    }
+}
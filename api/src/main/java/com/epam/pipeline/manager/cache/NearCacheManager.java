@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Manages {@link NearCache}s with a fixed set of names.
+ *
+ * If a remote cache manager is specified, each cache change is published to the invalidation channel
+ * and the changes published by other nodes are evicted from the local caches of this node.
+ */
+@Slf4j
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class NearCacheManager implements CacheManager, MessageListener {
+
+    private final String node = UUID.randomUUID().toString();
+    private final Map<String, NearCache> caches;
+    private final RedisTemplate<Object, Object> template;
+    private final String channel;
+
+    /**
+     * Creates a manager of local only caches.
+     */
+    public NearCacheManager(final Collection<String> names, final long size, final long ttl) {
+        this.template = null;
+        this.channel = null;
+        this.caches = names.stream()
+                .collect(Collectors.toMap(Function.identity(), name -> new NearCache(name, null, key -> { },
+                        size, ttl)));
+    }
+
+    /**
+     * Creates a manager of caches backed by the remote caches which are invalidated through the specified
+     * Redis channel.
+     */
+    public NearCacheManager(final Collection<String> names, final CacheManager remote,
+                            final RedisTemplate<Object, Object> template, final String channel,
+                            final long size, final long ttl) {
+        this.template = template;
+        this.channel = channel;
+        this.caches = names.stream()
+                .collect(Collectors.toMap(Function.identity(), name -> new NearCache(name, remote.getCache(name),
+                    key -> publish(name, key), size, ttl)));
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        final Object body = template.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof CacheInvalidationMessage)) {
+            log.warn("Unexpected message was received from cache invalidation channel {}.", channel);
+            return;
+        }
+        final CacheInvalidationMessage invalidation = (CacheInvalidationMessage) body;
+        final NearCache cache = caches.get(invalidation.getCache());
+        if (node.equals(invalidation.getNode()) || cache == null) {
+            return;
+        }
+        if (invalidation.getKey() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.getKey());
+        }
+    }
+
+    public List<Metric<?>> getMetrics() {
+        return caches.values().stream()
+                .map(NearCache::getMetrics)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private void publish(final String name, final Object key) {
+        try {
+            template.convertAndSend(channel, new CacheInvalidationMessage(node, name, key));
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish invalidation of {} cache entry {}: {}", name, key, e.getMessage());
+        }
+    }
+}
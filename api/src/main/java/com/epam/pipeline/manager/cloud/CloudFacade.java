@@ -32,6 +32,7 @@ import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CloudFacade {
     RunInstance scaleUpNode(Long runId, RunInstance instance);
@@ -76,6 +77,11 @@ public interface CloudFacade {
 
     List<InstanceOffer> refreshPriceListForRegion(Long regionId);
 
+    /**
+     * Streams price list offers of the region to the consumer.
+     */
+    void refreshPriceListForRegion(Long regionId, Consumer<InstanceOffer> consumer);
+
     double getPriceForDisk(Long regionId, List<InstanceOffer> diskOffers, int instanceDisk, String instanceType,
                            boolean spot);
 
@@ -50,6 +50,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -243,6 +244,12 @@ public class CloudFacadeImpl implements CloudFacade {
         return getInstancePriceService(region).refreshPriceListForRegion(region);
     }
 
+    @Override
+    public void refreshPriceListForRegion(final Long regionId, final Consumer<InstanceOffer> consumer) {
+        final AbstractCloudRegion region = regionManager.load(regionId);
+        getInstancePriceService(region).refreshPriceListForRegion(region, consumer);
+    }
+
     @Override
     public double getPriceForDisk(final Long regionId, final List<InstanceOffer> diskOffers, final int instanceDisk,
                                   final String instanceType, final boolean spot) {
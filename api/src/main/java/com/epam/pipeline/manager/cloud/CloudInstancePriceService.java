@@ -23,6 +23,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CloudInstancePriceService<T extends AbstractCloudRegion> extends CloudAwareService {
     String LINUX_OPERATING_SYSTEM = "Linux";
@@ -36,6 +37,14 @@ public interface CloudInstancePriceService<T extends AbstractCloudRegion> extend
     String CURRENCY = "USD";
 
     List<InstanceOffer> refreshPriceListForRegion(T region);
+
+    /**
+     * Passes region price list offers to the consumer. Implementations which read large price lists
+     * should override it to avoid collecting all offers in memory.
+     */
+    default void refreshPriceListForRegion(T region, Consumer<InstanceOffer> consumer) {
+        refreshPriceListForRegion(region).forEach(consumer);
+    }
     double getSpotPrice(String instanceType, T region);
     double getPriceForDisk(List<InstanceOffer> offers, int instanceDisk, String instanceType, boolean spot, T region);
     List<InstanceType> getAllInstanceTypes(Long regionId, boolean spot);
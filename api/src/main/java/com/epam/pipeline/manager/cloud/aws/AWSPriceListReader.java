@@ -33,12 +33,16 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 @Slf4j
 public class AWSPriceListReader {
 
+    private static final String TERM_TYPE_COLUMN = "termtype";
+    private static final String PRODUCT_FAMILY_COLUMN = "product family";
+
     private final Long regionId;
     private final Set<String> computeFamily;
 
@@ -51,10 +55,7 @@ public class AWSPriceListReader {
 
 
     public List<InstanceOffer> readPriceCsv(BufferedReader reader) {
-        try(CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                .withFirstRecordAsHeader()
-                .withIgnoreHeaderCase()
-                .withTrim())) {
+        try(CSVParser csvParser = createParser(reader)) {
 
             return StreamSupport.stream(csvParser.spliterator(), false)
                     .map(this::parseRecord)
@@ -66,19 +67,56 @@ public class AWSPriceListReader {
         }
     }
 
+    /**
+     * Reads price list records one by one and passes them to the consumer without collecting them in memory.
+     *
+     * Only on demand offers for compute instances and storage are passed, since the rest of the price list
+     * (reserved terms, data transfer, IPs, etc.) is never used for price estimation.
+     *
+     * @return number of offers passed to the consumer
+     */
+    public long readPriceCsv(final BufferedReader reader, final Consumer<InstanceOffer> consumer) throws IOException {
+        long count = 0;
+        try (CSVParser csvParser = createParser(reader)) {
+            for (final CSVRecord record : csvParser) {
+                if (isRequired(record)) {
+                    consumer.accept(parseRecord(record));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private CSVParser createParser(final BufferedReader reader) throws IOException {
+        return new CSVParser(reader, CSVFormat.DEFAULT
+                .withFirstRecordAsHeader()
+                .withIgnoreHeaderCase()
+                .withTrim());
+    }
+
+    private boolean isRequired(final CSVRecord record) {
+        if (!CloudInstancePriceService.TermType.ON_DEMAND.getName().equals(record.get(TERM_TYPE_COLUMN))) {
+            return false;
+        }
+        final String productFamily = record.get(PRODUCT_FAMILY_COLUMN);
+        return computeFamily.contains(productFamily)
+                || CloudInstancePriceService.STORAGE_PRODUCT_FAMILY.equals(productFamily);
+    }
+
     private InstanceOffer parseRecord(CSVRecord record) {
         InstanceOffer offer = new InstanceOffer();
         offer.setCloudProvider(CloudProvider.AWS);
         offer.setPriceListPublishDate(new Date());
         offer.setSku(record.get("sku"));
-        offer.setTermType(record.get("termtype"));
+        offer.setTermType(record.get(TERM_TYPE_COLUMN));
         offer.setUnit(record.get("unit"));
         offer.setPricePerUnit(parseFloat(record.get("priceperunit")));
         offer.setCurrency(record.get("currency"));
         offer.setInstanceType(record.get("instance type"));
         offer.setTenancy(record.get("tenancy"));
         offer.setOperatingSystem(record.get("operating system"));
-        offer.setProductFamily(parseProductFamily(record.get("product family")));
+        offer.setProductFamily(parseProductFamily(record.get(PRODUCT_FAMILY_COLUMN)));
         offer.setVolumeType(record.get("volume type"));
         offer.setVCPU(parseInteger(record.get("vcpu")));
         offer.setGpu(parseInteger(record.get("gpu")));
@@ -36,6 +36,7 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -56,27 +57,57 @@ public class EC2InstancePriceService implements CloudInstancePriceService<AwsReg
 
     @Override
     public List<InstanceOffer> refreshPriceListForRegion(final AwsRegion region) {
-        final String url = String.format(AWS_EC2_PRICING_URL_TEMPLATE, region.getRegionCode());
-        try (InputStream input = new URL(url).openStream();
+        try (InputStream input = new URL(getPriceListUrl(region)).openStream();
              BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
-            //skip first lines
-            int skipLines = COLUMNS_LINE_INDEX;
-            while (skipLines > 0) {
-                final String line = reader.readLine();
-                if (line == null) {
-                    return Collections.emptyList();
-                }
-                skipLines--;
+            if (!skipHeaderLines(reader)) {
+                return Collections.emptyList();
             }
-            return new AWSPriceListReader(region.getId(),
-                    preferenceManager.getPreference(SystemPreferences.INSTANCE_COMPUTE_FAMILY_NAMES))
-                    .readPriceCsv(reader);
+            return createReader(region).readPriceCsv(reader);
         } catch (IOException e) {
             log.error(e.getMessage(), e);
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Streams region price list to the consumer. Unlike the list based method, a failure is rethrown,
+     * so that a partially read price list is not mistaken for a complete one.
+     */
+    @Override
+    public void refreshPriceListForRegion(final AwsRegion region, final Consumer<InstanceOffer> consumer) {
+        try (InputStream input = new URL(getPriceListUrl(region)).openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+            if (skipHeaderLines(reader)) {
+                final long count = createReader(region).readPriceCsv(reader, consumer);
+                log.debug("{} price list offers were read for region {}.", count, region.getRegionCode());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Failed to read price list for region %s: %s",
+                    region.getRegionCode(), e.getMessage()), e);
+        }
+    }
+
+    private String getPriceListUrl(final AwsRegion region) {
+        return String.format(AWS_EC2_PRICING_URL_TEMPLATE, region.getRegionCode());
+    }
+
+    private boolean skipHeaderLines(final BufferedReader reader) throws IOException {
+        int skipLines = COLUMNS_LINE_INDEX;
+        while (skipLines > 0) {
+            final String line = reader.readLine();
+            if (line == null) {
+                return false;
+            }
+            skipLines--;
+        }
+        return true;
+    }
+
+    private AWSPriceListReader createReader(final AwsRegion region) {
+        return new AWSPriceListReader(region.getId(),
+                preferenceManager.getPreference(SystemPreferences.INSTANCE_COMPUTE_FAMILY_NAMES));
+    }
+
     @Override
     public double getSpotPrice(final String instanceType, final AwsRegion region) {
         return ec2Helper.getSpotPrice(instanceType, region);
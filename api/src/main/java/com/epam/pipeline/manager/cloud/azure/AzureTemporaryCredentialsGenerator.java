@@ -24,6 +24,7 @@ import com.epam.pipeline.entity.datastorage.azure.AzureBlobStorage;
 import com.epam.pipeline.entity.region.AzureRegion;
 import com.epam.pipeline.entity.region.AzureRegionCredentials;
 import com.epam.pipeline.manager.cloud.TemporaryCredentialsGenerator;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.manager.datastorage.providers.azure.AzureStorageHelper;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
@@ -48,6 +49,7 @@ public class AzureTemporaryCredentialsGenerator implements TemporaryCredentialsG
     private final CloudRegionManager cloudRegionManager;
     private final PreferenceManager preferenceManager;
     private final MessageHelper messageHelper;
+    private final StorageClientCache clientCache;
 
     @Override
     public DataStorageType getStorageType() {
@@ -67,7 +69,7 @@ public class AzureTemporaryCredentialsGenerator implements TemporaryCredentialsG
         final Integer duration =
                 preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_TEMP_CREDENTIALS_DURATION);
 
-        final AzureStorageHelper helper = new AzureStorageHelper(region, credentials, messageHelper);
+        final AzureStorageHelper helper = new AzureStorageHelper(region, credentials, messageHelper, clientCache);
 
         Assert.isTrue(actions.size() == 1, "Multiple actions is not supported for AZURE provider");
 
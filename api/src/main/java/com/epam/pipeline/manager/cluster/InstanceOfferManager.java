@@ -50,9 +50,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 
@@ -60,10 +59,16 @@ import javax.annotation.PostConstruct;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -110,6 +115,15 @@ public class InstanceOfferManager {
     private final AtomicReference<Map<Long, Map<PriceType, Set<String>>>> offeredInstanceTypesMap =
             new AtomicReference<>(Collections.emptyMap());
 
+    /**
+     * In-memory index of instance and disk prices, it is rebuilt on each price list update.
+     */
+    private final AtomicReference<InstancePriceIndex> priceIndex =
+            new AtomicReference<>(InstancePriceIndex.empty());
+
+    private final SpotPriceCache spotPriceCache = new SpotPriceCache(this::loadSpotPricePerHour,
+            TimeUnit.MINUTES.toMillis(10), TimeUnit.HOURS.toMillis(6));
+
     private final AntPathMatcher matcher = new AntPathMatcher();
     private final Subject<List<InstanceType>> updatedInstanceTypesSubject = BehaviorSubject.create();
 
@@ -118,6 +132,7 @@ public class InstanceOfferManager {
     private static final double ONE_HOUR = 60 * ONE_MINUTE;
 
     private static final String DELIMITER = ",";
+    private static final int PRICE_LIST_REFRESH_THREADS = 4;
 
     private static final List<String> INSTANCE_TYPES_PREFERENCES = Collections.singletonList(
             SystemPreferences.CLUSTER_ALLOWED_INSTANCE_TYPES.getKey());
@@ -131,6 +146,7 @@ public class InstanceOfferManager {
 
     @PostConstruct
     public void init() {
+        reloadPriceIndex();
         updateOfferedInstanceTypes(instanceOfferDao.loadInstanceTypes());
         updateOfferedInstanceTypesOnPreferenceChange(SystemPreferences.CLUSTER_ALLOWED_INSTANCE_TYPES);
         updateOfferedInstanceTypesOnPreferenceChange(SystemPreferences.CLUSTER_ALLOWED_INSTANCE_TYPES_DOCKER);
@@ -167,6 +183,40 @@ public class InstanceOfferManager {
         offeredInstanceTypesMap.set(extendInstanceTypesForAws(offeredInstanceTypes));
     }
 
+    /**
+     * Rebuilds in-memory price index from the stored instance offers.
+     *
+     * Index is reloaded periodically as well, so price list updates performed by other API instances
+     * are eventually picked up.
+     */
+    @Scheduled(fixedDelayString = "${instance.offer.price.index.reload.rate:3600000}",
+            initialDelayString = "${instance.offer.price.index.reload.rate:3600000}")
+    public void reloadPriceIndex() {
+        priceIndex.set(InstancePriceIndex.of(loadIndexedOffers(null)));
+    }
+
+    private List<InstanceOffer> loadIndexedOffers(final Long regionId) {
+        final InstanceOfferRequestVO computeRequest = new InstanceOfferRequestVO();
+        computeRequest.setProductFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY);
+        computeRequest.setUnit(CloudInstancePriceService.HOURS_UNIT);
+        computeRequest.setRegionId(regionId);
+        final InstanceOfferRequestVO diskRequest = new InstanceOfferRequestVO();
+        diskRequest.setProductFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY);
+        diskRequest.setVolumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE);
+        diskRequest.setRegionId(regionId);
+        return ListUtils.union(
+                ListUtils.emptyIfNull(instanceOfferDao.loadInstanceOffers(computeRequest)),
+                ListUtils.emptyIfNull(instanceOfferDao.loadInstanceOffers(diskRequest)));
+    }
+
+    /**
+     * Reloads spot prices of the instance types which were requested recently.
+     */
+    @Scheduled(fixedDelayString = "${instance.offer.spot.price.refresh.rate:300000}")
+    public void refreshSpotPrices() {
+        spotPriceCache.refresh();
+    }
+
     public Date getPriceListPublishDate() {
         return instanceOfferDao.getPriceListPublishDate();
     }
@@ -289,6 +339,14 @@ public class InstanceOfferManager {
     }
 
     public double getPricePerHourForInstance(final String instanceType, final Long regionId) {
+        final InstancePriceIndex index = priceIndex.get();
+        if (index.containsRegion(regionId)) {
+            return index.getPricePerHour(regionId, instanceType,
+                    CloudInstancePriceService.TermType.ON_DEMAND.getName(),
+                    CloudInstancePriceService.LINUX_OPERATING_SYSTEM,
+                    CloudInstancePriceService.SHARED_TENANCY)
+                    .orElse(0.0);
+        }
         final InstanceOfferRequestVO requestVO = new InstanceOfferRequestVO();
         requestVO.setInstanceType(instanceType);
         requestVO.setTermType(CloudInstancePriceService.TermType.ON_DEMAND.getName());
@@ -440,29 +498,66 @@ public class InstanceOfferManager {
         return isPriceTypeAllowed(priceType, toolResource, false);
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
+    /**
+     * Refreshes price lists of all regions. Price lists are loaded to the staging table concurrently
+     * and are published at once afterwards. If a price list of some region can't be loaded,
+     * the previous price list of the region is kept.
+     */
     public void refreshPriceList() {
         LOGGER.debug(messageHelper.getMessage(MessageConstants.DEBUG_INSTANCE_OFFERS_UPDATE_STARTED));
-        instanceOfferDao.removeInstanceOffers();
-        List<InstanceOffer> instanceOffers = cloudRegionManager.loadAll()
-                .stream()
-                .map(this::updatePriceListForRegion)
-                .flatMap(List::stream)
-                .collect(toList());
+        final List<AbstractCloudRegion> regions = cloudRegionManager.loadAll();
+        final Map<Long, Long> stagedOffers = stagePriceLists(regions);
+        instanceOfferDao.publishStagedInstanceOffers(stagedOffers.keySet(), getRegionIds(regions));
 
+        reloadPriceIndex();
+        updateOfferedInstanceTypes(instanceOfferDao.loadInstanceTypes());
         updatedInstanceTypesSubject.onNext(getAllInstanceTypes());
 
         LOGGER.debug(messageHelper.getMessage(MessageConstants.DEBUG_INSTANCE_OFFERS_UPDATE_FINISHED));
-        LOGGER.info(messageHelper.getMessage(MessageConstants.INFO_INSTANCE_OFFERS_UPDATED, instanceOffers.size()));
-        updateOfferedInstanceTypesAccordingToInstanceOffers(instanceOffers);
+        LOGGER.info(messageHelper.getMessage(MessageConstants.INFO_INSTANCE_OFFERS_UPDATED,
+                stagedOffers.values().stream().mapToLong(Long::longValue).sum()));
+    }
+
+    public void updatePriceListForRegion(final AbstractCloudRegion cloudRegion) {
+        final long stagedOffers = stagePriceList(cloudRegion);
+        instanceOfferDao.publishStagedInstanceOffers(Collections.singletonList(cloudRegion.getId()),
+                getRegionIds(cloudRegionManager.loadAll()));
+        priceIndex.updateAndGet(index -> index.withRegion(cloudRegion.getId(),
+                loadIndexedOffers(cloudRegion.getId())));
+        LOGGER.info(messageHelper.getMessage(MessageConstants.INFO_INSTANCE_OFFERS_UPDATED, stagedOffers));
+    }
+
+    private Map<Long, Long> stagePriceLists(final List<AbstractCloudRegion> regions) {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(regions.size(), PRICE_LIST_REFRESH_THREADS)));
+        try {
+            final Map<Long, Future<Long>> stages = new LinkedHashMap<>();
+            regions.forEach(region -> stages.put(region.getId(), executor.submit(() -> stagePriceList(region))));
+            final Map<Long, Long> stagedOffers = new LinkedHashMap<>();
+            for (final Map.Entry<Long, Future<Long>> stage : stages.entrySet()) {
+                try {
+                    stagedOffers.put(stage.getKey(), stage.getValue().get());
+                } catch (ExecutionException e) {
+                    LOGGER.error("Failed to refresh price list for region {}, previous price list is kept: {}",
+                            stage.getKey(), e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return stagedOffers;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Price list refresh was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long stagePriceList(final AbstractCloudRegion region) {
+        return instanceOfferDao.stageInstanceOffers(region.getId(),
+            consumer -> cloudFacade.refreshPriceListForRegion(region.getId(), consumer));
     }
 
-    @Transactional(propagation = Propagation.REQUIRED)
-    public List<InstanceOffer> updatePriceListForRegion(AbstractCloudRegion cloudRegion) {
-        instanceOfferDao.removeInstanceOffersForRegion(cloudRegion.getId());
-        List<InstanceOffer> instanceOffers = cloudFacade.refreshPriceListForRegion(cloudRegion.getId());
-        instanceOfferDao.insertInstanceOffers(instanceOffers);
-        return instanceOffers;
+    private List<Long> getRegionIds(final List<AbstractCloudRegion> regions) {
+        return regions.stream().map(AbstractCloudRegion::getId).collect(toList());
     }
 
     private boolean isSpotRequest(Boolean spot) {
@@ -475,6 +570,10 @@ public class InstanceOfferManager {
     }
 
     private double getSpotPricePerHour(String instanceType, Long regionId) {
+        return spotPriceCache.get(regionId, instanceType);
+    }
+
+    private double loadSpotPricePerHour(Long regionId, String instanceType) {
         return cloudFacade.getSpotPrice(regionId, instanceType);
     }
 
@@ -499,6 +598,11 @@ public class InstanceOfferManager {
     }
 
     private double getPriceForDisk(int instanceDisk, Long regionId, String instanceType, boolean spot) {
+        final InstancePriceIndex index = priceIndex.get();
+        if (index.containsRegion(regionId)) {
+            return cloudFacade.getPriceForDisk(regionId, index.getDiskOffers(regionId), instanceDisk,
+                    instanceType, spot);
+        }
         InstanceOfferRequestVO requestVO = new InstanceOfferRequestVO();
         requestVO.setProductFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY);
         requestVO.setVolumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE);
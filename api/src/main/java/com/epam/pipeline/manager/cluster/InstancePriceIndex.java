@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.entity.cluster.InstanceOffer;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
+import lombok.Value;
+import org.apache.commons.collections4.ListUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory index of instance offer prices partitioned by cloud region.
+ *
+ * Compute offers are indexed by instance type, term type, operating system and tenancy with the lowest positive
+ * hourly price for each key. General purpose storage offers are kept as is, since disk prices are calculated
+ * by cloud specific price services. Index is never modified, a new instance is built on each price list update.
+ */
+public final class InstancePriceIndex {
+
+    private static final InstancePriceIndex EMPTY = new InstancePriceIndex(Collections.emptyMap());
+
+    private final Map<Long, RegionPrices> regions;
+
+    private InstancePriceIndex(final Map<Long, RegionPrices> regions) {
+        this.regions = Collections.unmodifiableMap(regions);
+    }
+
+    public static InstancePriceIndex empty() {
+        return EMPTY;
+    }
+
+    public static InstancePriceIndex of(final List<InstanceOffer> offers) {
+        final Map<Long, RegionPrices> regions = ListUtils.emptyIfNull(offers).stream()
+                .filter(offer -> offer.getRegionId() != null)
+                .collect(Collectors.groupingBy(InstanceOffer::getRegionId))
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> RegionPrices.of(entry.getValue())));
+        return new InstancePriceIndex(regions);
+    }
+
+    /**
+     * Returns a new index with offers of the specified region replaced by the given ones.
+     */
+    public InstancePriceIndex withRegion(final Long regionId, final List<InstanceOffer> offers) {
+        final Map<Long, RegionPrices> updated = new HashMap<>(regions);
+        updated.put(regionId, RegionPrices.of(ListUtils.emptyIfNull(offers)));
+        return new InstancePriceIndex(updated);
+    }
+
+    public boolean containsRegion(final Long regionId) {
+        return regionId != null && regions.containsKey(regionId);
+    }
+
+    public OptionalDouble getPricePerHour(final Long regionId, final String instanceType, final String termType,
+                                          final String operatingSystem, final String tenancy) {
+        final RegionPrices prices = regions.get(regionId);
+        if (prices == null) {
+            return OptionalDouble.empty();
+        }
+        final Double price = prices.getComputePrices()
+                .get(new PriceKey(instanceType, termType, operatingSystem, tenancy));
+        return price == null ? OptionalDouble.empty() : OptionalDouble.of(price);
+    }
+
+    public List<InstanceOffer> getDiskOffers(final Long regionId) {
+        final RegionPrices prices = regions.get(regionId);
+        return prices == null ? Collections.emptyList() : prices.getDiskOffers();
+    }
+
+    @Value
+    private static class PriceKey {
+        String instanceType;
+        String termType;
+        String operatingSystem;
+        String tenancy;
+    }
+
+    @Value
+    private static class RegionPrices {
+        Map<PriceKey, Double> computePrices;
+        List<InstanceOffer> diskOffers;
+
+        static RegionPrices of(final List<InstanceOffer> offers) {
+            final Map<PriceKey, Double> computePrices = offers.stream()
+                    .filter(offer -> CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY
+                            .equals(offer.getProductFamily()))
+                    .filter(offer -> CloudInstancePriceService.HOURS_UNIT.equals(offer.getUnit()))
+                    .filter(offer -> Double.compare(offer.getPricePerUnit(), 0.0) > 0)
+                    .collect(Collectors.toMap(
+                        offer -> new PriceKey(offer.getInstanceType(), offer.getTermType(),
+                                offer.getOperatingSystem(), offer.getTenancy()),
+                        InstanceOffer::getPricePerUnit,
+                        Math::min));
+            final List<InstanceOffer> diskOffers = offers.stream()
+                    .filter(offer -> CloudInstancePriceService.STORAGE_PRODUCT_FAMILY
+                            .equals(offer.getProductFamily()))
+                    .filter(offer -> Objects.equals(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE,
+                            offer.getVolumeType()))
+                    .collect(Collectors.toList());
+            return new RegionPrices(Collections.unmodifiableMap(computePrices),
+                    Collections.unmodifiableList(diskOffers));
+        }
+    }
+}
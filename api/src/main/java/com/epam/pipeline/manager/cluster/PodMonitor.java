@@ -31,6 +31,7 @@ import com.epam.pipeline.entity.pipeline.run.RunStatus;
 import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.cloud.CloudFacade;
 import com.epam.pipeline.manager.cluster.cleaner.RunCleaner;
+import com.epam.pipeline.manager.cluster.watch.KubernetesPodCache;
 import com.epam.pipeline.manager.notification.NotificationManager;
 import com.epam.pipeline.manager.notification.NotificationSettingsManager;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
@@ -67,7 +68,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -121,6 +124,7 @@ public class PodMonitor extends AbstractSchedulingManager {
         private final CloudFacade cloudFacade;
         private final PreferenceManager preferenceManager;
         private final List<RunCleaner> cleaners;
+        private final KubernetesPodCache podCache;
 
         @Autowired
         PodMonitorCore(final RunLogManager runLogManager,
@@ -135,6 +139,7 @@ public class PodMonitor extends AbstractSchedulingManager {
                        final CloudFacade cloudFacade,
                        final PreferenceManager preferenceManager,
                        final List<RunCleaner> cleaners,
+                       final KubernetesPodCache podCache,
                        final @Value("${kube.namespace}") String kubeNamespace) {
             this.runLogManager = runLogManager;
             this.pipelineRunManager = pipelineRunManager;
@@ -149,15 +154,19 @@ public class PodMonitor extends AbstractSchedulingManager {
             this.preferenceManager = preferenceManager;
             this.kubeNamespace = kubeNamespace;
             this.cleaners = ListUtils.emptyIfNull(cleaners);
+            this.podCache = podCache;
         }
 
         /**
-         * Queries statuses of pods of running tasks and adjust task statuses corresponding to pods statuses
+         * Queries statuses of pods of running tasks and adjust task statuses corresponding to pods statuses.
+         * Pods are resolved from the watch-backed {@link KubernetesPodCache}, Kubernetes API is queried directly
+         * only to confirm that a pod is actually missing.
          */
         @SchedulerLock(name = "PodMonitor_updateStatus", lockAtMostForString = "PT5M")
         public void updateStatus() {
             LOGGER.debug(messageHelper.getMessage(MessageConstants.DEBUG_MONITOR_CHECK_RUNNING));
             List<PipelineRun> running = pipelineRunManager.loadRunningAndTerminatedPipelineRuns();
+            List<PipelineRun> monitored = new ArrayList<>();
             for (PipelineRun run : running) {
                 if (!run.getExecutionPreferences().getEnvironment().isMonitored()) {
                     if (run.getStatus().isFinal()) {
@@ -168,49 +177,21 @@ public class PodMonitor extends AbstractSchedulingManager {
                             run.getExecutionPreferences().getEnvironment());
                     continue;
                 }
-                LOGGER.debug("RUN ID {} status {} terminating {}", run.getId(), run.getStatus(), run.isTerminating());
+                monitored.add(run);
+            }
+            if (!monitored.isEmpty()) {
                 try (KubernetesClient client = kubernetesManager.getKubernetesClient()) {
-                    Pod pod = client.pods().inNamespace(kubeNamespace).withName(run.getPodId()).get();
-                    //check maybe run was already processed with master node
-                    PipelineRun currentRunState = pipelineRunManager.loadPipelineRun(run.getId());
-                    if (pod == null && currentRunState.getStatus().isFinal()) {
-                        LOGGER.debug("Run ID {} is already in final status {}",
-                                run.getId(), currentRunState.getStatus());
-                        setRunFinished(currentRunState, pod, client);
-                        continue;
-                    }
-                    if (pod == null || run.isTerminating()) {
-                        setRunFinished(run, pod, client);
-                    } else {
-                        PodStatus status = pod.getStatus();
-                        // update pod IP, if it is not set yet
-                        if (StringUtils.isEmpty(run.getPodIP())) {
-                            if (StringUtils.isEmpty(status.getPodIP())) {
-                                notifyIfExceedsThreshold(run, pod, NotificationType.LONG_INIT);
-                            } else {
-                                run.setPodIP(status.getPodIP());
-                                pipelineRunManager.updatePodIP(run);
-                            }
-                        }
-
-                        if (status.getPhase().equals(KubernetesConstants.POD_SUCCEEDED_PHASE)) {
-                            run.setStatus(TaskStatus.SUCCESS);
-                            run.setEndDate(DateUtils.now());
-                            run.setTerminating(false);
-                            //check that all tasks managed to reports its statuses
-                            if (!checkChildrenPods(run, client, pod)) {
-                                continue;
-                            }
-                        } else if (status.getPhase().equals(KubernetesConstants.POD_FAILED_PHASE) ||
-                                (status.getReason() != null &&
-                                        status.getReason().equals(KubernetesConstants.NODE_LOST))) {
-                            setRunFinished(run, pod, client);
-                        } else {
-                            notifyIfExceedsThreshold(run, pod, NotificationType.LONG_RUNNING);
+                    Map<Long, Optional<Pod>> pods = findPods(monitored, client);
+                    for (PipelineRun run : monitored) {
+                        if (!pods.containsKey(run.getId())) {
                             continue;
                         }
+                        try {
+                            updateRunStatus(run, pods.get(run.getId()).orElse(null), client);
+                        } catch (Exception e) {
+                            LOGGER.error(e.getMessage(), e);
+                        }
                     }
-                    pipelineRunManager.updatePipelineStatus(run);
                 } catch (Exception e) {
                     LOGGER.error(e.getMessage(), e);
                 }
@@ -218,6 +199,70 @@ public class PodMonitor extends AbstractSchedulingManager {
             LOGGER.debug(messageHelper.getMessage(MessageConstants.DEBUG_MONITOR_CHECK_FINISHED));
         }
 
+        private Map<Long, Optional<Pod>> findPods(List<PipelineRun> runs, KubernetesClient client) {
+            Map<Long, Optional<Pod>> pods = new HashMap<>();
+            for (PipelineRun run : runs) {
+                try {
+                    Optional<Pod> pod = podCache.find(run.getPodId());
+                    if (!pod.isPresent()) {
+                        // pod may be missing in cache if watch event was not delivered yet
+                        pod = Optional.ofNullable(client.pods().inNamespace(kubeNamespace)
+                                .withName(run.getPodId()).get());
+                    }
+                    pods.put(run.getId(), pod);
+                } catch (Exception e) {
+                    LOGGER.error(e.getMessage(), e);
+                }
+            }
+            return pods;
+        }
+
+        private void updateRunStatus(PipelineRun run, Pod pod, KubernetesClient client) {
+            LOGGER.debug("RUN ID {} status {} terminating {}", run.getId(), run.getStatus(), run.isTerminating());
+            if (pod == null) {
+                //check maybe run was already processed with master node
+                PipelineRun currentRunState = pipelineRunManager.loadPipelineRun(run.getId());
+                if (currentRunState.getStatus().isFinal()) {
+                    LOGGER.debug("Run ID {} is already in final status {}",
+                            run.getId(), currentRunState.getStatus());
+                    setRunFinished(currentRunState, pod, client);
+                    return;
+                }
+            }
+            if (pod == null || run.isTerminating()) {
+                setRunFinished(run, pod, client);
+            } else {
+                PodStatus status = pod.getStatus();
+                // update pod IP, if it is not set yet
+                if (StringUtils.isEmpty(run.getPodIP())) {
+                    if (StringUtils.isEmpty(status.getPodIP())) {
+                        notifyIfExceedsThreshold(run, pod, NotificationType.LONG_INIT);
+                    } else {
+                        run.setPodIP(status.getPodIP());
+                        pipelineRunManager.updatePodIP(run);
+                    }
+                }
+
+                if (status.getPhase().equals(KubernetesConstants.POD_SUCCEEDED_PHASE)) {
+                    run.setStatus(TaskStatus.SUCCESS);
+                    run.setEndDate(DateUtils.now());
+                    run.setTerminating(false);
+                    //check that all tasks managed to reports its statuses
+                    if (!checkChildrenPods(run, client, pod)) {
+                        return;
+                    }
+                } else if (status.getPhase().equals(KubernetesConstants.POD_FAILED_PHASE) ||
+                        (status.getReason() != null &&
+                                status.getReason().equals(KubernetesConstants.NODE_LOST))) {
+                    setRunFinished(run, pod, client);
+                } else {
+                    notifyIfExceedsThreshold(run, pod, NotificationType.LONG_RUNNING);
+                    return;
+                }
+            }
+            pipelineRunManager.updatePipelineStatus(run);
+        }
+
         @Scheduled(fixedDelay = POD_RELEASE_TIMEOUT)
         public void releaseUnusedPods() {
             while (!queueToKill.isEmpty()) {
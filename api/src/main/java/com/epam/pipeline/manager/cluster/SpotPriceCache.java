@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cluster;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * TTL bounded cache of cloud spot prices.
+ *
+ * Prices are loaded on the first request for a region and instance type and are kept for the configured time
+ * to live. Prices which were requested recently are reloaded in background by {@link #refresh()}, prices which were
+ * not requested for the idle period are evicted.
+ */
+@Slf4j
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class SpotPriceCache {
+
+    private final BiFunction<Long, String, Double> loader;
+    private final long ttlMs;
+    private final long idleMs;
+    private final Map<SpotPriceKey, SpotPrice> prices = new ConcurrentHashMap<>();
+
+    public SpotPriceCache(final BiFunction<Long, String, Double> loader, final long ttlMs, final long idleMs) {
+        this.loader = loader;
+        this.ttlMs = ttlMs;
+        this.idleMs = idleMs;
+    }
+
+    public double get(final Long regionId, final String instanceType) {
+        final SpotPriceKey key = new SpotPriceKey(regionId, instanceType);
+        final long now = System.currentTimeMillis();
+        final SpotPrice cached = prices.get(key);
+        if (cached != null && now - cached.getLoaded() < ttlMs) {
+            cached.setLastAccess(now);
+            return cached.getPrice();
+        }
+        final double price = loader.apply(regionId, instanceType);
+        prices.put(key, new SpotPrice(price, now, now));
+        return price;
+    }
+
+    /**
+     * Reloads prices which were requested during the idle period and evicts all the others.
+     */
+    public void refresh() {
+        final long now = System.currentTimeMillis();
+        prices.forEach((key, cached) -> {
+            if (now - cached.getLastAccess() > idleMs) {
+                prices.remove(key, cached);
+                return;
+            }
+            try {
+                final double price = loader.apply(key.getRegionId(), key.getInstanceType());
+                prices.computeIfPresent(key, (k, current) ->
+                        new SpotPrice(price, now, Math.max(current.getLastAccess(), cached.getLastAccess())));
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh spot price of {} in region {}: {}",
+                        key.getInstanceType(), key.getRegionId(), e.getMessage());
+            }
+        });
+    }
+
+    @Value
+    private static class SpotPriceKey {
+        Long regionId;
+        String instanceType;
+    }
+
+    @Getter
+    private static final class SpotPrice {
+        private final double price;
+        private final long loaded;
+        @Setter
+        private volatile long lastAccess;
+
+        private SpotPrice(final double price, final long loaded, final long lastAccess) {
+            this.price = price;
+            this.loaded = loaded;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -31,14 +31,14 @@ import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.NodesManager;
 import com.epam.pipeline.manager.cluster.cleaner.RunCleaner;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshot;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshotService;
 import com.epam.pipeline.manager.parallel.ParallelExecutorService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.manager.scheduling.AbstractSchedulingManager;
-import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
@@ -112,6 +112,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
         private final ScaleDownHandler scaleDownHandler;
         private final List<RunCleaner> runCleaners;
         private final PoolAutoscaler poolAutoscaler;
+        private final KubernetesClusterSnapshotService clusterSnapshotService;
         private final Set<Long> nodeUpTaskInProgress = ConcurrentHashMap.newKeySet();
         private final Map<Long, Integer> nodeUpAttempts = new ConcurrentHashMap<>();
         private final Map<Long, Integer> spotNodeUpAttempts = new ConcurrentHashMap<>();
@@ -131,7 +132,8 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                              final ReassignHandler reassignHandler,
                              final ScaleDownHandler scaleDownHandler,
                              final List<RunCleaner> runCleaners,
-                             final PoolAutoscaler poolAutoscaler) {
+                             final PoolAutoscaler poolAutoscaler,
+                             final KubernetesClusterSnapshotService clusterSnapshotService) {
             this.pipelineRunManager = pipelineRunManager;
             this.executorService = executorService;
             this.autoscalerService = autoscalerService;
@@ -145,6 +147,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             this.scaleDownHandler = scaleDownHandler;
             this.runCleaners = runCleaners;
             this.poolAutoscaler = poolAutoscaler;
+            this.clusterSnapshotService = clusterSnapshotService;
         }
 
         @SchedulerLock(name = "AutoscaleManager_runAutoscaling", lockAtMostForString = "PT10M")
@@ -153,12 +156,10 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             Config config = new Config();
             Set<String> scheduledRuns = new HashSet<>();
             try (KubernetesClient client = kubernetesManager.getKubernetesClient(config)) {
-                Set<String> nodes = kubernetesManager.getAvailableNodesIds(client);
-                checkPendingPods(scheduledRuns, client, nodes);
-                Set<String> pods = kubernetesManager.getAllPodIds(client);
-                scaleDownHandler.checkFreeNodes(scheduledRuns, client, pods);
-                checkPoolNodes(client);
-                int clusterSize = kubernetesManager.getAvailableNodes(client).getItems().size();
+                checkPendingPods(scheduledRuns, client, clusterSnapshotService.getSnapshot());
+                scaleDownHandler.checkFreeNodes(scheduledRuns, client, clusterSnapshotService.getSnapshot());
+                checkPoolNodes();
+                int clusterSize = clusterSnapshotService.getSnapshot().getAvailableNodes().size();
                 int nodeUpTasksSize = nodeUpTaskInProgress.size() + getPoolNodeUpTasksCount();
 
                 log.debug(
@@ -178,15 +179,14 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             poolAutoscaler.adjustPoolSizes();
         }
 
-        private void checkPendingPods(Set<String> scheduledRuns, KubernetesClient client, Set<String> nodes) {
+        private void checkPendingPods(Set<String> scheduledRuns, KubernetesClient client,
+                                      KubernetesClusterSnapshot snapshot) {
             List<CompletableFuture<Void>> tasks = new ArrayList<>();
-            PodList podList = kubernetesManager.getPodList(client);
-            List<Pod> orderedPipelines = getOrderedPipelines(podList.getItems(), client);
-            Set<String> allPods = kubernetesManager.convertKubeItemsToRunIdSet(podList.getItems());
+            List<Pod> orderedPipelines = getOrderedPipelines(snapshot.getPipelinePods(), client);
             Set<String> reassignedNodes = new HashSet<>();
             orderedPipelines.forEach(pod -> {
                 if (kubernetesManager.isPodUnscheduled(pod)) {
-                    processPod(pod, client, scheduledRuns, tasks, allPods, nodes, reassignedNodes);
+                    processPod(pod, client, scheduledRuns, tasks, snapshot, reassignedNodes);
                 }
             });
             if (!tasks.isEmpty()) {
@@ -195,37 +195,31 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             log.debug("In progress {} nodeup tasks.", nodeUpTaskInProgress.size());
         }
 
-        private void checkPoolNodes(final KubernetesClient client) {
+        private void checkPoolNodes() {
             final List<NodePool> activePools = nodePoolManager.getActivePools();
             if (CollectionUtils.isEmpty(activePools)) {
                 return;
             }
-            final List<Node> currentNodes = ListUtils.emptyIfNull(kubernetesManager.getAvailableNodes(client)
-                    .getItems());
+            final KubernetesClusterSnapshot snapshot = clusterSnapshotService.getSnapshot();
             activePools.forEach(pool -> {
                 final Integer activeTasks = poolNodeUpTaskInProgress.getOrDefault(pool.getId(), 0);
                 log.debug("{} instance(s) are already created for pool {}.", activeTasks, pool);
                 if (activeTasks >= pool.getCount()) {
                     return;
                 }
-                final long matchingNodeCount = currentNodes.stream().filter(currentNode -> {
-                    final String nodeIdLabel = MapUtils.emptyIfNull(currentNode.getMetadata().getLabels())
-                            .get(KubernetesConstants.NODE_POOL_ID_LABEL);
-                    return StringUtils.isNotBlank(nodeIdLabel) && NumberUtils.isDigits(nodeIdLabel) &&
-                            pool.getId().equals(Long.parseLong(nodeIdLabel));
-                }).count();
+                final long matchingNodeCount = snapshot.getAvailableNodesByPoolId(pool.getId()).size();
                 log.debug("Found {} existing instances matching {}.", matchingNodeCount, pool);
                 final long totalCount = activeTasks + matchingNodeCount;
                 if (totalCount < pool.getCount()) {
                     final long nodesToCreate = pool.getCount() - totalCount;
                     log.debug("Creating {} pool instance(s) for {}.", nodesToCreate, pool);
-                    LongStream.range(0, nodesToCreate).forEach(i -> createPoolNode(pool, client));
+                    LongStream.range(0, nodesToCreate).forEach(i -> createPoolNode(pool));
                 }
             });
         }
 
-        private void createPoolNode(final NodePool node, final KubernetesClient client) {
-            final int currentClusterSize = getCurrentClusterSize(client);
+        private void createPoolNode(final NodePool node) {
+            final int currentClusterSize = getCurrentClusterSize();
             final Integer maxClusterSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_MAX_SIZE);
             if (currentClusterSize >= maxClusterSize) {
                 log.debug("Reached maximum cluster size {} - current size {}.", maxClusterSize, currentClusterSize);
@@ -253,7 +247,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
         }
 
         private void processPod(Pod pod, KubernetesClient client, Set<String> scheduledRuns,
-                                List<CompletableFuture<Void>> tasks, Set<String> allPods, Set<String> nodes,
+                                List<CompletableFuture<Void>> tasks, KubernetesClusterSnapshot snapshot,
                                 Set<String> reassignedNodes) {
             log.debug("Found an unscheduled pod: {}.", pod.getMetadata().getName());
             Map<String, String> labels = pod.getMetadata().getLabels();
@@ -264,7 +258,7 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                 return;
             }
             // Check whether node with required RunID is available
-            if (nodes.contains(runId)) {
+            if (snapshot.getAvailableNodesIds().contains(runId)) {
                 log.debug("Node with required ID {} already exists.", runId);
                 return;
             }
@@ -290,19 +284,22 @@ public class AutoscaleManager extends AbstractSchedulingManager {
                     return;
                 }
                 List<String> freeNodes =
-                        nodes.stream().filter(nodeId -> !allPods.contains(nodeId)
-                                && !reassignedNodes.contains(nodeId) &&
-                                kubernetesManager.isNodeAvailable(client, nodeId))
+                        snapshot.getAvailableNodesIds().stream()
+                                .filter(nodeId -> !snapshot.getPipelinePodsIds().contains(nodeId)
+                                        && !reassignedNodes.contains(nodeId) &&
+                                        snapshot.findAvailableNodeByRunId(nodeId)
+                                                .filter(kubernetesManager::isNodeAvailable)
+                                                .isPresent())
                                 .collect(Collectors.toList());
                 log.debug("Found {} free nodes.", freeNodes.size());
                 if (reassignHandler.tryReassignNode(client, scheduledRuns, reassignedNodes, runId,
                         longId, requiredInstance, freeNodes)) {
                     return;
                 }
-                if (!hasClusterCapacity(client)) {
+                if (!hasClusterCapacity()) {
                     return;
                 }
-                int currentClusterSize = getCurrentClusterSize(client);
+                int currentClusterSize = getCurrentClusterSize();
                 Integer maxClusterSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_MAX_SIZE);
                 if (currentClusterSize == maxClusterSize &&
                         preferenceManager.getPreference(SystemPreferences.CLUSTER_KILL_NOT_MATCHING_NODES)) {
@@ -336,8 +333,8 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             }
         }
 
-        private boolean hasClusterCapacity(final KubernetesClient client) {
-            final int currentClusterSize = getCurrentClusterSize(client);
+        private boolean hasClusterCapacity() {
+            final int currentClusterSize = getCurrentClusterSize();
             final Integer maxClusterSize = preferenceManager.getPreference(SystemPreferences.CLUSTER_MAX_SIZE);
             if (currentClusterSize > maxClusterSize) {
                 log.debug("Exceeded maximum cluster size {} - current size {}.",
@@ -529,9 +526,9 @@ public class AutoscaleManager extends AbstractSchedulingManager {
             }
         }
 
-        private int getCurrentClusterSize(KubernetesClient client) {
+        private int getCurrentClusterSize() {
             return nodeUpTaskInProgress.size() + getPoolNodeUpTasksCount() +
-                    kubernetesManager.getAvailableNodes(client).getItems().size();
+                    clusterSnapshotService.getSnapshot().getAvailableNodes().size();
         }
 
         public InstanceRequest getNewRunInstance(String runId) throws GitClientException {
@@ -17,14 +17,14 @@ package com.epam.pipeline.manager.cluster.autoscale;
 
 import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
-import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshot;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshotService;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
 import com.epam.pipeline.utils.DoubleUtils;
 import io.fabric8.kubernetes.api.model.Node;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -42,7 +42,7 @@ public class PoolAutoscaler {
     public static final int PERCENT_MULTIPLIER = 100;
     private final NodePoolManager poolManager;
     private final NodePoolMapper poolMapper;
-    private final KubernetesManager kubernetesManager;
+    private final KubernetesClusterSnapshotService clusterSnapshotService;
     private final PreferenceManager preferenceManager;
 
     public void adjustPoolSizes() {
@@ -50,13 +50,12 @@ public class PoolAutoscaler {
             log.debug("Platform is in a maintenance mode, operation is temporary unavailable");
             return;
         }
-        try (KubernetesClient kubernetesClient = kubernetesManager.getKubernetesClient()) {
-            final List<Node> availableNodes = kubernetesManager.getNodes(kubernetesClient);
-            final Set<String> activePodIds = kubernetesManager.getAllPodIds(kubernetesClient);
-            poolManager.getActivePools()
-                    .forEach(pool ->
-                            adjustPoolSize(pool, availableNodes, activePodIds));
-        }
+        final KubernetesClusterSnapshot snapshot = clusterSnapshotService.getSnapshot();
+        final List<Node> availableNodes = snapshot.getAvailableNodes();
+        final Set<String> activePodIds = snapshot.getPipelinePodsIds();
+        poolManager.getActivePools()
+                .forEach(pool ->
+                        adjustPoolSize(pool, availableNodes, activePodIds));
     }
 
     private void adjustPoolSize(final NodePool pool,
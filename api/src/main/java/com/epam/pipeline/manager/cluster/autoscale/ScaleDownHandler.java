@@ -24,15 +24,13 @@ import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.manager.cloud.CloudFacade;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.KubernetesManager;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshot;
 import com.epam.pipeline.manager.pipeline.PipelineRunCRUDService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import io.fabric8.kubernetes.api.model.Node;
-import io.fabric8.kubernetes.api.model.NodeList;
-import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -53,16 +51,15 @@ public class ScaleDownHandler {
 
     public void checkFreeNodes(final Set<String> scheduledRuns,
                                final KubernetesClient client,
-                               final Set<String> pods) {
-        final List<InstanceRequest> requiredInstances = getRequiredInstances(scheduledRuns, client);
-        kubernetesManager.getAvailableNodes(client)
-                .getItems()
-                .forEach(node -> scaleDownNodeIfFree(scheduledRuns, client, pods, requiredInstances, node));
+                               final KubernetesClusterSnapshot snapshot) {
+        final List<InstanceRequest> requiredInstances = getRequiredInstances(scheduledRuns, snapshot);
+        snapshot.getAvailableNodes()
+                .forEach(node -> scaleDownNodeIfFree(scheduledRuns, client, snapshot, requiredInstances, node));
     }
 
     private void scaleDownNodeIfFree(final Set<String> scheduledRuns,
                                      final KubernetesClient client,
-                                     final Set<String> pods,
+                                     final KubernetesClusterSnapshot snapshot,
                                      final List<InstanceRequest> requiredInstances,
                                      final Node node) {
         final String nodeLabel = node.getMetadata().getLabels().get(KubernetesConstants.RUN_ID_LABEL);
@@ -88,19 +85,20 @@ public class ScaleDownHandler {
             }
             return;
         }
-        if (scheduledRuns.contains(nodeLabel) || pods.contains(nodeLabel)) {
+        if (scheduledRuns.contains(nodeLabel) || snapshot.getPipelinePodsIds().contains(nodeLabel)) {
             log.debug("Node is already assigned to run {}.", nodeLabel);
             return;
         }
         if (poolNode) {
-            scaleDownPoolNodeIfNotRequired(nodeLabel, client, requiredInstances);
+            scaleDownPoolNodeIfNotRequired(nodeLabel, client, snapshot, requiredInstances);
         } else {
-            scaleDownRunNodeIfNotRequired(nodeLabel, client, requiredInstances);
+            scaleDownRunNodeIfNotRequired(nodeLabel, client, snapshot, requiredInstances);
         }
     }
 
     private void scaleDownPoolNodeIfNotRequired(final String nodeLabel,
                                                 final KubernetesClient client,
+                                                final KubernetesClusterSnapshot snapshot,
                                                 final List<InstanceRequest> requiredInstances) {
         final NodePool nodePool = autoscalerService
                 .findPool(nodeLabel, client)
@@ -118,7 +116,7 @@ public class ScaleDownHandler {
         if (matchingPipeline.isPresent()) {
             requiredInstances.remove(matchingPipeline.get());
             log.debug("Leaving node {} free since it possibly matches a pending run.", nodeLabel);
-        } else if (matchesActivePool(nodePool, client)) {
+        } else if (matchesActivePool(nodePool, snapshot)) {
             log.debug("Leaving {} node in cluster as it matches an active pool.", nodePool);
         } else {
             log.debug("Scaling down pool node {}.", nodeLabel);
@@ -128,6 +126,7 @@ public class ScaleDownHandler {
 
     private void scaleDownRunNodeIfNotRequired(final String nodeLabel,
                                                final KubernetesClient client,
+                                               final KubernetesClusterSnapshot snapshot,
                                                final List<InstanceRequest> requiredInstances) {
         final Long currentRunId = Long.parseLong(nodeLabel);
         final RunningInstance previousConfiguration = autoscalerService.getPreviousRunInstance(nodeLabel, client);
@@ -150,7 +149,7 @@ public class ScaleDownHandler {
         if (matchingPipeline.isPresent()) {
             requiredInstances.remove(matchingPipeline.get());
             log.debug("Leaving node {} free since it possibly matches a pending run.", nodeLabel);
-        } else if (matchesActivePool(nodeLabel, client)) {
+        } else if (matchesActivePool(nodeLabel, client, snapshot)) {
             log.debug("Leaving {} node in cluster as it matches active schedule.", nodeLabel);
         } else {
             if (cloudFacade.isNodeExpired(currentRunId)) {
@@ -163,21 +162,19 @@ public class ScaleDownHandler {
     }
 
     private boolean matchesActivePool(final String nodeLabel,
-                                      final KubernetesClient client) {
+                                      final KubernetesClient client,
+                                      final KubernetesClusterSnapshot snapshot) {
         return autoscalerService.findPool(nodeLabel, client)
-                .map(node -> matchesActivePool(node, client))
+                .map(node -> matchesActivePool(node, snapshot))
                 .orElse(false);
     }
 
     private boolean matchesActivePool(final NodePool nodePool,
-                                      final KubernetesClient client) {
+                                      final KubernetesClusterSnapshot snapshot) {
         if (!nodePool.isActive(DateUtils.nowUTC())) {
             return false;
         }
-        final NodeList nodes = client.nodes()
-                .withLabel(KubernetesConstants.NODE_POOL_ID_LABEL, String.valueOf(nodePool.getId()))
-                .list();
-        return nodes.getItems().size() <= nodePool.getCount();
+        return snapshot.getNodesByPoolId(nodePool.getId()).size() <= nodePool.getCount();
     }
 
     private void updatePodStatus(final Node node, final Long id) {
@@ -197,9 +194,8 @@ public class ScaleDownHandler {
 
     private List<InstanceRequest> getRequiredInstances(
             final Set<String> scheduledRuns,
-            final KubernetesClient client) {
-        final PodList podList = kubernetesManager.getPodList(client);
-        return ListUtils.emptyIfNull(podList.getItems())
+            final KubernetesClusterSnapshot snapshot) {
+        return snapshot.getPipelinePods()
                 .stream()
                 .filter(kubernetesManager::isPodUnscheduled)
                 .map(pod -> pod.getMetadata().getLabels().get(KubernetesConstants.RUN_ID_LABEL))
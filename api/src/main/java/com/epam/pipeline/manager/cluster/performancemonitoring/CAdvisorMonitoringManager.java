@@ -41,7 +41,7 @@ import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Proxy;
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -115,11 +115,12 @@ public class CAdvisorMonitoringManager implements UsageMonitoringManager {
     }
 
     @Override
-    public InputStream getStatsForNodeAsInputStream(final String nodeName,
-                                                    final LocalDateTime from,
-                                                    final LocalDateTime to,
-                                                    final Duration interval,
-                                                    final MonitoringReportType type) {
+    public void writeStatsForNode(final String nodeName,
+                                  final LocalDateTime from,
+                                  final LocalDateTime to,
+                                  final Duration interval,
+                                  final MonitoringReportType type,
+                                  final OutputStream out) {
         throw new UnsupportedOperationException(messageHelper.getMessage(
             MessageConstants.CADVISOR_STATS_REPORTS_NOT_SUPPORTED));
     }
@@ -29,21 +29,27 @@ import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
 import com.epam.pipeline.manager.cluster.NodesManager;
 import com.epam.pipeline.manager.cluster.writer.AbstractMonitoringStatsWriter;
+import com.epam.pipeline.manager.cluster.writer.MonitoringStatsHeader;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.utils.CommonUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 @Service
@@ -57,6 +63,7 @@ public class ESMonitoringManager implements UsageMonitoringManager {
     private static final int FALLBACK_INTERVALS_NUMBER = 10;
     private static final int TWO = 2;
     private static final String SWAP_FILESYSTEM = "tmpfs";
+    private static final int EXPORT_PAGE_INTERVALS = 1000;
 
     private final HeapsterElasticRestHighLevelClient client;
     private final MonitoringESDao monitoringDao;
@@ -93,11 +100,12 @@ public class ESMonitoringManager implements UsageMonitoringManager {
     }
 
     @Override
-    public InputStream getStatsForNodeAsInputStream(final String nodeName,
-                                                    final LocalDateTime from,
-                                                    final LocalDateTime to,
-                                                    final Duration interval,
-                                                    final MonitoringReportType type) {
+    public void writeStatsForNode(final String nodeName,
+                                  final LocalDateTime from,
+                                  final LocalDateTime to,
+                                  final Duration interval,
+                                  final MonitoringReportType type,
+                                  final OutputStream out) throws IOException {
         final LocalDateTime requestedStart = Optional.ofNullable(from).orElseGet(() -> creationDate(nodeName));
         final LocalDateTime oldestMonitoring = oldestMonitoringDate();
         final LocalDateTime start = requestedStart.isAfter(oldestMonitoring) ? requestedStart : oldestMonitoring;
@@ -109,7 +117,8 @@ public class ESMonitoringManager implements UsageMonitoringManager {
         final AbstractMonitoringStatsWriter statsWriter = Optional.ofNullable(statsWriters.get(type))
             .orElseThrow(() -> new IllegalArgumentException(
                 messageHelper.getMessage(MessageConstants.ERROR_UNSUPPORTED_STATS_FILE_TYPE)));
-        return statsWriter.convertStatsToFile(getStats(nodeName, start, end, adjustedDuration));
+        statsWriter.writeStats(getStatsHeader(nodeName, start, end),
+                streamStats(nodeName, start, end, adjustedDuration), out);
     }
 
     @Override
@@ -176,6 +185,44 @@ public class ESMonitoringManager implements UsageMonitoringManager {
                 .collect(Collectors.toList());
     }
 
+    private MonitoringStatsHeader getStatsHeader(final String nodeName, final LocalDateTime start,
+                                                 final LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            return MonitoringStatsHeader.of(Collections.emptySet(), Collections.emptySet());
+        }
+        return MonitoringStatsHeader.of(
+                AbstractMetricRequester.getStatsRequester(ELKUsageMetric.FS, client)
+                        .requestResourceNames(nodeName, start, end),
+                AbstractMetricRequester.getStatsRequester(ELKUsageMetric.NETWORK, client)
+                        .requestResourceNames(nodeName, start, end));
+    }
+
+    /**
+     * Lazily loads stats page by page. Page bounds are aligned to the page duration, so that no histogram
+     * bucket is split between two pages.
+     */
+    private Stream<MonitoringStats> streamStats(final String nodeName, final LocalDateTime start,
+                                                final LocalDateTime end, final Duration interval) {
+        if (!end.isAfter(start)) {
+            return Stream.empty();
+        }
+        final long pageMillis = interval.multipliedBy(EXPORT_PAGE_INTERVALS).toMillis();
+        final long endMillis = toMillis(end);
+        final List<LocalDateTime> bounds = new ArrayList<>();
+        bounds.add(start);
+        for (long bound = (toMillis(start) / pageMillis + 1) * pageMillis; bound < endMillis; bound += pageMillis) {
+            bounds.add(LocalDateTime.ofInstant(Instant.ofEpochMilli(bound), ZoneOffset.UTC));
+        }
+        bounds.add(end);
+        return IntStream.range(0, bounds.size() - 1)
+                .boxed()
+                .flatMap(i -> getStats(nodeName, bounds.get(i), bounds.get(i + 1), interval).stream());
+    }
+
+    private long toMillis(final LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
     private Duration interval(final LocalDateTime start, final LocalDateTime end) {
         final Duration requested = Duration.between(start, end).dividedBy(Math.max(1, numberOfIntervals() - 1));
         final Duration minimal = minimalDuration();
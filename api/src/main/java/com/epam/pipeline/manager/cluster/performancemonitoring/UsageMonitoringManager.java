@@ -20,7 +20,8 @@ import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
 
 import javax.annotation.Nullable;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -53,19 +54,21 @@ public interface UsageMonitoringManager {
                                           @Nullable LocalDateTime to);
 
     /**
-     * Retrieves monitoring stats for node as input stream.
+     * Writes monitoring stats report for node to the given output stream.
      *
      * @param nodeName Cluster node name.
      * @param from Minimal date for collecting stats.
      * @param to Maximal date for collecting stats.
      * @param interval period of stats collecting
-     * @return stream, containing required information in .csv format
+     * @param type report format
+     * @param out stream to write report to
      */
-    InputStream getStatsForNodeAsInputStream(String nodeName,
-                                             @Nullable LocalDateTime from,
-                                             @Nullable LocalDateTime to,
-                                             Duration interval,
-                                             MonitoringReportType type);
+    void writeStatsForNode(String nodeName,
+                           @Nullable LocalDateTime from,
+                           @Nullable LocalDateTime to,
+                           Duration interval,
+                           MonitoringReportType type,
+                           OutputStream out) throws IOException;
 
     /**
      * Retrieves number of bytes that available on a pod or node disk.
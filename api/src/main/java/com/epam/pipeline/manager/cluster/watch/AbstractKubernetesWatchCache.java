@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.watch;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of Kubernetes objects of a single kind which is kept up to date by a watch.
+ *
+ * Cache is populated lazily with a single list request, after that all changes are received through a watch
+ * started from the resource version of the list. If the watch is closed or reports an error, or resync period
+ * is exceeded, the cache is considered stale and is fully reloaded on the next access.
+ *
+ * If the reload fails, f.e. during Kubernetes API outage, the previously cached objects are still served and
+ * the next reload attempt is made only after the retry delay.
+ *
+ * @param <T> type of Kubernetes objects
+ */
+@Slf4j
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public abstract class AbstractKubernetesWatchCache<T extends HasMetadata> {
+
+    private final Supplier<KubernetesClient> clientSupplier;
+    private final long resyncPeriodMs;
+    private final long retryDelayMs;
+    private final Map<String, T> items = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile boolean stale = true;
+    private volatile long lastSync;
+    private volatile long retryAfter;
+    private KubernetesClient client;
+    private Watch watch;
+
+    protected AbstractKubernetesWatchCache(final Supplier<KubernetesClient> clientSupplier,
+                                           final long resyncPeriodMs,
+                                           final long retryDelayMs) {
+        this.clientSupplier = clientSupplier;
+        this.resyncPeriodMs = resyncPeriodMs;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    /**
+     * Lists all objects tracked by the cache.
+     */
+    protected abstract KubernetesResourceList<T> list(KubernetesClient client);
+
+    /**
+     * Starts a watch for objects tracked by the cache from the specified resource version.
+     */
+    protected abstract Watch watch(KubernetesClient client, String resourceVersion, Watcher<T> watcher);
+
+    /**
+     * Returns an object by its name.
+     */
+    public Optional<T> find(final String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        refreshIfRequired();
+        return Optional.ofNullable(items.get(name));
+    }
+
+    /**
+     * Returns all currently cached objects.
+     */
+    public Collection<T> getAll() {
+        refreshIfRequired();
+        return Collections.unmodifiableCollection(new ArrayList<>(items.values()));
+    }
+
+    /**
+     * Returns cache version which is incremented on each change of cached objects.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Forces cache to be fully reloaded on the next access.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeWatch();
+        items.clear();
+        stale = true;
+    }
+
+    protected void onChange() {
+        version.incrementAndGet();
+    }
+
+    void handleEvent(final Watcher.Action action, final T item) {
+        if (item == null || item.getMetadata() == null) {
+            return;
+        }
+        final String name = item.getMetadata().getName();
+        switch (action) {
+            case ADDED:
+            case MODIFIED:
+                items.put(name, item);
+                break;
+            case DELETED:
+                items.remove(name);
+                break;
+            default:
+                log.warn("Received {} event for {} {}, cache will be reloaded.", action, item.getKind(), name);
+                stale = true;
+                return;
+        }
+        onChange();
+    }
+
+    synchronized void reload(final KubernetesResourceList<T> list) {
+        items.clear();
+        ListUtils.emptyIfNull(list.getItems())
+                .forEach(item -> items.put(item.getMetadata().getName(), item));
+        lastSync = System.currentTimeMillis();
+        stale = false;
+        onChange();
+    }
+
+    /**
+     * Reloads cache if it is stale or resync period is exceeded. Failed reload is not retried until
+     * the retry delay passes, meanwhile the previously cached objects are served.
+     */
+    public void refreshIfRequired() {
+        if (!isRefreshRequired()) {
+            return;
+        }
+        synchronized (this) {
+            if (!isRefreshRequired()) {
+                return;
+            }
+            closeWatch();
+            try {
+                client = clientSupplier.get();
+                final KubernetesResourceList<T> list = list(client);
+                reload(list);
+                watch = watch(client, list.getMetadata().getResourceVersion(),
+                        new CacheWatcher(generation.incrementAndGet()));
+            } catch (KubernetesClientException e) {
+                log.error("Failed to initialize Kubernetes watch cache, it will be retried in {} ms: {}",
+                        retryDelayMs, e.getMessage());
+                stale = true;
+                retryAfter = System.currentTimeMillis() + retryDelayMs;
+                closeWatch();
+            }
+        }
+    }
+
+    private boolean isRefreshRequired() {
+        final long now = System.currentTimeMillis();
+        return (stale || now - lastSync >= resyncPeriodMs) && now >= retryAfter;
+    }
+
+    private void closeWatch() {
+        generation.incrementAndGet();
+        try {
+            if (watch != null) {
+                watch.close();
+            }
+            if (client != null) {
+                client.close();
+            }
+        } catch (Exception e) {
+            log.debug(e.getMessage(), e);
+        } finally {
+            watch = null;
+            client = null;
+        }
+    }
+
+    private class CacheWatcher implements Watcher<T> {
+
+        private final long watcherGeneration;
+
+        CacheWatcher(final long watcherGeneration) {
+            this.watcherGeneration = watcherGeneration;
+        }
+
+        @Override
+        public void eventReceived(final Action action, final T resource) {
+            if (isActual()) {
+                handleEvent(action, resource);
+            }
+        }
+
+        @Override
+        public void onClose(final KubernetesClientException cause) {
+            if (isActual()) {
+                log.warn("Kubernetes watch was closed{}, cache will be reloaded.",
+                        cause == null ? "" : ": " + cause.getMessage());
+                stale = true;
+            }
+        }
+
+        private boolean isActual() {
+            return watcherGeneration == generation.get();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.watch;
+
+import com.epam.pipeline.manager.cluster.KubernetesConstants;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.Pod;
+import lombok.Getter;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable point-in-time view of cluster nodes and pipeline pods with indexed lookups.
+ */
+public final class KubernetesClusterSnapshot {
+
+    private static final String PIPELINE_TYPE_LABEL = "type";
+    private static final String PIPELINE_TYPE = "pipeline";
+
+    @Getter
+    private final long nodesVersion;
+    @Getter
+    private final long podsVersion;
+    /**
+     * Nodes which have run id label and are not paused.
+     */
+    @Getter
+    private final List<Node> availableNodes;
+    /**
+     * Pods which have pipeline type and run id label.
+     */
+    @Getter
+    private final List<Pod> pipelinePods;
+    @Getter
+    private final Set<String> availableNodesIds;
+    @Getter
+    private final Set<String> pipelinePodsIds;
+    private final Map<String, Node> nodesByName;
+    private final Map<String, Node> availableNodesByRunId;
+    private final Map<Long, List<Node>> nodesByPoolId;
+    private final Map<Long, List<Node>> availableNodesByPoolId;
+    private final Map<String, Pod> pipelinePodsByRunId;
+
+    private KubernetesClusterSnapshot(final long nodesVersion, final long podsVersion,
+                                      final Collection<Node> nodes, final Collection<Pod> pods) {
+        this.nodesVersion = nodesVersion;
+        this.podsVersion = podsVersion;
+        this.availableNodes = Collections.unmodifiableList(CollectionUtils.emptyIfNull(nodes).stream()
+                .filter(node -> hasLabel(node, KubernetesConstants.RUN_ID_LABEL))
+                .filter(node -> !hasLabel(node, KubernetesConstants.PAUSED_NODE_LABEL))
+                .collect(Collectors.toList()));
+        this.pipelinePods = Collections.unmodifiableList(CollectionUtils.emptyIfNull(pods).stream()
+                .filter(pod -> PIPELINE_TYPE.equals(getLabel(pod, PIPELINE_TYPE_LABEL)))
+                .filter(pod -> hasLabel(pod, KubernetesConstants.RUN_ID_LABEL))
+                .collect(Collectors.toList()));
+        this.nodesByName = Collections.unmodifiableMap(CollectionUtils.emptyIfNull(nodes).stream()
+                .filter(node -> node.getMetadata() != null && node.getMetadata().getName() != null)
+                .collect(Collectors.toMap(node -> node.getMetadata().getName(), Function.identity(),
+                    (n1, n2) -> n1)));
+        this.availableNodesByRunId = Collections.unmodifiableMap(indexByRunId(availableNodes));
+        this.availableNodesIds = Collections.unmodifiableSet(availableNodesByRunId.keySet());
+        this.nodesByPoolId = Collections.unmodifiableMap(indexByPoolId(CollectionUtils.emptyIfNull(nodes)));
+        this.availableNodesByPoolId = Collections.unmodifiableMap(indexByPoolId(availableNodes));
+        this.pipelinePodsByRunId = Collections.unmodifiableMap(indexByRunId(pipelinePods));
+        this.pipelinePodsIds = Collections.unmodifiableSet(pipelinePodsByRunId.keySet());
+    }
+
+    public static KubernetesClusterSnapshot of(final Collection<Node> nodes, final Collection<Pod> pods) {
+        return of(0L, 0L, nodes, pods);
+    }
+
+    public static KubernetesClusterSnapshot of(final long nodesVersion, final long podsVersion,
+                                               final Collection<Node> nodes, final Collection<Pod> pods) {
+        return new KubernetesClusterSnapshot(nodesVersion, podsVersion, nodes, pods);
+    }
+
+    public Optional<Node> findNodeByName(final String name) {
+        return Optional.ofNullable(nodesByName.get(name));
+    }
+
+    public Optional<Node> findAvailableNodeByRunId(final String runId) {
+        return Optional.ofNullable(availableNodesByRunId.get(runId));
+    }
+
+    public List<Node> getNodesByPoolId(final Long poolId) {
+        return nodesByPoolId.getOrDefault(poolId, Collections.emptyList());
+    }
+
+    public List<Node> getAvailableNodesByPoolId(final Long poolId) {
+        return availableNodesByPoolId.getOrDefault(poolId, Collections.emptyList());
+    }
+
+    public Optional<Pod> findPipelinePodByRunId(final String runId) {
+        return Optional.ofNullable(pipelinePodsByRunId.get(runId));
+    }
+
+    boolean isActual(final long actualNodesVersion, final long actualPodsVersion) {
+        return nodesVersion == actualNodesVersion && podsVersion == actualPodsVersion;
+    }
+
+    private static <T extends HasMetadata> Map<String, T> indexByRunId(final List<T> items) {
+        final Map<String, T> index = new HashMap<>();
+        items.forEach(item -> index.putIfAbsent(getLabel(item, KubernetesConstants.RUN_ID_LABEL), item));
+        return index;
+    }
+
+    private static Map<Long, List<Node>> indexByPoolId(final Collection<Node> nodes) {
+        return nodes.stream()
+                .filter(node -> NumberUtils.isDigits(getLabel(node, KubernetesConstants.NODE_POOL_ID_LABEL)))
+                .collect(Collectors.groupingBy(
+                    node -> Long.parseLong(getLabel(node, KubernetesConstants.NODE_POOL_ID_LABEL))));
+    }
+
+    private static boolean hasLabel(final HasMetadata item, final String label) {
+        return item.getMetadata() != null && MapUtils.emptyIfNull(item.getMetadata().getLabels())
+                .containsKey(label);
+    }
+
+    private static String getLabel(final HasMetadata item, final String label) {
+        return item.getMetadata() == null ? null : MapUtils.emptyIfNull(item.getMetadata().getLabels()).get(label);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.watch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Provides a shared {@link KubernetesClusterSnapshot} built from watch-backed node and pod caches.
+ *
+ * Snapshot is rebuilt only if any of the caches was changed since the previous build, otherwise the same
+ * immutable instance is returned without any locking.
+ */
+@Service
+@RequiredArgsConstructor
+public class KubernetesClusterSnapshotService {
+
+    private final KubernetesNodeCache nodeCache;
+    private final KubernetesPodCache podCache;
+    private final AtomicReference<KubernetesClusterSnapshot> snapshot = new AtomicReference<>();
+
+    public KubernetesClusterSnapshot getSnapshot() {
+        nodeCache.refreshIfRequired();
+        podCache.refreshIfRequired();
+        final KubernetesClusterSnapshot current = snapshot.get();
+        if (current != null && current.isActual(nodeCache.getVersion(), podCache.getVersion())) {
+            return current;
+        }
+        final long nodesVersion = nodeCache.getVersion();
+        final long podsVersion = podCache.getVersion();
+        final KubernetesClusterSnapshot actual = KubernetesClusterSnapshot.of(nodesVersion, podsVersion,
+                nodeCache.getAll(), podCache.getAll());
+        snapshot.set(actual);
+        return actual;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.watch;
+
+import com.epam.pipeline.manager.cluster.KubernetesManager;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Watch-backed cache of all cluster nodes.
+ */
+@Component
+public class KubernetesNodeCache extends AbstractKubernetesWatchCache<Node> {
+
+    @Autowired
+    public KubernetesNodeCache(final KubernetesManager kubernetesManager,
+                               @Value("${kube.watch.resync.period.sec:600}") final long resyncPeriodSec,
+                               @Value("${kube.watch.retry.delay.sec:30}") final long retryDelaySec) {
+        super(kubernetesManager::getKubernetesClient, resyncPeriodSec * 1000L, retryDelaySec * 1000L);
+    }
+
+    @Override
+    protected KubernetesResourceList<Node> list(final KubernetesClient client) {
+        return client.nodes().list();
+    }
+
+    @Override
+    protected Watch watch(final KubernetesClient client, final String resourceVersion,
+                          final Watcher<Node> watcher) {
+        return client.nodes().watch(resourceVersion, watcher);
+    }
+}
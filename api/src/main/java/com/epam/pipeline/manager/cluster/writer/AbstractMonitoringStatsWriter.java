@@ -18,15 +18,13 @@ package com.epam.pipeline.manager.cluster.writer;
 
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
-import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -36,64 +34,24 @@ public abstract class AbstractMonitoringStatsWriter {
     protected static final List<String> COMMON_STATS_HEADER =
         Arrays.asList("Timestamp", "CPU_cores", "CPU_usage_avg[%]", "CPU_usage_max[%]",
                       "MEM_capacity[bytes]", "MEM_usage_avg[%]", "MEM_usage_max[%]");
-    private static final String DISK_TOTAL_HEADER_TEMPLATE = "%s_total[bytes]";
-    private static final String DISK_USAGE_HEADER_TEMPLATE = "%s_usage[%%]";
-    private static final String NETWORK_USAGE_IN_HEADER_TEMPLATE = "%s_in[bytes]";
-    private static final String NETWORK_USAGE_OUT_HEADER_TEMPLATE = "%s_out[bytes]";
     private static final double HUNDRED_PERCENTS = 100.0;
 
-    public abstract InputStream convertStatsToFile(List<MonitoringStats> stats);
+    /**
+     * Writes monitoring stats report to the given output stream.
+     *
+     * Stats are consumed one by one and are never collected in memory, so the stream can be backed
+     * by a paged source of any size.
+     *
+     * @param header report columns
+     * @param stats monitoring stats ordered by time
+     * @param out report output stream, it is not closed by writer
+     */
+    public abstract void writeStats(MonitoringStatsHeader header, Stream<MonitoringStats> stats,
+                                    OutputStream out) throws IOException;
 
     public abstract MonitoringReportType getReportType();
 
-    protected List<String[]> extractTable(final List<MonitoringStats> stats) {
-        final List<String[]> allLines = new ArrayList<>();
-        final MonitoringStatsHeader header = extractHeader(stats);
-        allLines.add(header.getColumnNames().toArray(new String[0]));
-        final List<String[]> entities = stats.stream()
-            .map(stat -> createNewLine(header, stat))
-            .collect(Collectors.toList());
-        allLines.addAll(entities);
-        return allLines;
-    }
-
-    protected Stream<String> getDiskNamesStream(final List<MonitoringStats> stats) {
-        return stats.stream()
-            .map(MonitoringStats::getDisksUsage)
-            .map(MonitoringStats.DisksUsage::getStatsByDevices)
-            .map(Map::keySet)
-            .flatMap(Set::stream)
-            .distinct();
-    }
-
-    protected Stream<String> getSortedDiskNamesStream(final List<MonitoringStats> stats) {
-        return getDiskNamesStream(stats).sorted();
-    }
-
-    private MonitoringStatsHeader extractHeader(final List<MonitoringStats> stats) {
-        final List<String> headerColumns = new ArrayList<>(COMMON_STATS_HEADER);
-        final List<String> disks = getSortedDiskNamesStream(stats)
-            .peek(disk -> {
-                headerColumns.add(String.format(DISK_TOTAL_HEADER_TEMPLATE, disk));
-                headerColumns.add(String.format(DISK_USAGE_HEADER_TEMPLATE, disk));
-            })
-            .collect(Collectors.toList());
-        final List<String> networkInterfaces = stats.stream()
-            .map(MonitoringStats::getNetworkUsage)
-            .map(MonitoringStats.NetworkUsage::getStatsByInterface)
-            .map(Map::keySet)
-            .flatMap(Set::stream)
-            .distinct()
-            .sorted()
-            .peek(netInterface -> {
-                headerColumns.add(String.format(NETWORK_USAGE_IN_HEADER_TEMPLATE, netInterface));
-                headerColumns.add(String.format(NETWORK_USAGE_OUT_HEADER_TEMPLATE, netInterface));
-            })
-            .collect(Collectors.toList());
-        return new MonitoringStatsHeader(disks, networkInterfaces, headerColumns);
-    }
-
-    private String[] createNewLine(final MonitoringStatsHeader header, final MonitoringStats stat) {
+    protected String[] createNewLine(final MonitoringStatsHeader header, final MonitoringStats stat) {
         final List<String> newLine = new ArrayList<>();
         fillGeneralColumns(stat, newLine);
         fillDisksColumns(stat, header, newLine);
@@ -120,9 +78,13 @@ public abstract class AbstractMonitoringStatsWriter {
             .collect(Collectors.toList());
         newLine.addAll(newEmptyColumns);
         stat.getDisksUsage().getStatsByDevices().forEach((diskName, diskStatValue) -> {
+            final int diskIndex = diskNames.indexOf(diskName);
+            if (diskIndex < 0) {
+                return;
+            }
             final long diskCapacity = diskStatValue.getCapacity();
             final double diskUsage = HUNDRED_PERCENTS * diskStatValue.getUsableSpace() / diskCapacity;
-            final int columnIndex = COMMON_STATS_HEADER.size() + 2 * diskNames.indexOf(diskName);
+            final int columnIndex = COMMON_STATS_HEADER.size() + 2 * diskIndex;
             newLine.set(columnIndex, Long.toString(diskCapacity));
             newLine.set(columnIndex + 1, Double.toString(diskUsage));
         });
@@ -137,18 +99,13 @@ public abstract class AbstractMonitoringStatsWriter {
             .collect(Collectors.toList());
         newLine.addAll(newEmptyColumns);
         stat.getNetworkUsage().getStatsByInterface().forEach((interfaceName, networkStats) -> {
-            final int columnIndex =
-                COMMON_STATS_HEADER.size() + disksColumnShift + 2 * interfaceNames.indexOf(interfaceName);
+            final int interfaceIndex = interfaceNames.indexOf(interfaceName);
+            if (interfaceIndex < 0) {
+                return;
+            }
+            final int columnIndex = COMMON_STATS_HEADER.size() + disksColumnShift + 2 * interfaceIndex;
             newLine.set(columnIndex, Long.toString(networkStats.getRxBytes()));
             newLine.set(columnIndex + 1, Long.toString(networkStats.getTxBytes()));
         });
     }
-
-    @Value
-    private static class MonitoringStatsHeader {
-
-        private List<String> diskNames;
-        private List<String> interfaceNames;
-        private List<String> columnNames;
-    }
 }
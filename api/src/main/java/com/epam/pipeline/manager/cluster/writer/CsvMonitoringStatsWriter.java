@@ -16,7 +16,6 @@
 
 package com.epam.pipeline.manager.cluster.writer;
 
-import com.amazonaws.util.StringInputStream;
 import com.epam.pipeline.common.MessageConstants;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
@@ -27,10 +26,15 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -44,13 +48,9 @@ public class CsvMonitoringStatsWriter extends AbstractMonitoringStatsWriter{
     }
 
     @Override
-    public InputStream convertStatsToFile(final List<MonitoringStats> stats) {
-        try {
-            return new StringInputStream(convertStatsToCsvString(stats));
-        } catch (UnsupportedEncodingException e) {
-            throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_BAD_STATS_FILE_ENCODING),
-                                            e);
-        }
+    public void writeStats(final MonitoringStatsHeader header, final Stream<MonitoringStats> stats,
+                           final OutputStream out) throws IOException {
+        writeStats(header, stats, new OutputStreamWriter(out, StandardCharsets.UTF_8));
     }
 
     public String convertStatsToCsvString(final List<MonitoringStats> stats) {
@@ -58,9 +58,26 @@ public class CsvMonitoringStatsWriter extends AbstractMonitoringStatsWriter{
             return StringUtils.EMPTY;
         }
         final StringWriter stringWriter = new StringWriter();
-        final CSVWriter csvWriter = new CSVWriter(stringWriter);
-        final List<String[]> allLines = extractTable(stats);
-        csvWriter.writeAll(allLines);
+        try {
+            writeStats(MonitoringStatsHeader.from(stats), stats.stream(), stringWriter);
+        } catch (IOException e) {
+            throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_BAD_STATS_FILE_ENCODING),
+                                            e);
+        }
         return stringWriter.toString();
     }
+
+    private void writeStats(final MonitoringStatsHeader header, final Stream<MonitoringStats> stats,
+                            final Writer writer) throws IOException {
+        final Iterator<MonitoringStats> iterator = stats.iterator();
+        if (!iterator.hasNext()) {
+            return;
+        }
+        final CSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(header.getColumnNames().toArray(new String[0]));
+        while (iterator.hasNext()) {
+            csvWriter.writeNext(createNewLine(header, iterator.next()));
+        }
+        csvWriter.flush();
+    }
 }
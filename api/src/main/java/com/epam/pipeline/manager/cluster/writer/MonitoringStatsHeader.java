@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.writer;
+
+import com.epam.pipeline.entity.cluster.monitoring.MonitoringStats;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Columns of a monitoring stats report. Disk and network interface columns go after the common ones
+ * in the alphabetical order of their names.
+ */
+@Value
+public class MonitoringStatsHeader {
+
+    private static final String DISK_TOTAL_HEADER_TEMPLATE = "%s_total[bytes]";
+    private static final String DISK_USAGE_HEADER_TEMPLATE = "%s_usage[%%]";
+    private static final String NETWORK_USAGE_IN_HEADER_TEMPLATE = "%s_in[bytes]";
+    private static final String NETWORK_USAGE_OUT_HEADER_TEMPLATE = "%s_out[bytes]";
+
+    private List<String> diskNames;
+    private List<String> interfaceNames;
+    private List<String> columnNames;
+
+    public static MonitoringStatsHeader of(final Collection<String> diskNames,
+                                           final Collection<String> interfaceNames) {
+        final List<String> disks = diskNames.stream().distinct().sorted().collect(Collectors.toList());
+        final List<String> interfaces = interfaceNames.stream().distinct().sorted().collect(Collectors.toList());
+        final List<String> columns = new ArrayList<>(AbstractMonitoringStatsWriter.COMMON_STATS_HEADER);
+        disks.forEach(disk -> {
+            columns.add(String.format(DISK_TOTAL_HEADER_TEMPLATE, disk));
+            columns.add(String.format(DISK_USAGE_HEADER_TEMPLATE, disk));
+        });
+        interfaces.forEach(netInterface -> {
+            columns.add(String.format(NETWORK_USAGE_IN_HEADER_TEMPLATE, netInterface));
+            columns.add(String.format(NETWORK_USAGE_OUT_HEADER_TEMPLATE, netInterface));
+        });
+        return new MonitoringStatsHeader(disks, interfaces, columns);
+    }
+
+    public static MonitoringStatsHeader from(final List<MonitoringStats> stats) {
+        return of(stats.stream()
+                      .map(MonitoringStats::getDisksUsage)
+                      .map(MonitoringStats.DisksUsage::getStatsByDevices)
+                      .map(Map::keySet)
+                      .flatMap(Set::stream)
+                      .collect(Collectors.toSet()),
+                  stats.stream()
+                      .map(MonitoringStats::getNetworkUsage)
+                      .map(MonitoringStats.NetworkUsage::getStatsByInterface)
+                      .map(Map::keySet)
+                      .flatMap(Set::stream)
+                      .collect(Collectors.toSet()));
+    }
+}
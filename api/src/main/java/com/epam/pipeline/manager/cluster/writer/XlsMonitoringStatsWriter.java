@@ -26,21 +26,24 @@ import org.apache.poi.hssf.util.CellReference;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ResourceUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @SuppressWarnings("checkstyle:MagicNumber")
@@ -61,6 +64,7 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
     private static final long BYTES_IN_GB = 1L << 30;
     private static final String DISK_NAME_TEMPLATE = "%s[%.2fGb]";
     private static final String NUMERIC_CELL_PRECISION_FORMAT = "0.00";
+    private static final int STREAMING_ROWS_WINDOW = 100;
 
     private final String templatePath;
     private final MessageHelper messageHelper;
@@ -72,21 +76,24 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
     }
 
     @Override
-    public InputStream convertStatsToFile(final List<MonitoringStats> stats) {
+    public void writeStats(final MonitoringStatsHeader header, final Stream<MonitoringStats> stats,
+                           final OutputStream out) throws IOException {
         if (StringUtils.isBlank(templatePath)) {
             throw new IllegalStateException(
                 messageHelper.getMessage(MessageConstants.ERROR_STATS_EMPTY_XLS_TEMPLATE_PATH));
         }
-        try (Workbook wb = getTemplateWorkbook();
-             ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
-            fillInRawData(wb, stats);
-            fillInScaledData(wb, stats);
-            fillInDiskStats(wb, stats);
-            fillInEmptyCells(wb, stats);
-            HSSFFormulaEvaluator.evaluateAllFormulaCells(wb);
-            wb.write(bos);
-            return new ByteArrayInputStream(bos.toByteArray());
-        } catch (IOException | InvalidFormatException e) {
+        try (Workbook wb = getWorkbook()) {
+            final Map<Integer, DiskCapacity> lastDiskCapacities = fillInData(wb, header, stats);
+            fillInDiskStats(wb, header, lastDiskCapacities);
+            if (wb instanceof SXSSFWorkbook) {
+                wb.setForceFormulaRecalculation(true);
+                wb.write(out);
+                ((SXSSFWorkbook) wb).dispose();
+            } else {
+                HSSFFormulaEvaluator.evaluateAllFormulaCells(wb);
+                wb.write(out);
+            }
+        } catch (InvalidFormatException e) {
             throw new IllegalStateException(messageHelper.getMessage(MessageConstants.ERROR_STATS_FILE_XLS_CONVERSION));
         }
     }
@@ -96,6 +103,17 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
         return MonitoringReportType.XLS;
     }
 
+    /**
+     * Opens report template. Xlsx templates are opened as streaming workbooks which keep only a small window
+     * of rows in memory, while legacy xls templates are kept in memory completely.
+     */
+    private Workbook getWorkbook() throws IOException, InvalidFormatException {
+        final Workbook template = getTemplateWorkbook();
+        return template instanceof XSSFWorkbook
+               ? new SXSSFWorkbook((XSSFWorkbook) template, STREAMING_ROWS_WINDOW)
+               : template;
+    }
+
     private Workbook getTemplateWorkbook() throws IOException, InvalidFormatException {
         if (templatePath.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)) {
             try (InputStream classPathResource = getClass()
@@ -107,14 +125,42 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
         }
     }
 
-    private void fillInScaledData(final Workbook wb, final List<MonitoringStats> stats) {
-        final int disksCount = (int) getDiskNamesStream(stats).count();
+    /**
+     * Writes raw and scaled data rows. Empty cells are filled with zeros.
+     *
+     * @return the last known capacity of each disk mapped by disk index
+     */
+    private Map<Integer, DiskCapacity> fillInData(final Workbook wb, final MonitoringStatsHeader header,
+                                                  final Stream<MonitoringStats> stats) {
+        final int disksCount = header.getDiskNames().size();
         final int rxColPos = COMMON_STATS_HEADER.size() + disksCount * 2;
         final int txColPos = rxColPos + 1;
         final String rxColChar = CellReference.convertNumToColString(rxColPos);
         final String txColChar = CellReference.convertNumToColString(txColPos);
+        final Sheet rawDataSheet = wb.getSheet(RAW_DATA_SHEET);
         final Sheet scaledDataSheet = wb.getSheet(SCALED_DATA_SHEET);
-        for (int i = 1; i <= stats.size(); i++) {
+        final Row headerRow = rawDataSheet.createRow(0);
+        final List<String> columnNames = header.getColumnNames();
+        for (int j = 0; j < columnNames.size(); j++) {
+            headerRow.createCell(j).setCellValue(columnNames.get(j));
+        }
+        final Map<Integer, DiskCapacity> lastDiskCapacities = new HashMap<>();
+        final Iterator<MonitoringStats> iterator = stats.iterator();
+        for (int i = 1; iterator.hasNext(); i++) {
+            final String[] statsRow = createNewLine(header, iterator.next());
+            final Row row = rawDataSheet.createRow(i);
+            row.createCell(0).setCellValue(statsRow[0]);
+            for (int j = 1; j < statsRow.length; j++) {
+                row.createCell(j).setCellValue(StringUtils.isNotEmpty(statsRow[j])
+                                               ? Double.parseDouble(statsRow[j])
+                                               : 0);
+            }
+            for (int d = 0; d < disksCount; d++) {
+                final String capacity = statsRow[COMMON_STATS_HEADER.size() + d * 2];
+                if (StringUtils.isNotEmpty(capacity)) {
+                    lastDiskCapacities.put(d, new DiskCapacity(i, Double.parseDouble(capacity)));
+                }
+            }
             final Row scaledDataRow = scaledDataSheet.createRow(i);
             scaledDataRow.createCell(0).setCellFormula(getCpuConversionFormula(CPU_AVG_COLUMN, i + 1));
             scaledDataRow.createCell(1).setCellFormula(getCpuConversionFormula(CPU_MAX_COLUMN, i + 1));
@@ -123,74 +169,36 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
             scaledDataRow.createCell(4).setCellFormula(getInterfaceConversionFormula(rxColChar, i + 1));
             scaledDataRow.createCell(5).setCellFormula(getInterfaceConversionFormula(txColChar, i + 1));
         }
+        return lastDiskCapacities;
     }
 
-    private void fillInRawData(final Workbook wb, final List<MonitoringStats> stats) {
-        final List<String[]> statsTable = extractTable(stats);
-        final Sheet rawDataSheet = wb.getSheet(RAW_DATA_SHEET);
-        for (int i = 0; i < statsTable.size(); i++) {
-            final Row row = rawDataSheet.createRow(i);
-            final String[] statsRow = statsTable.get(i);
-            for (int j = 0; j < statsRow.length; j++) {
-                final Cell cell = row.createCell(j);
-                if (i != 0 && j != 0) {
-                    cell.setCellType(CellType.NUMERIC);
-                    cell.setCellValue(StringUtils.isNotEmpty(statsRow[j])
-                                      ? Double.parseDouble(statsRow[j])
-                                      : Double.NaN);
-                } else {
-                    cell.setCellValue(statsRow[j]);
-                }
-            }
-        }
-    }
-
-    private void fillInDiskStats(final Workbook wb, final List<MonitoringStats> stats) {
-        final Sheet rawDataSheet = wb.getSheet(RAW_DATA_SHEET);
+    private void fillInDiskStats(final Workbook wb, final MonitoringStatsHeader header,
+                                 final Map<Integer, DiskCapacity> lastDiskCapacities) {
         final Sheet diskSheet = wb.getSheet(DISK_DATA_SHEET);
-        final List<String> diskNames = getSortedDiskNamesStream(stats).collect(Collectors.toList());
+        final List<String> diskNames = header.getDiskNames();
         final CellStyle doublePrecisionStyle = wb.createCellStyle();
         doublePrecisionStyle.setDataFormat(wb.createDataFormat().getFormat(NUMERIC_CELL_PRECISION_FORMAT));
         for (int i = 0; i < diskNames.size(); i++) {
-            for (int j = stats.size(); j > 0; j--) {
-                final Row row = rawDataSheet.getRow(j);
-                final Cell totalDiskCell = row.getCell(COMMON_STATS_HEADER.size() + i * 2);
-                if (!totalDiskCell.getCellTypeEnum().equals(CellType.ERROR)) {
-                    final double capacityBytes = totalDiskCell.getNumericCellValue();
-                    final int rowIndex = j + 1;
-                    final String totalDiskCellAddress =
-                        CellReference.convertNumToColString(totalDiskCell.getColumnIndex()) + rowIndex;
-                    final String usedDiskCellAddress =
-                        CellReference.convertNumToColString(totalDiskCell.getColumnIndex() + 1) + rowIndex;
-                    final double capacityGb = capacityBytes / BYTES_IN_GB;
-                    final Row diskSummaryRow = diskSheet.createRow(i + 1);
-                    final Cell diskNameCell = diskSummaryRow.createCell(0);
-                    diskNameCell.setCellValue(String.format(DISK_NAME_TEMPLATE, diskNames.get(i), capacityGb));
-                    final Cell diskUsedCell = diskSummaryRow.createCell(1);
-                    diskUsedCell
-                        .setCellFormula(String.format(DISK_USED_FORMULA, totalDiskCellAddress, usedDiskCellAddress));
-                    diskUsedCell.setCellStyle(doublePrecisionStyle);
-                    final Cell diskFreeCell = diskSummaryRow.createCell(2);
-                    diskFreeCell
-                        .setCellFormula(String.format(DISK_FREE_FORMULA, totalDiskCellAddress, usedDiskCellAddress));
-                    diskFreeCell.setCellStyle(doublePrecisionStyle);
-                    break;
-                }
-            }
-        }
-    }
-
-    private void fillInEmptyCells(final Workbook wb, final List<MonitoringStats> stats) {
-        final Sheet rawDataSheet = wb.getSheet(RAW_DATA_SHEET);
-        for (int i = 1; i <= stats.size(); i++) {
-            final Row row = rawDataSheet.getRow(i);
-            final short lastCellNum = row.getLastCellNum();
-            for (int j = 1; j < lastCellNum; j++) {
-                final Cell cell = row.getCell(j);
-                if (cell.getCellTypeEnum().equals(CellType.ERROR)) {
-                    cell.setCellValue(0);
-                }
+            final DiskCapacity diskCapacity = lastDiskCapacities.get(i);
+            if (diskCapacity == null) {
+                continue;
             }
+            final int rowIndex = diskCapacity.getRow() + 1;
+            final int totalDiskColumn = COMMON_STATS_HEADER.size() + i * 2;
+            final String totalDiskCellAddress = CellReference.convertNumToColString(totalDiskColumn) + rowIndex;
+            final String usedDiskCellAddress = CellReference.convertNumToColString(totalDiskColumn + 1) + rowIndex;
+            final double capacityGb = diskCapacity.getCapacity() / BYTES_IN_GB;
+            final Row diskSummaryRow = diskSheet.createRow(i + 1);
+            final Cell diskNameCell = diskSummaryRow.createCell(0);
+            diskNameCell.setCellValue(String.format(DISK_NAME_TEMPLATE, diskNames.get(i), capacityGb));
+            final Cell diskUsedCell = diskSummaryRow.createCell(1);
+            diskUsedCell
+                .setCellFormula(String.format(DISK_USED_FORMULA, totalDiskCellAddress, usedDiskCellAddress));
+            diskUsedCell.setCellStyle(doublePrecisionStyle);
+            final Cell diskFreeCell = diskSummaryRow.createCell(2);
+            diskFreeCell
+                .setCellFormula(String.format(DISK_FREE_FORMULA, totalDiskCellAddress, usedDiskCellAddress));
+            diskFreeCell.setCellStyle(doublePrecisionStyle);
         }
     }
 
@@ -205,4 +213,11 @@ public class XlsMonitoringStatsWriter extends AbstractMonitoringStatsWriter {
     private String getCpuConversionFormula(final Character cpuAvgColumn, final int i) {
         return String.format(CPU_CONVERSION_FORMULA, cpuAvgColumn, i);
     }
+
+    @lombok.Value
+    private static class DiskCapacity {
+
+        private int row;
+        private double capacity;
+    }
 }
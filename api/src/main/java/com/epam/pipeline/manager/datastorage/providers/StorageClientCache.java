@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.datastorage.providers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of cloud storage SDK clients.
+ *
+ * Storage clients are thread-safe, each of them keeps its own connection pool and refreshes its credentials
+ * before they expire. Therefore a single client is shared between all storage operations with the same region
+ * and credentials.
+ *
+ * Clients which hold resources shall be leased, see {@link #lease(Class, Supplier, Consumer, Object...)}.
+ * A client evicted from the cache may still be used by an operation in progress, f.e. by an opened object stream,
+ * so it is released only once all of its leases are closed.
+ *
+ * Client keys are kept in memory for the lifetime of the cache entries, so they shall not contain secrets
+ * as is. Use {@link #secret(String)} to include a secret into a key.
+ */
+@Slf4j
+@Component
+public class StorageClientCache {
+
+    private final Cache<List<Object>, CachedClient<?>> clients;
+
+    public StorageClientCache(@Value("${storage.client.cache.size:100}") final int size,
+                              @Value("${storage.client.cache.expiration.minutes:30}") final long expiration) {
+        this.clients = CacheBuilder.newBuilder()
+                .maximumSize(size)
+                .expireAfterAccess(expiration, TimeUnit.MINUTES)
+                .removalListener(this::evict)
+                .build();
+    }
+
+    /**
+     * Returns a key part which identifies a secret without keeping the secret itself.
+     * @param secret f.e. an access key
+     */
+    public static String secret(final String secret) {
+        return secret == null ? null : DigestUtils.sha256Hex(secret);
+    }
+
+    /**
+     * Returns a cached client of the specified type for the specified key or builds a new one.
+     *
+     * The client is not released on eviction, therefore it shall not hold any resources
+     * which require an explicit release.
+     * @param type client type
+     * @param loader builds a new client
+     * @param key client key which shall contain all parameters the client is built from, f.e.
+     *            region, profile and role
+     */
+    public <T> T get(final Class<T> type, final Supplier<T> loader, final Object... key) {
+        return type.cast(getCachedClient(type, () -> new CachedClient<>(loader.get(), client -> { }), key)
+                .getClient());
+    }
+
+    /**
+     * Leases a cached client of the specified type for the specified key or builds a new one.
+     *
+     * The lease shall be closed once the client is not used anymore. A client evicted from the cache
+     * is released as soon as all of its leases are closed.
+     * @param type client type
+     * @param loader builds a new client
+     * @param finalizer releases resources of a client
+     * @param key client key which shall contain all parameters the client is built from, f.e.
+     *            region, profile and role
+     */
+    public <T> Lease<T> lease(final Class<T> type, final Supplier<T> loader, final Consumer<T> finalizer,
+                              final Object... key) {
+        while (true) {
+            final CachedClient<?> client = getCachedClient(type, () -> new CachedClient<>(loader.get(), finalizer),
+                    key);
+            // a client may be released concurrently right after its eviction, a new one shall be loaded then
+            if (client.acquire()) {
+                return new Lease<>(type.cast(client.getClient()), client::releaseLease);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void invalidateAll() {
+        clients.invalidateAll();
+    }
+
+    private CachedClient<?> getCachedClient(final Class<?> type, final Supplier<CachedClient<?>> loader,
+                                            final Object... key) {
+        final List<Object> clientKey = Arrays.asList(type, Arrays.asList(key));
+        try {
+            return clients.get(clientKey, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void evict(final RemovalNotification<List<Object>, CachedClient<?>> notification) {
+        log.debug("Storage client {} was evicted from the cache: {}.",
+                notification.getKey().get(0), notification.getCause());
+        notification.getValue().evict();
+    }
+
+    /**
+     * Leased storage client.
+     */
+    public static final class Lease<T> implements AutoCloseable {
+
+        private final T client;
+        private final Runnable release;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(final T client, final Runnable release) {
+            this.client = client;
+            this.release = release;
+        }
+
+        /**
+         * Returns a lease of a client which is not cached and therefore is not released on lease closing.
+         */
+        public static <T> Lease<T> of(final T client) {
+            return new Lease<>(client, () -> { });
+        }
+
+        public T getClient() {
+            return client;
+        }
+
+        /**
+         * Returns a lease of a client part, f.e. of a client wrapped into a holder. Closing of the returned lease
+         * closes this lease.
+         */
+        public <R> Lease<R> map(final Function<T, R> mapper) {
+            return new Lease<>(mapper.apply(client), this::close);
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedClient<T> {
+
+        private final T client;
+        private final Consumer<T> finalizer;
+        private int leases;
+        private boolean evicted;
+        private boolean released;
+
+        T getClient() {
+            return client;
+        }
+
+        synchronized boolean acquire() {
+            if (released) {
+                return false;
+            }
+            leases++;
+            return true;
+        }
+
+        synchronized void releaseLease() {
+            leases--;
+            releaseIfUnused();
+        }
+
+        synchronized void evict() {
+            evicted = true;
+            releaseIfUnused();
+        }
+
+        private void releaseIfUnused() {
+            if (evicted && leases == 0 && !released) {
+                released = true;
+                finalizer.accept(client);
+            }
+        }
+    }
+}
@@ -21,29 +21,57 @@ import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.manager.cloud.aws.AWSUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 public class AssumedCredentialsS3Helper extends S3Helper {
 
     private final String roleArn;
     private final AwsRegion region;
+    private final StorageClientCache clientCache;
 
     public AssumedCredentialsS3Helper(final String roleArn,
                                       final AwsRegion region,
-                                      final MessageHelper messageHelper) {
+                                      final MessageHelper messageHelper,
+                                      final StorageClientCache clientCache) {
         super(messageHelper);
         this.roleArn = roleArn;
         this.region = region;
+        this.clientCache = clientCache;
     }
 
+    /**
+     * Leases a shared client which assumes the role on its own and refreshes the session before it expires.
+     */
     @Override
-    public AmazonS3 getDefaultS3Client() {
-        STSAssumeRoleSessionCredentialsProvider credentialsProvider =
+    public StorageClientCache.Lease<AmazonS3> leaseS3Client() {
+        return clientCache.lease(AssumedRoleClient.class, this::buildS3Client, AssumedRoleClient::shutdown,
+                region.getRegionCode(), null, roleArn).map(AssumedRoleClient::getClient);
+    }
+
+    private AssumedRoleClient buildS3Client() {
+        final STSAssumeRoleSessionCredentialsProvider credentialsProvider =
                 new STSAssumeRoleSessionCredentialsProvider.Builder(roleArn, AWSUtils.ROLE_SESSION_NAME)
                 .withRoleSessionDurationSeconds(AWSUtils.MIN_SESSION_DURATION)
                 .build();
-        return AmazonS3ClientBuilder.standard()
+        final AmazonS3 client = AmazonS3ClientBuilder.standard()
                 .withCredentials(credentialsProvider)
                 .withRegion(region.getRegionCode())
                 .build();
+        return new AssumedRoleClient(client, credentialsProvider);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class AssumedRoleClient {
+
+        private final AmazonS3 client;
+        private final STSAssumeRoleSessionCredentialsProvider credentialsProvider;
+
+        void shutdown() {
+            client.shutdown();
+            credentialsProvider.close();
+        }
     }
 }
@@ -24,11 +24,18 @@ public class MoveObjectRequest {
     private final String sourcePath;
     private final String version;
     private final String destinationPath;
+    private final Long size;
 
-    public MoveObjectRequest(final String sourcePath, final String version, final String destinationPath) {
+    public MoveObjectRequest(final String sourcePath, final String version, final String destinationPath,
+                             final Long size) {
         this.sourcePath = sourcePath;
         this.version = version;
         this.destinationPath = destinationPath;
+        this.size = size;
+    }
+
+    public MoveObjectRequest(final String sourcePath, final String version, final String destinationPath) {
+        this(sourcePath, version, destinationPath, null);
     }
 
     public MoveObjectRequest(final String sourcePath, final String destinationPath) {
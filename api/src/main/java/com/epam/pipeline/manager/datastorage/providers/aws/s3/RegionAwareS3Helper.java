@@ -21,6 +21,7 @@ import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.manager.cloud.aws.AWSUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 
 /**
  * Provides methods for AWS S3 operations in specified region.
@@ -28,17 +29,21 @@ import com.epam.pipeline.manager.cloud.aws.AWSUtils;
 public class RegionAwareS3Helper extends S3Helper {
 
     private final AwsRegion region;
+    private final StorageClientCache clientCache;
 
-    public RegionAwareS3Helper(final AwsRegion region, final MessageHelper messageHelper) {
+    public RegionAwareS3Helper(final AwsRegion region, final MessageHelper messageHelper,
+                               final StorageClientCache clientCache) {
         super(messageHelper);
         this.region = region;
+        this.clientCache = clientCache;
     }
 
     @Override
-    public AmazonS3 getDefaultS3Client() {
-        return AmazonS3ClientBuilder.standard()
-                .withRegion(region.getRegionCode())
-                .withCredentials(AWSUtils.getCredentialsProvider(region.getProfile()))
-                .build();
+    public StorageClientCache.Lease<AmazonS3> leaseS3Client() {
+        return clientCache.lease(AmazonS3.class, () -> AmazonS3ClientBuilder.standard()
+                        .withRegion(region.getRegionCode())
+                        .withCredentials(AWSUtils.getCredentialsProvider(region.getProfile()))
+                        .build(),
+                AmazonS3::shutdown, region.getRegionCode(), region.getProfile(), null);
     }
 }
@@ -84,6 +84,7 @@ import com.epam.pipeline.entity.datastorage.StoragePolicy;
 import com.epam.pipeline.entity.datastorage.aws.S3bucketDataStorage;
 import com.epam.pipeline.entity.region.AwsRegion;
 import com.epam.pipeline.manager.datastorage.providers.ProviderUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.utils.FileContentUtils;
 import com.google.common.primitives.SignedBytes;
 import lombok.RequiredArgsConstructor;
@@ -97,6 +98,7 @@ import org.springframework.util.Assert;
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -127,7 +129,8 @@ public class S3Helper {
 
     private static final int NOT_FOUND = 404;
     private static final int INVALID_RANGE = 416;
-    private static final long COPYING_FILE_SIZE_LIMIT = 5L * 1024L * 1024L * 1024L; // 5gb
+    private static final long COPYING_FILE_SIZE_LIMIT = S3ObjectCopier.COPY_REQUEST_SIZE_LIMIT;
+    private static final int DEFAULT_COPY_PARALLELISM = 10;
     private static final String BACKUP_RULE_ID = "Backup rule";
     private static final String STS_RULE_ID = "Short term storage rule";
     private static final String LTS_RULE_ID = "Long term storage rule";
@@ -144,16 +147,26 @@ public class S3Helper {
         return AmazonS3ClientBuilder.defaultClient();
     }
 
+    /**
+     * Leases a client for a single operation. The lease shall be closed once the operation is finished,
+     * including reading of all the streams the operation returns.
+     */
+    public StorageClientCache.Lease<AmazonS3> leaseS3Client() {
+        return StorageClientCache.Lease.of(getDefaultS3Client());
+    }
+
     public String createS3Bucket(final String name) {
-        AmazonS3 s3client = getDefaultS3Client();
-        if (s3client.doesBucketExistV2(name)) {
-            throw new IllegalArgumentException(String.format("Bucket with name '%s' already exist", name));
-        }
-        final Bucket bucket = s3client.createBucket(new CreateBucketRequest(name));
-        final Waiter waiter = s3client.waiters().bucketExists();
-        waiter.run(new WaiterParameters<>(new HeadBucketRequest(name)));
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 s3client = lease.getClient();
+            if (s3client.doesBucketExistV2(name)) {
+                throw new IllegalArgumentException(String.format("Bucket with name '%s' already exist", name));
+            }
+            final Bucket bucket = s3client.createBucket(new CreateBucketRequest(name));
+            final Waiter waiter = s3client.waiters().bucketExists();
+            waiter.run(new WaiterParameters<>(new HeadBucketRequest(name)));
 
-        return bucket.getName();
+            return bucket.getName();
+        }
     }
 
     public ActionStatus postCreationProcessing(final String name,
@@ -164,8 +177,8 @@ public class S3Helper {
                                                final boolean shared,
                                                String kmsDataEncryptionKeyId,
                                                final Map<String, String> tags) {
-        try {
-            final AmazonS3 s3client = getDefaultS3Client();
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            final AmazonS3 s3client = lease.getClient();
 
             if (!MapUtils.isEmpty(tags)) {
                 s3client.setBucketTaggingConfiguration(name,
@@ -211,19 +224,21 @@ public class S3Helper {
      * @param name of the S3 bucket
      */
     public void deleteS3Bucket(String name) {
-        AmazonS3 s3client = getDefaultS3Client();
-        if (s3client.doesBucketExistV2(name)) {
-            deleteAllVersions(s3client, name, null);
-            deleteAllInBucketObjects(name, s3client);
-            s3client.deleteBucket(name);
-        } else {
-            LOGGER.warn("The bucket does not exist: %s", name);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 s3client = lease.getClient();
+            if (s3client.doesBucketExistV2(name)) {
+                deleteAllVersions(s3client, name, null);
+                deleteAllInBucketObjects(name, s3client);
+                s3client.deleteBucket(name);
+            } else {
+                LOGGER.warn("The bucket does not exist: %s", name);
+            }
         }
     }
 
     public void applyStoragePolicy(String bucketName, StoragePolicy policy) {
-        try {
-            final AmazonS3 s3client = getDefaultS3Client();
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            final AmazonS3 s3client = lease.getClient();
             final List<BucketLifecycleConfiguration.Rule> rules = new ArrayList<>();
             final List<BucketLifecycleConfiguration.Rule> currentRules =
                     getCurrentRules(bucketName, s3client);
@@ -309,12 +324,14 @@ public class S3Helper {
     }
 
     public void restoreFileVersion(String bucket, String path, String version) {
-        AmazonS3 client = getDefaultS3Client();
-        if (fileSizeExceedsLimit(client, bucket, path, version)) {
-            throw new DataStorageException(String.format("Restoring file '%s' version '%s' was aborted because " +
-                    "file size exceeds the limit of %s bytes", path, version, COPYING_FILE_SIZE_LIMIT));
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            if (fileSizeExceedsLimit(client, bucket, path, version)) {
+                throw new DataStorageException(String.format("Restoring file '%s' version '%s' was aborted because " +
+                        "file size exceeds the limit of %s bytes", path, version, COPYING_FILE_SIZE_LIMIT));
+            }
+            moveS3Object(client, bucket, new MoveObjectRequest(path, version, path));
         }
-        moveS3Object(client, bucket, new MoveObjectRequest(path, version, path));
     }
 
     private void moveS3Object(final AmazonS3 client, final String bucket, final MoveObjectRequest moveRequest) {
@@ -333,26 +350,28 @@ public class S3Helper {
     }
 
     public Stream<DataStorageFile> listDataStorageFiles(final String bucket, final String path) {
-        final AmazonS3 client = getDefaultS3Client();
-        return S3ListingHelper.files(client, bucket, path);
+        final StorageClientCache.Lease<AmazonS3> lease = leaseS3Client();
+        return S3ListingHelper.files(lease.getClient(), bucket, path).onClose(lease::close);
     }
 
     public DataStorageListing getItems(final String bucket, final String path, final Boolean showVersion,
                                        final Integer pageSize, final String marker, final String prefix,
                                        final Set<String> masks) {
         String requestPath = Optional.ofNullable(path).orElse(EMPTY_STRING);
-        AmazonS3 client = getDefaultS3Client();
-        if (!StringUtils.isNullOrEmpty(requestPath)) {
-            DataStorageItemType type = checkItemType(client, bucket, requestPath, showVersion);
-            if (type == DataStorageItemType.Folder && !requestPath.endsWith(ProviderUtils.DELIMITER)) {
-                requestPath += ProviderUtils.DELIMITER;
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            if (!StringUtils.isNullOrEmpty(requestPath)) {
+                DataStorageItemType type = checkItemType(client, bucket, requestPath, showVersion);
+                if (type == DataStorageItemType.Folder && !requestPath.endsWith(ProviderUtils.DELIMITER)) {
+                    requestPath += ProviderUtils.DELIMITER;
+                }
             }
+            DataStorageListing result = showVersion ?
+                    listVersions(client, bucket, requestPath, pageSize, marker, prefix, masks) :
+                    listFiles(client, bucket, requestPath, pageSize, marker, prefix, masks);
+            result.getResults().sort(AbstractDataStorageItem.getStorageItemComparator());
+            return result;
         }
-        DataStorageListing result = showVersion ?
-                listVersions(client, bucket, requestPath, pageSize, marker, prefix, masks) :
-                listFiles(client, bucket, requestPath, pageSize, marker, prefix, masks);
-        result.getResults().sort(AbstractDataStorageItem.getStorageItemComparator());
-        return result;
     }
 
     private DataStorageFile getFile(final AmazonS3 client, final String bucket, final String path) {
@@ -362,8 +381,10 @@ public class S3Helper {
     }
 
     public Optional<DataStorageFile> findFile(final String bucket, final String path, final String version) {
-        final AmazonS3 client = getDefaultS3Client();
-        return findFile(client, bucket, path, version);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            final AmazonS3 client = lease.getClient();
+            return findFile(client, bucket, path, version);
+        }
     }
 
     private Optional<DataStorageFile> findFile(final AmazonS3 client,
@@ -398,28 +419,32 @@ public class S3Helper {
 
     public DataStorageDownloadFileUrl generateDownloadURL(String bucket, String path,
                                                           String version, ContentDisposition contentDisposition) {
-        AmazonS3 client = getDefaultS3Client();
-        Date expires = new Date((new Date()).getTime() + URL_EXPIRATION);
-        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, path);
-        request.setVersionId(version);
-        request.setExpiration(expires);
-        if (contentDisposition != null) {
-            request.setResponseHeaders(new ResponseHeaderOverrides()
-                    .withContentDisposition(contentDisposition.getHeader(FilenameUtils.getName(path))));
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            Date expires = new Date((new Date()).getTime() + URL_EXPIRATION);
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, path);
+            request.setVersionId(version);
+            request.setExpiration(expires);
+            if (contentDisposition != null) {
+                request.setResponseHeaders(new ResponseHeaderOverrides()
+                        .withContentDisposition(contentDisposition.getHeader(FilenameUtils.getName(path))));
+            }
+            return generatePresignedUrl(client, expires, request);
         }
-        return generatePresignedUrl(client, expires, request);
     }
 
     public DataStorageDownloadFileUrl generateDataStorageItemUploadUrl(String bucket, String path, String owner) {
-        AmazonS3 client = getDefaultS3Client();
-        Date expires = new Date((new Date()).getTime() + URL_EXPIRATION);
-        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, path)
-                .withMethod(HttpMethod.PUT)
-                .withExpiration(expires);
-        String ownerTag = buildOwnerTag(owner);
-        request.putCustomRequestHeader(Headers.S3_TAGGING, ownerTag);
-        request.putCustomRequestHeader(Headers.S3_CANNED_ACL, DEFAULT_CANNED_ACL.toString());
-        return generatePresignedUrl(client, expires, ownerTag, DEFAULT_CANNED_ACL.toString(), request);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            Date expires = new Date((new Date()).getTime() + URL_EXPIRATION);
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, path)
+                    .withMethod(HttpMethod.PUT)
+                    .withExpiration(expires);
+            String ownerTag = buildOwnerTag(owner);
+            request.putCustomRequestHeader(Headers.S3_TAGGING, ownerTag);
+            request.putCustomRequestHeader(Headers.S3_CANNED_ACL, DEFAULT_CANNED_ACL.toString());
+            return generatePresignedUrl(client, expires, ownerTag, DEFAULT_CANNED_ACL.toString(), request);
+        }
     }
 
     public DataStorageFile createFile(String bucket, String path, byte[] contents, String owner)
@@ -427,8 +452,8 @@ public class S3Helper {
         if (StringUtils.isNullOrEmpty(path)) {
             throw new DataStorageException(PATH_SHOULD_NOT_BE_EMPTY_MESSAGE);
         }
-        AmazonS3 client = getDefaultS3Client();
-        try {
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
             ByteArrayInputStream byteInputStream = new ByteArrayInputStream(contents);
             return putFileToBucket(bucket, path, client, byteInputStream, owner);
         } catch (SdkClientException e) {
@@ -441,8 +466,8 @@ public class S3Helper {
         if (StringUtils.isNullOrEmpty(path)) {
             throw new DataStorageException(PATH_SHOULD_NOT_BE_EMPTY_MESSAGE);
         }
-        AmazonS3 client = getDefaultS3Client();
-        try {
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
             return putFileToBucket(bucket, path, client, dataStream, owner);
         } catch (SdkClientException e) {
             throw new DataStorageException(e.getMessage(), e.getCause());
@@ -497,26 +522,28 @@ public class S3Helper {
         }
         String folderPath = ProviderUtils.withoutLeadingDelimiter(ProviderUtils.withTrailingDelimiter(path.trim()));
         final String folderFullPath = folderPath.substring(0, folderPath.length() - 1);
-        AmazonS3 client = getDefaultS3Client();
-        checkItemDoesNotExist(client, bucket, folderPath, true);
-        folderPath += ProviderUtils.FOLDER_TOKEN_FILE;
-        String[] parts = folderPath.split(ProviderUtils.DELIMITER);
-        final String folderName = parts[parts.length - 2];
-        try {
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setLastModified(new Date());
-            byte[] contents = EMPTY_STRING.getBytes();
-            ByteArrayInputStream byteInputStream = new ByteArrayInputStream(contents);
-            final PutObjectRequest putObjectRequest = new PutObjectRequest(bucket, folderPath, byteInputStream, 
-                    objectMetadata);
-            putObjectRequest.withCannedAcl(DEFAULT_CANNED_ACL);
-            client.putObject(putObjectRequest);
-            DataStorageFolder folder = new DataStorageFolder();
-            folder.setName(folderName);
-            folder.setPath(folderFullPath);
-            return folder;
-        } catch (SdkClientException e) {
-            throw new DataStorageException(e.getMessage(), e.getCause());
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            checkItemDoesNotExist(client, bucket, folderPath, true);
+            folderPath += ProviderUtils.FOLDER_TOKEN_FILE;
+            String[] parts = folderPath.split(ProviderUtils.DELIMITER);
+            final String folderName = parts[parts.length - 2];
+            try {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setLastModified(new Date());
+                byte[] contents = EMPTY_STRING.getBytes();
+                ByteArrayInputStream byteInputStream = new ByteArrayInputStream(contents);
+                final PutObjectRequest putObjectRequest = new PutObjectRequest(bucket, folderPath, byteInputStream, 
+                        objectMetadata);
+                putObjectRequest.withCannedAcl(DEFAULT_CANNED_ACL);
+                client.putObject(putObjectRequest);
+                DataStorageFolder folder = new DataStorageFolder();
+                folder.setName(folderName);
+                folder.setPath(folderFullPath);
+                return folder;
+            } catch (SdkClientException e) {
+                throw new DataStorageException(e.getMessage(), e.getCause());
+            }
         }
     }
 
@@ -524,21 +551,23 @@ public class S3Helper {
         if (StringUtils.isNullOrEmpty(path)) {
             throw new DataStorageException(PATH_SHOULD_NOT_BE_EMPTY_MESSAGE);
         }
-        AmazonS3 client = getDefaultS3Client();
-        if (!StringUtils.hasValue(version) && !totally && !itemExists(client, bucket, path, false)) {
-            throw new DataStorageException(messageHelper
-                    .getMessage(MessageConstants.ERROR_DATASTORAGE_PATH_NOT_FOUND, path, bucket));
-        }
-        try {
-            if (!StringUtils.hasValue(version) && totally) {
-                deleteAllVersions(client, bucket, path);
-            } else {
-                try (S3ObjectDeleter deleter = new S3ObjectDeleter(client, bucket)) {
-                    deleter.deleteKey(path, version);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            if (!StringUtils.hasValue(version) && !totally && !itemExists(client, bucket, path, false)) {
+                throw new DataStorageException(messageHelper
+                        .getMessage(MessageConstants.ERROR_DATASTORAGE_PATH_NOT_FOUND, path, bucket));
+            }
+            try {
+                if (!StringUtils.hasValue(version) && totally) {
+                    deleteAllVersions(client, bucket, path);
+                } else {
+                    try (S3ObjectDeleter deleter = new S3ObjectDeleter(client, bucket)) {
+                        deleter.deleteKey(path, version);
+                    }
                 }
+            } catch (SdkClientException e) {
+                throw new DataStorageException(e.getMessage(), e.getCause());
             }
-        } catch (SdkClientException e) {
-            throw new DataStorageException(e.getMessage(), e.getCause());
         }
     }
 
@@ -549,36 +578,38 @@ public class S3Helper {
         if (!path.endsWith(ProviderUtils.DELIMITER)) {
             path += ProviderUtils.DELIMITER;
         }
-        AmazonS3 client = getDefaultS3Client();
-        if (!totally && !itemExists(client, bucket, path, true)) {
-            throw new DataStorageException("Folder does not exist");
-        }
-        if (totally) {
-            deleteAllVersions(client, bucket, path);
-        } else {
-            //indicates that only DUMMY file is present in a folder and thus it should be deleted completely
-            boolean noFiles = true;
-            try(S3ObjectDeleter deleter = new S3ObjectDeleter(client, bucket)) {
-                ListObjectsRequest request = new ListObjectsRequest();
-                request.setBucketName(bucket);
-                request.setPrefix(path);
-                ObjectListing listing;
-                do {
-                    listing = client.listObjects(request);
-                    for (S3ObjectSummary s3ObjectSummary : listing.getObjectSummaries()) {
-                        String relativePath = s3ObjectSummary.getKey();
-                        if (relativePath.startsWith(path)) {
-                            if (!relativePath.endsWith(ProviderUtils.FOLDER_TOKEN_FILE)) {
-                                noFiles = false;
-                            }
-                            deleter.deleteKey(relativePath);
-                        }
-                    }
-                    request.setMarker(listing.getNextMarker());
-                } while (listing.isTruncated());
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            if (!totally && !itemExists(client, bucket, path, true)) {
+                throw new DataStorageException("Folder does not exist");
             }
-            if (noFiles) {
+            if (totally) {
                 deleteAllVersions(client, bucket, path);
+            } else {
+                //indicates that only DUMMY file is present in a folder and thus it should be deleted completely
+                boolean noFiles = true;
+                try(S3ObjectDeleter deleter = new S3ObjectDeleter(client, bucket)) {
+                    ListObjectsRequest request = new ListObjectsRequest();
+                    request.setBucketName(bucket);
+                    request.setPrefix(path);
+                    ObjectListing listing;
+                    do {
+                        listing = client.listObjects(request);
+                        for (S3ObjectSummary s3ObjectSummary : listing.getObjectSummaries()) {
+                            String relativePath = s3ObjectSummary.getKey();
+                            if (relativePath.startsWith(path)) {
+                                if (!relativePath.endsWith(ProviderUtils.FOLDER_TOKEN_FILE)) {
+                                    noFiles = false;
+                                }
+                                deleter.deleteKey(relativePath);
+                            }
+                        }
+                        request.setMarker(listing.getNextMarker());
+                    } while (listing.isTruncated());
+                }
+                if (noFiles) {
+                    deleteAllVersions(client, bucket, path);
+                }
             }
         }
     }
@@ -608,15 +639,17 @@ public class S3Helper {
         if (StringUtils.isNullOrEmpty(oldPath) || StringUtils.isNullOrEmpty(newPath)) {
             throw new DataStorageException(PATH_SHOULD_NOT_BE_EMPTY_MESSAGE);
         }
-        AmazonS3 client = getDefaultS3Client();
-        checkItemExists(client, bucket, oldPath, false);
-        checkItemDoesNotExist(client, bucket, newPath, false);
-        if (fileSizeExceedsLimit(client, bucket, oldPath)) {
-            throw new DataStorageException(String.format("File '%s' moving was aborted because " +
-                    "file size exceeds the limit of %s bytes", newPath, COPYING_FILE_SIZE_LIMIT));
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            checkItemExists(client, bucket, oldPath, false);
+            checkItemDoesNotExist(client, bucket, newPath, false);
+            if (fileSizeExceedsLimit(client, bucket, oldPath)) {
+                throw new DataStorageException(String.format("File '%s' moving was aborted because " +
+                        "file size exceeds the limit of %s bytes", newPath, COPYING_FILE_SIZE_LIMIT));
+            }
+            moveS3Object(client, bucket, new MoveObjectRequest(oldPath, newPath));
+            return getFile(client, bucket, newPath);
         }
-        moveS3Object(client, bucket, new MoveObjectRequest(oldPath, newPath));
-        return getFile(client, bucket, newPath);
     }
 
     private boolean fileSizeExceedsLimit(final AmazonS3 client, final String bucket, final String path) {
@@ -629,73 +662,107 @@ public class S3Helper {
         return client.getObjectMetadata(request).getContentLength() > COPYING_FILE_SIZE_LIMIT;
     }
 
-    public DataStorageFolder moveFolder(String bucket, String rawOldPath, String rawNewPath)
+    public DataStorageFolder moveFolder(final String bucket, final String rawOldPath, final String rawNewPath)
             throws DataStorageException {
+        return moveFolder(bucket, rawOldPath, rawNewPath, DEFAULT_COPY_PARALLELISM);
+    }
+
+    public DataStorageFolder moveFolder(final String bucket, final String rawOldPath, final String rawNewPath,
+                                        final int parallelism) throws DataStorageException {
+        return transferFolder(bucket, rawOldPath, rawNewPath, parallelism, true);
+    }
+
+    public DataStorageFolder copyFolder(final String bucket, final String rawOldPath, final String rawNewPath,
+                                        final int parallelism) throws DataStorageException {
+        return transferFolder(bucket, rawOldPath, rawNewPath, parallelism, false);
+    }
+
+    /**
+     * Copies all objects of a folder to a new folder using server side copy requests and optionally
+     * deletes source objects. Only objects of the source folder are listed and they are processed page by page:
+     * objects of a single page are copied concurrently and source objects are deleted only after their copies
+     * are finished.
+     */
+    private DataStorageFolder transferFolder(final String bucket, final String rawOldPath, final String rawNewPath,
+                                             final int parallelism, final boolean deleteSource) {
         if (StringUtils.isNullOrEmpty(rawOldPath) || StringUtils.isNullOrEmpty(rawNewPath)) {
             throw new DataStorageException(PATH_SHOULD_NOT_BE_EMPTY_MESSAGE);
         }
         final String oldPath = ProviderUtils.withTrailingDelimiter(rawOldPath);
         final String newPath = ProviderUtils.withTrailingDelimiter(rawNewPath);
         final String folderFullPath = newPath.substring(0, newPath.length() - 1);
-        String[] parts = newPath.split(ProviderUtils.DELIMITER);
+        final String[] parts = newPath.split(ProviderUtils.DELIMITER);
         final String folderName = parts[parts.length - 1];
-        AmazonS3 client = getDefaultS3Client();
-        checkItemExists(client, bucket, oldPath, true);
-        checkItemDoesNotExist(client, bucket, newPath, true);
-        ListObjectsRequest req = new ListObjectsRequest();
-        req.setBucketName(bucket);
-        ObjectListing listing = client.listObjects(req);
-        boolean listingFinished = false;
-        List<String> oldKeys = new ArrayList<>();
-        while (!listingFinished) {
-            for (S3ObjectSummary s3ObjectSummary : listing.getObjectSummaries()) {
-                if (s3ObjectSummary.getSize() > COPYING_FILE_SIZE_LIMIT) {
-                    throw new DataStorageException(String.format("Moving folder '%s' was aborted because " +
-                                    "some of its files '%s' size exceeds the limit of %s bytes",
-                            oldPath, s3ObjectSummary.getKey(), COPYING_FILE_SIZE_LIMIT));
-                }
-                String relativePath = s3ObjectSummary.getKey();
-                if (relativePath.startsWith(oldPath)) {
-                    oldKeys.add(relativePath);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            final AmazonS3 client = lease.getClient();
+            checkItemExists(client, bucket, oldPath, true);
+            checkItemDoesNotExist(client, bucket, newPath, true);
+            long transferredObjects = 0;
+            long transferredBytes = 0;
+            try (S3ObjectCopier copier = new S3ObjectCopier(client, bucket, parallelism);
+                 S3ObjectDeleter deleter = new S3ObjectDeleter(client, bucket)) {
+                ObjectListing listing = client.listObjects(new ListObjectsRequest()
+                        .withBucketName(bucket)
+                        .withPrefix(oldPath));
+                boolean listingFinished = false;
+                while (!listingFinished) {
+                    // destination folder may be nested into the source one, its objects shall not be transferred again
+                    final List<MoveObjectRequest> requests = listing.getObjectSummaries().stream()
+                            .filter(summary -> !summary.getKey().startsWith(newPath))
+                            .map(summary -> new MoveObjectRequest(summary.getKey(), null,
+                                    newPath + summary.getKey().substring(oldPath.length()), summary.getSize()))
+                            .collect(Collectors.toList());
+                    copier.copy(requests);
+                    if (deleteSource) {
+                        requests.forEach(request -> deleter.deleteKey(request.getSourcePath()));
+                    }
+                    transferredObjects += requests.size();
+                    transferredBytes += requests.stream().mapToLong(MoveObjectRequest::getSize).sum();
+                    LOGGER.debug("{} objects ({} bytes) were transferred from '{}' to '{}' in bucket '{}' so far.",
+                            transferredObjects, transferredBytes, oldPath, newPath, bucket);
+                    if (listing.isTruncated()) {
+                        listing = client.listNextBatchOfObjects(listing);
+                    } else {
+                        listingFinished = true;
+                    }
                 }
+            } catch (SdkClientException e) {
+                throw new DataStorageException(e.getMessage(), e.getCause());
             }
-            if (listing.isTruncated()) {
-                listing = client.listNextBatchOfObjects(listing);
-            } else {
-                listingFinished = true;
-            }
+            LOGGER.info("Folder '{}' was {} to '{}' in bucket '{}': {} objects ({} bytes).", oldPath,
+                    deleteSource ? "moved" : "copied", newPath, bucket, transferredObjects, transferredBytes);
+            final DataStorageFolder folder = new DataStorageFolder();
+            folder.setName(folderName);
+            folder.setPath(folderFullPath);
+            return folder;
         }
-        final List<MoveObjectRequest> moveRequests = oldKeys.stream()
-                .map(oldKey -> new MoveObjectRequest(oldKey, newPath + oldKey.substring(oldPath.length())))
-                .collect(Collectors.toList());
-        moveS3Objects(client, bucket, moveRequests);
-        DataStorageFolder folder = new DataStorageFolder();
-        folder.setName(folderName);
-        folder.setPath(folderFullPath);
-        return folder;
     }
 
     public boolean checkBucket(String bucket) {
-        AmazonS3 client = getDefaultS3Client();
-        return client.doesBucketExistV2(bucket);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            return client.doesBucketExistV2(bucket);
+        }
     }
 
     public PathDescription getDataSize(final S3bucketDataStorage dataStorage, final String path,
                                        final PathDescription pathDescription) {
         final String requestPath = Optional.ofNullable(path).orElse(EMPTY_STRING);
-        final AmazonS3 client = getDefaultS3Client();
-
-        ObjectListing listing = client.listObjects(dataStorage.getRoot(), requestPath);
-        boolean hasNextPageMarker = true;
-        while (hasNextPageMarker && !pathDescription.getCompleted()) {
-            ProviderUtils.getSizeByPath(listing.getObjectSummaries(), requestPath,
-                    S3ObjectSummary::getSize, S3ObjectSummary::getKey, pathDescription);
-            hasNextPageMarker = listing.isTruncated();
-            listing = client.listNextBatchOfObjects(listing);
-        }
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            final AmazonS3 client = lease.getClient();
+
+            ObjectListing listing = client.listObjects(dataStorage.getRoot(), requestPath);
+            boolean hasNextPageMarker = true;
+            while (hasNextPageMarker && !pathDescription.getCompleted()) {
+                ProviderUtils.getSizeByPath(listing.getObjectSummaries(), requestPath,
+                        S3ObjectSummary::getSize, S3ObjectSummary::getKey, pathDescription);
+                hasNextPageMarker = listing.isTruncated();
+                listing = client.listNextBatchOfObjects(listing);
+            }
 
-        pathDescription.setCompleted(true);
-        return pathDescription;
+            pathDescription.setCompleted(true);
+            return pathDescription;
+        }
     }
 
     private BucketLifecycleConfiguration.Rule createLtsRule(String ltsRuleId, Integer longTermStorageDuration) {
@@ -972,19 +1039,21 @@ public class S3Helper {
 
     public Map<String, String> updateObjectTags(AbstractDataStorage dataStorage, String path, Map<String, String> tags,
                                  String version) {
-        AmazonS3 client = getDefaultS3Client();
-        SetObjectTaggingRequest setTaggingRequest = new SetObjectTaggingRequest(dataStorage.getRoot(), path,
-                new ObjectTagging(convertMapToAwsTags(tags)));
-        if (!StringUtils.isNullOrEmpty(version)) {
-            setTaggingRequest.withVersionId(version);
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
+            SetObjectTaggingRequest setTaggingRequest = new SetObjectTaggingRequest(dataStorage.getRoot(), path,
+                    new ObjectTagging(convertMapToAwsTags(tags)));
+            if (!StringUtils.isNullOrEmpty(version)) {
+                setTaggingRequest.withVersionId(version);
+            }
+            client.setObjectTagging(setTaggingRequest);
+            return listObjectTags(dataStorage, path, version);
         }
-        client.setObjectTagging(setTaggingRequest);
-        return listObjectTags(dataStorage, path, version);
     }
 
     public Map<String, String> listObjectTags(AbstractDataStorage dataStorage, String path, String version) {
-        try {
-            AmazonS3 client = getDefaultS3Client();
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
             GetObjectTaggingRequest getTaggingRequest =
                     new GetObjectTaggingRequest(dataStorage.getRoot(), path);
             if (!StringUtils.isNullOrEmpty(version)) {
@@ -1013,8 +1082,8 @@ public class S3Helper {
 
     public DataStorageItemContent getFileContent(AbstractDataStorage dataStorage, String path, String version,
             Long maxDownloadSize) {
-        try {
-            AmazonS3 client = getDefaultS3Client();
+        try (StorageClientCache.Lease<AmazonS3> lease = leaseS3Client()) {
+            AmazonS3 client = lease.getClient();
             GetObjectRequest rangeObjectRequest =
                     new GetObjectRequest(dataStorage.getRoot(), path, version).withRange(0, maxDownloadSize - 1);
             S3Object objectPortion = client.getObject(rangeObjectRequest);
@@ -1035,13 +1104,24 @@ public class S3Helper {
         }
     }
 
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public DataStorageStreamingContent getFileStream(AbstractDataStorage dataStorage, String path, String version) {
+        final StorageClientCache.Lease<AmazonS3> lease = leaseS3Client();
+        try {
+            final S3Object object = getObject(lease.getClient(), dataStorage, path, version);
+            return new DataStorageStreamingContent(new LeasedInputStream(object.getObjectContent(), lease),
+                    object.getKey());
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    private S3Object getObject(AmazonS3 client, AbstractDataStorage dataStorage, String path, String version) {
         try {
-            AmazonS3 client = getDefaultS3Client();
             GetObjectRequest rangeObjectRequest =
                 new GetObjectRequest(dataStorage.getRoot(), path, version);
-            S3Object object = client.getObject(rangeObjectRequest);
-            return new DataStorageStreamingContent(object.getObjectContent(), object.getKey());
+            return client.getObject(rangeObjectRequest);
         } catch (AmazonS3Exception e) {
             if (e.getStatusCode() == NOT_FOUND) {
                 throw new DataStorageException(messageHelper
@@ -1279,4 +1359,26 @@ public class S3Helper {
         return SignedBytes.lexicographicalComparator()
                 .compare(s1.getBytes(Charsets.UTF_8), s2.getBytes(Charsets.UTF_8));
     }
+
+    /**
+     * Object stream which closes the lease of the client it was opened with.
+     */
+    private static class LeasedInputStream extends FilterInputStream {
+
+        private final StorageClientCache.Lease<AmazonS3> lease;
+
+        LeasedInputStream(final InputStream input, final StorageClientCache.Lease<AmazonS3> lease) {
+            super(input);
+            this.lease = lease;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                lease.close();
+            }
+        }
+    }
 }
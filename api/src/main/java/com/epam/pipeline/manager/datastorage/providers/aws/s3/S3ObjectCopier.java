@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.datastorage.providers.aws.s3;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyPartRequest;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
+import com.amazonaws.services.s3.model.GetObjectTaggingResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.ObjectTagging;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.SSEAwsKeyManagementParams;
+import com.amazonaws.services.s3.model.Tag;
+import com.epam.pipeline.entity.datastorage.DataStorageException;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Util class to copy S3 objects within a single bucket concurrently with respect to AWS limit for size of
+ * an object copied in one request. Objects which exceed the limit are copied with multipart upload copy
+ * which preserves object metadata, tags, storage class and server side encryption settings.
+ * Note that to release copying threads, calling of method close() is required.
+ */
+public class S3ObjectCopier implements AutoCloseable {
+
+    public static final long COPY_REQUEST_SIZE_LIMIT = 5L * 1024L * 1024L * 1024L; // 5gb
+    private static final long MIN_PART_SIZE = 512L * 1024L * 1024L; // 512mb
+    private static final int MAX_PARTS_NUMBER = 10000;
+
+    private final AmazonS3 client;
+    private final String bucket;
+    private final ExecutorService executor;
+
+    public S3ObjectCopier(final AmazonS3 client, final String bucket, final int parallelism) {
+        this.client = client;
+        this.bucket = bucket;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+    }
+
+    /**
+     * Copies a batch of objects concurrently and waits until all of them are copied.
+     * @param requests specify objects to copy, object size should be specified to copy objects which
+     *                 exceed single copy request limit
+     */
+    public void copy(final List<MoveObjectRequest> requests) {
+        final List<Future<?>> copies = requests.stream()
+                .map(request -> executor.submit(() -> copy(request)))
+                .collect(Collectors.toList());
+        try {
+            for (final Future<?> copy : copies) {
+                copy.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataStorageException("Objects copying was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new DataStorageException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            copies.forEach(copy -> copy.cancel(true));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void copy(final MoveObjectRequest request) {
+        if (request.getSize() != null && request.getSize() > COPY_REQUEST_SIZE_LIMIT) {
+            copyInParts(request);
+        } else {
+            client.copyObject(request.toCopyRequest(bucket));
+        }
+    }
+
+    private void copyInParts(final MoveObjectRequest request) {
+        final ObjectMetadata sourceMetadata = client.getObjectMetadata(
+                new GetObjectMetadataRequest(bucket, request.getSourcePath(), request.getVersion()));
+        final String uploadId = client.initiateMultipartUpload(toInitiateRequest(request, sourceMetadata))
+                .getUploadId();
+        try {
+            final long size = sourceMetadata.getContentLength();
+            final long partSize = Math.max(MIN_PART_SIZE, (size + MAX_PARTS_NUMBER - 1) / MAX_PARTS_NUMBER);
+            final List<PartETag> parts = new ArrayList<>();
+            for (long position = 0; position < size; position += partSize) {
+                parts.add(client.copyPart(new CopyPartRequest()
+                        .withSourceBucketName(bucket)
+                        .withSourceKey(request.getSourcePath())
+                        .withSourceVersionId(request.getVersion())
+                        .withDestinationBucketName(bucket)
+                        .withDestinationKey(request.getDestinationPath())
+                        .withUploadId(uploadId)
+                        .withPartNumber(parts.size() + 1)
+                        .withFirstByte(position)
+                        .withLastByte(Math.min(position + partSize, size) - 1))
+                        .getPartETag());
+            }
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket,
+                    request.getDestinationPath(), uploadId, parts));
+        } catch (SdkClientException e) {
+            client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket,
+                    request.getDestinationPath(), uploadId));
+            throw e;
+        }
+    }
+
+    private InitiateMultipartUploadRequest toInitiateRequest(final MoveObjectRequest request,
+                                                             final ObjectMetadata sourceMetadata) {
+        final InitiateMultipartUploadRequest initiateRequest = new InitiateMultipartUploadRequest(bucket,
+                request.getDestinationPath(), toDestinationMetadata(sourceMetadata));
+        Optional.ofNullable(sourceMetadata.getStorageClass()).ifPresent(initiateRequest::setStorageClass);
+        Optional.ofNullable(sourceMetadata.getSSEAwsKmsKeyId())
+                .map(SSEAwsKeyManagementParams::new)
+                .ifPresent(initiateRequest::setSSEAwsKeyManagementParams);
+        final List<Tag> tags = loadTags(request);
+        if (CollectionUtils.isNotEmpty(tags)) {
+            initiateRequest.setTagging(new ObjectTagging(tags));
+        }
+        return initiateRequest;
+    }
+
+    private List<Tag> loadTags(final MoveObjectRequest request) {
+        return Optional.ofNullable(client.getObjectTagging(new GetObjectTaggingRequest(bucket,
+                request.getSourcePath(), request.getVersion())))
+                .map(GetObjectTaggingResult::getTagSet)
+                .orElse(null);
+    }
+
+    private ObjectMetadata toDestinationMetadata(final ObjectMetadata sourceMetadata) {
+        final ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setUserMetadata(sourceMetadata.getUserMetadata());
+        Optional.ofNullable(sourceMetadata.getContentType()).ifPresent(metadata::setContentType);
+        Optional.ofNullable(sourceMetadata.getContentEncoding()).ifPresent(metadata::setContentEncoding);
+        Optional.ofNullable(sourceMetadata.getContentDisposition()).ifPresent(metadata::setContentDisposition);
+        Optional.ofNullable(sourceMetadata.getCacheControl()).ifPresent(metadata::setCacheControl);
+        if (sourceMetadata.getSSEAwsKmsKeyId() == null) {
+            Optional.ofNullable(sourceMetadata.getSSEAlgorithm()).ifPresent(metadata::setSSEAlgorithm);
+        }
+        return metadata;
+    }
+}
@@ -45,6 +45,7 @@ import com.epam.pipeline.entity.region.VersioningAwareRegion;
 import com.epam.pipeline.manager.cloud.aws.AWSUtils;
 import com.epam.pipeline.manager.cloud.aws.S3TemporaryCredentialsGenerator;
 import com.epam.pipeline.manager.datastorage.providers.ProviderUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.manager.datastorage.providers.StorageProvider;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
@@ -80,6 +81,7 @@ public class S3StorageProvider implements StorageProvider<S3bucketDataStorage> {
     private final CloudRegionManager cloudRegionManager;
     private final PreferenceManager preferenceManager;
     private final S3TemporaryCredentialsGenerator stsCredentialsGenerator;
+    private final StorageClientCache clientCache;
 
     @Override
     public DataStorageType getStorageType() {
@@ -299,7 +301,8 @@ public class S3StorageProvider implements StorageProvider<S3bucketDataStorage> {
         validateFolderPathMatchingMasks(dataStorage, newPath);
         return getS3Helper(dataStorage).moveFolder(dataStorage.getRoot(),
                 ProviderUtils.buildPath(dataStorage, oldPath),
-                ProviderUtils.buildPath(dataStorage, newPath));
+                ProviderUtils.buildPath(dataStorage, newPath),
+                preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_OPERATIONS_PARALLELISM));
     }
 
     @Override
@@ -310,7 +313,12 @@ public class S3StorageProvider implements StorageProvider<S3bucketDataStorage> {
     @Override
     public DataStorageFolder copyFolder(final S3bucketDataStorage dataStorage, final String oldPath,
                                         final String newPath) {
-        throw new UnsupportedOperationException();
+        validateFolderPathMatchingMasks(dataStorage, oldPath);
+        validateFolderPathMatchingMasks(dataStorage, newPath);
+        return getS3Helper(dataStorage).copyFolder(dataStorage.getRoot(),
+                ProviderUtils.buildPath(dataStorage, oldPath),
+                ProviderUtils.buildPath(dataStorage, newPath),
+                preferenceManager.getPreference(SystemPreferences.DATA_STORAGE_OPERATIONS_PARALLELISM));
     }
 
     @Override public boolean checkStorage(S3bucketDataStorage dataStorage) {
@@ -383,12 +391,12 @@ public class S3StorageProvider implements StorageProvider<S3bucketDataStorage> {
         if (dataStorage.isUseAssumedCredentials()) {
             final String roleArn = Optional.ofNullable(dataStorage.getTempCredentialsRole())
                     .orElse(region.getTempCredentialsRole());
-            return new AssumedCredentialsS3Helper(roleArn, region, messageHelper);
+            return new AssumedCredentialsS3Helper(roleArn, region, messageHelper, clientCache);
         }
         if (StringUtils.isNotBlank(region.getIamRole())) {
-            return new AssumedCredentialsS3Helper(region.getIamRole(), region, messageHelper);
+            return new AssumedCredentialsS3Helper(region.getIamRole(), region, messageHelper, clientCache);
         }
-        return new RegionAwareS3Helper(region, messageHelper);
+        return new RegionAwareS3Helper(region, messageHelper, clientCache);
     }
 
     public S3Helper getS3Helper(final TemporaryCredentials credentials, final AwsRegion region) {
@@ -31,6 +31,7 @@ import com.epam.pipeline.entity.datastorage.azure.AzureBlobStorage;
 import com.epam.pipeline.entity.region.AzureRegion;
 import com.epam.pipeline.entity.region.AzureRegionCredentials;
 import com.epam.pipeline.manager.datastorage.providers.ProviderUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.manager.datastorage.providers.StorageProvider;
 import com.epam.pipeline.manager.region.CloudRegionManager;
 import com.epam.pipeline.manager.security.AuthManager;
@@ -56,6 +57,7 @@ public class AzureBlobStorageProvider implements StorageProvider<AzureBlobStorag
 
     private final CloudRegionManager cloudRegionManager;
     private final MessageHelper messageHelper;
+    private final StorageClientCache clientCache;
     private final AuthManager authManager;
 
     @Override
@@ -277,7 +279,7 @@ public class AzureBlobStorageProvider implements StorageProvider<AzureBlobStorag
     private AzureStorageHelper getAzureStorageHelper(final AzureBlobStorage storage) {
         final AzureRegion region = cloudRegionManager.getAzureRegion(storage);
         final AzureRegionCredentials credentials = cloudRegionManager.loadCredentials(region);
-        return new AzureStorageHelper(region, credentials, messageHelper);
+        return new AzureStorageHelper(region, credentials, messageHelper, clientCache);
     }
 }
 
@@ -33,6 +33,7 @@ import com.epam.pipeline.entity.region.AzurePolicy;
 import com.epam.pipeline.entity.region.AzureRegion;
 import com.epam.pipeline.entity.region.AzureRegionCredentials;
 import com.epam.pipeline.manager.datastorage.providers.ProviderUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.manager.datastorage.providers.azure.AbstractListingIterator.FlatIterator;
 import com.epam.pipeline.manager.datastorage.providers.azure.AbstractListingIterator.HierarchyIterator;
 import com.epam.pipeline.utils.FileContentUtils;
@@ -111,13 +112,16 @@ public class AzureStorageHelper {
     private final MessageHelper messageHelper;
     private final DateFormat dateFormat;
     private final HttpPipelineLogger httpLogger;
+    private final StorageClientCache clientCache;
 
     public AzureStorageHelper(final AzureRegion azureRegion,
                               final AzureRegionCredentials azureRegionCredentials,
-                              final MessageHelper messageHelper) {
+                              final MessageHelper messageHelper,
+                              final StorageClientCache clientCache) {
         this.azureRegion = azureRegion;
         this.azureRegionCredentials = azureRegionCredentials;
         this.messageHelper = messageHelper;
+        this.clientCache = clientCache;
         final TimeZone tz = TimeZone.getTimeZone("UTC");
         this.dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
         this.dateFormat.setTimeZone(tz);
@@ -458,13 +462,16 @@ public class AzureStorageHelper {
     }
 
     private ContainerURL getContainerURL(final AzureBlobStorage storage) {
-        final SharedKeyCredentials credential = getStorageCredential();
+        return getServiceURL().createContainerURL(storage.getPath());
+    }
 
-        final ServiceURL serviceURL = new ServiceURL(
+    private ServiceURL getServiceURL() {
+        return clientCache.get(ServiceURL.class, () -> new ServiceURL(
                 url(String.format(BLOB_URL_FORMAT, azureRegion.getStorageAccount())),
-                StorageURL.createPipeline(credential, new PipelineOptions()
-                        .withLogger(httpLogger)));
-        return serviceURL.createContainerURL(storage.getPath());
+                StorageURL.createPipeline(getStorageCredential(), new PipelineOptions()
+                        .withLogger(httpLogger))),
+                azureRegion.getStorageAccount(),
+                StorageClientCache.secret(azureRegionCredentials.getStorageAccountKey()));
     }
 
     private BlockBlobURL getBlobUrl(final AzureBlobStorage dataStorage, final String path) {
@@ -34,6 +34,7 @@ import com.epam.pipeline.entity.datastorage.gcp.GSBucketStorage;
 import com.epam.pipeline.entity.region.GCPRegion;
 import com.epam.pipeline.manager.cloud.gcp.GCPClient;
 import com.epam.pipeline.manager.datastorage.providers.ProviderUtils;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.utils.FileContentUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MapperFeature;
@@ -102,9 +103,10 @@ public class GSBucketStorageHelper {
     private final MessageHelper messageHelper;
     private final GCPRegion region;
     private final GCPClient gcpClient;
+    private final StorageClientCache clientCache;
 
     public String createGoogleStorage(final GSBucketStorage storage) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final Bucket bucket = client.create(BucketInfo.newBuilder(storage.getPath())
                 .setCors(buildCors())
                 .setStorageClass(StorageClass.REGIONAL)
@@ -114,14 +116,14 @@ public class GSBucketStorageHelper {
     }
 
     public void deleteGoogleStorage(final String bucketName) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         deleteAllVersions(bucketName, EMPTY_PREFIX, client);
         deleteBucket(bucketName, client);
     }
 
     public Stream<DataStorageFile> listDataStorageFiles(final GSBucketStorage storage, final String path) {
         final String folderPath = normalizeFolderPath(path);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
         final Page<Blob> blobs = client.list(bucketName, 
                 Storage.BlobListOption.prefix(folderPath));
@@ -136,7 +138,7 @@ public class GSBucketStorageHelper {
         if (StringUtils.isNotBlank(requestPath)) {
             requestPath = normalizeFolderPath(requestPath);
         }
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
 
         final Page<Blob> blobs = client.list(bucketName,
@@ -152,7 +154,7 @@ public class GSBucketStorageHelper {
     }
 
     public Optional<DataStorageFile> findFile(final GSBucketStorage storage, final String path, final String version) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         return Optional.ofNullable(client.get(BlobId.of(storage.getPath(), path,
                 StringUtils.isNotBlank(version) ? Long.valueOf(version) : null)))
                 .map(blob -> {
@@ -166,7 +168,7 @@ public class GSBucketStorageHelper {
 
     public DataStorageFile createFile(final GSBucketStorage storage, final String path,
                                       final byte[] contents, final String owner) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
 
         final String bucketName = storage.getPath();
 
@@ -189,7 +191,7 @@ public class GSBucketStorageHelper {
     public DataStorageFolder createFolder(final GSBucketStorage storage, final String path) {
         String folderPath = path.trim();
         folderPath = normalizeFolderPath(folderPath);
-        checkFolderDoesNotExist(storage.getPath(), folderPath, gcpClient.buildStorageClient(region));
+        checkFolderDoesNotExist(storage.getPath(), folderPath, getStorageClient());
         final String tokenFilePath = folderPath + ProviderUtils.FOLDER_TOKEN_FILE;
 
         createFile(storage, tokenFilePath, EMPTY_FILE_CONTENT, null);
@@ -201,7 +203,7 @@ public class GSBucketStorageHelper {
         Assert.isTrue(StringUtils.isNotBlank(path), messageHelper
                 .getMessage(MessageConstants.ERROR_DATASTORAGE_PATH_IS_EMPTY));
 
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = dataStorage.getPath();
 
         if (StringUtils.isBlank(version) && totally) {
@@ -223,7 +225,7 @@ public class GSBucketStorageHelper {
 
         final String folderPath = normalizeFolderPath(path);
 
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
 
         final String bucketName = dataStorage.getPath();
         if (totally) {
@@ -241,7 +243,7 @@ public class GSBucketStorageHelper {
         Assert.isTrue(StringUtils.isNotBlank(newPath), messageHelper
                 .getMessage(MessageConstants.ERROR_DATASTORAGE_PATH_IS_EMPTY));
 
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
         final Blob oldBlob = checkBlobExistsAndGet(bucketName, oldPath, client, null);
         checkBlobDoesNotExist(bucketName, newPath, client);
@@ -259,7 +261,7 @@ public class GSBucketStorageHelper {
         Assert.isTrue(StringUtils.isNotBlank(newPath), messageHelper
                 .getMessage(MessageConstants.ERROR_DATASTORAGE_PATH_IS_EMPTY));
 
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
 
         final String oldFolderPath = normalizeFolderPath(oldPath);
@@ -281,14 +283,14 @@ public class GSBucketStorageHelper {
     }
 
     public boolean checkStorageExists(final String bucketName) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         return Objects.nonNull(client.get(bucketName));
     }
 
     public DataStorageItemContent getFileContent(final GSBucketStorage storage, final String path, final String version,
                                                  final Long maxDownloadSize) {
         checkVersionHasNotDeletedMarker(version);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
 
         final Blob blob = checkBlobExistsAndGet(bucketName, path, client, version);
@@ -323,7 +325,7 @@ public class GSBucketStorageHelper {
     public DataStorageStreamingContent getFileStream(final GSBucketStorage storage, final String path,
                                                      final String version) {
         checkVersionHasNotDeletedMarker(version);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
 
         final Blob blob = checkBlobExistsAndGet(bucketName, path, client, version);
@@ -335,7 +337,7 @@ public class GSBucketStorageHelper {
     public DataStorageDownloadFileUrl generateDownloadUrl(final GSBucketStorage storage, final String path,
                                                           final String version) {
         checkVersionHasNotDeletedMarker(version);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
 
         final String bucketName = storage.getPath();
         final Blob blob = checkBlobExistsAndGet(bucketName, path, client, version);
@@ -350,7 +352,7 @@ public class GSBucketStorageHelper {
     public Map<String, String> listMetadata(final GSBucketStorage storage, final String path,
                                             final String version) {
         checkVersionHasNotDeletedMarker(version);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
 
         final String bucketName = storage.getPath();
         final Blob blob = checkBlobExistsAndGet(bucketName, path, client, version);
@@ -360,7 +362,7 @@ public class GSBucketStorageHelper {
     public Map<String, String> updateMetadata(final GSBucketStorage storage, final String path,
                                               final Map<String, String> tags, final String version) {
         checkVersionHasNotDeletedMarker(version);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
 
         final String bucketName = storage.getPath();
         final Blob blob = checkBlobExistsAndGet(bucketName, path, client, version);
@@ -391,7 +393,7 @@ public class GSBucketStorageHelper {
 
     public void restoreFileVersion(final GSBucketStorage storage, final String path, final String version) {
         checkVersionHasNotDeletedMarker(version);
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
         final Blob blob = checkBlobExistsAndGet(bucketName, path, client, version);
 
@@ -405,7 +407,7 @@ public class GSBucketStorageHelper {
     }
 
     public void applyStoragePolicy(final GSBucketStorage storage, final StoragePolicy policy) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final String bucketName = storage.getPath();
         final Bucket bucket = client.get(bucketName);
 
@@ -437,7 +439,7 @@ public class GSBucketStorageHelper {
     public PathDescription getDataSize(final GSBucketStorage dataStorage, final String path,
                                        final PathDescription pathDescription) {
         final String requestPath = Optional.ofNullable(path).orElse("");
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
         final Page<Blob> blobs = client.list(dataStorage.getPath(), Storage.BlobListOption.prefix(requestPath));
 
         ProviderUtils.getSizeByPath(blobs.iterateAll(), requestPath, BlobInfo::getSize, BlobInfo::getName,
@@ -471,7 +473,7 @@ public class GSBucketStorageHelper {
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public ActionStatus applyIamPolicy(final GSBucketStorage storage) {
-        final Storage client = gcpClient.buildStorageClient(region);
+        final Storage client = getStorageClient();
 
         if (StringUtils.isNotBlank(region.getPolicy())) {
             try {
@@ -746,4 +748,9 @@ public class GSBucketStorageHelper {
             throw new DataStorageException("Operation is not allowed for deleted version");
         }
     }
+
+    private Storage getStorageClient() {
+        return clientCache.get(Storage.class, () -> gcpClient.buildStorageClient(region),
+                region.getRegionCode(), region.getProject(), region.getAuthFile());
+    }
 }
@@ -32,6 +32,7 @@ import com.epam.pipeline.entity.datastorage.StoragePolicy;
 import com.epam.pipeline.entity.datastorage.gcp.GSBucketStorage;
 import com.epam.pipeline.entity.region.GCPRegion;
 import com.epam.pipeline.manager.cloud.gcp.GCPClient;
+import com.epam.pipeline.manager.datastorage.providers.StorageClientCache;
 import com.epam.pipeline.manager.datastorage.providers.StorageProvider;
 import com.epam.pipeline.manager.region.CloudRegionManager;
 import com.epam.pipeline.manager.security.AuthManager;
@@ -55,6 +56,7 @@ public class GSBucketStorageProvider implements StorageProvider<GSBucketStorage>
     private final CloudRegionManager cloudRegionManager;
     private final MessageHelper messageHelper;
     private final GCPClient gcpClient;
+    private final StorageClientCache clientCache;
     private final AuthManager authManager;
 
     @Override
@@ -232,6 +234,6 @@ public class GSBucketStorageProvider implements StorageProvider<GSBucketStorage>
 
     private GSBucketStorageHelper getHelper(final GSBucketStorage storage) {
         final GCPRegion gcpRegion = cloudRegionManager.getGCPRegion(storage);
-        return new GSBucketStorageHelper(messageHelper, gcpRegion, gcpClient);
+        return new GSBucketStorageHelper(messageHelper, gcpRegion, gcpClient, clientCache);
     }
 }
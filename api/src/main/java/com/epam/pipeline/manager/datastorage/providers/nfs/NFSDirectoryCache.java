@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.datastorage.providers.nfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-living cache of sorted directory entries names. It allows serving subsequent pages of a large directory
+ * listing without reading and sorting the whole directory for each page.
+ *
+ * Cached entries are discarded once the directory modification time changes.
+ */
+class NFSDirectoryCache {
+
+    private static final long EXPIRATION_SECONDS = 60;
+    private static final long MAX_CACHED_ENTRIES = 1_000_000;
+
+    private final Cache<Path, CachedDirectory> directories = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_ENTRIES)
+            .weigher((Path dir, CachedDirectory cached) -> cached.getNames().size())
+            .expireAfterWrite(EXPIRATION_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * Returns sorted names of the directory entries.
+     * @param dir directory to list
+     * @param refresh if true the directory is read even if it is cached
+     */
+    List<String> getNames(final Path dir, final boolean refresh) throws IOException {
+        final FileTime modified = Files.getLastModifiedTime(dir);
+        if (!refresh) {
+            final CachedDirectory cached = directories.getIfPresent(dir);
+            if (cached != null && cached.getModified().equals(modified)) {
+                return cached.getNames();
+            }
+        }
+        final List<String> names = readNames(dir);
+        directories.put(dir, new CachedDirectory(modified, names));
+        return names;
+    }
+
+    private List<String> readNames(final Path dir) throws IOException {
+        final List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (final Path entry : entries) {
+                names.add(entry.getFileName().toString());
+            }
+        }
+        Collections.sort(names);
+        return Collections.unmodifiableList(names);
+    }
+
+    @Value
+    private static class CachedDirectory {
+        FileTime modified;
+        List<String> names;
+    }
+}
@@ -32,6 +32,7 @@ import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.datastorage.PathDescription;
 import com.epam.pipeline.entity.datastorage.nfs.NFSDataStorage;
 import com.epam.pipeline.manager.datastorage.FileShareMountManager;
+import com.epam.pipeline.manager.datastorage.providers.ProviderUtils;
 import com.epam.pipeline.manager.datastorage.providers.StorageProvider;
 import com.epam.pipeline.manager.datastorage.providers.aws.s3.S3Constants;
 import com.epam.pipeline.manager.preference.PreferenceManager;
@@ -39,6 +40,7 @@ import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.utils.FileContentUtils;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
@@ -58,9 +60,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -90,6 +95,7 @@ public class NFSStorageProvider implements StorageProvider<NFSDataStorage> {
     private final PreferenceManager preferenceManager;
     private final FileShareMountManager shareMountManager;
     private final NFSStorageMounter nfsStorageMounter;
+    private final NFSDirectoryCache directoryCache = new NFSDirectoryCache();
 
     @Override
     public DataStorageType getStorageType() {
@@ -194,53 +200,68 @@ public class NFSStorageProvider implements StorageProvider<NFSDataStorage> {
     @Override
     public DataStorageListing getItems(NFSDataStorage dataStorage, String path, Boolean showVersion,
                                        Integer pageSize, String marker) {
-        File dataStorageRoot = nfsStorageMounter.mount(dataStorage);
-        File dir = path != null ? new File(dataStorageRoot, path) : dataStorageRoot;
-
-        long offset = StringUtils.isNumeric(marker) ? Long.parseLong(marker) : 1;
-        try (Stream<Path> dirStream = Files.walk(dir.toPath(), 1)) {
-            List<AbstractDataStorageItem> dataStorageItems = dirStream
-                .sorted()
-                .skip(offset) // First element is a directory itself
-                .limit(pageSize)
-                .map(p -> {
-                    File file = p.toFile();
-
-                    AbstractDataStorageItem item;
-                    if (file.isDirectory()) {
-                        item = new DataStorageFolder();
-                    } else {
-                        //set size if it's a file
-                        DataStorageFile dataStorageFile = new DataStorageFile();
-                        dataStorageFile.setSize(file.length());
-                        dataStorageFile.setChanged(S3Constants.getAwsDateFormat()
-                                .format(new Date(file.lastModified())));
-                        item = dataStorageFile;
-                    }
-
-                    item.setName(file.getName());
-                    item.setPath(dataStorageRoot.toURI().relativize(file.toURI()).getPath());
-
-                    return item;
-                })
-                .collect(Collectors.toList());
+        final File dataStorageRoot = nfsStorageMounter.mount(dataStorage);
+        final File dir = path != null ? new File(dataStorageRoot, path) : dataStorageRoot;
+        try {
+            // first page is always read from the file system, subsequent pages are served from the cache
+            final List<String> names = directoryCache.getNames(dir.toPath(), StringUtils.isEmpty(marker));
+            final int start = getPageStart(names, marker);
+            final int end = (int) Math.min(names.size(), (long) start + pageSize);
+            final List<AbstractDataStorageItem> dataStorageItems = new ArrayList<>(end - start);
+            for (final String name : names.subList(start, end)) {
+                toDataStorageItem(dataStorageRoot.toPath(), dir.toPath().resolve(name))
+                        .ifPresent(dataStorageItems::add);
+            }
 
-            DataStorageListing listing = new DataStorageListing();
+            final DataStorageListing listing = new DataStorageListing();
             listing.setResults(dataStorageItems);
-
-            Long nextOffset = offset + pageSize;
-            try (Stream<Path> nextStream = Files.walk(dir.toPath(), 1)) {
-                if (nextStream.skip(nextOffset).findFirst().isPresent()) {
-                    listing.setNextPageMarker(nextOffset.toString());
-                }
+            if (end < names.size()) {
+                listing.setNextPageMarker(names.get(end));
             }
-
             return listing;
         } catch (IOException e) {
             throw new DataStorageException(e);
         }
     }
 
+    /**
+     * Resolves the index of the first entry of a page. Marker is a name of the first entry of the page,
+     * if such entry was deleted, the page starts from the next entry.
+     */
+    private int getPageStart(final List<String> names, final String marker) {
+        if (StringUtils.isEmpty(marker)) {
+            return 0;
+        }
+        final int index = Collections.binarySearch(names, marker);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private Optional<AbstractDataStorageItem> toDataStorageItem(final Path dataStorageRoot, final Path entry)
+            throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("File {} was deleted during listing", entry);
+            return Optional.empty();
+        }
+        final String relativePath = FilenameUtils.separatorsToUnix(dataStorageRoot.relativize(entry).toString());
+        final AbstractDataStorageItem item;
+        if (attributes.isDirectory()) {
+            item = new DataStorageFolder();
+            item.setPath(relativePath + ProviderUtils.DELIMITER);
+        } else {
+            final DataStorageFile dataStorageFile = new DataStorageFile();
+            dataStorageFile.setSize(attributes.size());
+            dataStorageFile.setChanged(S3Constants.getAwsDateFormat()
+                    .format(new Date(attributes.lastModifiedTime().toMillis())));
+            item = dataStorageFile;
+            item.setPath(relativePath);
+        }
+        item.setName(entry.getFileName().toString());
+        return Optional.of(item);
+    }
+
     @Override
     public Optional<DataStorageFile> findFile(final NFSDataStorage dataStorage,
                                               final String path,
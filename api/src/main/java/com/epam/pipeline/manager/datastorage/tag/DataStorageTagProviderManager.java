@@ -27,6 +27,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -126,14 +127,16 @@ public class DataStorageTagProviderManager {
         final String newAbsolutePath = storage.resolveAbsolutePath(newPath);
         tagManager.copyFolder(storage.getRootId(), oldAbsolutePath, newAbsolutePath);
         if (storage.isVersioningEnabled()) {
-            StreamUtils.chunked(storageProviderManager.listFiles(storage, newPath + storage.getDelimiter()),
-                    getOperationsBulkSize())
-                    .forEach(chunk -> tagBatchManager.copy(storage.getId(), new DataStorageTagCopyBatchRequest(
-                            chunk.stream()
-                                    .map(file -> new DataStorageTagCopyRequest(
-                                            DataStorageTagCopyRequest.object(file.getPath(), null),
-                                            DataStorageTagCopyRequest.object(file.getPath(), file.getVersion())))
-                                    .collect(Collectors.toList()))));
+            try (Stream<DataStorageFile> files = storageProviderManager.listFiles(storage,
+                    newPath + storage.getDelimiter())) {
+                StreamUtils.chunked(files, getOperationsBulkSize())
+                        .forEach(chunk -> tagBatchManager.copy(storage.getId(), new DataStorageTagCopyBatchRequest(
+                                chunk.stream()
+                                        .map(file -> new DataStorageTagCopyRequest(
+                                                DataStorageTagCopyRequest.object(file.getPath(), null),
+                                                DataStorageTagCopyRequest.object(file.getPath(), file.getVersion())))
+                                        .collect(Collectors.toList()))));
+            }
         }
     }
 
@@ -54,6 +54,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.OkHttpClient;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -67,15 +68,15 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -120,6 +121,12 @@ public class AggregatingToolScanManager implements ToolScanManager {
     private ClairService clairService;
     private DockerComponentScanService dockerComponentService;
 
+    /**
+     * Layers which are being scanned at the moment by their names, used to scan a layer shared by
+     * concurrently scanned images only once.
+     */
+    private final Map<String, CompletableFuture<String>> layerScansInProgress = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         initClients();
@@ -293,9 +300,13 @@ public class AggregatingToolScanManager implements ToolScanManager {
                         SystemPreferences.DOCKER_SECURITY_TOOL_POLICY_MAX_MEDIUM_VULNERABILITIES));
     }
 
-    String getLayerName(String image, String tag) throws UnsupportedEncodingException {
-        return URLEncoder.encode(image, "UTF-8") + ":" + URLEncoder.encode(tag, "UTF-8")
-                + ":" + UUID.randomUUID();
+    /**
+     * Builds a content addressed layer name from the layer digest and the name of its parent layer.
+     * Therefore a chain of layers shared by several images is registered in scanning services under the same names
+     * and is analysed only once.
+     */
+    String getLayerName(final String parentLayerName, final String layerDigest) {
+        return DigestUtils.sha256Hex(StringUtils.defaultString(parentLayerName) + ":" + layerDigest);
     }
 
     private ToolVersionScanResult doScan(Tool tool, String tag, DockerRegistry registry)
@@ -362,51 +373,80 @@ public class AggregatingToolScanManager implements ToolScanManager {
         String lastLayer = null;
         for (int i = 0; i < layers.size(); i++) {
             String layerDigest = layers.get(i);
-            // Debug: use "172.31.38.143:5000" as registry path
-            Response<ClairScanRequest> clairResp;
-            Response<DockerComponentLayerScanResult> dockerCompResp;
-            String layerRef = getLayerName(tool.getImage(), tag);
-
-            ClairScanRequest clairRequest;
-            DockerComponentScanRequest dockerComponentScanRequest;
-
-            if (registry.isPipelineAuth()) {
-                clairRequest = new ClairScanRequest(layerRef, layerDigest, registry.getPath(),
-                        tool.getImage(), lastLayer, dockerRegistryManager.getImageToken(registry, tool.getImage()));
-                dockerComponentScanRequest = new DockerComponentScanRequest(layerRef, layerDigest, registry.getPath(),
-                        tool.getImage(), lastLayer, dockerRegistryManager.getImageToken(registry, tool.getImage()));
-            } else {
-                clairRequest = new ClairScanRequest(layerRef, layerDigest, registry.getPath(),
-                        tool.getImage(), lastLayer, registry.getUserName(), registry.getPassword());
-                dockerComponentScanRequest = new DockerComponentScanRequest(layerRef, layerDigest, registry.getPath(),
-                        tool.getImage(), lastLayer, registry.getUserName(), registry.getPassword());
+            String layerRef = getLayerName(lastLayer, layerDigest);
+            CompletableFuture<String> layerScan = new CompletableFuture<>();
+            CompletableFuture<String> concurrentLayerScan = layerScansInProgress.putIfAbsent(layerRef, layerScan);
+            if (concurrentLayerScan == null || !awaitLayerScan(tool, concurrentLayerScan)) {
+                try {
+                    scanLayer(tool, registry, layerRef, layerDigest, lastLayer, i, layers.size());
+                    layerScan.complete(layerRef);
+                } finally {
+                    if (!layerScan.isDone()) {
+                        layerScan.completeExceptionally(new IllegalStateException("Layer scan failed: " + layerRef));
+                    }
+                    layerScansInProgress.remove(layerRef, layerScan);
+                }
             }
+            lastLayer = layerRef;
+            LOGGER.debug("Scanning {}:{}, done {} of {} layers", tool.getImage(), tag, i + 1, layers.size());
+        }
 
-            clairResp = clairService.scanLayer(clairRequest).execute();
-            dockerCompResp = dockerComponentService == null ? null :
-                    dockerComponentService.scanLayer(dockerComponentScanRequest).execute();
-
-            if (!clairResp.isSuccessful()) {
-                String errorBody = clairResp.errorBody() != null ? clairResp.errorBody().string() : null;
-                throw new ToolScanExternalServiceException(tool,
-                        String.format("Service: %s : Failed on %d of %d layers: %s:%s response code: %d",
-                        ClairService.class, i + 1, layers.size(), clairResp.message(), errorBody, clairResp.code()));
-            }
-            if (dockerCompResp != null && !dockerCompResp.isSuccessful()) {
-                String errorBody = dockerCompResp.errorBody() != null ? dockerCompResp.errorBody().string() : null;
-                throw new ToolScanExternalServiceException(tool,
-                        String.format("Service: %s : Failed on %d of %d layers: %s:%s response code: %d",
-                        DockerComponentScanService.class, i + 1, layers.size(), dockerCompResp.message(),
-                                errorBody, dockerCompResp.code()));
-            }
+        return lastLayer;
+    }
 
-            ClairScanRequest clairFulfilled = clairResp.body();
+    /**
+     * Waits for the same layer being scanned for another image.
+     * @return true if the layer was scanned successfully, false if it shall be scanned once again
+     */
+    private boolean awaitLayerScan(final Tool tool, final CompletableFuture<String> layerScan)
+            throws ToolScanExternalServiceException {
+        try {
+            layerScan.get();
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ToolScanExternalServiceException(tool, e);
+        }
+    }
 
-            lastLayer = clairFulfilled.getLayer().getName();
-            LOGGER.debug("Scanning {}:{}, done {} of {} layers", tool.getImage(), tag, i + 1, layers.size());
+    private void scanLayer(final Tool tool, final DockerRegistry registry, final String layerRef,
+                           final String layerDigest, final String parentLayerRef, final int index, final int total)
+            throws IOException, ToolScanExternalServiceException {
+        ClairScanRequest clairRequest;
+        DockerComponentScanRequest dockerComponentScanRequest;
+
+        if (registry.isPipelineAuth()) {
+            String token = dockerRegistryManager.getImageToken(registry, tool.getImage());
+            clairRequest = new ClairScanRequest(layerRef, layerDigest, registry.getPath(),
+                    tool.getImage(), parentLayerRef, token);
+            dockerComponentScanRequest = new DockerComponentScanRequest(layerRef, layerDigest, registry.getPath(),
+                    tool.getImage(), parentLayerRef, token);
+        } else {
+            clairRequest = new ClairScanRequest(layerRef, layerDigest, registry.getPath(),
+                    tool.getImage(), parentLayerRef, registry.getUserName(), registry.getPassword());
+            dockerComponentScanRequest = new DockerComponentScanRequest(layerRef, layerDigest, registry.getPath(),
+                    tool.getImage(), parentLayerRef, registry.getUserName(), registry.getPassword());
         }
 
-        return lastLayer;
+        Response<ClairScanRequest> clairResp = clairService.scanLayer(clairRequest).execute();
+        Response<DockerComponentLayerScanResult> dockerCompResp = dockerComponentService == null ? null :
+                dockerComponentService.scanLayer(dockerComponentScanRequest).execute();
+
+        if (!clairResp.isSuccessful()) {
+            String errorBody = clairResp.errorBody() != null ? clairResp.errorBody().string() : null;
+            throw new ToolScanExternalServiceException(tool,
+                    String.format("Service: %s : Failed on %d of %d layers: %s:%s response code: %d",
+                    ClairService.class, index + 1, total, clairResp.message(), errorBody, clairResp.code()));
+        }
+        if (dockerCompResp != null && !dockerCompResp.isSuccessful()) {
+            String errorBody = dockerCompResp.errorBody() != null ? dockerCompResp.errorBody().string() : null;
+            throw new ToolScanExternalServiceException(tool,
+                    String.format("Service: %s : Failed on %d of %d layers: %s:%s response code: %d",
+                    DockerComponentScanService.class, index + 1, total, dockerCompResp.message(),
+                            errorBody, dockerCompResp.code()));
+        }
     }
 
     private List<String> fetchLayers(Tool tool, String tag, DockerRegistry registry)
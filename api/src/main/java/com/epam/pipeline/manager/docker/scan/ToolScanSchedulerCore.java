@@ -24,7 +24,6 @@ import com.epam.pipeline.entity.pipeline.ToolScanStatus;
 import com.epam.pipeline.entity.scan.ToolVersionScanResult;
 import com.epam.pipeline.entity.scan.VulnerabilitySeverity;
 import com.epam.pipeline.exception.PipelineException;
-import com.epam.pipeline.exception.ToolScanExternalServiceException;
 import com.epam.pipeline.manager.docker.DockerClient;
 import com.epam.pipeline.manager.docker.DockerClientFactory;
 import com.epam.pipeline.manager.docker.DockerRegistryManager;
@@ -33,24 +32,36 @@ import com.epam.pipeline.manager.pipeline.ToolManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.core.SchedulerLock;
 import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @Component
 @Slf4j
@@ -58,6 +69,9 @@ import java.util.concurrent.Future;
 @SuppressWarnings("PMD.AvoidCatchingGenericException")
 class ToolScanSchedulerCore {
 
+    private static final long OUTCOME_POLL_TIMEOUT_MS = 1000;
+    private static final long SCHEDULED_SCAN_TIMEOUT_MS = TimeUnit.HOURS.toMillis(47);
+
     private final DockerRegistryDao dockerRegistryDao;
     private final ToolScanManager toolScanManager;
     private final ToolManager toolManager;
@@ -73,6 +87,12 @@ class ToolScanSchedulerCore {
         forceScanExecutor.shutdownNow();
     }
 
+    /**
+     * Scans all versions of all tools from the registries. Versions are scanned concurrently by a bounded pool of
+     * workers, the number of versions scanned concurrently from a single registry is limited as well.
+     * Versions which digest hasn't changed since the last completed scan are not rescanned, versions which share
+     * the same digest are scanned only once. Scan results are stored by the calling thread.
+     */
     @SchedulerLock(name = "ToolScanScheduler_scheduledToolScan", lockAtMostForString = "PT48H")
     public void scheduledToolScan() {
         if (!preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ENABLED)) {
@@ -85,45 +105,201 @@ class ToolScanSchedulerCore {
                 SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ALL_REGISTRIES);
         List<DockerRegistry> registries = scanAllRegistries ? dockerRegistryDao.loadAllDockerRegistry() :
                 dockerRegistryDao.loadDockerRegistriesWithSecurityScanEnabled();
-        for (DockerRegistry registry : registries) {
-            scanRegistry(registry);
+
+        final int threads = preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            scanRegistries(registries, new DelegatingSecurityContextExecutorService(executor,
+                    SecurityContextHolder.getContext()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Scheduled tool scan was interrupted.");
+        } finally {
+            executor.shutdownNow();
         }
 
         log.info(messageHelper.getMessage(MessageConstants.INFO_TOOL_SCAN_SCHEDULED_DONE));
     }
 
-    private void scanRegistry(final DockerRegistry registry) {
+    private void scanRegistries(final List<DockerRegistry> registries,
+                                final ExecutorService executor) throws InterruptedException {
+        final int registryThreads = preferenceManager.getPreference(
+                SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_REGISTRY_THREADS);
+        final Map<String, CompletableFuture<ToolVersionScanResult>> scansByDigest = new ConcurrentHashMap<>();
+        final BlockingQueue<ToolVersionScanOutcome> outcomes = new LinkedBlockingQueue<>();
+        final List<Queue<ToolVersionScanTask>> registryQueues = new ArrayList<>();
+        for (DockerRegistry registry : registries) {
+            registryQueues.add(new ConcurrentLinkedQueue<>(collectScanTasks(registry)));
+        }
+        // each registry is drained by a limited number of workers, workers of different registries are
+        // submitted in turns so that a single large registry doesn't occupy the whole pool
+        final List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < registryThreads; i++) {
+            for (Queue<ToolVersionScanTask> tasks : registryQueues) {
+                if (tasks.size() > i) {
+                    submitWorker(executor, () -> drainScanTasks(tasks, scansByDigest, outcomes))
+                            .ifPresent(workers::add);
+                }
+            }
+        }
+        final long deadline = System.currentTimeMillis() + SCHEDULED_SCAN_TIMEOUT_MS;
+        while (!isDone(workers) || !outcomes.isEmpty()) {
+            if (System.currentTimeMillis() > deadline) {
+                log.error("Scheduled tool scan hasn't finished in time, the remaining versions won't be scanned.");
+                break;
+            }
+            final ToolVersionScanOutcome outcome = outcomes.poll(OUTCOME_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (outcome != null) {
+                saveScanOutcome(outcome);
+            }
+        }
+        workers.forEach(worker -> worker.cancel(true));
+        registryQueues.forEach(this::failNotScannedTasks);
+    }
+
+    private Optional<Future<?>> submitWorker(final ExecutorService executor, final Runnable worker) {
+        try {
+            return Optional.of(executor.submit(worker));
+        } catch (RejectedExecutionException e) {
+            log.error("Failed to submit tool scan worker: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isDone(final List<Future<?>> workers) {
+        return workers.stream().allMatch(Future::isDone);
+    }
+
+    private void failNotScannedTasks(final Queue<ToolVersionScanTask> tasks) {
+        ToolVersionScanTask task = tasks.poll();
+        while (task != null) {
+            saveScanOutcome(new ToolVersionScanOutcome(task, null,
+                    new IllegalStateException("Tool version scan hasn't been started.")));
+            task = tasks.poll();
+        }
+    }
+
+    private List<ToolVersionScanTask> collectScanTasks(final DockerRegistry registry) {
         log.info(messageHelper.getMessage(MessageConstants.INFO_TOOL_SCAN_REGISTRY_STARTED, registry.getPath()));
-        registry.getTools()
+        return registry.getTools()
                 .stream()
                 .filter(Tool::isNotSymlink)
-                .forEach(tool -> scanTool(registry, tool));
+                .flatMap(tool -> collectScanTasks(registry, tool).stream())
+                .collect(Collectors.toList());
     }
 
-    private void scanTool(final DockerRegistry registry, final Tool tool) {
-        DockerClient dockerClient = getDockerClient(registry, tool);
+    private List<ToolVersionScanTask> collectScanTasks(final DockerRegistry registry, final Tool tool) {
         try {
-            List<String> versions = toolManager.loadTags(tool.getId());
-            for (String version : versions) {
-                try {
-                    ToolVersionScanResult result = toolScanManager.scanTool(tool, version, false);
-                    toolManager.updateToolVulnerabilities(result.getVulnerabilities(), tool.getId(), version);
-                    toolManager.updateToolDependencies(result.getDependencies(), tool.getId(), version);
-                    toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.COMPLETED, new Date(),
-                            version, result.getToolOSVersion(),
-                            result.getLastLayerRef(), result.getDigest(), result.getVulnerabilitiesCount());
-                    updateToolVersion(tool, version, registry, dockerClient);
-                } catch (ToolScanExternalServiceException e) {
-                    log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED,
-                            tool.getImage(), version), e);
-                    toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
-                            version, null, null, new HashMap<>());
-                }
-            }
+            return toolManager.loadTags(tool.getId()).stream()
+                    .map(version -> new ToolVersionScanTask(registry, tool, version,
+                            toolManager.loadToolVersionScan(tool.getId(), version).orElse(null)))
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED, tool.getImage()), e);
             toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
                     "latest", null, null, new HashMap<>());
+            return Collections.emptyList();
+        }
+    }
+
+    private void drainScanTasks(final Queue<ToolVersionScanTask> tasks,
+                                final Map<String, CompletableFuture<ToolVersionScanResult>> scansByDigest,
+                                final BlockingQueue<ToolVersionScanOutcome> outcomes) {
+        ToolVersionScanTask task = tasks.poll();
+        while (task != null && !Thread.currentThread().isInterrupted()) {
+            outcomes.add(scanToolVersion(task, scansByDigest));
+            task = tasks.poll();
+        }
+        if (task != null) {
+            outcomes.add(new ToolVersionScanOutcome(task, null,
+                    new InterruptedException("Tool version scan has been interrupted.")));
+        }
+    }
+
+    /**
+     * Scans a single tool version. Registry client is created right before the scan since registry tokens
+     * are short-lived. Any failure, including errors, is reported as the scan outcome and the shared scan
+     * of the same digest is always completed, so that neither the scheduler nor other workers wait for it forever.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private ToolVersionScanOutcome scanToolVersion(
+            final ToolVersionScanTask task,
+            final Map<String, CompletableFuture<ToolVersionScanResult>> scansByDigest) {
+        final Tool tool = task.getTool();
+        try {
+            final String digest = getDockerClient(task.getRegistry(), tool)
+                    .getVersionAttributes(task.getRegistry(), tool.getImage(), task.getVersion())
+                    .getDigest();
+            if (isScanActual(task.getPreviousScan(), digest)) {
+                log.debug("Digest of {}:{} wasn't changed since the last scan, skipping.",
+                        tool.getImage(), task.getVersion());
+                return new ToolVersionScanOutcome(task, null, null);
+            }
+            if (digest == null) {
+                return new ToolVersionScanOutcome(task, toolScanManager.scanTool(tool, task.getVersion(), true),
+                        null);
+            }
+            final CompletableFuture<ToolVersionScanResult> scan = new CompletableFuture<>();
+            final CompletableFuture<ToolVersionScanResult> sameDigestScan = scansByDigest.putIfAbsent(digest, scan);
+            if (sameDigestScan != null) {
+                log.debug("{}:{} has the same digest as an already scanned image, reusing its scan.",
+                        tool.getImage(), task.getVersion());
+                return new ToolVersionScanOutcome(task, sameDigestScan.get(), null);
+            }
+            try {
+                final ToolVersionScanResult result = toolScanManager.scanTool(tool, task.getVersion(), true);
+                scan.complete(result);
+                return new ToolVersionScanOutcome(task, result, null);
+            } catch (Throwable e) {
+                scan.completeExceptionally(e);
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ToolVersionScanOutcome(task, null, e);
+        } catch (ExecutionException e) {
+            return new ToolVersionScanOutcome(task, null, e.getCause());
+        } catch (Throwable e) {
+            return new ToolVersionScanOutcome(task, null, e);
+        }
+    }
+
+    private boolean isScanActual(final ToolVersionScanResult previousScan, final String digest) {
+        return previousScan != null && digest != null
+                && previousScan.getStatus() == ToolScanStatus.COMPLETED
+                && previousScan.getLastLayerRef() != null
+                && digest.equals(previousScan.getDigest());
+    }
+
+    private void saveScanOutcome(final ToolVersionScanOutcome outcome) {
+        final ToolVersionScanTask task = outcome.getTask();
+        final Tool tool = task.getTool();
+        final String version = task.getVersion();
+        if (outcome.getError() != null) {
+            log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED,
+                    tool.getImage(), version), outcome.getError());
+            toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.FAILED, new Date(),
+                    version, null, null, new HashMap<>());
+            return;
+        }
+        try {
+            final ToolVersionScanResult result = outcome.getResult();
+            if (result == null) {
+                final ToolVersionScanResult previousScan = task.getPreviousScan();
+                toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.COMPLETED, new Date(),
+                        version, previousScan.getToolOSVersion(), previousScan.getLastLayerRef(),
+                        previousScan.getDigest(), previousScan.getVulnerabilitiesCount());
+                return;
+            }
+            toolManager.updateToolVulnerabilities(result.getVulnerabilities(), tool.getId(), version);
+            toolManager.updateToolDependencies(result.getDependencies(), tool.getId(), version);
+            toolManager.updateToolVersionScanStatus(tool.getId(), ToolScanStatus.COMPLETED, new Date(),
+                    version, result.getToolOSVersion(),
+                    result.getLastLayerRef(), result.getDigest(), result.getVulnerabilitiesCount());
+            updateToolVersion(tool, version, task.getRegistry(), getDockerClient(task.getRegistry(), tool));
+        } catch (Exception e) {
+            log.error(messageHelper.getMessage(MessageConstants.ERROR_TOOL_SCAN_FAILED,
+                    tool.getImage(), version), e);
         }
     }
 
@@ -196,4 +372,22 @@ class ToolScanSchedulerCore {
         String token = dockerRegistryManager.getImageToken(registry, tool.getImage());
         return dockerClientFactory.getDockerClient(registry, token);
     }
+
+    @Value
+    private static class ToolVersionScanTask {
+        DockerRegistry registry;
+        Tool tool;
+        String version;
+        ToolVersionScanResult previousScan;
+    }
+
+    /**
+     * Result of a tool version scan. Result is null if the version wasn't changed since its previous scan.
+     */
+    @Value
+    private static class ToolVersionScanOutcome {
+        ToolVersionScanTask task;
+        ToolVersionScanResult result;
+        Throwable error;
+    }
 }
@@ -25,6 +25,8 @@ import com.epam.pipeline.entity.log.LogPaginationRequest;
 import com.epam.pipeline.entity.log.PageMarker;
 import com.epam.pipeline.entity.utils.DateUtils;
 import com.epam.pipeline.exception.PipelineException;
+import com.epam.pipeline.manager.utils.ElasticClientEndpoint;
+import com.epam.pipeline.manager.utils.ElasticClientLease;
 import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -38,7 +40,6 @@ import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.RangeQueryBuilder;
@@ -289,8 +290,8 @@ public class LogManager {
     }
 
     private SearchResponse executeRequest(final SearchRequest searchRequest) {
-        try (RestHighLevelClient client = elasticHelper.buildClient()) {
-            return client.search(searchRequest, RequestOptions.DEFAULT);
+        try (ElasticClientLease lease = elasticHelper.getClient(ElasticClientEndpoint.LOG)) {
+            return lease.getClient().search(searchRequest, RequestOptions.DEFAULT);
         } catch (IOException e) {
             throw new PipelineException(e);
         }
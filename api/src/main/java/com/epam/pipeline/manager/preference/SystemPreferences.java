@@ -60,6 +60,8 @@ import com.epam.pipeline.manager.preference.AbstractSystemPreference.LongPrefere
 import com.epam.pipeline.manager.preference.AbstractSystemPreference.ObjectPreference;
 import com.epam.pipeline.manager.preference.AbstractSystemPreference.StringPreference;
 import com.epam.pipeline.manager.security.run.RunVisibilityPolicy;
+import com.epam.pipeline.manager.utils.ElasticClientEndpoint;
+import com.epam.pipeline.manager.utils.ElasticClientSettings;
 import com.epam.pipeline.security.ExternalServiceEndpoint;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -169,6 +171,9 @@ public class SystemPreferences {
                                isNullOrValidJson(new TypeReference<DataStorageTemplate>() {}));
     public static final IntPreference DATA_STORAGE_OPERATIONS_BULK_SIZE = new IntPreference(
             "storage.operations.bulk.size", 1000, DATA_STORAGE_GROUP, isGreaterThan(0));
+    // Max number of concurrent object copy requests which are issued during a single folder move or copy
+    public static final IntPreference DATA_STORAGE_OPERATIONS_PARALLELISM = new IntPreference(
+            "storage.operations.parallelism", 10, DATA_STORAGE_GROUP, isGreaterThan(0));
     public static final StringPreference VERSION_STORAGE_REPORT_TEMPLATE = new StringPreference(
             "storage.version.storage.report.template", null, DATA_STORAGE_GROUP, isNullOrValidLocalPath());
     public static final StringPreference VERSION_STORAGE_BINARY_FILE_EXTS = new StringPreference(
@@ -321,6 +326,16 @@ public class SystemPreferences {
      */
     public static final BooleanPreference DOCKER_SECURITY_TOOL_SCAN_ALL_REGISTRIES = new BooleanPreference(
         "security.tools.scan.all.registries", true, DOCKER_SECURITY_GROUP, pass);
+    /**
+     * Max number of tool versions, that are scanned concurrently during a scheduled scan
+     */
+    public static final IntPreference DOCKER_SECURITY_TOOL_SCAN_THREADS = new IntPreference(
+        "security.tools.scan.threads", 4, DOCKER_SECURITY_GROUP, isGreaterThan(0));
+    /**
+     * Max number of tool versions from a single registry, that are scanned concurrently during a scheduled scan
+     */
+    public static final IntPreference DOCKER_SECURITY_TOOL_SCAN_REGISTRY_THREADS = new IntPreference(
+        "security.tools.scan.registry.threads", 2, DOCKER_SECURITY_GROUP, isGreaterThan(0));
     /**
      * Clair Service URL
      */
@@ -898,6 +913,15 @@ public class SystemPreferences {
 
     public static final StringPreference SEARCH_ELASTIC_DENIED_GROUPS_FIELD = new StringPreference(
             "search.elastic.denied.groups.field", null, SEARCH_GROUP, pass);
+
+    /**
+     * Connection pool and timeout settings of the Elasticsearch clients by endpoint.
+     * Endpoints which are not specified use default settings.
+     */
+    public static final ObjectPreference<Map<ElasticClientEndpoint, ElasticClientSettings>>
+            SEARCH_ELASTIC_CLIENT_SETTINGS = new ObjectPreference<>("search.elastic.client.settings", null,
+            new TypeReference<Map<ElasticClientEndpoint, ElasticClientSettings>>() {}, SEARCH_GROUP,
+            isNullOrValidJson(new TypeReference<Map<ElasticClientEndpoint, ElasticClientSettings>>() {}));
     public static final IntPreference SEARCH_AGGS_MAX_COUNT = new IntPreference("search.aggs.max.count",
             20, SEARCH_GROUP, pass);
 
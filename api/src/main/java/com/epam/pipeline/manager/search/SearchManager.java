@@ -25,6 +25,8 @@ import com.epam.pipeline.entity.search.SearchResult;
 import com.epam.pipeline.exception.search.SearchException;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
+import com.epam.pipeline.manager.utils.ElasticClientEndpoint;
+import com.epam.pipeline.manager.utils.ElasticClientLease;
 import com.epam.pipeline.manager.utils.GlobalSearchElasticHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,7 +38,6 @@ import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
-import org.elasticsearch.client.RestHighLevelClient;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -59,13 +60,13 @@ public class SearchManager {
 
     public SearchResult search(final ElasticSearchRequest searchRequest) {
         validateRequest(searchRequest);
-        try (RestHighLevelClient client = globalSearchElasticHelper.buildClient()) {
+        try (ElasticClientLease lease = globalSearchElasticHelper.getClient(ElasticClientEndpoint.SEARCH)) {
             final String typeFieldName = getTypeFieldName();
             final Set<String> metadataSourceFields =
                     new HashSet<>(ListUtils.emptyIfNull(searchRequest.getMetadataFields()));
             final SearchRequest request = requestBuilder.buildRequest(
                     searchRequest, typeFieldName, TYPE_AGGREGATION, metadataSourceFields);
-            final SearchResponse searchResult = client.search(request, RequestOptions.DEFAULT);
+            final SearchResponse searchResult = lease.getClient().search(request, RequestOptions.DEFAULT);
             return resultConverter.buildResult(searchResult, TYPE_AGGREGATION, typeFieldName, getAclFilterFields(),
                     metadataSourceFields, searchRequest.getScrollingParameters());
         } catch (IOException e) {
@@ -81,10 +82,10 @@ public class SearchManager {
 
     public StorageUsage getStorageUsage(final AbstractDataStorage dataStorage, final String path,
                                         final boolean allowNoIndex, final Set<String> storageSizeMasks) {
-        try (RestHighLevelClient client = globalSearchElasticHelper.buildClient()) {
+        try (ElasticClientLease lease = globalSearchElasticHelper.getClient(ElasticClientEndpoint.SEARCH)) {
             final MultiSearchRequest request = requestBuilder.buildStorageSumRequest(
                     dataStorage.getId(), dataStorage.getType(), path, allowNoIndex, storageSizeMasks);
-            final MultiSearchResponse searchResponse = client.msearch(request, RequestOptions.DEFAULT);
+            final MultiSearchResponse searchResponse = lease.getClient().msearch(request, RequestOptions.DEFAULT);
             final int responsesExpected = CollectionUtils.isEmpty(storageSizeMasks) ? 1 : 2;
             return resultConverter.buildStorageUsageResponse(searchResponse, dataStorage, path, responsesExpected);
         } catch (IOException e) {
@@ -98,13 +99,13 @@ public class SearchManager {
         if (Objects.isNull(searchRequest.getScrollingParameters()) && Objects.isNull(searchRequest.getOffset())) {
             searchRequest.setOffset(0);
         }
-        try (RestHighLevelClient client = globalSearchElasticHelper.buildClient()) {
+        try (ElasticClientLease lease = globalSearchElasticHelper.getClient(ElasticClientEndpoint.SEARCH)) {
             final String typeFieldName = getTypeFieldName();
             final Set<String> metadataSourceFields =
                     new HashSet<>(ListUtils.emptyIfNull(searchRequest.getMetadataFields()));
             final SearchRequest request = requestBuilder.buildFacetedRequest(
                     searchRequest, typeFieldName, metadataSourceFields);
-            final SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+            final SearchResponse response = lease.getClient().search(request, RequestOptions.DEFAULT);
             return resultConverter.buildFacetedResult(response, typeFieldName, getAclFilterFields(),
                     metadataSourceFields, searchRequest.getScrollingParameters());
         } catch (IOException e) {
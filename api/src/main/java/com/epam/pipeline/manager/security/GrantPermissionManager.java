@@ -122,6 +122,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -442,7 +443,26 @@ public class GrantPermissionManager {
             return;
         }
         processHierarchicalEntity(0, entity, new HashMap<>(), permission, true,
-                sids, findStorageQuota(userName));
+                sids, findStorageQuota(userName), prefetchTreeAcls(entity));
+    }
+
+    /**
+     * Loads ACLs of all tree entities with batched queries to avoid a separate ACL lookup per entity.
+     * Entities which were not loaded in a batch (e.g. parent of a tree root) are resolved one by one.
+     */
+    private Function<AbstractSecuredEntity, Acl> prefetchTreeAcls(AbstractHierarchicalEntity entity) {
+        List<AbstractSecuredEntity> treeEntities = new ArrayList<>();
+        collectTreeEntities(entity, treeEntities);
+        Map<ObjectIdentity, Acl> acls = aclService.getAcls(treeEntities);
+        return securedEntity -> Optional.ofNullable(securedEntity.getId())
+                .map(id -> acls.get(new ObjectIdentityImpl(securedEntity)))
+                .orElseGet(() -> aclService.getAcl(securedEntity));
+    }
+
+    private void collectTreeEntities(AbstractHierarchicalEntity entity, List<AbstractSecuredEntity> treeEntities) {
+        treeEntities.add(entity);
+        treeEntities.addAll(ListUtils.emptyIfNull(entity.getLeaves()));
+        ListUtils.emptyIfNull(entity.getChildren()).forEach(child -> collectTreeEntities(child, treeEntities));
     }
 
     public boolean ownerPermission(Long id, AclClass aclClass) {
@@ -925,6 +945,13 @@ public class GrantPermissionManager {
     private Integer retrieveMaskForSid(AbstractSecuredEntity entity, boolean merge,
                                        boolean includeInherited, List<Sid> sids,
                                        Optional<AppliedQuota> activeQuota) {
+        return retrieveMaskForSid(entity, merge, includeInherited, sids, activeQuota, aclService::getAcl);
+    }
+
+    private Integer retrieveMaskForSid(AbstractSecuredEntity entity, boolean merge,
+                                       boolean includeInherited, List<Sid> sids,
+                                       Optional<AppliedQuota> activeQuota,
+                                       Function<AbstractSecuredEntity, Acl> aclResolver) {
         if (entity instanceof  AbstractDataStorage) {
             boolean readAllowed = permissionsHelper.isAllowed(AclPermission.READ_NAME, entity);
             if (entity instanceof NFSDataStorage) {
@@ -938,7 +965,7 @@ public class GrantPermissionManager {
             }
         }
 
-        Acl child = aclService.getAcl(entity);
+        Acl child = aclResolver.apply(entity);
         //case for Runs and Nodes, that are not registered as ACL entities
         //check ownership
         if (child == null && permissionsHelper.isOwner(entity)) {
@@ -951,7 +978,7 @@ public class GrantPermissionManager {
             return 0;
         }
         //get parent
-        Acl acl = child == null ? aclService.getAcl(entity.getParent()) : child;
+        Acl acl = child == null ? aclResolver.apply(entity.getParent()) : child;
         if (sids.stream().anyMatch(sid -> acl.getOwner().equals(sid))) {
             return merge ?
                     AbstractSecuredEntity.ALL_PERMISSIONS_MASK :
@@ -964,15 +991,18 @@ public class GrantPermissionManager {
 
     private void processHierarchicalEntity(int parentMask, AbstractHierarchicalEntity entity,
             Map<AclClass, Set<Long>> entitiesToRemove, Permission permission, boolean root,
-            List<Sid> sids, Optional<AppliedQuota> activeQuota) {
+            List<Sid> sids, Optional<AppliedQuota> activeQuota,
+            Function<AbstractSecuredEntity, Acl> aclResolver) {
         int defaultMask = 0;
         int currentMask = entity.getId() != null ?
-                permissionsService.mergeParentMask(retrieveMaskForSid(entity, false, root, sids, activeQuota),
+                permissionsService.mergeParentMask(
+                        retrieveMaskForSid(entity, false, root, sids, activeQuota, aclResolver),
                         parentMask) : defaultMask;
         entity.getChildren().forEach(
             leaf -> processHierarchicalEntity(currentMask, leaf, entitiesToRemove, permission,
-                        false, sids, activeQuota));
-        filterChildren(currentMask, entity.getLeaves(), entitiesToRemove, permission, sids, activeQuota);
+                        false, sids, activeQuota, aclResolver));
+        filterChildren(currentMask, entity.getLeaves(), entitiesToRemove, permission, sids, activeQuota,
+                aclResolver);
         entity.filterLeaves(entitiesToRemove);
         entity.filterChildren(entitiesToRemove);
         boolean permissionGranted = permissionsService.isPermissionGranted(currentMask, permission);
@@ -992,10 +1022,11 @@ public class GrantPermissionManager {
     private void filterChildren(int parentMask, List<? extends AbstractSecuredEntity> children,
                                 Map<AclClass, Set<Long>> entitiesToRemove,
                                 Permission permission, List<Sid> sids,
-                                Optional<AppliedQuota> activeQuota) {
+                                Optional<AppliedQuota> activeQuota,
+                                Function<AbstractSecuredEntity, Acl> aclResolver) {
         ListUtils.emptyIfNull(children).forEach(child -> {
             int mask = permissionsService
-                    .mergeParentMask(getPermissionsMask(child, false, false, sids, activeQuota),
+                    .mergeParentMask(retrieveMaskForSid(child, false, false, sids, activeQuota, aclResolver),
                             parentMask);
             if (!permissionsService.isPermissionGranted(mask, permission)) {
                 addToEntitiesToBeRemoved(entitiesToRemove, child);
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.utils;
+
+import org.elasticsearch.client.RestHighLevelClient;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lease of a shared Elasticsearch client. Leased client is not closed until the lease is closed, even if
+ * the client was replaced because Elasticsearch connection preferences were changed.
+ */
+public class ElasticClientLease implements AutoCloseable {
+
+    private final PooledElasticClient pooledClient;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ElasticClientLease(final PooledElasticClient pooledClient) {
+        this.pooledClient = pooledClient;
+    }
+
+    public RestHighLevelClient getClient() {
+        return pooledClient.getClient();
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pooledClient.release();
+        }
+    }
+}
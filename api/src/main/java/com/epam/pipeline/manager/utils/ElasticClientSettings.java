@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Connection pool and timeout settings of an Elasticsearch client.
+ * Defaults match the defaults of {@link org.elasticsearch.client.RestClientBuilder}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressWarnings("checkstyle:MagicNumber")
+public class ElasticClientSettings {
+
+    /**
+     * Maximum number of connections in the pool.
+     */
+    private int maxConnections = 30;
+    /**
+     * Connection establishing timeout in milliseconds.
+     */
+    private int connectTimeout = 1000;
+    /**
+     * Socket inactivity timeout in milliseconds.
+     */
+    private int socketTimeout = 30_000;
+    /**
+     * Overall request timeout including retries in milliseconds.
+     */
+    private int maxRetryTimeout = 30_000;
+}
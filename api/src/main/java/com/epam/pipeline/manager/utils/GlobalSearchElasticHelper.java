@@ -1,34 +1,82 @@
 package com.epam.pipeline.manager.utils;
 
+import com.epam.pipeline.exception.search.SearchException;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
-import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class GlobalSearchElasticHelper {
+public class GlobalSearchElasticHelper implements PublicMetrics {
 
     private final PreferenceManager preferenceManager;
+    private final Map<ElasticClientEndpoint, PooledElasticClient> clients = new ConcurrentHashMap<>();
 
-    public RestHighLevelClient buildClient() {
-        return new RestHighLevelClient(buildLowLevelClientBuilder());
+    /**
+     * Leases a long-lived client of the given endpoint. The client is rebuilt only if Elasticsearch connection
+     * preferences were changed since it was built.
+     *
+     * Leased client is shared, the caller shall close the lease rather than the client itself. A replaced
+     * client is closed once all its leases are closed.
+     */
+    public ElasticClientLease getClient(final ElasticClientEndpoint endpoint) {
+        final ElasticClientConfiguration configuration = getConfiguration(endpoint);
+        Optional<ElasticClientLease> lease = Optional.empty();
+        while (!lease.isPresent()) {
+            lease = clients.compute(endpoint, (key, current) -> {
+                if (current != null && current.getConfiguration().equals(configuration)) {
+                    return current;
+                }
+                final PooledElasticClient client = buildClient(endpoint, configuration);
+                Optional.ofNullable(current).ifPresent(PooledElasticClient::retire);
+                return client;
+            }).acquire();
+        }
+        return lease.get();
     }
 
     public RestClientBuilder buildLowLevelClientBuilder() {
         final String host = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_HOST);
         final Integer port = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_PORT);
         final String schema = preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SCHEME);
+        return buildLowLevelClientBuilder(host, port, schema);
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return clients.values().stream()
+                .map(PooledElasticClient::getMetrics)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void close() {
+        clients.values().forEach(PooledElasticClient::close);
+        clients.clear();
+    }
 
+    private RestClientBuilder buildLowLevelClientBuilder(final String host, final Integer port, final String schema) {
         Assert.isTrue(Objects.nonNull(host) && Objects.nonNull(port) && Objects.nonNull(schema),
                 "One or more of the following parameters is not configured: "
                         + SystemPreferences.SEARCH_ELASTIC_HOST.getKey() + ", "
@@ -38,4 +86,37 @@ public class GlobalSearchElasticHelper {
         return RestClient.builder(new HttpHost(host, port, schema));
     }
 
+    private ElasticClientConfiguration getConfiguration(final ElasticClientEndpoint endpoint) {
+        final ElasticClientSettings settings = Optional.ofNullable(
+                preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_CLIENT_SETTINGS))
+                .map(endpointsSettings -> endpointsSettings.get(endpoint))
+                .orElseGet(ElasticClientSettings::new);
+        return new ElasticClientConfiguration(
+                preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_HOST),
+                preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_PORT),
+                preferenceManager.getPreference(SystemPreferences.SEARCH_ELASTIC_SCHEME),
+                settings);
+    }
+
+    private PooledElasticClient buildClient(final ElasticClientEndpoint endpoint,
+                                            final ElasticClientConfiguration configuration) {
+        log.debug("Building {} Elasticsearch client for {}://{}:{}.", endpoint, configuration.getScheme(),
+                configuration.getHost(), configuration.getPort());
+        try {
+            return new PooledElasticClient(endpoint, configuration,
+                    buildLowLevelClientBuilder(configuration.getHost(), configuration.getPort(),
+                            configuration.getScheme()),
+                    configuration.getSettings());
+        } catch (IOReactorException e) {
+            throw new SearchException(e.getMessage(), e);
+        }
+    }
+
+    @Value
+    private static class ElasticClientConfiguration {
+        String host;
+        Integer port;
+        String scheme;
+        ElasticClientSettings settings;
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.utils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.elasticsearch.client.RestClientBuilder;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-lived Elasticsearch client with its own connection pool which collects request latency
+ * and connection pool usage statistics.
+ *
+ * Client is used through leases. A retired client is closed once all its leases are released.
+ */
+@Slf4j
+class PooledElasticClient implements Closeable {
+
+    private static final String REQUEST_START_ATTRIBUTE = "elastic.client.request.start";
+    private static final String METRIC_PREFIX = "elastic.client.";
+
+    @Getter
+    private final Object configuration;
+    @Getter
+    private final ElasticClientSettings settings;
+    @Getter
+    private final RestHighLevelClient client;
+    private final String metricPrefix;
+    private final PoolingNHttpClientConnectionManager connectionManager;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Long::max, 0L);
+    private int leases;
+    private boolean retired;
+    private boolean closed;
+
+    PooledElasticClient(final ElasticClientEndpoint endpoint, final Object configuration,
+                        final RestClientBuilder builder, final ElasticClientSettings settings)
+            throws IOReactorException {
+        this.configuration = configuration;
+        this.settings = settings;
+        this.metricPrefix = METRIC_PREFIX + endpoint.name().toLowerCase() + ".";
+        this.connectionManager = new PoolingNHttpClientConnectionManager(
+                new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT));
+        this.connectionManager.setMaxTotal(settings.getMaxConnections());
+        this.connectionManager.setDefaultMaxPerRoute(settings.getMaxConnections());
+        this.client = new RestHighLevelClient(builder
+                .setMaxRetryTimeoutMillis(settings.getMaxRetryTimeout())
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout(settings.getConnectTimeout())
+                        .setSocketTimeout(settings.getSocketTimeout()))
+                .setHttpClientConfigCallback(httpClient -> httpClient
+                        .setConnectionManager(connectionManager)
+                        .addInterceptorFirst((HttpRequest request, HttpContext context) ->
+                                context.setAttribute(REQUEST_START_ATTRIBUTE, System.nanoTime()))
+                        .addInterceptorLast((HttpResponse response, HttpContext context) -> registerLatency(context))));
+    }
+
+    List<Metric<?>> getMetrics() {
+        final PoolStats pool = connectionManager.getTotalStats();
+        return Arrays.asList(
+                new Metric<>(metricPrefix + "requests", requests.sum()),
+                new Metric<>(metricPrefix + "latency.total", totalLatency.sum()),
+                new Metric<>(metricPrefix + "latency.max", maxLatency.get()),
+                new Metric<>(metricPrefix + "pool.leased", pool.getLeased()),
+                new Metric<>(metricPrefix + "pool.pending", pool.getPending()),
+                new Metric<>(metricPrefix + "pool.available", pool.getAvailable()),
+                new Metric<>(metricPrefix + "pool.max", pool.getMax()));
+    }
+
+    /**
+     * Leases the client unless it is already retired.
+     */
+    synchronized Optional<ElasticClientLease> acquire() {
+        if (retired || closed) {
+            return Optional.empty();
+        }
+        leases++;
+        return Optional.of(new ElasticClientLease(this));
+    }
+
+    synchronized void release() {
+        leases--;
+        if (retired && leases == 0) {
+            close();
+        }
+    }
+
+    /**
+     * Prevents the client from being leased anymore and closes it once all its leases are released.
+     */
+    synchronized void retire() {
+        retired = true;
+        if (leases == 0) {
+            close();
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.warn("Failed to close Elasticsearch client: {}", e.getMessage());
+        }
+    }
+
+    private void registerLatency(final HttpContext context) {
+        final Object start = context.getAttribute(REQUEST_START_ATTRIBUTE);
+        if (start instanceof Long) {
+            final long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - (Long) start);
+            requests.increment();
+            totalLatency.add(latency);
+            maxLatency.accumulate(latency);
+        }
+    }
+}
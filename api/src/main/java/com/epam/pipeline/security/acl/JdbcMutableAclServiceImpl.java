@@ -70,9 +70,12 @@ public class JdbcMutableAclServiceImpl extends JdbcMutableAclService {
     @Autowired
     private MessageHelper messageHelper;
 
+    private final LookupStrategy lookupStrategy;
+
     public JdbcMutableAclServiceImpl(DataSource dataSource, LookupStrategy lookupStrategy,
             AclCache aclCache) {
         super(dataSource, lookupStrategy, aclCache);
+        this.lookupStrategy = lookupStrategy;
         setClassIdentityQuery(CLASS_IDENTITY_QUERY);
         setSidIdentityQuery(SID_IDENTITY_QUERY);
     }
@@ -127,6 +130,25 @@ public class JdbcMutableAclServiceImpl extends JdbcMutableAclService {
         return readAclsById(objectIdentities);
     }
 
+    /**
+     * Loads ACLs of all specified entities in batches. In contrast to {@link #getObjectIdentities(Set)}
+     * entities which are not registered in ACL are skipped instead of failing the whole request.
+     *
+     * @param securedEntities entities to load ACLs for, entities without id are ignored
+     * @return loaded ACLs mapped by object identities
+     */
+    public Map<ObjectIdentity, Acl> getAcls(Collection<? extends AbstractSecuredEntity> securedEntities) {
+        List<ObjectIdentity> objectIdentities = securedEntities.stream()
+                .filter(entity -> entity.getId() != null)
+                .map(ObjectIdentityImpl::new)
+                .distinct()
+                .collect(Collectors.toList());
+        if (objectIdentities.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return lookupStrategy.readAclsById(objectIdentities, null);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void deleteSidById(Long sidId) {
         jdbcTemplate.update(DELETE_ENTRIES_BY_SID_QUERY, sidId);
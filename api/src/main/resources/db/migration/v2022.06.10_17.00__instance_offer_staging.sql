@@ -0,0 +1,21 @@
+CREATE UNLOGGED TABLE IF NOT EXISTS pipeline.instance_offer_staging (
+  sku                     TEXT    NOT NULL,
+  term_type               TEXT,
+  unit                    TEXT,
+  price_per_unit          REAL,
+  currency                TEXT,
+  instance_type           TEXT,
+  tenancy                 TEXT,
+  operating_system        TEXT,
+  product_family          TEXT,
+  volume_type             TEXT,
+  price_list_publish_date TIMESTAMP WITH TIME ZONE NOT NULL,
+  vcpu                    INTEGER NOT NULL DEFAULT 0,
+  memory                  REAL    NOT NULL DEFAULT 0,
+  memory_unit             TEXT,
+  instance_family         TEXT,
+  gpu                     INT,
+  region                  BIGINT  NOT NULL
+);
+CREATE INDEX IF NOT EXISTS instance_offer_staging_region_idx ON pipeline.instance_offer_staging (region);
+CREATE INDEX IF NOT EXISTS instance_offer_region_idx ON pipeline.instance_offer (region);
@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.acl.cluster;
 
+import com.epam.pipeline.controller.ResultWriter;
 import com.epam.pipeline.controller.vo.FilterNodesVO;
 import com.epam.pipeline.entity.cluster.AllowedInstanceAndPriceTypes;
 import com.epam.pipeline.entity.cluster.FilterPodsRequest;
@@ -44,8 +45,9 @@ import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -58,6 +60,8 @@ import static com.epam.pipeline.util.CustomAssertions.assertThrows;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class ClusterApiServiceTest extends AbstractAclTest {
 
@@ -68,7 +72,8 @@ public class ClusterApiServiceTest extends AbstractAclTest {
     private final FilterNodesVO filterNodesVO = NodeCreatorUtils.getDefaultFilterNodesVO();
     private final NodeDisk nodeDisk = NodeCreatorUtils.getDefaultNodeDisk();
     private final MonitoringStats monitoringStats = ClusterCreatorUtils.getMonitoringStats();
-    private final InputStream inputStream = new ByteArrayInputStream(TEST_STRING.getBytes());
+    private final ServletOutputStream outputStream = mock(ServletOutputStream.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
     private final Authentication authentication = new TestingAuthenticationToken(new Object(), new Object());
 
     private final List<NodeDisk> nodeDisks = NodeCreatorUtils.getNodeDiskList();
@@ -320,43 +325,48 @@ public class ClusterApiServiceTest extends AbstractAclTest {
 
     @Test
     @WithMockUser(roles = ADMIN_ROLE)
-    public void shouldReturnUsageStatisticsFileForAdmin() {
-        doReturn(inputStream).when(mockUsageMonitoringManager).getStatsForNodeAsInputStream(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
+    public void shouldReturnUsageStatisticsReportForAdmin() throws IOException {
+        doReturn(outputStream).when(response).getOutputStream();
 
-        final InputStream returnedInputStream = clusterApiService.getUsageStatisticsFile(
-            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
+        final ResultWriter writer = clusterApiService.getUsageStatisticsReport(
+            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV,
+            TEST_STRING);
+        writer.write(response);
 
-        assertThat(returnedInputStream).isEqualTo(inputStream);
+        assertThat(writer.getName()).isEqualTo(TEST_STRING);
+        verify(mockUsageMonitoringManager).writeStatsForNode(
+            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV,
+            outputStream);
     }
 
     @Test
     @WithMockUser
-    public void shouldReturnUsageStatisticsFileWhenPermissionIsGranted() {
+    public void shouldReturnUsageStatisticsReportWhenPermissionIsGranted() throws IOException {
         initAclEntity(nodeInstance, AclPermission.READ);
-        doReturn(inputStream).when(mockUsageMonitoringManager).getStatsForNodeAsInputStream(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
         mockNode(nodeInstance);
         mockRun(pipelineRun);
         mockUser();
+        doReturn(outputStream).when(response).getOutputStream();
 
-        final InputStream returnedInputStream = clusterApiService.getUsageStatisticsFile(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
+        clusterApiService.getUsageStatisticsReport(
+            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV,
+            TEST_STRING).write(response);
 
-        assertThat(returnedInputStream).isEqualTo(inputStream);
+        verify(mockUsageMonitoringManager).writeStatsForNode(
+            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV,
+            outputStream);
     }
 
     @Test
     @WithMockUser
-    public void shouldDenyAccessToUsageStatisticsFileWhenPermissionIsNotGranted() {
+    public void shouldDenyAccessToUsageStatisticsReportWhenPermissionIsNotGranted() {
         initAclEntity(nodeInstance);
-        doReturn(inputStream).when(mockUsageMonitoringManager).getStatsForNodeAsInputStream(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV);
         mockNode(nodeInstance);
         mockRun(pipelineRun);
 
-        assertThrows(AccessDeniedException.class, () -> clusterApiService.getUsageStatisticsFile(
-                nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV));
+        assertThrows(AccessDeniedException.class, () -> clusterApiService.getUsageStatisticsReport(
+            nodeInstance.getName(), LocalDateTime.MIN, LocalDateTime.MAX, Duration.ZERO, MonitoringReportType.CSV,
+            TEST_STRING));
     }
 
     @Test
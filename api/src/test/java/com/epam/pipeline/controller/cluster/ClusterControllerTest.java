@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.controller.cluster;
 
+import com.epam.pipeline.controller.ResultWriter;
 import com.epam.pipeline.controller.vo.FilterNodesVO;
 import com.epam.pipeline.entity.cluster.AllowedInstanceAndPriceTypes;
 import com.epam.pipeline.entity.cluster.FilterPodsRequest;
@@ -28,6 +29,7 @@ import com.epam.pipeline.acl.cluster.ClusterApiService;
 import com.epam.pipeline.manager.cluster.MonitoringReportType;
 import com.epam.pipeline.test.creator.cluster.NodeCreatorUtils;
 import com.epam.pipeline.test.web.AbstractControllerTest;
+import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.Assert;
 import org.junit.Test;
@@ -297,15 +299,16 @@ public class ClusterControllerTest extends AbstractControllerTest {
         params.add(TO, to.format(REQUEST_FORMATTER));
         params.add(INTERVAL, DURATION_AS_STRING);
         params.add(REPORT_TYPE, MonitoringReportType.CSV.toString());
-        Mockito.doReturn(inputStream).when(mockClusterApiService)
-                .getUsageStatisticsFile(NAME, from, to, Duration.ofHours(1), MonitoringReportType.CSV);
+        Mockito.doReturn(ResultWriter.checked(expectedFileName, out -> IOUtils.copy(inputStream, out)))
+                .when(mockClusterApiService).getUsageStatisticsReport(NAME, from, to, Duration.ofHours(1),
+                                                                      MonitoringReportType.CSV, expectedFileName);
 
         final MvcResult mvcResult = performRequest(
                 get(String.format(NODE_STATISTICS_URL, NAME)).params(params), OCTET_STREAM_CONTENT_TYPE
         );
 
-        Mockito.verify(mockClusterApiService).getUsageStatisticsFile(NAME, from, to, Duration.ofHours(1),
-                                                                     MonitoringReportType.CSV);
+        Mockito.verify(mockClusterApiService).getUsageStatisticsReport(NAME, from, to, Duration.ofHours(1),
+                                                                       MonitoringReportType.CSV, expectedFileName);
         final String actualResponseData = mvcResult.getResponse().getContentAsString();
         final String contentDispositionHeader = mvcResult.getResponse().getHeader(CONTENT_DISPOSITION_HEADER);
         Assert.assertEquals(TEST_DATA, actualResponseData);
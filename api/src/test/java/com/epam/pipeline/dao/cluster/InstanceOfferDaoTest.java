@@ -32,6 +32,8 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -54,12 +56,13 @@ public class InstanceOfferDaoTest extends AbstractJdbcTest {
     private CloudRegionDao cloudRegionDao;
 
     private AbstractCloudRegion region;
+    private AbstractCloudRegion anotherRegion;
 
     @Before
     public void setUp() throws Exception {
 
         region = createRegion("region1");
-        final AbstractCloudRegion anotherRegion = createRegion("region2");
+        anotherRegion = createRegion("region2");
 
         final List<InstanceOffer> instanceOffers = new ArrayList<>();
         cloudRegionDao.create(region);
@@ -116,6 +119,28 @@ public class InstanceOfferDaoTest extends AbstractJdbcTest {
         assertThat(instanceType2.getName(), is(ANOTHER_INSTANCE_TYPE));
     }
 
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void publishStagedInstanceOffersShouldReplaceOffersOfStagedRegionsOnly() {
+        final long staged = instanceOfferDao.stageInstanceOffers(region.getId(), consumer -> {
+            consumer.accept(offer(region.getId(), ANOTHER_INSTANCE_TYPE));
+            consumer.accept(offer(region.getId(), "instance\ttype"));
+        });
+        assertThat(staged, is(2L));
+        assertThat(instanceOfferDao.loadInstanceTypes(offerRequest(region.getId(), ANOTHER_INSTANCE_TYPE)).size(),
+                is(0));
+
+        instanceOfferDao.publishStagedInstanceOffers(Collections.singletonList(region.getId()),
+                Arrays.asList(region.getId(), anotherRegion.getId()));
+
+        assertThat(instanceOfferDao.loadInstanceTypes(offerRequest(region.getId(), INSTANCE_TYPE)).size(), is(0));
+        assertThat(instanceOfferDao.loadInstanceTypes(offerRequest(region.getId(), ANOTHER_INSTANCE_TYPE)).size(),
+                is(1));
+        assertThat(instanceOfferDao.loadInstanceTypes(offerRequest(region.getId(), "instance\ttype")).size(),
+                is(1));
+        assertThat(instanceOfferDao.loadInstanceTypes(offerRequest(anotherRegion.getId())).size(), is(2));
+    }
+
     private InstanceOffer offer(final Long regionId, final String instanceType) {
         final InstanceOffer offer = new InstanceOffer();
         offer.setPriceListPublishDate(PUBLISH_DATE);
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.billing;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class BillingRollupHelperTest {
+
+    @Test
+    public void shouldUseRawIndicesIfNothingIsRolledUp() {
+        final LocalDate from = LocalDate.of(2022, 1, 1);
+        final LocalDate to = LocalDate.of(2022, 3, 15);
+
+        assertEquals(Collections.singletonList(BillingRollupSegment.raw(from, to)),
+                BillingRollupHelper.split(from, to, Collections.emptyMap()));
+    }
+
+    @Test
+    public void shouldSplitPeriodIntoMonthsWeeksAndRawDays() {
+        final Map<BillingRollupPeriod, LocalDate> completeUntil = new EnumMap<>(BillingRollupPeriod.class);
+        completeUntil.put(BillingRollupPeriod.MONTH, LocalDate.of(2022, 3, 1));
+        completeUntil.put(BillingRollupPeriod.WEEK, LocalDate.of(2022, 3, 14));
+
+        assertEquals(Arrays.asList(
+                new BillingRollupSegment(BillingRollupPeriod.MONTH, LocalDate.of(2022, 1, 1),
+                        LocalDate.of(2022, 2, 28)),
+                BillingRollupSegment.raw(LocalDate.of(2022, 3, 1), LocalDate.of(2022, 3, 6)),
+                new BillingRollupSegment(BillingRollupPeriod.WEEK, LocalDate.of(2022, 3, 7),
+                        LocalDate.of(2022, 3, 13)),
+                BillingRollupSegment.raw(LocalDate.of(2022, 3, 14), LocalDate.of(2022, 3, 15))),
+                BillingRollupHelper.split(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 15), completeUntil));
+    }
+
+    @Test
+    public void shouldNotUseWeekWhichOverlapsRolledUpMonth() {
+        final Map<BillingRollupPeriod, LocalDate> completeUntil = new EnumMap<>(BillingRollupPeriod.class);
+        completeUntil.put(BillingRollupPeriod.MONTH, LocalDate.of(2022, 3, 1));
+        completeUntil.put(BillingRollupPeriod.WEEK, LocalDate.of(2022, 3, 1));
+
+        assertEquals(Arrays.asList(
+                new BillingRollupSegment(BillingRollupPeriod.WEEK, LocalDate.of(2022, 1, 24),
+                        LocalDate.of(2022, 1, 30)),
+                BillingRollupSegment.raw(LocalDate.of(2022, 1, 31), LocalDate.of(2022, 1, 31)),
+                new BillingRollupSegment(BillingRollupPeriod.MONTH, LocalDate.of(2022, 2, 1),
+                        LocalDate.of(2022, 2, 28))),
+                BillingRollupHelper.split(LocalDate.of(2022, 1, 24), LocalDate.of(2022, 2, 28), completeUntil));
+    }
+
+    @Test
+    public void shouldNotUseIncompletePeriods() {
+        final Map<BillingRollupPeriod, LocalDate> completeUntil = new EnumMap<>(BillingRollupPeriod.class);
+        completeUntil.put(BillingRollupPeriod.MONTH, LocalDate.of(2022, 2, 28));
+        final LocalDate from = LocalDate.of(2022, 2, 1);
+        final LocalDate to = LocalDate.of(2022, 2, 28);
+
+        assertEquals(Collections.singletonList(BillingRollupSegment.raw(from, to)),
+                BillingRollupHelper.split(from, to, completeUntil));
+    }
+}
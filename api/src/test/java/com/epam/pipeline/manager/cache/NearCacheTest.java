@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cache;
+
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class NearCacheTest {
+
+    private static final String CACHE = "cache";
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final String ANOTHER_VALUE = "anotherValue";
+    private static final long SIZE = 10L;
+    private static final long TTL = 60L;
+
+    private final Cache remote = spy(new ConcurrentMapCache(CACHE));
+    private final List<Object> invalidations = new ArrayList<>();
+    private final NearCache cache = new NearCache(CACHE, remote, invalidations::add, SIZE, TTL);
+
+    @Test
+    public void getShouldServeLocallyCachedEntriesWithoutRemoteCache() {
+        remote.put(KEY, VALUE);
+
+        assertEquals(VALUE, cache.get(KEY).get());
+        assertEquals(VALUE, cache.get(KEY).get());
+
+        verify(remote, times(1)).get(KEY);
+    }
+
+    @Test
+    public void putShouldWriteThroughAndPublishInvalidation() {
+        cache.put(KEY, VALUE);
+
+        assertEquals(VALUE, remote.get(KEY).get());
+        assertEquals(Collections.singletonList(KEY), invalidations);
+    }
+
+    @Test
+    public void evictLocalShouldReloadEntryFromRemoteCache() {
+        cache.put(KEY, VALUE);
+        remote.put(KEY, ANOTHER_VALUE);
+
+        cache.evictLocal(KEY);
+
+        assertEquals(ANOTHER_VALUE, cache.get(KEY).get());
+    }
+
+    @Test
+    public void clearShouldEvictAllEntriesAndPublishInvalidation() {
+        cache.put(KEY, VALUE);
+
+        cache.clear();
+
+        assertNull(cache.get(KEY));
+        assertNull(remote.get(KEY));
+        assertEquals(2, invalidations.size());
+        assertNull(invalidations.get(1));
+    }
+
+    @Test
+    public void putShouldCacheValueLoadedAfterMiss() {
+        assertNull(cache.get(KEY));
+
+        cache.put(KEY, VALUE);
+
+        assertEquals(VALUE, cache.get(KEY).get());
+        assertEquals(VALUE, remote.get(KEY).get());
+    }
+
+    @Test
+    public void putShouldDropValueLoadedBeforeInvalidation() {
+        assertNull(cache.get(KEY));
+        cache.evictLocal(KEY);
+
+        cache.put(KEY, VALUE);
+
+        assertNull(cache.get(KEY));
+        assertNull(remote.get(KEY));
+        assertTrue(invalidations.isEmpty());
+    }
+
+    @Test
+    public void getShouldNotCacheValueLoadedBeforeClear() {
+        final String value = cache.get(KEY, () -> {
+            cache.clearLocal();
+            return VALUE;
+        });
+
+        assertEquals(VALUE, value);
+        assertNull(cache.get(KEY));
+        assertNull(remote.get(KEY));
+    }
+
+    @Test
+    public void getShouldNotCacheLocallyRemoteValueReadBeforeInvalidation() {
+        remote.put(KEY, VALUE);
+        doAnswer(invocation -> {
+            final Cache.ValueWrapper value = (Cache.ValueWrapper) invocation.callRealMethod();
+            cache.evictLocal(KEY);
+            return value;
+        }).when(remote).get(KEY);
+
+        assertEquals(VALUE, cache.get(KEY).get());
+        assertEquals(VALUE, cache.get(KEY).get());
+
+        verify(remote, times(2)).get(KEY);
+    }
+}
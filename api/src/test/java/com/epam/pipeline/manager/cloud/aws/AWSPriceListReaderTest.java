@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cloud.aws;
+
+import com.epam.pipeline.entity.cluster.InstanceOffer;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AWSPriceListReaderTest {
+
+    private static final Long REGION_ID = 1L;
+    private static final String HEADER =
+            "SKU,TermType,Unit,PricePerUnit,Currency,Instance Type,Tenancy,Operating System,Product Family,"
+            + "Volume Type,vCPU,GPU,Instance Family,Memory\n";
+    private static final String COMPUTE_OFFER =
+            "sku1,OnDemand,Hrs,0.096,USD,m5.large,Shared,Linux,Compute Instance,,2,,General purpose,8 GiB\n";
+    private static final String RESERVED_OFFER =
+            "sku2,Reserved,Hrs,0.06,USD,m5.large,Shared,Linux,Compute Instance,,2,,General purpose,8 GiB\n";
+    private static final String STORAGE_OFFER =
+            "sku3,OnDemand,GB-Mo,0.1,USD,,,,Storage,General Purpose,,,,\n";
+    private static final String TRANSFER_OFFER =
+            "sku4,OnDemand,GB,0.02,USD,,,,Data Transfer,,,,,\n";
+
+    @Test
+    public void shouldStreamOnlyOnDemandComputeAndStorageOffers() throws IOException {
+        final List<InstanceOffer> offers = new ArrayList<>();
+
+        final long count = new AWSPriceListReader(REGION_ID, null)
+                .readPriceCsv(reader(HEADER + COMPUTE_OFFER + RESERVED_OFFER + STORAGE_OFFER + TRANSFER_OFFER),
+                        offers::add);
+
+        assertEquals(2, count);
+        assertEquals(2, offers.size());
+        final InstanceOffer compute = offers.get(0);
+        assertEquals("sku1", compute.getSku());
+        assertEquals(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY, compute.getProductFamily());
+        assertEquals(2, compute.getVCPU());
+        assertEquals(8, compute.getMemory(), 0.0);
+        assertEquals(REGION_ID, compute.getRegionId());
+        assertEquals(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY, offers.get(1).getProductFamily());
+    }
+
+    @Test
+    public void shouldMapCustomComputeFamilies() throws IOException {
+        final List<InstanceOffer> offers = new ArrayList<>();
+        final String customOffer = COMPUTE_OFFER.replace("Compute Instance", "Compute Instance (bare metal)");
+
+        new AWSPriceListReader(REGION_ID, Collections.singleton("Compute Instance (bare metal)"))
+                .readPriceCsv(reader(HEADER + customOffer + COMPUTE_OFFER), offers::add);
+
+        assertEquals(1, offers.size());
+        assertEquals(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY, offers.get(0).getProductFamily());
+    }
+
+    private static BufferedReader reader(final String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cluster;
+
+import com.epam.pipeline.entity.cluster.InstanceOffer;
+import com.epam.pipeline.manager.cloud.CloudInstancePriceService;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.OptionalDouble;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InstancePriceIndexTest {
+
+    private static final Long REGION_ID = 1L;
+    private static final Long ANOTHER_REGION_ID = 2L;
+    private static final String M5_LARGE = "m5.large";
+    private static final String ON_DEMAND = CloudInstancePriceService.TermType.ON_DEMAND.getName();
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void shouldIndexLowestPositiveComputePricePerRegion() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                computeOffer(REGION_ID, 0.2), computeOffer(REGION_ID, 0.1), computeOffer(REGION_ID, 0.0),
+                computeOffer(ANOTHER_REGION_ID, 0.3), diskOffer(REGION_ID)));
+
+        assertEquals(0.1, price(index, REGION_ID).getAsDouble(), DELTA);
+        assertEquals(0.3, price(index, ANOTHER_REGION_ID).getAsDouble(), DELTA);
+        assertEquals(1, index.getDiskOffers(REGION_ID).size());
+        assertTrue(index.getDiskOffers(ANOTHER_REGION_ID).isEmpty());
+        assertFalse(index.getPricePerHour(REGION_ID, M5_LARGE, ON_DEMAND,
+                CloudInstancePriceService.LINUX_OPERATING_SYSTEM, "Dedicated").isPresent());
+    }
+
+    @Test
+    public void shouldReplaceOnlyUpdatedRegion() {
+        final InstancePriceIndex index = InstancePriceIndex.of(Arrays.asList(
+                computeOffer(REGION_ID, 0.2), computeOffer(ANOTHER_REGION_ID, 0.3)));
+
+        final InstancePriceIndex updated = index.withRegion(REGION_ID,
+                Collections.singletonList(computeOffer(REGION_ID, 0.5)));
+
+        assertEquals(0.2, price(index, REGION_ID).getAsDouble(), DELTA);
+        assertEquals(0.5, price(updated, REGION_ID).getAsDouble(), DELTA);
+        assertEquals(0.3, price(updated, ANOTHER_REGION_ID).getAsDouble(), DELTA);
+        assertFalse(InstancePriceIndex.empty().containsRegion(REGION_ID));
+    }
+
+    private static OptionalDouble price(final InstancePriceIndex index, final Long regionId) {
+        return index.getPricePerHour(regionId, M5_LARGE, ON_DEMAND,
+                CloudInstancePriceService.LINUX_OPERATING_SYSTEM, CloudInstancePriceService.SHARED_TENANCY);
+    }
+
+    private static InstanceOffer computeOffer(final Long regionId, final double price) {
+        final InstanceOffer offer = new InstanceOffer();
+        offer.setRegionId(regionId);
+        offer.setInstanceType(M5_LARGE);
+        offer.setTermType(ON_DEMAND);
+        offer.setOperatingSystem(CloudInstancePriceService.LINUX_OPERATING_SYSTEM);
+        offer.setTenancy(CloudInstancePriceService.SHARED_TENANCY);
+        offer.setUnit(CloudInstancePriceService.HOURS_UNIT);
+        offer.setProductFamily(CloudInstancePriceService.INSTANCE_PRODUCT_FAMILY);
+        offer.setPricePerUnit(price);
+        return offer;
+    }
+
+    private static InstanceOffer diskOffer(final Long regionId) {
+        final InstanceOffer offer = new InstanceOffer();
+        offer.setRegionId(regionId);
+        offer.setProductFamily(CloudInstancePriceService.STORAGE_PRODUCT_FAMILY);
+        offer.setVolumeType(CloudInstancePriceService.GENERAL_PURPOSE_VOLUME_TYPE);
+        return offer;
+    }
+}
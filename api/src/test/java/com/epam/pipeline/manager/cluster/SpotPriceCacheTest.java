@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.cluster;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpotPriceCacheTest {
+
+    private static final Long REGION_ID = 1L;
+    private static final String M5_LARGE = "m5.large";
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void shouldLoadSpotPriceOnceWithinTtl() {
+        final AtomicInteger loads = new AtomicInteger();
+        final SpotPriceCache cache = new SpotPriceCache((regionId, instanceType) -> {
+            loads.incrementAndGet();
+            return 0.1;
+        }, TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(1));
+
+        assertEquals(0.1, cache.get(REGION_ID, M5_LARGE), DELTA);
+        assertEquals(0.1, cache.get(REGION_ID, M5_LARGE), DELTA);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldRefreshRequestedSpotPricesInBackground() {
+        final AtomicInteger loads = new AtomicInteger();
+        final SpotPriceCache cache = new SpotPriceCache((regionId, instanceType) -> (double) loads.incrementAndGet(),
+                TimeUnit.HOURS.toMillis(1), TimeUnit.HOURS.toMillis(1));
+
+        assertEquals(1.0, cache.get(REGION_ID, M5_LARGE), DELTA);
+        cache.refresh();
+
+        assertEquals(2.0, cache.get(REGION_ID, M5_LARGE), DELTA);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldEvictIdleSpotPrices() {
+        final AtomicInteger loads = new AtomicInteger();
+        final SpotPriceCache cache = new SpotPriceCache((regionId, instanceType) -> (double) loads.incrementAndGet(),
+                TimeUnit.HOURS.toMillis(1), -1);
+
+        cache.get(REGION_ID, M5_LARGE);
+        cache.refresh();
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, cache.get(REGION_ID, M5_LARGE), DELTA);
+    }
+}
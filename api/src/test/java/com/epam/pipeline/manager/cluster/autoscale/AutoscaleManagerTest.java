@@ -24,6 +24,8 @@ import com.epam.pipeline.manager.cluster.KubernetesConstants;
 import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.NodesManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshot;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshotService;
 import com.epam.pipeline.manager.parallel.ParallelExecutorService;
 import com.epam.pipeline.manager.pipeline.PipelineRunManager;
 import com.epam.pipeline.manager.preference.PreferenceManager;
@@ -31,19 +33,15 @@ import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.util.CurrentThreadExecutorService;
 import com.epam.pipeline.util.KubernetesTestUtils;
 import io.fabric8.kubernetes.api.model.DoneableNode;
-import io.fabric8.kubernetes.api.model.DoneablePod;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.NodeList;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodCondition;
-import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
-import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import org.hamcrest.Matchers;
 import org.junit.Before;
@@ -53,6 +51,8 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.internal.util.reflection.Whitebox;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.Matchers.any;
@@ -103,6 +103,9 @@ public class AutoscaleManagerTest {
     @Mock
     private PoolAutoscaler poolAutoscaler;
 
+    @Mock
+    private KubernetesClusterSnapshotService clusterSnapshotService;
+
     private AutoscaleManager.AutoscaleManagerCore autoscaleManagerCore;
 
     @Before
@@ -113,7 +116,8 @@ public class AutoscaleManagerTest {
                 pipelineRunManager, executorService,
                 autoscalerService, nodesManager, kubernetesManager,
                 preferenceManager, TEST_KUBE_NAMESPACE, cloudFacade,
-                nodePoolManager, reassignHandler, scaleDownHandler, Collections.emptyList(), poolAutoscaler);
+                nodePoolManager, reassignHandler, scaleDownHandler, Collections.emptyList(), poolAutoscaler,
+                clusterSnapshotService);
         Whitebox.setInternalState(autoscaleManagerCore, "preferenceManager", preferenceManager);
 
         when(executorService.getExecutorService()).thenReturn(new CurrentThreadExecutorService());
@@ -148,7 +152,10 @@ public class AutoscaleManagerTest {
         Pod unscheduledPipelinePod = new Pod();
 
         ObjectMeta metadata = new ObjectMeta();
-        metadata.setLabels(Collections.singletonMap(KubernetesConstants.RUN_ID_LABEL, TEST_RUN_ID.toString()));
+        Map<String, String> labels = new HashMap<>();
+        labels.put("type", "pipeline");
+        labels.put(KubernetesConstants.RUN_ID_LABEL, TEST_RUN_ID.toString());
+        metadata.setLabels(labels);
         unscheduledPipelinePod.setMetadata(metadata);
 
         PodStatus status = new PodStatus();
@@ -173,24 +180,9 @@ public class AutoscaleManagerTest {
         when(autoscalerService.fillInstance(any(RunInstance.class)))
             .thenAnswer(invocation -> invocation.getArguments()[0]);
 
-        MixedOperation<Pod, PodList, DoneablePod, PodResource<Pod, DoneablePod>> mockPods =
-            new KubernetesTestUtils.MockPods()
-                .mockNamespace(TEST_KUBE_NAMESPACE)
-                    .mockWithLabel("type", "pipeline")
-                    .mockWithLabel(KubernetesConstants.RUN_ID_LABEL)
-                    .mockPodList(Collections.singletonList(unscheduledPipelinePod))
-                .and()
-                .getMockedEntity();
-
-        doReturn(mockPods.inNamespace(TEST_KUBE_NAMESPACE)
-                .withLabel("type", "pipeline")
-                .withLabel(KubernetesConstants.RUN_ID_LABEL)
-                .list()).when(kubernetesManager).getPodList(any());
-
-        doReturn(mockNodes
-                .withLabel(KubernetesConstants.RUN_ID_LABEL)
-                .withoutLabel(KubernetesConstants.PAUSED_NODE_LABEL)
-                .list()).when(kubernetesManager).getAvailableNodes(any());
+        doReturn(KubernetesClusterSnapshot.of(Collections.emptyList(),
+                Collections.singletonList(unscheduledPipelinePod)))
+                .when(clusterSnapshotService).getSnapshot();
     }
 
     @Test
@@ -18,14 +18,16 @@ package com.epam.pipeline.manager.cluster.autoscale;
 import com.epam.pipeline.controller.vo.cluster.pool.NodePoolVO;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.manager.cluster.KubernetesConstants;
-import com.epam.pipeline.manager.cluster.KubernetesManager;
 import com.epam.pipeline.manager.cluster.pool.NodePoolManager;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshot;
+import com.epam.pipeline.manager.cluster.watch.KubernetesClusterSnapshotService;
 import com.epam.pipeline.manager.preference.PreferenceManager;
 import com.epam.pipeline.manager.preference.SystemPreferences;
 import com.epam.pipeline.mapper.cluster.pool.NodePoolMapper;
 import com.epam.pipeline.test.creator.cluster.pool.NodePoolCreatorUtils;
 import io.fabric8.kubernetes.api.model.Node;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
 import org.junit.Before;
 import org.junit.Test;
 import org.mapstruct.factory.Mappers;
@@ -35,7 +37,6 @@ import org.mockito.MockitoAnnotations;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,7 +58,7 @@ public class PoolAutoscalerTest {
     private static final String RUN_ID_4 = "4";
 
     @Mock
-    private KubernetesManager kubernetesManager;
+    private KubernetesClusterSnapshotService clusterSnapshotService;
     @Mock
     private NodePoolManager poolManager;
     private NodePoolMapper poolMapper = Mappers.getMapper(NodePoolMapper.class);
@@ -68,7 +69,7 @@ public class PoolAutoscalerTest {
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        poolAutoscaler = new PoolAutoscaler(poolManager, poolMapper, kubernetesManager, preferenceManager);
+        poolAutoscaler = new PoolAutoscaler(poolManager, poolMapper, clusterSnapshotService, preferenceManager);
         doReturn(Optional.empty()).when(preferenceManager).findPreference(SystemPreferences.SYSTEM_MAINTENANCE_MODE);
     }
 
@@ -124,11 +125,27 @@ public class PoolAutoscalerTest {
                 .collect(Collectors.toList());
     }
 
+    private List<Pod> buildPods(final List<String> runIds) {
+        return runIds
+                .stream()
+                .map(id -> {
+                    final Map<String, String> labels = new HashMap<>();
+                    labels.put("type", "pipeline");
+                    labels.put(KubernetesConstants.RUN_ID_LABEL, id);
+                    final ObjectMeta objectMeta = new ObjectMeta();
+                    objectMeta.setLabels(labels);
+                    final Pod pod = new Pod();
+                    pod.setMetadata(objectMeta);
+                    return pod;
+                })
+                .collect(Collectors.toList());
+    }
+
     private void initKubeResources(final String... runIds) {
-        doReturn(buildNodes(POOL_ID, Arrays.asList(RUN_ID_1, RUN_ID_2, RUN_ID_3, RUN_ID_4)))
-                .when(kubernetesManager).getNodes(any());
-        doReturn(new HashSet<>(Arrays.asList(runIds)))
-                .when(kubernetesManager).getAllPodIds(any());
+        doReturn(KubernetesClusterSnapshot.of(
+                buildNodes(POOL_ID, Arrays.asList(RUN_ID_1, RUN_ID_2, RUN_ID_3, RUN_ID_4)),
+                buildPods(Arrays.asList(runIds))))
+                .when(clusterSnapshotService).getSnapshot();
     }
 
     private NodePool initPool() {
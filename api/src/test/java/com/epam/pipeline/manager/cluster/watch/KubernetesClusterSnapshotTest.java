@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.watch;
+
+import com.epam.pipeline.manager.cluster.KubernetesConstants;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KubernetesClusterSnapshotTest {
+
+    private static final String RUN_ID_1 = "1";
+    private static final String RUN_ID_2 = "2";
+    private static final String RUN_ID_3 = "3";
+    private static final Long POOL_ID = 10L;
+
+    @Test
+    public void shouldIndexAvailableNodes() {
+        final Node runNode = node("node-1", RUN_ID_1, null, false);
+        final Node poolNode = node("node-2", RUN_ID_2, POOL_ID, false);
+        final Node pausedNode = node("node-3", RUN_ID_3, POOL_ID, true);
+
+        final KubernetesClusterSnapshot snapshot = KubernetesClusterSnapshot.of(
+                Arrays.asList(runNode, poolNode, pausedNode), Collections.emptyList());
+
+        assertEquals(2, snapshot.getAvailableNodes().size());
+        assertEquals(new HashSet<>(Arrays.asList(RUN_ID_1, RUN_ID_2)), snapshot.getAvailableNodesIds());
+        assertTrue(snapshot.findAvailableNodeByRunId(RUN_ID_2).isPresent());
+        assertFalse(snapshot.findAvailableNodeByRunId(RUN_ID_3).isPresent());
+        assertTrue(snapshot.findNodeByName("node-3").isPresent());
+        assertEquals(1, snapshot.getAvailableNodesByPoolId(POOL_ID).size());
+        assertEquals(2, snapshot.getNodesByPoolId(POOL_ID).size());
+    }
+
+    @Test
+    public void shouldIndexOnlyPipelinePods() {
+        final Pod pipelinePod = pod(RUN_ID_1, "pipeline");
+        final Pod servicePod = pod(RUN_ID_2, "service");
+
+        final KubernetesClusterSnapshot snapshot = KubernetesClusterSnapshot.of(
+                Collections.emptyList(), Arrays.asList(pipelinePod, servicePod));
+
+        assertEquals(Collections.singleton(RUN_ID_1), snapshot.getPipelinePodsIds());
+        assertTrue(snapshot.findPipelinePodByRunId(RUN_ID_1).isPresent());
+        assertFalse(snapshot.findPipelinePodByRunId(RUN_ID_2).isPresent());
+    }
+
+    private static Node node(final String name, final String runId, final Long poolId, final boolean paused) {
+        final Map<String, String> labels = new HashMap<>();
+        labels.put(KubernetesConstants.RUN_ID_LABEL, runId);
+        if (poolId != null) {
+            labels.put(KubernetesConstants.NODE_POOL_ID_LABEL, String.valueOf(poolId));
+        }
+        if (paused) {
+            labels.put(KubernetesConstants.PAUSED_NODE_LABEL, "true");
+        }
+        final Node node = new Node();
+        node.setMetadata(metadata(name, labels));
+        return node;
+    }
+
+    private static Pod pod(final String runId, final String type) {
+        final Map<String, String> labels = new HashMap<>();
+        labels.put(KubernetesConstants.RUN_ID_LABEL, runId);
+        labels.put("type", type);
+        final Pod pod = new Pod();
+        pod.setMetadata(metadata(runId, labels));
+        return pod;
+    }
+
+    private static ObjectMeta metadata(final String name, final Map<String, String> labels) {
+        final ObjectMeta metadata = new ObjectMeta();
+        metadata.setName(name);
+        metadata.setLabels(labels);
+        return metadata;
+    }
+}
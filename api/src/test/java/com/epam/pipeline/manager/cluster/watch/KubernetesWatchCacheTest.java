@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.cluster.watch;
+
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class KubernetesWatchCacheTest {
+
+    private static final String POD_1 = "pod-1";
+    private static final String POD_2 = "pod-2";
+    private static final String RESOURCE_VERSION = "100";
+    private static final long RESYNC_PERIOD = 60_000L;
+    private static final long RETRY_DELAY = 60_000L;
+
+    private final TestPodCache cache = new TestPodCache();
+
+    @Test
+    public void shouldLoadPodsWithSingleListRequest() {
+        cache.pods = Arrays.asList(pod(POD_1), pod(POD_2));
+
+        assertTrue(cache.find(POD_1).isPresent());
+        assertTrue(cache.find(POD_2).isPresent());
+        assertEquals(2, cache.getAll().size());
+        assertEquals(1, cache.listCalls);
+        assertEquals(RESOURCE_VERSION, cache.watchedVersion);
+    }
+
+    @Test
+    public void shouldApplyWatchEvents() {
+        cache.pods = Arrays.asList(pod(POD_1));
+        cache.getAll();
+
+        cache.watcher.eventReceived(Watcher.Action.ADDED, pod(POD_2));
+        cache.watcher.eventReceived(Watcher.Action.DELETED, pod(POD_1));
+
+        assertFalse(cache.find(POD_1).isPresent());
+        assertTrue(cache.find(POD_2).isPresent());
+        assertEquals(1, cache.listCalls);
+    }
+
+    @Test
+    public void shouldReloadPodsAfterWatchIsClosed() {
+        cache.pods = Arrays.asList(pod(POD_1));
+        cache.getAll();
+        final Watcher<Pod> closedWatcher = cache.watcher;
+
+        closedWatcher.onClose(new KubernetesClientException("closed"));
+        cache.pods = Arrays.asList(pod(POD_2));
+
+        assertTrue(cache.find(POD_2).isPresent());
+        assertEquals(2, cache.listCalls);
+
+        closedWatcher.eventReceived(Watcher.Action.ADDED, pod(POD_1));
+        assertFalse(cache.find(POD_1).isPresent());
+    }
+
+    @Test
+    public void shouldServeStalePodsAndBackOffIfReloadFails() {
+        cache.pods = Arrays.asList(pod(POD_1));
+        cache.getAll();
+
+        cache.invalidate();
+        cache.failList = true;
+
+        assertTrue(cache.find(POD_1).isPresent());
+        assertTrue(cache.find(POD_1).isPresent());
+        assertEquals(2, cache.listCalls);
+    }
+
+    @Test
+    public void shouldIncrementVersionOnChanges() {
+        cache.pods = Arrays.asList(pod(POD_1));
+        cache.getAll();
+        final long version = cache.getVersion();
+
+        cache.watcher.eventReceived(Watcher.Action.MODIFIED, pod(POD_1));
+
+        assertTrue(cache.getVersion() > version);
+    }
+
+    private static Pod pod(final String name) {
+        final Pod pod = new Pod();
+        final ObjectMeta metadata = new ObjectMeta();
+        metadata.setName(name);
+        pod.setMetadata(metadata);
+        return pod;
+    }
+
+    private static class TestPodCache extends AbstractKubernetesWatchCache<Pod> {
+
+        private List<Pod> pods = new ArrayList<>();
+        private int listCalls;
+        private boolean failList;
+        private String watchedVersion;
+        private Watcher<Pod> watcher;
+
+        TestPodCache() {
+            super(() -> mock(KubernetesClient.class), RESYNC_PERIOD, RETRY_DELAY);
+        }
+
+        @Override
+        protected KubernetesResourceList<Pod> list(final KubernetesClient client) {
+            listCalls++;
+            if (failList) {
+                throw new KubernetesClientException("unavailable");
+            }
+            final PodList list = new PodList();
+            final ListMeta metadata = new ListMeta();
+            metadata.setResourceVersion(RESOURCE_VERSION);
+            list.setMetadata(metadata);
+            list.setItems(new ArrayList<>(pods));
+            return list;
+        }
+
+        @Override
+        protected Watch watch(final KubernetesClient client, final String resourceVersion,
+                              final Watcher<Pod> watcher) {
+            this.watchedVersion = resourceVersion;
+            this.watcher = watcher;
+            return mock(Watch.class);
+        }
+    }
+}
@@ -24,12 +24,16 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class CsvMonitoringStatsWriterTest {
 
@@ -105,6 +109,30 @@ public class CsvMonitoringStatsWriterTest {
         Assert.assertEquals(StringUtils.EMPTY, monitoringStatsWriter.convertStatsToCsvString(stats));
     }
 
+    @Test
+    public void testMonitoringStatsStreamingWithPredefinedHeader() throws IOException {
+        final MonitoringStatsHeader header = MonitoringStatsHeader.of(
+            Collections.singletonList(DISK_INFOS.get(1).getName()), NETWORK_INTERFACES);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        monitoringStatsWriter.writeStats(header, createStatsList().stream(), out);
+
+        final String[] linesOfTables = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\n");
+        Assert.assertEquals(3, linesOfTables.length);
+        final String[] firstStatEntry = linesOfTables[1].replaceAll("\"", "").split(",", -1);
+        Assert.assertEquals(COMMON_INFO_SIZE + 2 + 2 * NETWORK_INTERFACES.size(), firstStatEntry.length);
+        Assert.assertEquals(StringUtils.EMPTY, firstStatEntry[COMMON_INFO_SIZE]);
+        Assert.assertEquals(NETWORK_INTERFACES_RX.get(0).longValue(),
+                            Long.parseLong(firstStatEntry[COMMON_INFO_SIZE + 2]));
+    }
+
+    @Test
+    public void testEmptyStatsStreaming() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        monitoringStatsWriter.writeStats(MonitoringStatsHeader.of(Collections.emptyList(), NETWORK_INTERFACES),
+                                         Stream.empty(), out);
+        Assert.assertEquals(0, out.size());
+    }
+
     private List<MonitoringStats> createStatsList() {
         return IntStream.range(0, 2).mapToObj(i -> createMonitoringStats(END_TIMES.get(i),
                                                                          CPU_LOADS.get(i),
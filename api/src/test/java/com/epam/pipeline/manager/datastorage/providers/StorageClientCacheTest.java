@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.manager.datastorage.providers;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StorageClientCacheTest {
+
+    private static final int CACHE_SIZE = 10;
+    private static final long EXPIRATION = 1L;
+    private static final String REGION = "region";
+    private static final String ANOTHER_REGION = "anotherRegion";
+    private static final String PROFILE = "profile";
+
+    private final StorageClientCache cache = new StorageClientCache(CACHE_SIZE, EXPIRATION);
+    private final AtomicInteger builtClients = new AtomicInteger();
+
+    @Test
+    public void getShouldReuseClientWithTheSameKey() {
+        final Object client = cache.get(Object.class, this::buildClient, REGION, PROFILE, null);
+        final Object sameClient = cache.get(Object.class, this::buildClient, REGION, PROFILE, null);
+
+        assertSame(client, sameClient);
+        assertEquals(1, builtClients.get());
+    }
+
+    @Test
+    public void getShouldBuildClientForAnotherKey() {
+        final Object client = cache.get(Object.class, this::buildClient, REGION, PROFILE, null);
+        final Object anotherClient = cache.get(Object.class, this::buildClient, ANOTHER_REGION, PROFILE, null);
+
+        assertNotSame(client, anotherClient);
+        assertEquals(2, builtClients.get());
+    }
+
+    @Test
+    public void invalidateAllShouldReleaseLeasedClients() {
+        final List<Object> releasedClients = new ArrayList<>();
+        final Object client = leaseAndClose(cache, releasedClients, REGION);
+
+        cache.invalidateAll();
+
+        assertEquals(1, releasedClients.size());
+        assertSame(client, releasedClients.get(0));
+    }
+
+    @Test
+    public void evictionShouldReleaseUnusedClient() {
+        final StorageClientCache singleClientCache = new StorageClientCache(1, EXPIRATION);
+        final List<Object> releasedClients = new ArrayList<>();
+        final Object client = leaseAndClose(singleClientCache, releasedClients, REGION);
+        leaseAndClose(singleClientCache, releasedClients, ANOTHER_REGION);
+
+        assertEquals(1, releasedClients.size());
+        assertSame(client, releasedClients.get(0));
+    }
+
+    @Test
+    public void evictionShouldNotReleaseClientUntilItsLeasesAreClosed() {
+        final StorageClientCache singleClientCache = new StorageClientCache(1, EXPIRATION);
+        final List<Object> releasedClients = new ArrayList<>();
+        final StorageClientCache.Lease<Object> lease = singleClientCache.lease(Object.class, this::buildClient,
+                releasedClients::add, REGION, PROFILE, null);
+        final StorageClientCache.Lease<Object> anotherLease = singleClientCache.lease(Object.class,
+                this::buildClient, releasedClients::add, REGION, PROFILE, null);
+        leaseAndClose(singleClientCache, releasedClients, ANOTHER_REGION);
+
+        assertSame(lease.getClient(), anotherLease.getClient());
+        assertTrue(releasedClients.isEmpty());
+
+        lease.close();
+        lease.close();
+
+        assertTrue(releasedClients.isEmpty());
+
+        anotherLease.close();
+
+        assertEquals(1, releasedClients.size());
+        assertSame(lease.getClient(), releasedClients.get(0));
+    }
+
+    @Test
+    public void leaseShouldBuildNewClientAfterEviction() {
+        final StorageClientCache singleClientCache = new StorageClientCache(1, EXPIRATION);
+        final List<Object> releasedClients = new ArrayList<>();
+        final Object client = leaseAndClose(singleClientCache, releasedClients, REGION);
+        leaseAndClose(singleClientCache, releasedClients, ANOTHER_REGION);
+        final Object newClient = leaseAndClose(singleClientCache, releasedClients, REGION);
+
+        assertNotSame(client, newClient);
+        assertEquals(3, builtClients.get());
+    }
+
+    @Test
+    public void secretShouldNotBeKeptInKey() {
+        final String secret = StorageClientCache.secret("key");
+
+        assertNotEquals("key", secret);
+        assertEquals(secret, StorageClientCache.secret("key"));
+        assertNotEquals(secret, StorageClientCache.secret("anotherKey"));
+    }
+
+    private Object leaseAndClose(final StorageClientCache clientCache, final List<Object> releasedClients,
+                                 final String region) {
+        try (StorageClientCache.Lease<Object> lease = clientCache.lease(Object.class, this::buildClient,
+                releasedClients::add, region, PROFILE, null)) {
+            return lease.getClient();
+        }
+    }
+
+    private Object buildClient() {
+        builtClients.incrementAndGet();
+        return new Object();
+    }
+}
@@ -17,12 +17,19 @@
 package com.epam.pipeline.manager.datastorage.providers.aws.s3;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.CopyPartRequest;
+import com.amazonaws.services.s3.model.CopyPartResult;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GetObjectTaggingResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.model.Tag;
 import com.epam.pipeline.common.MessageHelper;
 import com.epam.pipeline.entity.datastorage.DataStorageException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -56,6 +63,13 @@ public class S3HelperTest {
     private static final String NO_VERSION = null;
     private static final long EXCEEDED_OBJECT_SIZE = Long.MAX_VALUE;
     private static final String SIZE_EXCEEDS_EXCEPTION_MESSAGE = "size exceeds the limit";
+    private static final long BIG_OBJECT_SIZE = 6L * 1024L * 1024L * 1024L; // 6gb
+    private static final int BIG_OBJECT_PARTS = 12;
+    private static final String UPLOAD_ID = "uploadId";
+    private static final String ETAG = "etag";
+    private static final String STORAGE_CLASS = "STANDARD_IA";
+    private static final String KMS_KEY_ID = "kmsKeyId";
+    private static final Tag TAG = new Tag("key", "value");
 
     private final AmazonS3 amazonS3 = mock(AmazonS3.class);
     private final MessageHelper messageHelper = mock(MessageHelper.class);
@@ -174,21 +188,43 @@ public class S3HelperTest {
     }
 
     @Test
-    public void testMoveFolderShouldThrowIfAtLeastOneOfItsFilesSizeExceedTheLimit() {
+    public void testMoveFolderShouldCopyFilesWhichSizeExceedsTheLimitInParts() {
+        final String fileOldPath = OLD_PATH + "/someBigFile";
+        final String fileNewPath = NEW_PATH + "/someBigFile";
         final ObjectListing sourceListing = new ObjectListing();
         sourceListing.setCommonPrefixes(Collections.singletonList(OLD_PATH));
         final ObjectListing destinationListing = new ObjectListing();
         destinationListing.setCommonPrefixes(Collections.emptyList());
         final ObjectListing bucketListing = spy(new ObjectListing());
         final S3ObjectSummary fileSummary = new S3ObjectSummary();
-        fileSummary.setKey(OLD_PATH + "/someBigFile");
-        fileSummary.setSize(EXCEEDED_OBJECT_SIZE);
+        fileSummary.setKey(fileOldPath);
+        fileSummary.setSize(BIG_OBJECT_SIZE);
         when(bucketListing.getObjectSummaries()).thenReturn(Collections.singletonList(fileSummary));
         when(amazonS3.listObjects(any(ListObjectsRequest.class)))
                 .thenReturn(sourceListing, destinationListing, bucketListing);
+        final ObjectMetadata fileMetadata = new ObjectMetadata();
+        fileMetadata.setContentLength(BIG_OBJECT_SIZE);
+        fileMetadata.setHeader(Headers.STORAGE_CLASS, STORAGE_CLASS);
+        fileMetadata.setHeader(Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID, KMS_KEY_ID);
+        when(amazonS3.getObjectMetadata(any())).thenReturn(fileMetadata);
+        when(amazonS3.getObjectTagging(any()))
+                .thenReturn(new GetObjectTaggingResult(Collections.singletonList(TAG)));
+        final InitiateMultipartUploadResult upload = new InitiateMultipartUploadResult();
+        upload.setUploadId(UPLOAD_ID);
+        when(amazonS3.initiateMultipartUpload(any())).thenReturn(upload);
+        final CopyPartResult part = new CopyPartResult();
+        part.setETag(ETAG);
+        when(amazonS3.copyPart(any())).thenReturn(part);
 
-        assertThrows(e -> e instanceof DataStorageException && e.getMessage().contains(SIZE_EXCEEDS_EXCEPTION_MESSAGE),
-            () -> helper.moveFolder(BUCKET, OLD_PATH, NEW_PATH));
+        helper.moveFolder(BUCKET, OLD_PATH, NEW_PATH);
+
+        verify(amazonS3, never()).copyObject(any());
+        verify(amazonS3).initiateMultipartUpload(argThat(hasSourceObjectSettings(fileNewPath)));
+        verify(amazonS3, times(BIG_OBJECT_PARTS)).copyPart(argThat(hasSourceAndDestinationPart(fileOldPath,
+                fileNewPath)));
+        verify(amazonS3).completeMultipartUpload(any());
+        verify(amazonS3).deleteObjects(argThat(hasPathsAndVersions(Collections.singletonMap(fileOldPath,
+                NO_VERSION))));
     }
 
     @Test
@@ -236,6 +272,44 @@ public class S3HelperTest {
         };
     }
 
+    private BaseMatcher<InitiateMultipartUploadRequest> hasSourceObjectSettings(final String destination) {
+        return new BaseMatcher<InitiateMultipartUploadRequest>() {
+            @Override
+            public boolean matches(final Object item) {
+                final InitiateMultipartUploadRequest casted = (InitiateMultipartUploadRequest) item;
+                return Objects.equals(casted.getKey(), destination)
+                        && Objects.equals(casted.getStorageClass(), STORAGE_CLASS)
+                        && casted.getSSEAwsKeyManagementParams() != null
+                        && Objects.equals(casted.getSSEAwsKeyManagementParams().getAwsKmsKeyId(), KMS_KEY_ID)
+                        && casted.getTagging() != null
+                        && Objects.equals(casted.getTagging().getTagSet(), Collections.singletonList(TAG));
+            }
+
+            @Override
+            public void describeTo(final Description description) {
+                description.appendText("Initiate upload request doesn't have source tags, storage class and key");
+            }
+        };
+    }
+
+    private BaseMatcher<CopyPartRequest> hasSourceAndDestinationPart(final String source,
+                                                                     final String destination) {
+        return new BaseMatcher<CopyPartRequest>() {
+            @Override
+            public boolean matches(final Object item) {
+                final CopyPartRequest casted = (CopyPartRequest) item;
+                return Objects.equals(casted.getSourceKey(), source)
+                        && Objects.equals(casted.getDestinationKey(), destination)
+                        && Objects.equals(casted.getUploadId(), UPLOAD_ID);
+            }
+
+            @Override
+            public void describeTo(final Description description) {
+                description.appendText("Copy part request doesn't have required source, destination and upload");
+            }
+        };
+    }
+
     private BaseMatcher<DeleteObjectsRequest> hasPathsAndVersions(final Map<String, String> pathVersionMap) {
         return new BaseMatcher<DeleteObjectsRequest>() {
             @Override
@@ -279,7 +279,7 @@ public class NFSStorageProviderTest extends AbstractSpringTest {
         Assert.assertNull(listing.getNextPageMarker());
 
         listing = nfsProvider.getItems(dataStorage, null, false, 1, null);
-        Assert.assertEquals("2", listing.getNextPageMarker());
+        Assert.assertEquals(testFolderName, listing.getNextPageMarker());
         listing = nfsProvider.getItems(dataStorage, null, false, 1, listing.getNextPageMarker());
         Assert.assertNull(listing.getNextPageMarker());
         Assert.assertFalse(listing.getResults().isEmpty());
@@ -309,6 +309,17 @@ public class AggregatingToolScanManagerTest {
         Assert.assertNotEquals(rescan.getScanDate(), result.getScanDate());
     }
 
+    @Test
+    public void testLayerNamesDependOnlyOnLayersChain() {
+        final String baseLayer = aggregatingToolScanManager.getLayerName(null, DIGEST_1);
+
+        Assert.assertEquals(baseLayer, aggregatingToolScanManager.getLayerName(null, DIGEST_1));
+        Assert.assertEquals(aggregatingToolScanManager.getLayerName(baseLayer, DIGEST_2),
+                aggregatingToolScanManager.getLayerName(baseLayer, DIGEST_2));
+        Assert.assertNotEquals(aggregatingToolScanManager.getLayerName(baseLayer, DIGEST_2),
+                aggregatingToolScanManager.getLayerName(null, DIGEST_2));
+    }
+
     @Test
     public void testGetSecurityPolicy() {
         ToolScanPolicy policy = aggregatingToolScanManager.getPolicy();
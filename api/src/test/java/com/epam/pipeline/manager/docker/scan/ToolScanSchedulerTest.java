@@ -27,6 +27,7 @@ import com.epam.pipeline.entity.pipeline.Tool;
 import com.epam.pipeline.entity.pipeline.ToolGroup;
 import com.epam.pipeline.entity.pipeline.ToolScanStatus;
 import com.epam.pipeline.entity.scan.*;
+import com.epam.pipeline.exception.ToolScanExternalServiceException;
 import com.epam.pipeline.manager.docker.DockerClient;
 import com.epam.pipeline.manager.docker.DockerClientFactory;
 import com.epam.pipeline.manager.docker.DockerRegistryManager;
@@ -74,6 +75,7 @@ public class ToolScanSchedulerTest extends AbstractSpringTest {
     private static final String TEST_LAYER_DIGEST = "testDigest";
     public static final long DOCKER_SIZE = 123456L;
     public static final String PREFERENCE_MANAGER = "preferenceManager";
+    private static final int SCAN_THREADS = 2;
 
     private ToolScanScheduler toolScanScheduler;
 
@@ -167,13 +169,74 @@ public class ToolScanSchedulerTest extends AbstractSpringTest {
     @Test
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
     public void testScheduledToolScan() {
+        mockScheduledScanPreferences();
+        createTool();
+
+        toolScanScheduler.scheduledToolScan();
+
+        ToolVersionScanResult versionScanResult = toolManager.loadToolVersionScan(tool.getId(), LATEST_VERSION).get();
+        Assert.assertNotNull(versionScanResult);
+        Assert.assertEquals(ToolScanStatus.COMPLETED, versionScanResult.getStatus());
+        Assert.assertNotNull(versionScanResult.getScanDate());
+
+        Vulnerability loaded = versionScanResult.getVulnerabilities().get(0);
+        TestUtils.checkEquals(vulnerability, loaded, objectMapper);
+
+        Optional<String> loadedRef = toolManager.loadToolVersionScan(tool.getId(), LATEST_VERSION)
+                .map(ToolVersionScanResult::getLastLayerRef);
+        Assert.assertTrue(loadedRef.isPresent());
+        Assert.assertEquals(TEST_LAYER_REF, loadedRef.get());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    public void testScheduledToolScanSkipsVersionsWithUnchangedDigest() throws ToolScanExternalServiceException {
+        mockScheduledScanPreferences();
+        createTool();
+        ToolVersion toolVersion = new ToolVersion();
+        toolVersion.setDigest(TEST_LAYER_DIGEST);
+        when(mockClient.getVersionAttributes(Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(toolVersion);
+
+        toolScanScheduler.scheduledToolScan();
+        toolScanScheduler.scheduledToolScan();
+
+        Mockito.verify(toolScanManager, Mockito.times(1))
+                .scanTool(Mockito.any(Tool.class), Mockito.anyString(), Mockito.anyBoolean());
+        ToolVersionScanResult versionScanResult = toolManager.loadToolVersionScan(tool.getId(), LATEST_VERSION).get();
+        Assert.assertEquals(ToolScanStatus.COMPLETED, versionScanResult.getStatus());
+        Assert.assertEquals(TEST_LAYER_REF, versionScanResult.getLastLayerRef());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    public void testScheduledToolScanMarksVersionFailedIfScanDiesWithError()
+            throws ToolScanExternalServiceException {
+        mockScheduledScanPreferences();
+        createTool();
+        when(toolScanManager.scanTool(Mockito.any(Tool.class), Mockito.anyString(), Mockito.anyBoolean()))
+                .thenThrow(new AssertionError("failure"));
+
+        toolScanScheduler.scheduledToolScan();
+
+        ToolVersionScanResult versionScanResult = toolManager.loadToolVersionScan(tool.getId(), LATEST_VERSION).get();
+        Assert.assertEquals(ToolScanStatus.FAILED, versionScanResult.getStatus());
+    }
+
+    private void mockScheduledScanPreferences() {
         PreferenceManager preferenceManager = mock(PreferenceManager.class);
         Whitebox.setInternalState(toolScanScheduler, PREFERENCE_MANAGER, preferenceManager);
         Whitebox.setInternalState(core, PREFERENCE_MANAGER, preferenceManager);
         when(preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ENABLED)).thenReturn(true);
         when(preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_ALL_REGISTRIES))
             .thenReturn(false);
+        when(preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_THREADS))
+            .thenReturn(SCAN_THREADS);
+        when(preferenceManager.getPreference(SystemPreferences.DOCKER_SECURITY_TOOL_SCAN_REGISTRY_THREADS))
+            .thenReturn(SCAN_THREADS);
+    }
 
+    private void createTool() {
         registry.setPath(TEST_REPO);
         registry.setOwner(TEST_USER);
         registry.setSecurityScanEnabled(true);
@@ -188,21 +251,6 @@ public class ToolScanSchedulerTest extends AbstractSpringTest {
         tool.setRegistryId(registry.getId());
         tool.setToolGroupId(toolGroup.getId());
         toolManager.create(tool, false);
-
-        toolScanScheduler.scheduledToolScan();
-
-        ToolVersionScanResult versionScanResult = toolManager.loadToolVersionScan(tool.getId(), LATEST_VERSION).get();
-        Assert.assertNotNull(versionScanResult);
-        Assert.assertEquals(ToolScanStatus.COMPLETED, versionScanResult.getStatus());
-        Assert.assertNotNull(versionScanResult.getScanDate());
-
-        Vulnerability loaded = versionScanResult.getVulnerabilities().get(0);
-        TestUtils.checkEquals(vulnerability, loaded, objectMapper);
-
-        Optional<String> loadedRef = toolManager.loadToolVersionScan(tool.getId(), LATEST_VERSION)
-                .map(ToolVersionScanResult::getLastLayerRef);
-        Assert.assertTrue(loadedRef.isPresent());
-        Assert.assertEquals(TEST_LAYER_REF, loadedRef.get());
     }
 
     @Test
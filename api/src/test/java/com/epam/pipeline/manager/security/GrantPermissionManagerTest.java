@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.security;
+
+import com.epam.pipeline.entity.AbstractSecuredEntity;
+import com.epam.pipeline.entity.pipeline.Folder;
+import com.epam.pipeline.entity.pipeline.Pipeline;
+import com.epam.pipeline.security.UserContext;
+import com.epam.pipeline.security.acl.AclPermission;
+import com.epam.pipeline.test.acl.AbstractAclTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.epam.pipeline.test.creator.CommonCreatorConstants.ID;
+import static com.epam.pipeline.test.creator.CommonCreatorConstants.ID_2;
+import static com.epam.pipeline.test.creator.CommonCreatorConstants.ID_3;
+import static com.epam.pipeline.test.creator.folder.FolderCreatorUtils.getFolder;
+import static com.epam.pipeline.test.creator.pipeline.PipelineCreatorUtils.getPipeline;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class GrantPermissionManagerTest extends AbstractAclTest {
+
+    private static final long ID_4 = 4L;
+
+    private final UserContext userContext = new UserContext(ID, SIMPLE_USER);
+    private final Folder parentFolder = getFolder(ID_4, null, ANOTHER_SIMPLE_USER);
+    private final Folder root = getFolder(ID_3, ID_4, ANOTHER_SIMPLE_USER);
+    private final Folder folder = getFolder(ID, ID_3, ANOTHER_SIMPLE_USER);
+    private final Folder anotherFolder = getFolder(ID_2, ID_3, ANOTHER_SIMPLE_USER);
+    private final Pipeline pipeline = getPipeline(ID, ANOTHER_SIMPLE_USER, ID);
+    private final Pipeline anotherPipeline = getPipeline(ID_2, ANOTHER_SIMPLE_USER, ID);
+    private final Pipeline thirdPipeline = getPipeline(ID_3, ANOTHER_SIMPLE_USER, ID_2);
+
+    @Autowired
+    private GrantPermissionManager grantPermissionManager;
+
+    @Test
+    public void shouldFilterTreeWithPrefetchedAclsAsWithPerEntityAcls() {
+        initTree();
+        mockUserContext(userContext);
+        final Map<ObjectIdentity, Acl> acls = toMap(
+                initAclEntity(root),
+                initAclEntity(folder, AclPermission.READ),
+                initAclEntity(anotherFolder),
+                initAclEntity(pipeline, AclPermission.READ),
+                initAclEntity(anotherPipeline),
+                initAclEntity(thirdPipeline));
+
+        assertSameVisibleItems(acls, Arrays.asList(folder.getId()), Arrays.asList(pipeline.getId()));
+    }
+
+    @Test
+    public void shouldFilterTreeWithPrefetchedInheritedAclsAsWithPerEntityAcls() {
+        initTree();
+        mockUserContext(userContext);
+        final AclImpl parentAcl = initAclEntity(parentFolder, AclPermission.READ);
+        final AclImpl rootAcl = initAclEntity(root);
+        rootAcl.setParent(parentAcl);
+        final Map<ObjectIdentity, Acl> acls = toMap(
+                rootAcl,
+                initAclEntity(folder),
+                initAclEntity(anotherFolder, AclPermission.NO_READ),
+                initAclEntity(pipeline),
+                initAclEntity(anotherPipeline, AclPermission.NO_READ),
+                initAclEntity(thirdPipeline, AclPermission.READ));
+
+        assertSameVisibleItems(acls, Arrays.asList(folder.getId(), anotherFolder.getId()),
+                Arrays.asList(pipeline.getId(), thirdPipeline.getId()));
+    }
+
+    private void assertSameVisibleItems(final Map<ObjectIdentity, Acl> acls, final List<Long> expectedFolders,
+                                        final List<Long> expectedPipelines) {
+        final Folder prefetched = root.copy();
+        doReturn(acls).when(aclService).getAcls(any());
+        grantPermissionManager.filterTree(SIMPLE_USER, prefetched, AclPermission.READ);
+        verify(aclService, never()).getAcl(any());
+
+        final Folder loadedPerEntity = root.copy();
+        doReturn(Collections.emptyMap()).when(aclService).getAcls(any());
+        grantPermissionManager.filterTree(SIMPLE_USER, loadedPerEntity, AclPermission.READ);
+
+        assertThat(folderIds(prefetched)).isEqualTo(expectedFolders).isEqualTo(folderIds(loadedPerEntity));
+        assertThat(pipelineIds(prefetched)).isEqualTo(expectedPipelines).isEqualTo(pipelineIds(loadedPerEntity));
+    }
+
+    private void initTree() {
+        folder.setPipelines(mutableListOf(pipeline, anotherPipeline));
+        anotherFolder.setPipelines(mutableListOf(thirdPipeline));
+        root.setChildFolders(mutableListOf(folder, anotherFolder));
+    }
+
+    private Map<ObjectIdentity, Acl> toMap(final AclImpl... acls) {
+        final Map<ObjectIdentity, Acl> result = new HashMap<>();
+        Arrays.stream(acls).forEach(acl -> result.put(acl.getObjectIdentity(), acl));
+        return result;
+    }
+
+    private List<Long> folderIds(final Folder tree) {
+        return tree.getChildFolders().stream()
+                .map(AbstractSecuredEntity::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> pipelineIds(final Folder tree) {
+        return tree.getChildFolders().stream()
+                .flatMap(child -> child.getPipelines().stream())
+                .map(AbstractSecuredEntity::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.utils;
+
+import com.epam.pipeline.manager.preference.PreferenceManager;
+import com.epam.pipeline.manager.preference.SystemPreferences;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class GlobalSearchElasticHelperTest {
+
+    private static final String HOST = "localhost";
+    private static final int PORT = 9200;
+    private static final String SCHEME = "http";
+    private static final int MAX_CONNECTIONS = 10;
+    private static final int TIMEOUT = 1000;
+
+    private final PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    private final GlobalSearchElasticHelper helper = new GlobalSearchElasticHelper(preferenceManager);
+
+    @Before
+    public void setUp() {
+        doReturn(HOST).when(preferenceManager).getPreference(SystemPreferences.SEARCH_ELASTIC_HOST);
+        doReturn(PORT).when(preferenceManager).getPreference(SystemPreferences.SEARCH_ELASTIC_PORT);
+        doReturn(SCHEME).when(preferenceManager).getPreference(SystemPreferences.SEARCH_ELASTIC_SCHEME);
+    }
+
+    @After
+    public void tearDown() {
+        helper.close();
+    }
+
+    @Test
+    public void getClientShouldReuseClientOfTheSameEndpoint() {
+        try (ElasticClientLease lease = helper.getClient(ElasticClientEndpoint.SEARCH);
+             ElasticClientLease sameLease = helper.getClient(ElasticClientEndpoint.SEARCH)) {
+            assertSame(lease.getClient(), sameLease.getClient());
+        }
+    }
+
+    @Test
+    public void getClientShouldBuildSeparateClientsForDifferentEndpoints() {
+        try (ElasticClientLease lease = helper.getClient(ElasticClientEndpoint.SEARCH);
+             ElasticClientLease anotherLease = helper.getClient(ElasticClientEndpoint.BILLING)) {
+            assertNotSame(lease.getClient(), anotherLease.getClient());
+        }
+    }
+
+    @Test
+    public void getClientShouldReuseClientIfSettingsAreNotChanged() {
+        mockSettings(new ElasticClientSettings(MAX_CONNECTIONS, TIMEOUT, TIMEOUT, TIMEOUT));
+        final RestHighLevelClient client = getClient(ElasticClientEndpoint.SEARCH);
+
+        mockSettings(new ElasticClientSettings(MAX_CONNECTIONS, TIMEOUT, TIMEOUT, TIMEOUT));
+
+        assertSame(client, getClient(ElasticClientEndpoint.SEARCH));
+    }
+
+    @Test
+    public void getClientShouldRebuildClientIfSettingsAreChanged() {
+        final RestHighLevelClient client = getClient(ElasticClientEndpoint.SEARCH);
+
+        mockSettings(new ElasticClientSettings(MAX_CONNECTIONS, TIMEOUT, TIMEOUT, TIMEOUT));
+
+        assertNotSame(client, getClient(ElasticClientEndpoint.SEARCH));
+    }
+
+    @Test
+    public void getClientShouldRebuildClientIfHostIsChanged() {
+        final RestHighLevelClient client = getClient(ElasticClientEndpoint.SEARCH);
+
+        doReturn("anotherHost").when(preferenceManager).getPreference(SystemPreferences.SEARCH_ELASTIC_HOST);
+
+        assertNotSame(client, getClient(ElasticClientEndpoint.SEARCH));
+    }
+
+    private RestHighLevelClient getClient(final ElasticClientEndpoint endpoint) {
+        try (ElasticClientLease lease = helper.getClient(endpoint)) {
+            return lease.getClient();
+        }
+    }
+
+    private void mockSettings(final ElasticClientSettings settings) {
+        doReturn(Collections.singletonMap(ElasticClientEndpoint.SEARCH, settings))
+                .when(preferenceManager).getPreference(SystemPreferences.SEARCH_ELASTIC_CLIENT_SETTINGS);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.manager.utils;
+
+import org.apache.http.HttpHost;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.elasticsearch.client.RestClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PooledElasticClientTest {
+
+    private PooledElasticClient client;
+
+    @Before
+    public void setUp() throws IOReactorException {
+        client = new PooledElasticClient(ElasticClientEndpoint.SEARCH, new Object(),
+                RestClient.builder(new HttpHost("localhost", 9200, "http")), new ElasticClientSettings());
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+    }
+
+    @Test
+    public void retireShouldCloseClientWithoutLeases() {
+        client.retire();
+
+        assertTrue(client.isClosed());
+    }
+
+    @Test
+    public void retireShouldNotCloseClientUntilAllLeasesAreReleased() {
+        final ElasticClientLease lease = client.acquire().orElseThrow(IllegalStateException::new);
+        final ElasticClientLease anotherLease = client.acquire().orElseThrow(IllegalStateException::new);
+
+        client.retire();
+        lease.close();
+        lease.close();
+
+        assertFalse(client.isClosed());
+
+        anotherLease.close();
+
+        assertTrue(client.isClosed());
+    }
+
+    @Test
+    public void retiredClientShouldNotBeLeased() {
+        client.retire();
+
+        assertFalse(client.acquire().isPresent());
+    }
+}
@@ -33,6 +33,7 @@ import com.epam.pipeline.billingreportagent.service.impl.converter.PriceLoadingM
 import com.epam.pipeline.billingreportagent.service.impl.converter.StoragePricingService;
 import com.epam.pipeline.billingreportagent.service.impl.converter.StorageToBillingRequestConverter;
 import com.epam.pipeline.billingreportagent.service.impl.loader.CloudRegionLoader;
+import com.epam.pipeline.billingreportagent.service.impl.synchronizer.BillingRollupSynchronizer;
 import com.epam.pipeline.billingreportagent.service.impl.synchronizer.PipelineRunSynchronizer;
 import com.epam.pipeline.billingreportagent.service.impl.synchronizer.StorageSynchronizer;
 import com.epam.pipeline.billingreportagent.service.impl.loader.PipelineRunLoader;
@@ -76,6 +77,12 @@ public class CommonSyncConfiguration {
     @Value("${sync.storage.historical.billing.generation:false}")
     private boolean enableStorageHistoricalBillingGeneration;
 
+    @Value("${sync.storage.size.batch.size:100}")
+    private int storageSizeBatchSize;
+
+    @Value("${sync.storage.conversion.threads:4}")
+    private int storageConversionThreads;
+
     @Bean
     public BulkRequestSender bulkRequestSender(
             final ElasticsearchServiceClient elasticsearchClient) {
@@ -90,7 +97,8 @@ public class CommonSyncConfiguration {
             final ElasticIndexService indexService,
             final ElasticsearchServiceClient elasticsearchClient,
             final @Value("${sync.run.index.name}") String runIndexName,
-            final @Value("${sync.run.index.mapping}") String runMapping) {
+            final @Value("${sync.run.index.mapping}") String runMapping,
+            final @Value("${sync.run.chunk.size:1000}") int runChunkSize) {
         return new PipelineRunSynchronizer(runMapping,
                 commonIndexPrefix,
                 runIndexName,
@@ -99,7 +107,31 @@ public class CommonSyncConfiguration {
                 elasticsearchClient,
                 indexService,
                 mapper,
-                loader);
+                loader,
+                runChunkSize);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "sync.billing.rollup.disable", matchIfMissing = true, havingValue = FALSE)
+    public ElasticsearchSynchronizer billingRollupSynchronizer(
+            final ElasticIndexService indexService,
+            final ElasticsearchServiceClient elasticsearchClient,
+            final @Value("${sync.billing.rollup.index.mapping}") String rollupMapping,
+            final @Value("${sync.billing.rollup.index.name:rollup-}") String rollupIndexName,
+            final @Value("${sync.billing.rollup.dimensions:resource_type,compute_type,instance_type,pipeline,tool,"
+                    + "storage_id,storage_type,owner,billing_center}") String rollupDimensions,
+            final @Value("${sync.billing.rollup.initial.months:12}") int rollupInitialMonths,
+            final @Value("${sync.billing.rollup.recompute.days:7}") int rollupRecomputeDays) {
+        return new BillingRollupSynchronizer(rollupMapping,
+                commonIndexPrefix,
+                rollupIndexName,
+                rollupDimensions,
+                rollupInitialMonths,
+                rollupRecomputeDays,
+                bulkSize,
+                insertTimeout,
+                elasticsearchClient,
+                indexService);
     }
 
     @Bean
@@ -128,7 +160,9 @@ public class CommonSyncConfiguration {
                         StorageType.OBJECT_STORAGE,
                         pricingService,
                         fileIndexPattern,
-                        enableStorageHistoricalBillingGeneration),
+                        enableStorageHistoricalBillingGeneration,
+                        storageSizeBatchSize,
+                        storageConversionThreads),
                 DataStorageType.S3);
     }
 
@@ -161,7 +195,9 @@ public class CommonSyncConfiguration {
                         fileIndexPattern,
                         fileShareMountsService,
                         MountType.NFS,
-                        enableStorageHistoricalBillingGeneration),
+                        enableStorageHistoricalBillingGeneration,
+                        storageSizeBatchSize,
+                        storageConversionThreads),
                 DataStorageType.NFS);
     }
 
@@ -185,7 +221,9 @@ public class CommonSyncConfiguration {
                         StorageType.OBJECT_STORAGE,
                         pricingService,
                         fileIndexPattern,
-                        enableStorageHistoricalBillingGeneration),
+                        enableStorageHistoricalBillingGeneration,
+                        storageSizeBatchSize,
+                        storageConversionThreads),
                 DataStorageType.GS);
     }
 
@@ -220,7 +258,9 @@ public class CommonSyncConfiguration {
                         StorageType.OBJECT_STORAGE,
                         pricingService,
                         fileIndexPattern,
-                        enableStorageHistoricalBillingGeneration),
+                        enableStorageHistoricalBillingGeneration,
+                        storageSizeBatchSize,
+                        storageConversionThreads),
                 DataStorageType.AZ);
     }
 
@@ -252,7 +292,9 @@ public class CommonSyncConfiguration {
                         fileIndexPattern,
                         fileShareMountsService,
                         MountType.NFS,
-                        enableStorageHistoricalBillingGeneration),
+                        enableStorageHistoricalBillingGeneration,
+                        storageSizeBatchSize,
+                        storageConversionThreads),
                 DataStorageType.NFS);
     }
 
@@ -284,7 +326,9 @@ public class CommonSyncConfiguration {
                                                                             fileIndexPattern,
                                                                             fileShareMountsService,
                                                                             MountType.SMB,
-                                                                            enableStorageHistoricalBillingGeneration),
+                                                                            enableStorageHistoricalBillingGeneration,
+                                                                            storageSizeBatchSize,
+                                                                            storageConversionThreads),
                                        DataStorageType.NFS);
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.model.billing;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Periods which billing documents are pre-aggregated by.
+ */
+public enum BillingRollupPeriod {
+
+    MONTH(TemporalAdjusters.firstDayOfMonth(), TemporalAdjusters.lastDayOfMonth()),
+    WEEK(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY), TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+    private final TemporalAdjuster startAdjuster;
+    private final TemporalAdjuster endAdjuster;
+
+    BillingRollupPeriod(final TemporalAdjuster startAdjuster, final TemporalAdjuster endAdjuster) {
+        this.startAdjuster = startAdjuster;
+        this.endAdjuster = endAdjuster;
+    }
+
+    public LocalDate getStart(final LocalDate date) {
+        return date.with(startAdjuster);
+    }
+
+    public LocalDate getEnd(final LocalDate date) {
+        return date.with(endAdjuster);
+    }
+
+    public LocalDate getNextStart(final LocalDate date) {
+        return getEnd(date).plusDays(1);
+    }
+
+    public String getIndexName() {
+        return name().toLowerCase();
+    }
+}
@@ -18,6 +18,8 @@ package com.epam.pipeline.billingreportagent.service;
 
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 
@@ -38,4 +40,6 @@ public interface ElasticsearchServiceClient {
     String getIndexNameByAlias(String alias);
 
     SearchResponse search(SearchRequest request);
+
+    MultiSearchResponse multiSearch(MultiSearchRequest request);
 }
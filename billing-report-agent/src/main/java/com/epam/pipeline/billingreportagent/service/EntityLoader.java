@@ -40,8 +40,21 @@ public interface EntityLoader<T> {
 
     List<EntityContainer<T>> loadAllEntities();
 
+    default Stream<EntityContainer<T>> streamAllEntities() {
+        return loadAllEntities().stream();
+    }
+
     List<EntityContainer<T>> loadAllEntitiesActiveInPeriod(LocalDateTime from, LocalDateTime to);
 
+    /**
+     * Lazily loads entities active in the specified period. Loaders which are able to page entities
+     * should override this method to avoid holding all the entities in memory.
+     */
+    default Stream<EntityContainer<T>> streamAllEntitiesActiveInPeriod(final LocalDateTime from,
+                                                                      final LocalDateTime to) {
+        return loadAllEntitiesActiveInPeriod(from, to).stream();
+    }
+
     default Map<String, EntityWithMetadata<PipelineUser>> prepareUsers(final CloudPipelineAPIClient apiClient) {
 
         final Map<String, PipelineUser> users =
@@ -29,6 +29,8 @@ import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
 import org.elasticsearch.action.admin.indices.get.GetIndexResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -169,4 +171,13 @@ public class ElasticsearchServiceClientImpl implements ElasticsearchServiceClien
             throw new ElasticsearchException("Failed to find results for search query:" + e.getMessage(), e);
         }
     }
+
+    @Override
+    public MultiSearchResponse multiSearch(final MultiSearchRequest request) {
+        try {
+            return client.msearch(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new ElasticsearchException("Failed to find results for multi search query:" + e.getMessage(), e);
+        }
+    }
 }
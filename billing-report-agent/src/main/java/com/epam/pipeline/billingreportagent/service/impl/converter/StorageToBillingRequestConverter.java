@@ -33,11 +33,15 @@ import com.epam.pipeline.entity.datastorage.NFSDataStorage;
 import com.epam.pipeline.entity.datastorage.S3bucketDataStorage;
 import com.epam.pipeline.entity.user.PipelineUser;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.metrics.sum.ParsedSum;
@@ -51,11 +55,15 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -66,6 +74,7 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
     private static final String SIZE_FIELD = "size";
     private static final String REGION_FIELD = "storage_region";
     private static final RoundingMode ROUNDING_MODE = RoundingMode.CEILING;
+    private static final int SINGLE_STORAGE_BATCH = 1;
 
     private final AbstractEntityMapper<StorageBillingInfo> mapper;
     private final ElasticsearchServiceClient elasticsearchService;
@@ -75,6 +84,15 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
     private final Optional<FileShareMountsService> fileshareMountsService;
     private final MountType desiredMountType;
     private boolean enableStorageHistoricalBillingGeneration;
+    /**
+     * Number of storages which sizes are requested from Elasticsearch with a single multi search request.
+     * If it is not greater than 1, sizes are requested one storage after another.
+     */
+    private final int sizeBatchSize;
+    /**
+     * Number of storage batches which are requested and converted concurrently.
+     */
+    private final int conversionThreads;
 
     public StorageToBillingRequestConverter(final AbstractEntityMapper<StorageBillingInfo> mapper,
                                             final ElasticsearchServiceClient elasticsearchService,
@@ -86,6 +104,18 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
              enableStorageHistoricalBillingGeneration);
     }
 
+    public StorageToBillingRequestConverter(final AbstractEntityMapper<StorageBillingInfo> mapper,
+                                            final ElasticsearchServiceClient elasticsearchService,
+                                            final StorageType storageType,
+                                            final StoragePricingService storagePricing,
+                                            final String esFileIndexPattern,
+                                            final boolean enableStorageHistoricalBillingGeneration,
+                                            final int sizeBatchSize,
+                                            final int conversionThreads) {
+        this(mapper, elasticsearchService, storageType, storagePricing, esFileIndexPattern, null, null,
+             enableStorageHistoricalBillingGeneration, sizeBatchSize, conversionThreads);
+    }
+
     public StorageToBillingRequestConverter(final AbstractEntityMapper<StorageBillingInfo> mapper,
                                             final ElasticsearchServiceClient elasticsearchService,
                                             final StorageType storageType,
@@ -94,6 +124,20 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
                                             final FileShareMountsService fileshareMountsService,
                                             final MountType desiredMountType,
                                             final boolean enableStorageHistoricalBillingGeneration) {
+        this(mapper, elasticsearchService, storageType, storagePricing, esFileIndexPattern, fileshareMountsService,
+             desiredMountType, enableStorageHistoricalBillingGeneration, SINGLE_STORAGE_BATCH, 1);
+    }
+
+    public StorageToBillingRequestConverter(final AbstractEntityMapper<StorageBillingInfo> mapper,
+                                            final ElasticsearchServiceClient elasticsearchService,
+                                            final StorageType storageType,
+                                            final StoragePricingService storagePricing,
+                                            final String esFileIndexPattern,
+                                            final FileShareMountsService fileshareMountsService,
+                                            final MountType desiredMountType,
+                                            final boolean enableStorageHistoricalBillingGeneration,
+                                            final int sizeBatchSize,
+                                            final int conversionThreads) {
         this.mapper = mapper;
         this.elasticsearchService = elasticsearchService;
         this.storageType = storageType;
@@ -102,6 +146,8 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
         this.fileshareMountsService = Optional.ofNullable(fileshareMountsService);
         this.desiredMountType = desiredMountType;
         this.enableStorageHistoricalBillingGeneration = enableStorageHistoricalBillingGeneration;
+        this.sizeBatchSize = sizeBatchSize;
+        this.conversionThreads = Math.max(1, conversionThreads);
     }
 
     @Override
@@ -112,11 +158,8 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
         final Long storageId = storageContainer.getEntity().getId();
         final DataStorageType storageType = storageContainer.getEntity().getType();
         return requestSumAggregationForStorage(storageId, storageType)
-            .map(searchResponse -> enableStorageHistoricalBillingGeneration
-                                   ? buildRequestsForGivenPeriod(storageContainer, indexPrefix, previousSync, syncStart,
-                                                                 searchResponse)
-                                   : buildRequestsForGivenDate(storageContainer, indexPrefix, searchResponse,
-                                                               syncStart))
+            .map(searchResponse -> buildRequests(storageContainer, indexPrefix, previousSync, syncStart,
+                                                 searchResponse))
             .orElse(Collections.emptyList());
     }
 
@@ -133,28 +176,100 @@ public class StorageToBillingRequestConverter implements EntityToBillingRequestC
                 return !desiredMountType.equals(service.getMountTypeForShare(fileShareMountId));
             });
         });
-        return EntityToBillingRequestConverter.super
-            .convertEntitiesToRequests(containers, indexName, previousSync, syncStart);
+        if (sizeBatchSize <= SINGLE_STORAGE_BATCH || containers.isEmpty()) {
+            return EntityToBillingRequestConverter.super
+                .convertEntitiesToRequests(containers, indexName, previousSync, syncStart);
+        }
+        return convertEntitiesInBatches(containers, indexName, previousSync, syncStart);
+    }
+
+    /**
+     * Splits storages into batches of {@link #sizeBatchSize} and processes them on a pool of
+     * {@link #conversionThreads} threads. Sizes of all storages of a batch are requested with a single
+     * multi search request, the order of resulting requests matches the order of the given storages.
+     */
+    private List<DocWriteRequest> convertEntitiesInBatches(final List<EntityContainer<AbstractDataStorage>> containers,
+                                                           final String indexPrefix,
+                                                           final LocalDateTime previousSync,
+                                                           final LocalDateTime syncStart) {
+        final List<List<EntityContainer<AbstractDataStorage>>> batches = ListUtils.partition(containers, sizeBatchSize);
+        log.debug("Requesting sizes of {} storage(s) in {} batch(es).", containers.size(), batches.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(conversionThreads, batches.size()));
+        try {
+            final List<CompletableFuture<List<DocWriteRequest>>> results = batches.stream()
+                .map(batch -> CompletableFuture.supplyAsync(
+                    () -> convertBatch(batch, indexPrefix, previousSync, syncStart), executor))
+                .collect(Collectors.toList());
+            return results.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<DocWriteRequest> convertBatch(final List<EntityContainer<AbstractDataStorage>> batch,
+                                               final String indexPrefix,
+                                               final LocalDateTime previousSync,
+                                               final LocalDateTime syncStart) {
+        final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+        batch.forEach(container -> multiSearchRequest.add(
+            buildSumAggregationRequest(getStorageIndex(container.getEntity().getId(),
+                                                       container.getEntity().getType()))
+                .indicesOptions(IndicesOptions.lenientExpandOpen())));
+        final MultiSearchResponse.Item[] responses = elasticsearchService.multiSearch(multiSearchRequest)
+            .getResponses();
+        final List<DocWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            final EntityContainer<AbstractDataStorage> container = batch.get(i);
+            final MultiSearchResponse.Item item = responses[i];
+            if (item.isFailure()) {
+                log.warn("Failed to request size of storage #{}: {}", container.getEntity().getId(),
+                         item.getFailureMessage());
+                continue;
+            }
+            requests.addAll(buildRequests(container, indexPrefix, previousSync, syncStart, item.getResponse()));
+        }
+        return requests;
+    }
+
+    private List<DocWriteRequest> buildRequests(final EntityContainer<AbstractDataStorage> container,
+                                                final String indexPrefix,
+                                                final LocalDateTime previousSync,
+                                                final LocalDateTime syncStart,
+                                                final SearchResponse searchResponse) {
+        return enableStorageHistoricalBillingGeneration
+               ? buildRequestsForGivenPeriod(container, indexPrefix, previousSync, syncStart, searchResponse)
+               : buildRequestsForGivenDate(container, indexPrefix, searchResponse, syncStart);
     }
 
     private Optional<SearchResponse> requestSumAggregationForStorage(final Long storageId,
                                                                      final DataStorageType storageType) {
-        final String searchIndex = String.format(esFileIndexPattern,
-                                                 storageType.toString().toLowerCase(),
-                                                 DataStorageType.AZ.equals(storageType) ? "blob" : "file",
-                                                 storageId);
+        final String searchIndex = getStorageIndex(storageId, storageType);
         if (elasticsearchService.isIndexExists(searchIndex)) {
-            final SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(searchIndex);
-            final SumAggregationBuilder sizeSumAgg = AggregationBuilders.sum(STORAGE_SIZE_AGG_NAME).field(SIZE_FIELD);
-            final SearchSourceBuilder sizeSumSearch = new SearchSourceBuilder().aggregation(sizeSumAgg);
-            searchRequest.source(sizeSumSearch);
-            return Optional.of(elasticsearchService.search(searchRequest));
+            return Optional.of(elasticsearchService.search(buildSumAggregationRequest(searchIndex)));
         } else {
             return Optional.empty();
         }
     }
 
+    private String getStorageIndex(final Long storageId, final DataStorageType storageType) {
+        return String.format(esFileIndexPattern,
+                             storageType.toString().toLowerCase(),
+                             DataStorageType.AZ.equals(storageType) ? "blob" : "file",
+                             storageId);
+    }
+
+    private SearchRequest buildSumAggregationRequest(final String searchIndex) {
+        final SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(searchIndex);
+        final SumAggregationBuilder sizeSumAgg = AggregationBuilders.sum(STORAGE_SIZE_AGG_NAME).field(SIZE_FIELD);
+        final SearchSourceBuilder sizeSumSearch = new SearchSourceBuilder().aggregation(sizeSumAgg);
+        searchRequest.source(sizeSumSearch);
+        return searchRequest;
+    }
+
     private List<DocWriteRequest> buildRequestFromAggregation(final EntityContainer<AbstractDataStorage> container,
                                                               final LocalDateTime syncStart,
                                                               final SearchResponse response,
@@ -30,6 +30,7 @@ import com.epam.pipeline.entity.pipeline.run.parameter.PipelineRunParameter;
 import com.epam.pipeline.entity.user.PipelineUser;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -38,11 +39,14 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @Slf4j
@@ -66,43 +70,53 @@ public class PipelineRunLoader implements EntityLoader<PipelineRunWithType> {
         return loadAllEntitiesActiveInPeriod(LocalDate.ofEpochDay(0).atStartOfDay(), LocalDateTime.now());
     }
 
+    @Override
+    public Stream<EntityContainer<PipelineRunWithType>> streamAllEntities() {
+        return streamAllEntitiesActiveInPeriod(LocalDate.ofEpochDay(0).atStartOfDay(), LocalDateTime.now());
+    }
+
     @Override
     public List<EntityContainer<PipelineRunWithType>> loadAllEntitiesActiveInPeriod(final LocalDateTime from,
                                                                                     final LocalDateTime to) {
-        final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata = prepareUsers(apiClient);
-
-        final List<PipelineRun> runs = getRuns(from, to);
-
-        final Map<Long, List<InstanceType>> regionOffers = runs.stream()
-                .map(PipelineRun::getInstance)
-                .map(RunInstance::getCloudRegionId)
-                .distinct()
-                .collect(Collectors
-                        .toMap(Function.identity(), apiClient::loadAllInstanceTypesForRegion));
+        return streamAllEntitiesActiveInPeriod(from, to).collect(Collectors.toList());
+    }
 
-        return runs
-                .stream()
+    /**
+     * Loads runs active in the specified period page by page, each page covers {@code loadStep} days.
+     * Runs which are active in several pages are returned only once.
+     */
+    @Override
+    public Stream<EntityContainer<PipelineRunWithType>> streamAllEntitiesActiveInPeriod(final LocalDateTime from,
+                                                                                       final LocalDateTime to) {
+        final Map<String, EntityWithMetadata<PipelineUser>> usersWithMetadata = prepareUsers(apiClient);
+        final Map<Long, List<InstanceType>> regionOffers = new ConcurrentHashMap<>();
+        final Set<Long> loadedRuns = new HashSet<>();
+        return getPeriods(from, to).stream()
+                .flatMap(period -> getRuns(period.getLeft(), period.getRight()).stream())
+                .filter(run -> loadedRuns.add(run.getId()))
                 .map(run -> EntityContainer.<PipelineRunWithType>builder()
                         .entity(new PipelineRunWithType(run, loadDisks(run), getRunType(run, regionOffers)))
                         .owner(getOwner(run, usersWithMetadata))
-                        .build())
-                .collect(Collectors.toList());
+                        .build());
     }
 
-    private List<PipelineRun> getRuns(final LocalDateTime from, final LocalDateTime to) {
+    private List<Pair<LocalDateTime, LocalDateTime>> getPeriods(final LocalDateTime from, final LocalDateTime to) {
         LocalDateTime start = from;
-        final List<PipelineRun> runs = new ArrayList<>();
+        final List<Pair<LocalDateTime, LocalDateTime>> periods = new ArrayList<>();
         while (start.isBefore(to)) {
             final LocalDateTime next = start.plusDays(loadStep).isAfter(to) ? to : start.plusDays(loadStep);
-            log.debug("Loading runs from {} to {}", start, next);
-            runs.addAll(
-                    ListUtils.emptyIfNull(
-                            apiClient.loadAllPipelineRunsActiveInPeriod(
-                                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start),
-                                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(next))));
+            periods.add(Pair.of(start, next));
             start = next;
         }
-        return runs;
+        return periods;
+    }
+
+    private List<PipelineRun> getRuns(final LocalDateTime from, final LocalDateTime to) {
+        log.debug("Loading runs from {} to {}", from, to);
+        return ListUtils.emptyIfNull(
+                apiClient.loadAllPipelineRunsActiveInPeriod(
+                        DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(from),
+                        DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(to)));
     }
 
     private List<NodeDisk> loadDisks(final PipelineRun run) {
@@ -114,7 +128,8 @@ public class PipelineRunLoader implements EntityLoader<PipelineRunWithType> {
     }
 
     private ComputeType getRunType(final PipelineRun run, final Map<Long, List<InstanceType>> regionOffers) {
-        return regionOffers.get(run.getInstance().getCloudRegionId())
+        return regionOffers.computeIfAbsent(run.getInstance().getCloudRegionId(),
+                    regionId -> ListUtils.emptyIfNull(apiClient.loadAllInstanceTypesForRegion(regionId)))
                 .stream()
                 .filter(instanceOffer -> instanceOffer.getName().equals(run.getInstance().getNodeType()))
                 .findAny()
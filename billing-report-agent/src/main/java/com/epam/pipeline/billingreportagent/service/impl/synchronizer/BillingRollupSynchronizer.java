@@ -0,0 +1,272 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl.synchronizer;
+
+import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
+import com.epam.pipeline.billingreportagent.model.billing.BillingRollupPeriod;
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.billingreportagent.service.ElasticsearchSynchronizer;
+import com.epam.pipeline.billingreportagent.service.EntityToBillingRequestConverter;
+import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
+import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.sum.Sum;
+import org.elasticsearch.search.aggregations.metrics.valuecount.ValueCount;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains pre-aggregated billing indices: for each of {@link BillingRollupPeriod} and each grouping dimension
+ * a separate index is kept, which contains a single document per period, dimension value and resource type
+ * with summarized cost, run usage and run count.
+ *
+ * Only completed periods are rolled up. The date until which all periods are rolled up is stored in a separate
+ * state index, so consumers can decide which part of a requested period can be served from rollups.
+ *
+ * Billing documents may be written or rewritten after their period is completed, f.e. for runs which
+ * are synchronized late. Therefore periods which end within a trailing recompute window are rolled up again
+ * on each synchronization.
+ */
+@Data
+@Slf4j
+public class BillingRollupSynchronizer implements ElasticsearchSynchronizer {
+
+    public static final String ROLLUP_DOC_TYPE = "BILLING_ROLLUP";
+    public static final String STATE_INDEX_NAME = "state";
+    public static final String COMPLETE_UNTIL_FIELD = "complete_until";
+    public static final String PERIOD_END_FIELD = "period_end";
+    public static final String RUN_COUNT_FIELD = "run_count";
+
+    private static final String RESOURCE_TYPE_FIELD = "resource_type";
+    private static final String BILLING_DATE_FIELD = "created_date";
+    private static final String COST_FIELD = "cost";
+    private static final String RUN_USAGE_FIELD = "usage_minutes";
+    private static final String RUN_ID_FIELD = "run_id";
+    private static final String MONTHLY_INDEX_PATTERN = "*%d-%02d-*";
+    private static final String SEPARATOR = "-";
+    private static final String DOC_ID_SEPARATOR = "_";
+
+    private final String rollupIndexMappingFile;
+    private final String billingIndexPrefix;
+    private final String rollupIndexPrefix;
+    private final List<String> dimensions;
+    private final int initialMonths;
+    private final int recomputeDays;
+    private final ElasticsearchServiceClient elasticsearchClient;
+    private final ElasticIndexService indexService;
+    private final BulkRequestSender requestSender;
+
+    public BillingRollupSynchronizer(final String rollupIndexMappingFile,
+                                     final String billingIndexPrefix,
+                                     final String rollupIndexName,
+                                     final String dimensions,
+                                     final int initialMonths,
+                                     final int recomputeDays,
+                                     final Integer bulkInsertSize,
+                                     final Long insertTimeout,
+                                     final ElasticsearchServiceClient elasticsearchClient,
+                                     final ElasticIndexService indexService) {
+        this.rollupIndexMappingFile = rollupIndexMappingFile;
+        this.billingIndexPrefix = billingIndexPrefix;
+        this.rollupIndexPrefix = billingIndexPrefix + rollupIndexName;
+        this.dimensions = Arrays.stream(StringUtils.split(StringUtils.defaultString(dimensions), ','))
+            .map(String::trim)
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toList());
+        this.initialMonths = initialMonths;
+        this.recomputeDays = recomputeDays;
+        this.elasticsearchClient = elasticsearchClient;
+        this.indexService = indexService;
+        this.requestSender = new BulkRequestSender(elasticsearchClient, bulkInsertSize, insertTimeout);
+    }
+
+    /**
+     * Rolls up all periods which are completed before the previous synchronization and were not rolled up yet
+     * or end within the recompute window. Billing documents of the current synchronization are written
+     * concurrently, so they are not taken into account until the next run.
+     */
+    @Override
+    public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
+        if (lastSyncTime == null) {
+            log.debug("Billing data was not synchronized yet, rollups are skipped.");
+            return;
+        }
+        final LocalDate completeUntil = lastSyncTime.toLocalDate();
+        Arrays.stream(BillingRollupPeriod.values())
+            .forEach(period -> synchronizePeriod(period, completeUntil));
+    }
+
+    private void synchronizePeriod(final BillingRollupPeriod period, final LocalDate completeUntil) {
+        final LocalDate firstStart = loadCompleteUntil(period)
+            .map(rolledUpUntil -> getFirstStart(period, rolledUpUntil, completeUntil))
+            .orElseGet(() -> period.getStart(completeUntil.minusMonths(initialMonths)));
+        final List<LocalDate> periodStarts = Stream.iterate(firstStart, period::getNextStart)
+            .limit(Math.max(0, ChronoUnit.DAYS.between(firstStart, completeUntil)))
+            .filter(start -> period.getEnd(start).isBefore(completeUntil))
+            .collect(Collectors.toList());
+        if (periodStarts.isEmpty()) {
+            log.debug("No completed {} billing periods to roll up.", period.getIndexName());
+            return;
+        }
+        log.debug("Rolling up {} {} billing period(s) starting from {}.",
+                  periodStarts.size(), period.getIndexName(), firstStart);
+        try {
+            for (final String dimension : dimensions) {
+                final String index = getRollupIndex(period, dimension);
+                indexService.createIndexIfNotExists(index, rollupIndexMappingFile);
+                final List<DocWriteRequest> requests = periodStarts.stream()
+                    .flatMap(start -> buildRollupRequests(index, dimension, start, period.getEnd(start)))
+                    .collect(Collectors.toList());
+                log.debug("Inserting {} rollup document(s) into index {}.", requests.size(), index);
+                requestSender.indexDocuments(requests);
+            }
+            saveCompleteUntil(period, period.getNextStart(periodStarts.get(periodStarts.size() - 1)));
+        } catch (ElasticClientException e) {
+            log.error("Failed to roll up {} billing periods: {}", period.getIndexName(), e.getMessage());
+        }
+    }
+
+    private LocalDate getFirstStart(final BillingRollupPeriod period, final LocalDate rolledUpUntil,
+                                    final LocalDate completeUntil) {
+        final LocalDate recomputeFrom = completeUntil.minusDays(recomputeDays);
+        return period.getStart(recomputeFrom.isBefore(rolledUpUntil) ? recomputeFrom : rolledUpUntil);
+    }
+
+    private Stream<DocWriteRequest> buildRollupRequests(final String index, final String dimension,
+                                                        final LocalDate start, final LocalDate end) {
+        final SearchRequest request = new SearchRequest()
+            .indicesOptions(IndicesOptions.lenientExpandOpen())
+            .indices(getBillingIndices(start, end))
+            .source(new SearchSourceBuilder()
+                        .size(0)
+                        .query(QueryBuilders.rangeQuery(BILLING_DATE_FIELD)
+                                   .from(start.toString(), true)
+                                   .to(end.toString(), true))
+                        .aggregation(AggregationBuilders.terms(dimension)
+                                         .field(dimension)
+                                         .size(Integer.MAX_VALUE)
+                                         .subAggregation(AggregationBuilders.terms(RESOURCE_TYPE_FIELD)
+                                             .field(RESOURCE_TYPE_FIELD)
+                                             .subAggregation(AggregationBuilders.sum(COST_FIELD)
+                                                                 .field(COST_FIELD))
+                                             .subAggregation(AggregationBuilders.sum(RUN_USAGE_FIELD)
+                                                                 .field(RUN_USAGE_FIELD))
+                                             .subAggregation(AggregationBuilders.count(RUN_COUNT_FIELD)
+                                                                 .field(RUN_ID_FIELD)))));
+        final SearchResponse response = elasticsearchClient.search(request);
+        return termBuckets(response.getAggregations(), dimension)
+            .flatMap(bucket -> termBuckets(bucket.getAggregations(), RESOURCE_TYPE_FIELD)
+                .map(typeBucket -> buildRollupRequest(index, dimension, bucket.getKeyAsString(), typeBucket,
+                                                      start, end)));
+    }
+
+    private DocWriteRequest buildRollupRequest(final String index, final String dimension, final String value,
+                                               final Terms.Bucket typeBucket,
+                                               final LocalDate start, final LocalDate end) {
+        final String resourceType = typeBucket.getKeyAsString();
+        final Aggregations aggregations = typeBucket.getAggregations();
+        final Map<String, Object> source = new HashMap<>();
+        source.put(DOC_TYPE_FIELD, ROLLUP_DOC_TYPE);
+        source.put(dimension, value);
+        source.put(RESOURCE_TYPE_FIELD, resourceType);
+        source.put(BILLING_DATE_FIELD, start.toString());
+        source.put(PERIOD_END_FIELD, end.toString());
+        source.put(COST_FIELD, (long) aggregations.<Sum>get(COST_FIELD).getValue());
+        source.put(RUN_USAGE_FIELD, (long) aggregations.<Sum>get(RUN_USAGE_FIELD).getValue());
+        source.put(RUN_COUNT_FIELD, aggregations.<ValueCount>get(RUN_COUNT_FIELD).getValue());
+        final String docId = String.join(DOC_ID_SEPARATOR, start.toString(), resourceType, value);
+        return new IndexRequest(index, EntityToBillingRequestConverter.INDEX_TYPE).id(docId).source(source);
+    }
+
+    private Stream<? extends Terms.Bucket> termBuckets(final Aggregations aggregations, final String name) {
+        return Optional.ofNullable(aggregations)
+            .map(it -> it.<Terms>get(name))
+            .map(Terms::getBuckets)
+            .map(List::stream)
+            .orElseGet(Stream::empty);
+    }
+
+    private String[] getBillingIndices(final LocalDate start, final LocalDate end) {
+        return Stream.iterate(start.withDayOfMonth(1), date -> date.plusMonths(1))
+            .limit(ChronoUnit.MONTHS.between(start.withDayOfMonth(1), end.withDayOfMonth(1)) + 1)
+            .map(date -> billingIndexPrefix
+                         + String.format(MONTHLY_INDEX_PATTERN, date.getYear(), date.getMonthValue()))
+            .toArray(String[]::new);
+    }
+
+    private Optional<LocalDate> loadCompleteUntil(final BillingRollupPeriod period) {
+        final String stateIndex = getStateIndex();
+        if (!elasticsearchClient.isIndexExists(stateIndex)) {
+            return Optional.empty();
+        }
+        final SearchRequest request = new SearchRequest()
+            .indices(stateIndex)
+            .source(new SearchSourceBuilder()
+                        .query(QueryBuilders.idsQuery().addIds(period.name())));
+        return Optional.ofNullable(elasticsearchClient.search(request).getHits())
+            .map(hits -> Arrays.stream(hits.getHits()))
+            .orElseGet(Stream::empty)
+            .map(SearchHit::getSourceAsMap)
+            .map(source -> source.get(COMPLETE_UNTIL_FIELD))
+            .filter(String.class::isInstance)
+            .map(String.class::cast)
+            .map(LocalDate::parse)
+            .findFirst();
+    }
+
+    private void saveCompleteUntil(final BillingRollupPeriod period, final LocalDate completeUntil)
+        throws ElasticClientException {
+        final String stateIndex = getStateIndex();
+        indexService.createIndexIfNotExists(stateIndex, rollupIndexMappingFile);
+        elasticsearchClient.sendRequests(Collections.singletonList(
+            new IndexRequest(stateIndex, EntityToBillingRequestConverter.INDEX_TYPE)
+                .id(period.name())
+                .source(Collections.singletonMap(COMPLETE_UNTIL_FIELD, completeUntil.toString()))));
+        log.debug("Billing {} rollups are completed until {}.", period.getIndexName(), completeUntil);
+    }
+
+    private String getRollupIndex(final BillingRollupPeriod period, final String dimension) {
+        return String.join(SEPARATOR, rollupIndexPrefix + period.getIndexName(), dimension);
+    }
+
+    private String getStateIndex() {
+        return rollupIndexPrefix + STATE_INDEX_NAME;
+    }
+}
@@ -27,16 +27,20 @@ import com.epam.pipeline.billingreportagent.service.impl.BulkRequestSender;
 import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.billingreportagent.service.impl.converter.RunToBillingRequestConverter;
 import com.epam.pipeline.billingreportagent.service.impl.mapper.RunBillingMapper;
+import com.epam.pipeline.utils.StreamUtils;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.elasticsearch.action.DocWriteRequest;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Data
 @Slf4j
@@ -48,6 +52,7 @@ public class PipelineRunSynchronizer implements ElasticsearchSynchronizer {
     private final BulkRequestSender requestSender;
     private final EntityToBillingRequestConverter<PipelineRunWithType> runToBillingRequestConverter;
     private final EntityLoader<PipelineRunWithType> loader;
+    private final int chunkSize;
 
     public PipelineRunSynchronizer(final String pipelineRunIndexMappingFile,
                                    final String indexPrefix,
@@ -57,48 +62,77 @@ public class PipelineRunSynchronizer implements ElasticsearchSynchronizer {
                                    final ElasticsearchServiceClient elasticsearchServiceClient,
                                    final ElasticIndexService indexService,
                                    final RunBillingMapper mapper,
-                                   final EntityLoader<PipelineRunWithType> loader) {
+                                   final EntityLoader<PipelineRunWithType> loader,
+                                   final int chunkSize) {
         this.pipelineRunIndexMappingFile = pipelineRunIndexMappingFile;
         this.indexService = indexService;
         this.indexPrefix = indexPrefix + pipelineRunIndexName;
         this.loader = loader;
         this.runToBillingRequestConverter = new RunToBillingRequestConverter(mapper);
         this.requestSender = new BulkRequestSender(elasticsearchServiceClient, bulkInsertSize, insertTimeout);
+        this.chunkSize = chunkSize;
     }
 
+    /**
+     * Synchronizes runs billings chunk by chunk: each chunk of runs is loaded, converted to billing requests
+     * and sent to Elasticsearch before the next chunk is processed, so memory consumption doesn't depend
+     * on the overall number of runs in the synchronization period.
+     */
     @Override
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
         log.debug("Started pipeline run billing synchronization");
-        final List<EntityContainer<PipelineRunWithType>> pipelineRuns;
-        if (lastSyncTime == null) {
-            pipelineRuns = loader.loadAllEntities();
-        } else {
-            pipelineRuns = loader.loadAllEntitiesActiveInPeriod(lastSyncTime, syncStart);
+        final Stream<EntityContainer<PipelineRunWithType>> pipelineRuns = lastSyncTime == null
+                ? loader.streamAllEntities()
+                : loader.streamAllEntitiesActiveInPeriod(lastSyncTime, syncStart);
+        final Set<String> existingIndices = new HashSet<>();
+        long processedRuns = 0;
+        long processedDocuments = 0;
+        final Iterator<List<EntityContainer<PipelineRunWithType>>> chunks =
+                StreamUtils.chunked(pipelineRuns, chunkSize).iterator();
+        while (chunks.hasNext()) {
+            final List<EntityContainer<PipelineRunWithType>> chunk = chunks.next();
+            final List<DocWriteRequest> pipelineRunBillingRequests = chunk.stream()
+                    .map(pipelineRun -> createPipelineRunBillings(pipelineRun, lastSyncTime, syncStart))
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toList());
+            sendRequests(pipelineRunBillingRequests, existingIndices);
+            processedRuns += chunk.size();
+            processedDocuments += pipelineRunBillingRequests.size();
+            log.info("{} pipeline run(s) processed, {} document requests created", processedRuns,
+                    processedDocuments);
         }
-        if (CollectionUtils.isEmpty(pipelineRuns)) {
+        if (processedRuns == 0) {
             log.debug("PipelineRun entities for synchronization were not found.");
             return;
         }
-        final List<DocWriteRequest> pipelineRunBillingRequests = pipelineRuns.stream()
-            .map(pipelineRun -> createPipelineRunBillings(pipelineRun, lastSyncTime, syncStart))
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList());
-
-        log.info("{} document requests created", pipelineRunBillingRequests.size());
+        log.debug("Successfully finished runs billing synchronization.");
+    }
 
-        pipelineRunBillingRequests.stream()
+    private void sendRequests(final List<DocWriteRequest> requests, final Set<String> existingIndices) {
+        final List<DocWriteRequest> indexedRequests = requests.stream()
                 .collect(Collectors.groupingBy(DocWriteRequest::index))
-                .forEach((index, docs) -> {
-                    try {
-                        log.debug("Inserting {} document(s) into index {}.", docs.size(), index);
-                        indexService.createIndexIfNotExists(index, pipelineRunIndexMappingFile);
-                        requestSender.indexDocuments(docs);
-                    } catch (ElasticClientException e) {
-                        log.error("Can't create index {}!", index);
-                    }
-                });
+                .entrySet()
+                .stream()
+                .filter(entry -> createIndexIfNotExists(entry.getKey(), existingIndices))
+                .peek(entry -> log.debug("Inserting {} document(s) into index {}.",
+                        entry.getValue().size(), entry.getKey()))
+                .flatMap(entry -> entry.getValue().stream())
+                .collect(Collectors.toList());
+        requestSender.indexDocuments(indexedRequests);
+    }
 
-        log.debug("Successfully finished runs billing synchronization.");
+    private boolean createIndexIfNotExists(final String index, final Set<String> existingIndices) {
+        if (existingIndices.contains(index)) {
+            return true;
+        }
+        try {
+            indexService.createIndexIfNotExists(index, pipelineRunIndexMappingFile);
+            existingIndices.add(index);
+            return true;
+        } catch (ElasticClientException e) {
+            log.error("Can't create index {}!", index);
+            return false;
+        }
     }
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
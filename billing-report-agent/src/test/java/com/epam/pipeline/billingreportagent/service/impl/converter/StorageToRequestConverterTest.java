@@ -42,8 +42,11 @@ import com.epam.pipeline.entity.region.AzureRegion;
 import com.epam.pipeline.entity.search.SearchDocumentType;
 import com.epam.pipeline.entity.user.PipelineUser;
 import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.text.Text;
@@ -77,6 +80,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -309,6 +314,40 @@ public class StorageToRequestConverterTest {
         Assert.assertEquals(0, requests.size());
     }
 
+    @Test
+    public void testStoragesConvertingInBatches() throws IOException {
+        final StorageToBillingRequestConverter batchConverter = new StorageToBillingRequestConverter(
+            new StorageBillingMapper(SearchDocumentType.S3_STORAGE, BILLING_CENTER_KEY),
+            elasticsearchClient,
+            StorageType.OBJECT_STORAGE,
+            createTieredStoragePricing(),
+            StringUtils.EMPTY,
+            false,
+            2,
+            2);
+        final List<EntityContainer<AbstractDataStorage>> storages = LongStream.rangeClosed(1, 3)
+            .mapToObj(id -> getStorageContainer(id, STORAGE_NAME, STORAGE_NAME, DataStorageType.S3))
+            .collect(Collectors.toList());
+        final SearchResponse response = createSearchResponse(BYTES_IN_1_GB, false, US_EAST_1);
+        Mockito.when(elasticsearchClient.multiSearch(Mockito.any())).thenAnswer(invocation -> {
+            final MultiSearchRequest request = invocation.getArgument(0);
+            final MultiSearchResponse.Item[] items = IntStream.range(0, request.requests().size())
+                .mapToObj(i -> i == 1
+                               ? new MultiSearchResponse.Item(null, new ElasticsearchException("failure"))
+                               : new MultiSearchResponse.Item(response, null))
+                .toArray(MultiSearchResponse.Item[]::new);
+            return new MultiSearchResponse(items, 0L);
+        });
+
+        final List<DocWriteRequest> requests = batchConverter.convertEntitiesToRequests(
+            storages, TestUtils.STORAGE_BILLING_PREFIX, SYNC_START, SYNC_END);
+
+        Assert.assertEquals(Arrays.asList("1", "3"),
+                            requests.stream().map(DocWriteRequest::id).collect(Collectors.toList()));
+        Mockito.verify(elasticsearchClient, Mockito.times(2)).multiSearch(Mockito.any());
+        Mockito.verify(elasticsearchClient, Mockito.never()).search(Mockito.any());
+    }
+
     private void testStorageConverting(final StorageToBillingRequestConverter converter,
                                        final EntityContainer<AbstractDataStorage> storageContainer,
                                        final SearchDocumentType desiredType,
@@ -332,6 +371,14 @@ public class StorageToRequestConverterTest {
     private void createElasticsearchSearchContext(final Long storageSize,
                                                   final boolean isEmptyResponse,
                                                   final String region) throws IOException {
+        final SearchResponse response = createSearchResponse(storageSize, isEmptyResponse, region);
+        Mockito.when(elasticsearchClient.isIndexExists(Mockito.anyString())).thenReturn(true);
+        Mockito.when(elasticsearchClient.search(Mockito.any())).thenReturn(response);
+    }
+
+    private SearchResponse createSearchResponse(final Long storageSize,
+                                                final boolean isEmptyResponse,
+                                                final String region) throws IOException {
         final XContentParser parser =
             XContentType.JSON.xContent().createParser(NamedXContentRegistry.EMPTY,
                                                       DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
@@ -355,8 +402,7 @@ public class StorageToRequestConverterTest {
         final SearchResponse response = Mockito.mock(SearchResponse.class);
         Mockito.when(response.getAggregations()).thenReturn(aggregations);
         Mockito.when(response.getHits()).thenReturn(hits);
-        Mockito.when(elasticsearchClient.isIndexExists(Mockito.anyString())).thenReturn(true);
-        Mockito.when(elasticsearchClient.search(Mockito.any())).thenReturn(response);
+        return response;
     }
 
     private void assertFields(final AbstractDataStorage storage, final Map<String, Object> fieldMap,
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl.loader;
+
+import com.epam.pipeline.billingreportagent.model.EntityContainer;
+import com.epam.pipeline.billingreportagent.model.PipelineRunWithType;
+import com.epam.pipeline.billingreportagent.service.impl.CloudPipelineAPIClient;
+import com.epam.pipeline.billingreportagent.service.impl.TestUtils;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.user.PipelineUser;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@SuppressWarnings("checkstyle:magicnumber")
+public class PipelineRunLoaderTest {
+
+    private static final int LOAD_STEP = 10;
+    private static final Long REGION_ID = 1L;
+    private static final String NODE_TYPE = "nodetype.medium";
+    private static final String USER_NAME = "TestUser";
+    private static final String TOOL_IMAGE = "cp/tool:latest";
+    private static final BigDecimal PRICE = BigDecimal.valueOf(4, 2);
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2020, 1, 25, 12, 0);
+    private static final String FIRST_PERIOD_START = "2020-01-01T00:00:00";
+    private static final String SECOND_PERIOD_START = "2020-01-11T00:00:00";
+    private static final String THIRD_PERIOD_START = "2020-01-21T00:00:00";
+    private static final String PERIOD_END = "2020-01-25T12:00:00";
+
+    private final CloudPipelineAPIClient apiClient = Mockito.mock(CloudPipelineAPIClient.class);
+    private final PipelineRunLoader loader = new PipelineRunLoader(apiClient, LOAD_STEP, "CP_BILLING_OWNER");
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(apiClient.loadAllUsers())
+                .thenReturn(Collections.singletonList(PipelineUser.builder().id(1L).userName(USER_NAME).build()));
+        Mockito.when(apiClient.loadMetadataEntry(Mockito.any())).thenReturn(Collections.emptyList());
+        Mockito.when(apiClient.loadAllInstanceTypesForRegion(REGION_ID)).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    public void shouldSplitPeriodIntoLoadSteps() {
+        loader.loadAllEntitiesActiveInPeriod(FROM, TO);
+
+        final InOrder inOrder = Mockito.inOrder(apiClient);
+        inOrder.verify(apiClient).loadAllPipelineRunsActiveInPeriod(FIRST_PERIOD_START, SECOND_PERIOD_START);
+        inOrder.verify(apiClient).loadAllPipelineRunsActiveInPeriod(SECOND_PERIOD_START, THIRD_PERIOD_START);
+        inOrder.verify(apiClient).loadAllPipelineRunsActiveInPeriod(THIRD_PERIOD_START, PERIOD_END);
+        Mockito.verify(apiClient, Mockito.times(3)).loadAllPipelineRunsActiveInPeriod(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldLoadSinglePeriodIfItIsShorterThanLoadStep() {
+        loader.loadAllEntitiesActiveInPeriod(FROM, FROM.plusDays(LOAD_STEP));
+
+        Mockito.verify(apiClient).loadAllPipelineRunsActiveInPeriod(FIRST_PERIOD_START, SECOND_PERIOD_START);
+        Mockito.verify(apiClient, Mockito.times(1)).loadAllPipelineRunsActiveInPeriod(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldReturnRunsActiveInSeveralPeriodsOnlyOnce() {
+        final PipelineRun longRun = run(1L);
+        final PipelineRun shortRun = run(2L);
+        final PipelineRun lastRun = run(3L);
+        Mockito.when(apiClient.loadAllPipelineRunsActiveInPeriod(FIRST_PERIOD_START, SECOND_PERIOD_START))
+                .thenReturn(Arrays.asList(longRun, shortRun));
+        Mockito.when(apiClient.loadAllPipelineRunsActiveInPeriod(SECOND_PERIOD_START, THIRD_PERIOD_START))
+                .thenReturn(Collections.singletonList(longRun));
+        Mockito.when(apiClient.loadAllPipelineRunsActiveInPeriod(THIRD_PERIOD_START, PERIOD_END))
+                .thenReturn(Arrays.asList(longRun, lastRun));
+
+        final List<EntityContainer<PipelineRunWithType>> runs = loader.loadAllEntitiesActiveInPeriod(FROM, TO);
+
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), runs.stream()
+                .map(container -> container.getEntity().getPipelineRun().getId())
+                .collect(Collectors.toList()));
+        runs.forEach(container -> Assert.assertEquals(USER_NAME, container.getOwner().getEntity().getUserName()));
+    }
+
+    private static PipelineRun run(final Long id) {
+        final PipelineRun run = TestUtils.createTestPipelineRun(id, null, TOOL_IMAGE, PRICE,
+                TestUtils.createTestInstance(REGION_ID, NODE_TYPE));
+        run.setOwner(USER_NAME);
+        return run;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.billingreportagent.service.impl.synchronizer;
+
+import com.epam.pipeline.billingreportagent.exception.ElasticClientException;
+import com.epam.pipeline.billingreportagent.model.ComputeType;
+import com.epam.pipeline.billingreportagent.model.EntityContainer;
+import com.epam.pipeline.billingreportagent.model.EntityWithMetadata;
+import com.epam.pipeline.billingreportagent.model.PipelineRunWithType;
+import com.epam.pipeline.billingreportagent.service.ElasticsearchServiceClient;
+import com.epam.pipeline.billingreportagent.service.EntityLoader;
+import com.epam.pipeline.billingreportagent.service.impl.ElasticIndexService;
+import com.epam.pipeline.billingreportagent.service.impl.TestUtils;
+import com.epam.pipeline.billingreportagent.service.impl.mapper.RunBillingMapper;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.user.PipelineUser;
+import org.elasticsearch.action.DocWriteRequest;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+@SuppressWarnings({"checkstyle:magicnumber", "unchecked"})
+public class PipelineRunSynchronizerTest {
+
+    private static final String MAPPING_FILE = "mapping.json";
+    private static final String INDEX_NAME = "pipeline-run-";
+    private static final int BULK_SIZE = 1000;
+    private static final int CHUNK_SIZE = 2;
+    private static final int RUNS = 5;
+    private static final Long REGION_ID = 1L;
+    private static final String NODE_TYPE = "nodetype.medium";
+    private static final String TOOL_IMAGE = "cp/tool:latest";
+    private static final BigDecimal PRICE = BigDecimal.valueOf(4, 2);
+    private static final LocalDateTime PREVIOUS_SYNC = LocalDate.of(2019, 12, 4).atStartOfDay();
+    private static final LocalDateTime SYNC_START = LocalDate.of(2019, 12, 5).atStartOfDay();
+
+    private final ElasticsearchServiceClient elasticsearchClient = Mockito.mock(ElasticsearchServiceClient.class);
+    private final ElasticIndexService indexService = Mockito.mock(ElasticIndexService.class);
+    private final EntityLoader<PipelineRunWithType> loader = Mockito.mock(EntityLoader.class);
+    private final PipelineRunSynchronizer synchronizer = new PipelineRunSynchronizer(MAPPING_FILE,
+            TestUtils.COMMON_INDEX_PREFIX, INDEX_NAME, BULK_SIZE, 0L, elasticsearchClient, indexService,
+            new RunBillingMapper("billing"), loader, CHUNK_SIZE);
+
+    @Test
+    public void shouldSendRunBillingsChunkByChunk() throws ElasticClientException {
+        Mockito.when(loader.streamAllEntitiesActiveInPeriod(PREVIOUS_SYNC, SYNC_START))
+                .thenReturn(LongStream.rangeClosed(1, RUNS).mapToObj(this::runContainer));
+
+        synchronizer.synchronize(PREVIOUS_SYNC, SYNC_START);
+
+        final ArgumentCaptor<List<DocWriteRequest>> requests = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(elasticsearchClient, Mockito.times(3)).sendRequests(requests.capture());
+        Assert.assertEquals(Arrays.asList(2, 2, 1), requests.getAllValues().stream()
+                .map(List::size)
+                .collect(Collectors.toList()));
+        final String expectedIndex = TestUtils.buildBillingIndex(TestUtils.RUN_BILLING_PREFIX, PREVIOUS_SYNC);
+        requests.getAllValues().stream()
+                .flatMap(List::stream)
+                .forEach(request -> Assert.assertEquals(expectedIndex, request.index()));
+        Mockito.verify(indexService).createIndexIfNotExists(expectedIndex, MAPPING_FILE);
+    }
+
+    @Test
+    public void shouldNotSendAnythingIfThereAreNoRuns() {
+        Mockito.when(loader.streamAllEntitiesActiveInPeriod(PREVIOUS_SYNC, SYNC_START)).thenReturn(Stream.empty());
+
+        synchronizer.synchronize(PREVIOUS_SYNC, SYNC_START);
+
+        Mockito.verify(elasticsearchClient, Mockito.never()).sendRequests(Mockito.any());
+    }
+
+    private EntityContainer<PipelineRunWithType> runContainer(final long id) {
+        final PipelineRun run = TestUtils.createTestPipelineRun(id, null, TOOL_IMAGE, PRICE,
+                TestUtils.createTestInstance(REGION_ID, NODE_TYPE));
+        final PipelineUser owner = PipelineUser.builder()
+                .userName("TestUser")
+                .groups(Collections.emptyList())
+                .attributes(Collections.emptyMap())
+                .build();
+        return EntityContainer.<PipelineRunWithType>builder()
+                .entity(new PipelineRunWithType(run, Collections.emptyList(), ComputeType.CPU))
+                .owner(EntityWithMetadata.<PipelineUser>builder().entity(owner).build())
+                .build();
+    }
+}
@@ -72,6 +72,15 @@ public interface PipelineCLI {
      */
     void downloadData(String source, String destination, List<String> include, String username, boolean deleteSource);
 
+    /**
+     * Deletes files from remote storage folder {@code path}.
+     *
+     * @param path Remote storage folder path.
+     * @param include Relative paths of files to be deleted, nothing is deleted if it is empty.
+     * @param username User to perform deletion on behalf of.
+     */
+    void deleteData(String path, List<String> include, String username);
+
     /**
      * Retrieves a remote file description if one exists.
      *
@@ -43,6 +43,7 @@ public class PipelineCLIImpl implements PipelineCLI {
     private static final String PIPE_CP_TEMPLATE = "'%s' storage cp '%s' '%s' %s";
     private static final String PIPE_MV_TEMPLATE = "'%s' storage mv '%s' '%s' %s";
     private static final String PIPE_LS_TEMPLATE = "'%s' storage ls '%s' -l";
+    private static final String PIPE_RM_TEMPLATE = "'%s' storage rm '%s' -y -r";
     private static final String SPACE = " ";
     private static final String FOLDER = "Folder";
     private static final String SEPARATOR = "/";
@@ -119,6 +120,21 @@ public class PipelineCLIImpl implements PipelineCLI {
                 source, destination, getExceptionRootMessage(lastException)), lastException);
     }
 
+    @Override
+    public void deleteData(final String path, final List<String> include, final String username) {
+        if (CollectionUtils.isEmpty(include)) {
+            return;
+        }
+        log.info(String.format("Delete %s files from %s", include.size(), path));
+        final String command = String.format(PIPE_RM_TEMPLATE, pipelineCliExecutable, path);
+        try {
+            cmdExecutor.executeCommand(command + SPACE + getIncludesArguments(include), username);
+        } catch (CmdExecutionException e) {
+            throw new PipelineCLIException(String.format("Failed to delete files from %s due to %s",
+                    path, getExceptionRootMessage(e)), e);
+        }
+    }
+
     private String getExceptionRootMessage(final CmdExecutionException lastException) {
         return Optional.ofNullable(lastException)
                 .map(CmdExecutionException::getRootMessage)
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.sync.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Difference between the current state of a rule source and its {@link SyncManifest}.
+ */
+@Value
+public class SyncDelta {
+
+    /**
+     * Relative paths of new and changed files.
+     */
+    List<String> changed;
+    /**
+     * Relative paths of files which were synchronized previously but no longer exist.
+     */
+    List<String> deleted;
+    long changedBytes;
+    /**
+     * Manifest which shall be stored once the delta is synchronized.
+     */
+    SyncManifest manifest;
+
+    public boolean isEmpty() {
+        return changed.isEmpty() && deleted.isEmpty();
+    }
+}
@@ -20,11 +20,15 @@ import com.epam.pipeline.dts.sync.model.AutonomousSyncCronDetails;
 import com.epam.pipeline.dts.sync.service.PreferenceService;
 import com.epam.pipeline.dts.sync.service.ShutdownService;
 import com.epam.pipeline.dts.sync.model.AutonomousSyncRule;
+import com.epam.pipeline.dts.sync.model.SyncDelta;
+import com.epam.pipeline.dts.sync.model.SyncManifest;
 import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.model.pipeline.PipelineCredentials;
 import com.epam.pipeline.dts.transfer.repository.TaskRepository;
+import com.epam.pipeline.dts.transfer.service.PipelineCliProvider;
 import com.epam.pipeline.dts.transfer.service.TransferService;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
@@ -32,9 +36,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -46,11 +50,12 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -62,6 +67,7 @@ import java.util.stream.Collectors;
 public class DtsSynchronizationService {
 
     private static final String SCHEMA_DELIMITER = "://";
+    private static final String QUOTE = "'";
 
     private final TaskRepository taskRepository;
     private final TransferService transferService;
@@ -72,6 +78,12 @@ public class DtsSynchronizationService {
     private final Map<AutonomousSyncRule, AutonomousSyncCronDetails> activeSyncRules;
     private final Map<AutonomousSyncRule, TransferTask> activeTransferTasks;
     private final String defaultCronExpression;
+    private final SyncManifestService syncManifestService;
+    private final PipelineCliProvider pipelineCliProvider;
+    private final Map<AutonomousSyncRule, SyncManifest> pendingManifests;
+    private final boolean incrementalSyncEnabled;
+    private final boolean deletionSyncEnabled;
+    private final int maxIncrementalFiles;
 
     @Autowired
     public DtsSynchronizationService(final @Value("${dts.api.url}") String pipeApiUrl,
@@ -81,7 +93,15 @@ public class DtsSynchronizationService {
                                      final TaskRepository taskRepository,
                                      final PreferenceService preferenceService,
                                      final ShutdownService shutdownService,
-                                     final DtsRuleExpanderService dtsRuleExpander) {
+                                     final DtsRuleExpanderService dtsRuleExpander,
+                                     final SyncManifestService syncManifestService,
+                                     final PipelineCliProvider pipelineCliProvider,
+                                     final @Value("${dts.sync.incremental.enabled:true}")
+                                         boolean incrementalSyncEnabled,
+                                     final @Value("${dts.sync.incremental.deletion.enabled:false}")
+                                         boolean deletionSyncEnabled,
+                                     final @Value("${dts.sync.incremental.max.files:100}")
+                                         int maxIncrementalFiles) {
         this.pipeCredentials = new PipelineCredentials(pipeApiUrl, pipeApiToken);
         this.taskRepository = taskRepository;
         this.transferService = autonomousTransferService;
@@ -90,6 +110,12 @@ public class DtsSynchronizationService {
         this.activeSyncRules = new ConcurrentHashMap<>();
         this.activeTransferTasks = new ConcurrentHashMap<>();
         this.dtsRuleExpander = dtsRuleExpander;
+        this.syncManifestService = syncManifestService;
+        this.pipelineCliProvider = pipelineCliProvider;
+        this.pendingManifests = new ConcurrentHashMap<>();
+        this.incrementalSyncEnabled = incrementalSyncEnabled;
+        this.deletionSyncEnabled = deletionSyncEnabled;
+        this.maxIncrementalFiles = maxIncrementalFiles;
         this.defaultCronExpression = Optional.of(defaultCronExpression)
             .filter(CronSequenceGenerator::isValidExpression)
             .orElseThrow(() -> new IllegalStateException("Default FS sync cron is invalid!"));
@@ -155,24 +181,53 @@ public class DtsSynchronizationService {
     }
 
     private void processActiveTasks() {
-        activeTransferTasks.values()
-            .removeIf(task -> taskRepository.findById(task.getId())
+        activeTransferTasks.entrySet()
+            .removeIf(entry -> taskRepository.findById(entry.getValue().getId())
                 .filter(loadedTask -> loadedTask.getStatus().isFinalStatus())
+                .map(loadedTask -> {
+                    completeManifest(entry.getKey(), loadedTask);
+                    return loadedTask;
+                })
                 .isPresent());
     }
 
+    private void completeManifest(final AutonomousSyncRule rule, final TransferTask task) {
+        final SyncManifest manifest = pendingManifests.remove(rule);
+        if (manifest != null && task.getStatus() == TaskStatus.SUCCESS) {
+            syncManifestService.save(rule, manifest);
+        }
+    }
+
     private void submitTasksForAwaitingRules() {
         final Date now = getCurrentDate();
-        final Map<AutonomousSyncRule, TransferTask> newSubmittedTasks = activeSyncRules.entrySet().stream()
+        final List<AutonomousSyncRule> triggeredRules = activeSyncRules.entrySet().stream()
             .filter(this::syncSourceExists)
             .flatMap(dtsRuleExpander::expandSyncEntry)
             .filter(entry -> shouldBeTriggered(now, entry))
             .filter(entry -> noMatchingActiveTransferTask(entry.getKey()))
             .map(Map.Entry::getKey)
-            .map(rule -> Pair.of(rule, runTransferTask(rule)))
-            .filter(entry -> Objects.nonNull(entry.getValue()))
-            .collect(Collectors.toMap(Pair::getKey, Pair::getValue));
-        newSubmittedTasks.keySet().stream()
+            .collect(Collectors.toList());
+        final Map<AutonomousSyncRule, TransferTask> newSubmittedTasks = new HashMap<>();
+        final List<AutonomousSyncRule> executedRules = new ArrayList<>();
+        triggeredRules.forEach(rule -> {
+            final Optional<SyncDelta> delta = getSyncDelta(rule);
+            if (delta.filter(value -> value.getChanged().isEmpty()).isPresent()) {
+                log.info("No new or changed files found for sync from `{}` to `{}`",
+                         rule.getSource(), rule.getDestination());
+                syncDeletions(rule, delta.get());
+                syncManifestService.save(rule, delta.get().getManifest());
+                executedRules.add(rule);
+                return;
+            }
+            final TransferTask task = delta.isPresent()
+                ? runIncrementalTransferTask(rule, delta.get())
+                : runTransferTask(rule, Collections.emptyList());
+            if (task != null) {
+                newSubmittedTasks.put(rule, task);
+                executedRules.add(rule);
+            }
+        });
+        executedRules.stream()
             .map(task -> {
                 final AutonomousSyncRule keyRule = Optional.ofNullable(task.getParentRule()).orElse(task);
                 return activeSyncRules.get(keyRule);
@@ -221,10 +276,89 @@ public class DtsSynchronizationService {
         }
     }
 
-    private TransferTask runTransferTask(final AutonomousSyncRule rule) {
+    /**
+     * Returns the difference between the rule source and its manifest if the rule can be synchronized
+     * incrementally. Rules which delete source files or have a single file as a source are always
+     * synchronized completely.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private Optional<SyncDelta> getSyncDelta(final AutonomousSyncRule rule) {
+        if (!incrementalSyncEnabled || isSourceDeletionRequired(rule)
+            || !Files.isDirectory(Paths.get(rule.getSource()))) {
+            return Optional.empty();
+        }
+        try {
+            final SyncDelta delta = syncManifestService.getDelta(rule);
+            log.info("Sync from `{}` to `{}` requires transfer of {} files ({}), {} files were deleted from source",
+                     rule.getSource(), rule.getDestination(), delta.getChanged().size(),
+                     FileUtils.byteCountToDisplaySize(delta.getChangedBytes()), delta.getDeleted().size());
+            return Optional.of(delta);
+        } catch (RuntimeException e) {
+            log.warn("Failed to calculate sync delta from `{}` to `{}`, all files will be transferred: {}",
+                     rule.getSource(), rule.getDestination(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private TransferTask runIncrementalTransferTask(final AutonomousSyncRule rule, final SyncDelta delta) {
+        syncDeletions(rule, delta);
+        final List<String> included = delta.getChanged().size() > maxIncrementalFiles
+            || delta.getChanged().stream().anyMatch(path -> path.contains(QUOTE))
+            ? Collections.emptyList()
+            : delta.getChanged().stream().map(this::escapePattern).collect(Collectors.toList());
+        final TransferTask task = runTransferTask(rule, included);
+        if (task != null) {
+            pendingManifests.put(rule, delta.getManifest());
+        }
+        return task;
+    }
+
+    /**
+     * Propagates deletions of source files to the destination if it is enabled. Files which were not deleted
+     * are kept in the manifest, so that their deletion is retried on the next trigger.
+     */
+    private void syncDeletions(final AutonomousSyncRule rule, final SyncDelta delta) {
+        final List<String> notDeleted = deleteFiles(rule, delta.getDeleted());
+        if (notDeleted.isEmpty()) {
+            return;
+        }
+        final SyncManifest previous = syncManifestService.load(rule);
+        notDeleted.forEach(path -> delta.getManifest().getFiles().put(path, previous.getFiles().get(path)));
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private List<String> deleteFiles(final AutonomousSyncRule rule, final List<String> deleted) {
+        if (deleted.isEmpty() || !deletionSyncEnabled) {
+            return Collections.emptyList();
+        }
+        try {
+            pipelineCliProvider.getPipelineCLI(pipeCredentials.getApi(), pipeCredentials.getApiToken())
+                .deleteData(rule.getDestination(), deleted.stream()
+                    .filter(path -> !path.contains(QUOTE))
+                    .map(this::escapePattern)
+                    .collect(Collectors.toList()), null);
+            return deleted.stream().filter(path -> path.contains(QUOTE)).collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("Error during deletion of {} files from `{}`: {}",
+                     deleted.size(), rule.getDestination(), e.getMessage());
+            return deleted;
+        }
+    }
+
+    private String escapePattern(final String path) {
+        return path.replace("[", "[[]")
+            .replace("*", "[*]")
+            .replace("?", "[?]");
+    }
+
+    private boolean isSourceDeletionRequired(final AutonomousSyncRule rule) {
+        return Optional.ofNullable(rule.getDeleteSource()).orElse(preferenceService.isSourceDeletionEnabled());
+    }
+
+    private TransferTask runTransferTask(final AutonomousSyncRule rule, final List<String> included) {
         return buildTransferDestination(rule)
             .map(transferDestination -> trySubmitTransferTask(buildTransferSource(rule), transferDestination,
-                    rule.getDeleteSource()))
+                    included, rule.getDeleteSource()))
             .map(submittedTask -> {
                 log.info("Transfer task from `{}` to `{}` submitted successfully [id=`{}`]!",
                          rule.getSource(), rule.getDestination(), submittedTask.getId());
@@ -236,11 +370,12 @@ public class DtsSynchronizationService {
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     private TransferTask trySubmitTransferTask(final StorageItem transferSource,
                                                final StorageItem transferDestination,
+                                               final List<String> included,
                                                final Boolean deleteTransferSource) {
         try {
             transferDestination.setCredentials(getPipeCredentialsAsString());
             return transferService.runTransferTask(transferSource, transferDestination,
-                    Collections.emptyList(),
+                    included,
                     Optional.ofNullable(deleteTransferSource).orElse(preferenceService.isSourceDeletionEnabled()));
         } catch (JsonProcessingException e) {
             log.warn("Error parsing PIPE credentials!");
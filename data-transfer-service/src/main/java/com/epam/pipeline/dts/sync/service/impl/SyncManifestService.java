@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.sync.service.impl;
+
+import com.epam.pipeline.dts.sync.model.AutonomousSyncRule;
+import com.epam.pipeline.dts.sync.model.SyncDelta;
+import com.epam.pipeline.dts.sync.model.SyncManifest;
+import com.epam.pipeline.dts.sync.model.SyncManifestEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a persistent manifest of synchronized files for each {@link AutonomousSyncRule} and calculates
+ * which files shall be transferred on the next rule trigger.
+ *
+ * Files with the same size and modification time as in the manifest are considered unchanged without reading
+ * them. Checksums are calculated only for the rest of the files, so that a file which was just touched
+ * is not transferred again.
+ */
+@Service
+@Slf4j
+public class SyncManifestService {
+
+    private static final String MANIFEST_EXTENSION = ".json";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path manifestsDir;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public SyncManifestService(final @Value("${dts.sync.manifest.dir:manifests}") String manifestsDir) {
+        this.manifestsDir = Paths.get(manifestsDir);
+    }
+
+    public SyncManifest load(final AutonomousSyncRule rule) {
+        final Path manifestPath = getManifestPath(rule);
+        if (!Files.exists(manifestPath)) {
+            return new SyncManifest();
+        }
+        try {
+            return mapper.readValue(manifestPath.toFile(), SyncManifest.class);
+        } catch (IOException e) {
+            log.warn("Sync manifest `{}` cannot be read, all files will be transferred: {}",
+                     manifestPath, e.getMessage());
+            return new SyncManifest();
+        }
+    }
+
+    public void save(final AutonomousSyncRule rule, final SyncManifest manifest) {
+        final Path manifestPath = getManifestPath(rule);
+        final Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + TEMP_EXTENSION);
+        try {
+            Files.createDirectories(manifestsDir);
+            mapper.writeValue(tempPath.toFile(), manifest);
+            Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Sync manifest `{}` cannot be saved: {}", manifestPath, e.getMessage());
+        }
+    }
+
+    public SyncDelta getDelta(final AutonomousSyncRule rule) {
+        final SyncManifest previous = load(rule);
+        final Path source = Paths.get(rule.getSource());
+        final Map<String, SyncManifestEntry> files = new HashMap<>();
+        final List<String> changed = new ArrayList<>();
+        long changedBytes = 0;
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (final Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                final String relativePath = source.relativize(path).toString();
+                final SyncManifestEntry previousEntry = previous.getFiles().get(relativePath);
+                final SyncManifestEntry entry = getEntry(path, previousEntry);
+                files.put(relativePath, entry);
+                if (previousEntry == null || !entry.getChecksum().equals(previousEntry.getChecksum())) {
+                    changed.add(relativePath);
+                    changedBytes += entry.getSize();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to list sync source %s.", source), e);
+        }
+        final List<String> deleted = previous.getFiles().keySet().stream()
+                .filter(path -> !files.containsKey(path))
+                .collect(Collectors.toList());
+        return new SyncDelta(changed, deleted, changedBytes, new SyncManifest(files));
+    }
+
+    private SyncManifestEntry getEntry(final Path path, final SyncManifestEntry previousEntry) throws IOException {
+        final long size = Files.size(path);
+        final long modified = Files.getLastModifiedTime(path).toMillis();
+        if (previousEntry != null && previousEntry.getSize() == size && previousEntry.getModified() == modified) {
+            return previousEntry;
+        }
+        final String checksum = com.google.common.io.Files.asByteSource(path.toFile())
+                .hash(Hashing.crc32c())
+                .toString();
+        return new SyncManifestEntry(size, modified, checksum);
+    }
+
+    private Path getManifestPath(final AutonomousSyncRule rule) {
+        final String name = Hashing.sha256()
+                .hashString(rule.getSource() + "->" + rule.getDestination(), StandardCharsets.UTF_8)
+                .toString();
+        return manifestsDir.resolve(name + MANIFEST_EXTENSION);
+    }
+}
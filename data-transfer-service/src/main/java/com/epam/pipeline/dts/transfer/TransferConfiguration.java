@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,7 +30,10 @@ import com.epam.pipeline.dts.transfer.service.impl.AzureDataUploader;
 import com.epam.pipeline.dts.transfer.service.impl.CmdExecutorsProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.DataUploaderProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.GSDataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.GSJavaClientDataUploader;
+import com.epam.pipeline.dts.transfer.service.impl.GoogleStorageClient;
 import com.epam.pipeline.dts.transfer.service.impl.ImpersonatingTransferServiceImpl;
+import com.epam.pipeline.dts.transfer.service.impl.ParallelTransferEngine;
 import com.epam.pipeline.dts.transfer.service.impl.PipelineCliProviderImpl;
 import com.epam.pipeline.dts.transfer.service.impl.S3DataUploader;
 import com.epam.pipeline.dts.transfer.service.impl.TransferServiceImpl;
@@ -60,6 +63,8 @@ import java.util.stream.Collectors;
         @ComponentScan.Filter(type = FilterType.ANNOTATION, value = Controller.class)})
 public class TransferConfiguration {
 
+    private static final long BYTES_IN_MB = 1024L * 1024L;
+
     @Bean
     public DataUploaderProvider dataUploaderProvider(final List<DataUploader> providers) {
         final Map<StorageType, DataUploader> dataUploaders = CollectionUtils.isEmpty(providers)
@@ -97,12 +102,40 @@ public class TransferConfiguration {
     public DataUploader azureDataUploader(final PipelineCliProvider pipelineCliProvider) {
         return new AzureDataUploader(pipelineCliProvider);
     }
-    
+
     @Bean
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "false", matchIfMissing = true)
     public DataUploader gsDataUploader(final PipelineCliProvider pipelineCliProvider) {
         return new GSDataUploader(pipelineCliProvider);
     }
 
+    @Bean
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public DataUploader gsJavaClientDataUploader(final GoogleStorageClient googleStorageClient,
+                                                 final TaskService taskService,
+                                                 final PipelineCliProvider pipelineCliProvider,
+                                                 @Value("${dts.transfer.native.progress.interval:5000}")
+                                                     final long progressIntervalMs) {
+        return new GSJavaClientDataUploader(googleStorageClient, taskService, progressIntervalMs,
+                new GSDataUploader(pipelineCliProvider));
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public GoogleStorageClient googleStorageClient(final ParallelTransferEngine parallelTransferEngine) {
+        return new GoogleStorageClient(parallelTransferEngine);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "dts.transfer.native.enabled", havingValue = "true")
+    public ParallelTransferEngine parallelTransferEngine(
+            @Value("${dts.transfer.native.workers:8}") final int workers,
+            @Value("${dts.transfer.native.chunk.size.mb:64}") final int chunkSizeMb,
+            @Value("${dts.transfer.native.checkpoint.dir:checkpoints}") final String checkpointsDir,
+            @Value("${dts.transfer.native.checksum:true}") final boolean checksumEnabled) {
+        return new ParallelTransferEngine(workers, chunkSizeMb * BYTES_IN_MB, checkpointsDir, checksumEnabled);
+    }
+
     @Bean
     @ConditionalOnProperty(value = "dts.impersonation.enabled", havingValue = "true", matchIfMissing = true)
     public TransferService transferService(final TaskService taskService,
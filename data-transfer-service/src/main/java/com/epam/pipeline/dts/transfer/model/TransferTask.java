@@ -74,4 +74,7 @@ public class TransferTask {
     private String user;
 
     private boolean deleteSource;
+
+    private Long transferredBytes;
+    private Long totalBytes;
 }
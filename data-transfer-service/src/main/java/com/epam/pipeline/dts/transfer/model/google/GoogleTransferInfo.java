@@ -16,21 +16,31 @@
 
 package com.epam.pipeline.dts.transfer.model.google;
 
+import com.epam.pipeline.dts.transfer.service.impl.TransferProgress;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.Wither;
 
+import java.util.List;
+
 @Data
 @Builder
 @Wither
 @NoArgsConstructor
 @AllArgsConstructor
+@EqualsAndHashCode(exclude = "progress")
+@ToString(exclude = "progress")
 public class GoogleTransferInfo {
     private String source;
     private String destination;
     private GoogleCredentials credentials;
     private String bucketName;
     private String key;
+    private TransferProgress progress;
+    private List<String> include;
+    private boolean deleteSource;
 }
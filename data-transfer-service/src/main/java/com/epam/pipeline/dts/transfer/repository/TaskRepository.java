@@ -18,11 +18,20 @@ package com.epam.pipeline.dts.transfer.repository;
 
 import com.epam.pipeline.dts.transfer.model.TaskStatus;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface TaskRepository extends PagingAndSortingRepository<TransferTask, Long> {
 
     List<TransferTask> findAllByStatus(TaskStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferTask t SET t.transferredBytes = :transferred, t.totalBytes = :total WHERE t.id = :id")
+    int updateProgress(@Param("id") Long id, @Param("transferred") Long transferred, @Param("total") Long total);
 }
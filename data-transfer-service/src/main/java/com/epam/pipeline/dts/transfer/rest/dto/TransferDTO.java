@@ -37,5 +37,7 @@ public class TransferDTO {
     private LocalDateTime finished;
     private List<String> included;
     private String user;
+    private Long transferredBytes;
+    private Long totalBytes;
 
 }
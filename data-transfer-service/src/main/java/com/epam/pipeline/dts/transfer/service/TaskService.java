@@ -43,6 +43,7 @@ public interface TaskService {
     TransferTask updateStatus(Long id, TaskStatus status);
     TransferTask updateStatus(Long id, TaskStatus status, String reason);
     TransferTask updateTask(TransferTask transferTask);
+    void updateProgress(Long id, long transferredBytes, long totalBytes);
     void deleteTask(Long id);
     TransferTask loadTask(Long id);
     List<TransferTask> loadRunningTasks();
@@ -40,7 +40,7 @@ public abstract class AbstractDataUploader implements DataUploader {
         }
     }
 
-    private void checkStoragePath(final String path) {
+    protected void checkStoragePath(final String path) {
         final String expectedPathPrefix = getFilesPathPrefix();
         Assert.state(path.startsWith(expectedPathPrefix),
             String.format("%s path must have %s scheme.", getStorageType(), expectedPathPrefix));
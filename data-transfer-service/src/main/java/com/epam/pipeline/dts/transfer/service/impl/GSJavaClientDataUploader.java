@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2020 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,24 +18,53 @@ package com.epam.pipeline.dts.transfer.service.impl;
 
 import com.epam.pipeline.dts.transfer.model.StorageItem;
 import com.epam.pipeline.dts.transfer.model.StorageType;
+import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.model.google.GoogleTransferInfo;
 import com.epam.pipeline.dts.transfer.model.google.GoogleCredentials;
+import com.epam.pipeline.dts.transfer.service.TaskService;
 import com.epam.pipeline.dts.util.Utils;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import java.util.List;
+import org.springframework.util.Assert;
+
 import java.io.File;
+import java.util.List;
 
 import static com.epam.pipeline.dts.transfer.service.impl.GoogleStorageClient.DELIMITER;
 
+/**
+ * Transfers data between local file system and Google Cloud Storage in-process using {@link GoogleStorageClient}.
+ *
+ * In-process transfers can't be performed on behalf of another user, so transfers which require impersonation are
+ * delegated to the fallback uploader.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class GSJavaClientDataUploader extends AbstractDataUploader {
     private static final String GS_PREFIX = "gs://";
 
     private final GoogleStorageClient client;
+    private final TaskService taskService;
+    private final long progressIntervalMs;
+    private final AbstractDataUploader fallbackUploader;
+
+    public GSJavaClientDataUploader(final GoogleStorageClient client) {
+        this(client, null, 0L, null);
+    }
+
+    /**
+     * @param taskService is used to report transfer progress, progress is not reported if it is null.
+     * @param progressIntervalMs minimal interval between progress updates of a single task.
+     * @param fallbackUploader is used to transfer data on behalf of a user, such transfers are rejected
+     *                         if it is null.
+     */
+    public GSJavaClientDataUploader(final GoogleStorageClient client, final TaskService taskService,
+                                    final long progressIntervalMs, final AbstractDataUploader fallbackUploader) {
+        this.client = client;
+        this.taskService = taskService;
+        this.progressIntervalMs = progressIntervalMs;
+        this.fallbackUploader = fallbackUploader;
+    }
 
     @Override
     public StorageType getStorageType() {
@@ -48,22 +77,43 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
     }
 
     /**
-     * @param include Is not supported yet.
-     * @param username not supported.
-     * @param deleteSource Is not supported yet.
+     * Transfers data and reports its progress to the task.
      */
+    @Override
+    public void transfer(final TransferTask transferTask) {
+        if (StringUtils.isNotBlank(transferTask.getUser())) {
+            getFallbackUploader(transferTask.getUser()).transfer(transferTask);
+            return;
+        }
+        final StorageItem source = transferTask.getSource();
+        final StorageItem destination = transferTask.getDestination();
+        final TransferProgress progress = getProgress(transferTask);
+        if (source.getType() == StorageType.LOCAL) {
+            checkStoragePath(destination.getPath());
+            upload(source.getPath(), destination.getPath(), transferInfo(destination.getCredentials(),
+                    transferTask.getIncluded(), transferTask.isDeleteSource(), progress));
+        } else {
+            checkStoragePath(source.getPath());
+            download(source.getPath(), destination.getPath(), transferInfo(source.getCredentials(),
+                    transferTask.getIncluded(), transferTask.isDeleteSource(), progress));
+        }
+        progress.flush();
+    }
+
     @Override
     public void upload(final StorageItem source, final StorageItem destination, final List<String> include,
                        final String username, final boolean deleteSource) {
-        upload(source.getPath(), destination.getPath(), destination.getCredentials());
+        if (StringUtils.isNotBlank(username)) {
+            getFallbackUploader(username).upload(source, destination, include, username, deleteSource);
+            return;
+        }
+        upload(source.getPath(), destination.getPath(), transferInfo(destination.getCredentials(), include,
+                deleteSource, TransferProgress.disabled()));
     }
 
-    private void upload(String source, String destination, String credentials) {
+    private void upload(String source, String destination, GoogleTransferInfo transferInfo) {
         File sourceFile = new File(source);
-        GoogleCredentials googleCredentials = GoogleCredentials.from(credentials);
-        GoogleTransferInfo transferInfo = new GoogleTransferInfo()
-            .withCredentials(googleCredentials)
-            .withSource(source);
+        transferInfo.setSource(source);
         if (sourceFile.isDirectory()) {
             transferInfo.setDestination(destination);
             client.uploadDirectory(transferInfo);
@@ -79,25 +129,22 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
         }
     }
 
-    /**
-     * @param include Is not supported yet.
-     * @param username not supported.
-     * @param deleteSource Is not supported yet.
-     */
     @Override
     public void download(final StorageItem source, final StorageItem destination, final List<String> include,
                          final String username, final boolean deleteSource) {
-        download(source.getPath(), destination.getPath(), source.getCredentials());
+        if (StringUtils.isNotBlank(username)) {
+            getFallbackUploader(username).download(source, destination, include, username, deleteSource);
+            return;
+        }
+        download(source.getPath(), destination.getPath(), transferInfo(source.getCredentials(), include,
+                deleteSource, TransferProgress.disabled()));
     }
 
-    private void download(String source, String destination, String credentials) {
+    private void download(String source, String destination, GoogleTransferInfo transferInfo) {
         Pair<String, String> bucketNameAndKey = Utils.getBucketNameAndKey(source);
-        GoogleCredentials googleCredentials = GoogleCredentials.from(credentials);
-        GoogleTransferInfo transferInfo = new GoogleTransferInfo()
-                .withCredentials(googleCredentials)
-                .withBucketName(bucketNameAndKey.getLeft())
-                .withKey(bucketNameAndKey.getRight())
-                .withSource(source);
+        transferInfo.setBucketName(bucketNameAndKey.getLeft());
+        transferInfo.setKey(bucketNameAndKey.getRight());
+        transferInfo.setSource(source);
         if (client.isFile(transferInfo)) {
             transferInfo.setDestination(destination);
             client.downloadFile(transferInfo);
@@ -113,6 +160,38 @@ public class GSJavaClientDataUploader extends AbstractDataUploader {
         }
     }
 
+    private GoogleTransferInfo transferInfo(final String credentials, final List<String> include,
+                                            final boolean deleteSource, final TransferProgress progress) {
+        return new GoogleTransferInfo()
+                .withCredentials(GoogleCredentials.from(credentials))
+                .withInclude(include)
+                .withDeleteSource(deleteSource)
+                .withProgress(progress);
+    }
+
+    private AbstractDataUploader getFallbackUploader(final String username) {
+        Assert.state(fallbackUploader != null, String.format(
+                "Transfers on behalf of user %s are not supported by native GS transfers.", username));
+        log.debug(String.format("Transfer on behalf of user %s is delegated to fallback uploader.", username));
+        return fallbackUploader;
+    }
+
+    private TransferProgress getProgress(final TransferTask transferTask) {
+        if (taskService == null || transferTask.getId() == null) {
+            return TransferProgress.disabled();
+        }
+        return new TransferProgress(progress -> updateProgress(transferTask.getId(), progress), progressIntervalMs);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void updateProgress(final Long taskId, final TransferProgress progress) {
+        try {
+            taskService.updateProgress(taskId, progress.getTransferred(), progress.getTotal());
+        } catch (RuntimeException e) {
+            log.warn(String.format("Failed to update progress of transfer task %d: %s", taskId, e.getMessage()));
+        }
+    }
+
     private String getRelativeStoragePath(String path, String bucketName) {
         String relativePath = StringUtils.removeStart(path, String.format("gs://%s/", bucketName));
         relativePath = StringUtils.removeEnd(relativePath, DELIMITER);
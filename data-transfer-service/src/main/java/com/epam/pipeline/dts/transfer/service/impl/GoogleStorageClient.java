@@ -1,5 +1,5 @@
 /*
- * Copyright 2017-2019 EPAM Systems, Inc. (https://www.epam.com/)
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,49 +32,149 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@Service
+/**
+ * Transfers data between local file system and Google Cloud Storage using {@link ParallelTransferEngine}.
+ *
+ * Small files are transferred concurrently one worker per file. Large files are split into chunks:
+ * downloads read chunks with ranged requests directly into a temporary file and can be resumed from
+ * a checkpoint, uploads store chunks as temporary objects which are composed into the target object
+ * afterwards. Temporary objects are removed whether the upload succeeds or not.
+ *
+ * Only files which relative paths match the transfer include patterns are transferred. If source deletion is
+ * requested, source files are deleted once all of them are transferred successfully.
+ */
 @Slf4j
 public class GoogleStorageClient {
     public static final String DELIMITER = "/";
     private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_COMPOSE_SOURCES = 32;
+    private static final String PARTS_PREFIX = ".dts-parts/";
+    private static final String TEMP_FILE_SUFFIX = ".dts-part";
+
+    private final ParallelTransferEngine engine;
+    private final Function<GoogleCredentials, Storage> storageProvider;
+
+    public GoogleStorageClient(final ParallelTransferEngine engine) {
+        this(engine, GoogleStorageClient::createStorage);
+    }
+
+    /**
+     * @param storageProvider creates storage service for the given credentials.
+     */
+    public GoogleStorageClient(final ParallelTransferEngine engine,
+                               final Function<GoogleCredentials, Storage> storageProvider) {
+        this.engine = engine;
+        this.storageProvider = storageProvider;
+    }
 
     public void uploadDirectory(GoogleTransferInfo transferInfo) {
-        Storage storage = getStorage(transferInfo.getCredentials());
-        uploadDirectory(new File(transferInfo.getSource()), transferInfo.getDestination(), storage);
+        Storage storage = storageProvider.apply(transferInfo.getCredentials());
+        List<Pair<Path, String>> files = listLocalFiles(new File(transferInfo.getSource()),
+                transferInfo.getDestination(), IncludePatternMatcher.of(transferInfo.getInclude()));
+        if (files.isEmpty()) {
+            log.info(String.format("Specified directory %s is empty.", transferInfo.getSource()));
+            return;
+        }
+        TransferProgress progress = getProgress(transferInfo);
+        files.forEach(file -> progress.addTotal(file.getLeft().toFile().length()));
+        engine.run(files.stream()
+                .filter(file -> !engine.isChunked(file.getLeft().toFile().length()))
+                .map(file -> (Runnable) () -> uploadFile(file.getLeft(), file.getRight(), storage, progress))
+                .collect(Collectors.toList()));
+        files.stream()
+                .filter(file -> engine.isChunked(file.getLeft().toFile().length()))
+                .forEach(file -> uploadChunkedFile(file.getLeft(), file.getRight(), storage, progress));
+        if (transferInfo.isDeleteSource()) {
+            files.forEach(file -> deleteLocalFile(file.getLeft()));
+        }
     }
 
     public void uploadFile(GoogleTransferInfo transferInfo) {
-        Storage storage = getStorage(transferInfo.getCredentials());
-        uploadFile(transferInfo.getSource(), transferInfo.getDestination(), storage);
+        Storage storage = storageProvider.apply(transferInfo.getCredentials());
+        Path source = Paths.get(transferInfo.getSource());
+        if (!IncludePatternMatcher.of(transferInfo.getInclude()).matches(source.getFileName().toString())) {
+            log.info(String.format("File %s doesn't match include patterns.", source));
+            return;
+        }
+        TransferProgress progress = getProgress(transferInfo);
+        progress.addTotal(source.toFile().length());
+        if (engine.isChunked(source.toFile().length())) {
+            uploadChunkedFile(source, transferInfo.getDestination(), storage, progress);
+        } else {
+            uploadFile(source, transferInfo.getDestination(), storage, progress);
+        }
+        if (transferInfo.isDeleteSource()) {
+            deleteLocalFile(source);
+        }
     }
 
     public void downloadDirectory(GoogleTransferInfo transferInfo) {
         Bucket bucket = getBucket(transferInfo.getCredentials(), transferInfo.getBucketName());
         String key = transferInfo.getKey() + DELIMITER;
-        downloadFolder(key, transferInfo.getSource(), transferInfo.getDestination(), bucket);
+        List<Pair<Blob, String>> blobs = new ArrayList<>();
+        listFolder(key, transferInfo.getSource(), transferInfo.getDestination(), bucket, blobs);
+        IncludePatternMatcher include = IncludePatternMatcher.of(transferInfo.getInclude());
+        blobs.removeIf(blob -> !include.matches(StringUtils.removeStart(blob.getLeft().getName(), key)));
+        TransferProgress progress = getProgress(transferInfo);
+        blobs.forEach(blob -> progress.addTotal(blob.getLeft().getSize()));
+        engine.run(blobs.stream()
+                .filter(blob -> !engine.isChunked(blob.getLeft().getSize()))
+                .map(blob -> (Runnable) () -> downloadFile(blob.getLeft(), blob.getRight(), progress))
+                .collect(Collectors.toList()));
+        blobs.stream()
+                .filter(blob -> engine.isChunked(blob.getLeft().getSize()))
+                .forEach(blob -> downloadChunkedFile(blob.getLeft(), blob.getRight(), progress));
+        if (transferInfo.isDeleteSource()) {
+            blobs.forEach(blob -> deleteBlob(blob.getLeft()));
+        }
     }
 
     public void downloadFile(GoogleTransferInfo transferInfo) {
         Blob blob = getBucket(transferInfo.getCredentials(), transferInfo.getBucketName())
                 .get(transferInfo.getKey());
+        if (!IncludePatternMatcher.of(transferInfo.getInclude())
+                .matches(Paths.get(blob.getName()).getFileName().toString())) {
+            log.info(String.format("File %s doesn't match include patterns.", transferInfo.getSource()));
+            return;
+        }
         String destination = transferInfo.getDestination();
         if (destination.endsWith(DELIMITER)) {
             destination += Paths.get(blob.getName()).getFileName();
         }
-        downloadFile(blob, destination);
+        TransferProgress progress = getProgress(transferInfo);
+        progress.addTotal(blob.getSize());
+        if (engine.isChunked(blob.getSize())) {
+            downloadChunkedFile(blob, destination, progress);
+        } else {
+            downloadFile(blob, destination, progress);
+        }
+        if (transferInfo.isDeleteSource()) {
+            deleteBlob(blob);
+        }
     }
 
     public boolean isFile(GoogleTransferInfo transferInfo) {
@@ -87,73 +187,254 @@ public class GoogleStorageClient {
         return isDirectoryExists(transferInfo.getKey(), bucket);
     }
 
-    private void uploadDirectory(File source, String destination, Storage storage) {
-        String[] files = source.list();
-        String sourcePath = source.getAbsolutePath();
-        if (files == null) {
-            log.info(String.format("Specified directory %s is empty.", source.getAbsolutePath()));
-            return;
+    private List<Pair<Path, String>> listLocalFiles(File source, String destination,
+                                                    IncludePatternMatcher include) {
+        Path sourcePath = source.toPath();
+        try (Stream<Path> paths = Files.walk(sourcePath)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .map(path -> Pair.of(path, sourcePath.relativize(path).toString()
+                            .replace(File.separator, DELIMITER)))
+                    .filter(path -> include.matches(path.getRight()))
+                    .map(path -> Pair.of(path.getLeft(), String.join(DELIMITER,
+                            StringUtils.removeEnd(destination, DELIMITER), path.getRight())))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("An error occurred during listing directory %s.",
+                    source.getAbsolutePath()), e);
         }
-        for (String file : files) {
-            String sourceFile = String.join(DELIMITER, sourcePath, file);
-            String destinationFile = String.join(DELIMITER, StringUtils.removeEnd(destination, DELIMITER), file);
-            if (Paths.get(sourceFile).toFile().isDirectory()) {
-                uploadDirectory(Paths.get(sourceFile).toFile(), destinationFile, storage);
-            } else {
-                uploadFile(sourceFile, destinationFile, storage);
-            }
+    }
+
+    private void deleteLocalFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to delete transferred file %s.", file), e);
+        }
+    }
+
+    private void deleteBlob(Blob blob) {
+        if (!blob.delete(Blob.BlobSourceOption.generationMatch())) {
+            log.warn(String.format("Transferred object gs://%s/%s has been changed or deleted and won't be deleted.",
+                    blob.getBucket(), blob.getName()));
         }
     }
 
-    private void uploadFile(String source, String destination, Storage storage) {
+    private void uploadFile(Path source, String destination, Storage storage, TransferProgress progress) {
         log.debug(String.format("Ready to upload file from %s to %s.", source, destination));
         BlobInfo blob = createBlobInfo(destination);
         try (WriteChannel writer = storage.writer(blob);
-             InputStream input = Files.newInputStream(Paths.get(source))) {
-            byte[] buffer = new byte[1024];
+             InputStream input = Files.newInputStream(source)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
             int limit;
             while ((limit = input.read(buffer)) >= 0) {
                 writer.write(ByteBuffer.wrap(buffer, 0, limit));
+                progress.add(limit);
             }
         } catch (IOException e) {
             throw new IllegalArgumentException(String.format("An error occurred during uploading file from %s to %s.",
                     source, destination), e);
         }
+        if (engine.isChecksumEnabled()) {
+            verifyChecksum(source, storage.get(blob.getBlobId()));
+        }
+    }
+
+    private void uploadChunkedFile(Path source, String destination, Storage storage, TransferProgress progress) {
+        log.debug(String.format("Ready to upload file from %s to %s in chunks.", source, destination));
+        File sourceFile = source.toFile();
+        BlobInfo blob = createBlobInfo(destination);
+        List<TransferChunk> chunks = engine.split(sourceFile.length(), MAX_COMPOSE_SOURCES);
+        List<String> parts = chunks.stream()
+                .map(chunk -> getPartName(blob, chunk))
+                .collect(Collectors.toList());
+        Blob composed;
+        try {
+            engine.run(chunks.stream()
+                    .map(chunk -> (Runnable) () -> uploadChunk(source,
+                            BlobInfo.newBuilder(blob.getBucket(), getPartName(blob, chunk)).build(),
+                            chunk, storage, progress))
+                    .collect(Collectors.toList()));
+            composed = storage.compose(Storage.ComposeRequest.newBuilder()
+                    .addSource(parts)
+                    .setTarget(blob)
+                    .build());
+        } finally {
+            deleteParts(blob, parts, storage);
+        }
+        verifyChecksum(source, composed);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void deleteParts(BlobInfo blob, List<String> parts, Storage storage) {
+        try {
+            storage.delete(parts.stream()
+                    .map(part -> BlobId.of(blob.getBucket(), part))
+                    .collect(Collectors.toList()));
+        } catch (RuntimeException e) {
+            log.warn(String.format("Failed to delete temporary parts of gs://%s/%s: %s",
+                    blob.getBucket(), blob.getName(), e.getMessage()));
+        }
+    }
+
+    private void uploadChunk(Path source, BlobInfo part, TransferChunk chunk, Storage storage,
+                             TransferProgress progress) {
+        try (WriteChannel writer = storage.writer(part);
+             FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = chunk.getOffset();
+            long end = chunk.getOffset() + chunk.getLength();
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+                int read = input.read(buffer, position);
+                if (read < 0) {
+                    throw new IllegalStateException(String.format("File %s has been truncated during upload.",
+                            source));
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    writer.write(buffer);
+                }
+                position += read;
+                progress.add(read);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format(
+                    "An error occurred during uploading chunk %d of file %s to gs://%s/%s.",
+                    chunk.getIndex(), source, part.getBucket(), part.getName()), e);
+        }
     }
 
-    private void downloadFolder(String key, String source, String destination, Bucket bucket) {
+    private void listFolder(String key, String source, String destination, Bucket bucket,
+                            List<Pair<Blob, String>> blobs) {
         for (Blob blob : listBucket(bucket, key)) {
             if (blob.getName().equals(key)) {
                 continue;
             }
             if (blob.getName().endsWith(DELIMITER)) {
-                downloadFolder(blob.getName(), source, destination, bucket);
+                listFolder(blob.getName(), source, destination, bucket, blobs);
             } else {
-                downloadFile(blob, blob.getName().replaceFirst(source, destination));
+                blobs.add(Pair.of(blob, blob.getName().replaceFirst(source, destination)));
             }
         }
     }
 
-    private void downloadFile(Blob blob, String destination) {
+    private void downloadFile(Blob blob, String destination, TransferProgress progress) {
         log.debug(String.format("Ready to download file from gs://%s/%s to %s.", blob.getBucket(), blob.getName(),
                 destination));
-        try (ReadChannel reader = blob.reader();
+        try (ReadChannel reader = blob.reader(Blob.BlobSourceOption.generationMatch());
              OutputStream writeTo = FileUtils.openOutputStream(new File(destination));
              WritableByteChannel channel = Channels.newChannel(writeTo)) {
             ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
-            while (reader.read(bytes) > 0) {
+            int read;
+            while ((read = reader.read(bytes)) > 0) {
                 bytes.flip();
                 channel.write(bytes);
                 bytes.clear();
+                progress.add(read);
             }
         } catch (IOException e) {
             throw new IllegalArgumentException(
                     String.format("An error occurred during downloading file from gs://%s/%s to %s.",
                             blob.getBucket(), blob.getName(), destination), e);
         }
+        verifyChecksum(Paths.get(destination), blob);
+    }
+
+    private void downloadChunkedFile(Blob blob, String destination, TransferProgress progress) {
+        log.debug(String.format("Ready to download file from gs://%s/%s to %s in chunks.", blob.getBucket(),
+                blob.getName(), destination));
+        Path target = Paths.get(destination);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_FILE_SUFFIX);
+        String source = String.format("gs://%s/%s", blob.getBucket(), blob.getName());
+        String version = String.valueOf(blob.getGeneration());
+        if (!Files.exists(temp)) {
+            engine.checkpoint(source, destination, version).delete();
+        }
+        TransferCheckpoint checkpoint = engine.checkpoint(source, destination, version);
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            try (RandomAccessFile file = new RandomAccessFile(temp.toFile(), "rw")) {
+                file.setLength(blob.getSize());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to allocate file %s.", temp), e);
+        }
+        engine.run(engine.split(blob.getSize(), Integer.MAX_VALUE).stream()
+                .filter(chunk -> skipCompleted(chunk, checkpoint, progress))
+                .map(chunk -> (Runnable) () -> {
+                    downloadChunk(blob, temp, chunk, progress);
+                    checkpoint.complete(chunk.getIndex());
+                })
+                .collect(Collectors.toList()));
+        checkpoint.delete();
+        verifyChecksum(temp, blob);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to move downloaded file %s to %s.",
+                    temp, target), e);
+        }
+    }
+
+    private void downloadChunk(Blob blob, Path destination, TransferChunk chunk, TransferProgress progress) {
+        try (ReadChannel reader = blob.reader(Blob.BlobSourceOption.generationMatch());
+             FileChannel output = FileChannel.open(destination, StandardOpenOption.WRITE)) {
+            reader.seek(chunk.getOffset());
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = chunk.getOffset();
+            long end = chunk.getOffset() + chunk.getLength();
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+                int read = reader.read(buffer);
+                if (read < 0) {
+                    throw new IllegalStateException(String.format("Object gs://%s/%s has been truncated.",
+                            blob.getBucket(), blob.getName()));
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    position += output.write(buffer, position);
+                }
+                progress.add(read);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format(
+                    "An error occurred during downloading chunk %d of file gs://%s/%s to %s.",
+                    chunk.getIndex(), blob.getBucket(), blob.getName(), destination), e);
+        }
+    }
+
+    private boolean skipCompleted(TransferChunk chunk, TransferCheckpoint checkpoint, TransferProgress progress) {
+        if (checkpoint.isCompleted(chunk.getIndex())) {
+            progress.add(chunk.getLength());
+            return false;
+        }
+        return true;
+    }
+
+    private void verifyChecksum(Path file, Blob blob) {
+        if (!engine.isChecksumEnabled() || blob == null || StringUtils.isBlank(blob.getCrc32c())) {
+            return;
+        }
+        String actual = engine.crc32c(file);
+        if (!actual.equals(blob.getCrc32c())) {
+            throw new IllegalStateException(String.format(
+                    "Checksum mismatch for file %s and gs://%s/%s: expected %s, actual %s.",
+                    file, blob.getBucket(), blob.getName(), blob.getCrc32c(), actual));
+        }
+    }
+
+    private String getPartName(BlobInfo blob, TransferChunk chunk) {
+        return PARTS_PREFIX + blob.getName() + DELIMITER + chunk.getIndex();
+    }
+
+    private TransferProgress getProgress(GoogleTransferInfo transferInfo) {
+        return Optional.ofNullable(transferInfo.getProgress()).orElseGet(TransferProgress::disabled);
     }
 
-    private static Storage getStorage(GoogleCredentials credentials) {
+    private static Storage createStorage(GoogleCredentials credentials) {
         UserCredentials userCredentials = UserCredentials
                 .newBuilder()
                 .setClientId(credentials.getClientId())
@@ -196,7 +477,7 @@ public class GoogleStorageClient {
     }
 
     private Bucket getBucket(GoogleCredentials googleCredentials, String bucketName) {
-        Storage storage = getStorage(googleCredentials);
+        Storage storage = storageProvider.apply(googleCredentials);
         Bucket bucket = storage.get(bucketName);
         Assert.notNull(bucket, String.format("Required bucket %s does not exist.", bucketName));
         return bucket;
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Matches relative file paths against transfer include patterns.
+ *
+ * Patterns have the same syntax as pipe CLI {@code --include} patterns: {@code *} matches any sequence of
+ * characters including path delimiters, {@code ?} matches any single character and {@code [seq]} or
+ * {@code [!seq]} match any single character which is either in or not in the sequence.
+ */
+public final class IncludePatternMatcher {
+
+    private final List<Pattern> patterns;
+
+    private IncludePatternMatcher(final List<Pattern> patterns) {
+        this.patterns = patterns;
+    }
+
+    /**
+     * @param include include patterns, all the paths match if there are no patterns
+     */
+    public static IncludePatternMatcher of(final List<String> include) {
+        if (CollectionUtils.isEmpty(include)) {
+            return new IncludePatternMatcher(Collections.emptyList());
+        }
+        return new IncludePatternMatcher(include.stream()
+                .map(IncludePatternMatcher::translate)
+                .map(regex -> Pattern.compile(regex, Pattern.DOTALL))
+                .collect(Collectors.toList()));
+    }
+
+    public boolean matches(final String path) {
+        return patterns.isEmpty() || patterns.stream().anyMatch(pattern -> pattern.matcher(path).matches());
+    }
+
+    private static String translate(final String pattern) {
+        final StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i++);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '[') {
+                final int end = findSequenceEnd(pattern, i);
+                if (end < 0) {
+                    regex.append("\\[");
+                } else {
+                    appendSequence(regex, pattern.substring(i, end));
+                    i = end + 1;
+                }
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    private static int findSequenceEnd(final String pattern, final int start) {
+        int j = start;
+        if (j < pattern.length() && pattern.charAt(j) == '!') {
+            j++;
+        }
+        if (j < pattern.length() && pattern.charAt(j) == ']') {
+            j++;
+        }
+        while (j < pattern.length() && pattern.charAt(j) != ']') {
+            j++;
+        }
+        return j < pattern.length() ? j : -1;
+    }
+
+    private static void appendSequence(final StringBuilder regex, final String sequence) {
+        regex.append('[');
+        int i = 0;
+        if (sequence.charAt(0) == '!') {
+            regex.append('^');
+            i++;
+        }
+        for (; i < sequence.length(); i++) {
+            final char c = sequence.charAt(i);
+            if (c == '-' || Character.isLetterOrDigit(c)) {
+                regex.append(c);
+            } else {
+                regex.append('\\').append(c);
+            }
+        }
+        regex.append(']');
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.Ints;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes file transfers inside the service process using a bounded pool of workers.
+ *
+ * Large files are split into chunks which are transferred concurrently, completed chunks are recorded
+ * in {@link TransferCheckpoint} so that a repeated transfer of the same file skips them.
+ */
+@Slf4j
+public class ParallelTransferEngine {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExecutorService executor;
+    @Getter
+    private final long chunkSize;
+    private final Path checkpointsDir;
+    @Getter
+    private final boolean checksumEnabled;
+
+    public ParallelTransferEngine(final int workers, final long chunkSize, final String checkpointsDir,
+                                  final boolean checksumEnabled) {
+        Assert.isTrue(workers > 0, "Number of transfer workers shall be positive.");
+        Assert.isTrue(chunkSize > 0, "Transfer chunk size shall be positive.");
+        this.executor = Executors.newFixedThreadPool(workers);
+        this.chunkSize = chunkSize;
+        this.checkpointsDir = Paths.get(checkpointsDir);
+        this.checksumEnabled = checksumEnabled;
+    }
+
+    public boolean isChunked(final long size) {
+        return size > chunkSize;
+    }
+
+    /**
+     * Splits a file of the given size into chunks of the configured size. If the number of chunks exceeds
+     * {@code maxChunks} the chunk size is increased accordingly.
+     */
+    public List<TransferChunk> split(final long size, final int maxChunks) {
+        final long actualChunkSize = Math.max(chunkSize, (size + maxChunks - 1) / maxChunks);
+        final List<TransferChunk> chunks = new ArrayList<>();
+        long offset = 0;
+        int index = 0;
+        while (offset < size) {
+            final long length = Math.min(actualChunkSize, size - offset);
+            chunks.add(new TransferChunk(index++, offset, length));
+            offset += length;
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns a checkpoint of a transfer from {@code source} to {@code destination}.
+     *
+     * @param version of the transferred file, previously completed chunks are discarded if it differs
+     */
+    public TransferCheckpoint checkpoint(final String source, final String destination, final String version) {
+        final String name = Hashing.sha256()
+                .hashString(source + "->" + destination, StandardCharsets.UTF_8)
+                .toString();
+        return new TransferCheckpoint(checkpointsDir.resolve(name), version);
+    }
+
+    /**
+     * Runs all jobs concurrently and waits for their completion. If any of the jobs fails the remaining ones
+     * are cancelled and the failure is rethrown.
+     */
+    public void run(final Collection<Runnable> jobs) {
+        final List<Future<?>> futures = new ArrayList<>(jobs.size());
+        jobs.forEach(job -> futures.add(executor.submit(job)));
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transfer has been interrupted.", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException
+                    ? (RuntimeException) cause
+                    : new IllegalStateException(cause.getMessage(), cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Calculates base64 encoded big-endian CRC32C checksum of a local file, the same format is used
+     * by cloud providers for object checksums.
+     */
+    public String crc32c(final Path file) {
+        final Hasher hasher = Hashing.crc32c().newHasher();
+        try (InputStream input = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                hasher.putBytes(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to calculate checksum of %s.", file), e);
+        }
+        return BaseEncoding.base64().encode(Ints.toByteArray(hasher.hash().asInt()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -81,6 +81,13 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.save(transferTask);
     }
 
+    @Override
+    public void updateProgress(final Long id, final long transferredBytes, final long totalBytes) {
+        if (taskRepository.updateProgress(id, transferredBytes, totalBytes) == 0) {
+            throw new IllegalArgumentException("Failed to find task");
+        }
+    }
+
     @Override
     public void deleteTask(Long id) {
         loadTask(id);
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent record of already transferred chunks of a single file.
+ *
+ * The first line of a checkpoint file holds the version of the transferred file, the following lines hold
+ * indexes of completed chunks. If the version does not match, e.g. the source file was changed since
+ * the previous attempt, all chunks are considered as not transferred.
+ */
+@Slf4j
+public class TransferCheckpoint {
+
+    private final Path file;
+    private final Set<Integer> completed = ConcurrentHashMap.newKeySet();
+
+    TransferCheckpoint(final Path file, final String version) {
+        this.file = file;
+        load(version);
+    }
+
+    public boolean isCompleted(final int index) {
+        return completed.contains(index);
+    }
+
+    public synchronized void complete(final int index) {
+        write(Collections.singletonList(String.valueOf(index)), StandardOpenOption.APPEND);
+        completed.add(index);
+    }
+
+    public synchronized void delete() {
+        try {
+            Files.deleteIfExists(file);
+            completed.clear();
+        } catch (IOException e) {
+            log.warn("Failed to delete transfer checkpoint {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void load(final String version) {
+        try {
+            if (Files.exists(file)) {
+                final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && lines.get(0).equals(version)) {
+                    lines.stream()
+                            .skip(1)
+                            .filter(NumberUtils::isDigits)
+                            .map(Integer::valueOf)
+                            .forEach(completed::add);
+                    log.debug("Transfer checkpoint {} contains {} completed chunks.", file, completed.size());
+                    return;
+                }
+            }
+            Files.createDirectories(file.getParent());
+            write(Collections.singletonList(StringUtils.defaultString(version)),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to load transfer checkpoint %s.", file), e);
+        }
+    }
+
+    private void write(final List<String> lines, final StandardOpenOption option) {
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    option);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to update transfer checkpoint %s.", file), e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Thread safe counter of transferred bytes which notifies a listener not more often than once per interval.
+ */
+public class TransferProgress {
+
+    private static final TransferProgress DISABLED = new TransferProgress(progress -> { }, Long.MAX_VALUE);
+
+    private final Consumer<TransferProgress> listener;
+    private final long intervalMs;
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong transferred = new AtomicLong();
+    private final AtomicLong lastReported = new AtomicLong();
+
+    public TransferProgress(final Consumer<TransferProgress> listener, final long intervalMs) {
+        this.listener = listener;
+        this.intervalMs = intervalMs;
+    }
+
+    public static TransferProgress disabled() {
+        return DISABLED;
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getTransferred() {
+        return transferred.get();
+    }
+
+    public void addTotal(final long bytes) {
+        total.addAndGet(bytes);
+    }
+
+    public void add(final long bytes) {
+        transferred.addAndGet(bytes);
+        final long now = System.currentTimeMillis();
+        final long last = lastReported.get();
+        if (now - last >= intervalMs && lastReported.compareAndSet(last, now)) {
+            report();
+        }
+    }
+
+    public void flush() {
+        lastReported.set(System.currentTimeMillis());
+        report();
+    }
+
+    private synchronized void report() {
+        listener.accept(this);
+    }
+}
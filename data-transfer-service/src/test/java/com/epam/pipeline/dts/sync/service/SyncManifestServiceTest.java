@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.sync.service;
+
+import com.epam.pipeline.dts.AbstractTest;
+import com.epam.pipeline.dts.sync.model.AutonomousSyncRule;
+import com.epam.pipeline.dts.sync.model.SyncDelta;
+import com.epam.pipeline.dts.sync.service.impl.SyncManifestService;
+import lombok.SneakyThrows;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SyncManifestServiceTest extends AbstractTest {
+
+    private static final String FILE_1 = "file1";
+    private static final String FILE_2 = "file2";
+    private static final String DESTINATION = "s3://bucket/path";
+
+    private final Path source = createTempFolder("dts-sync-manifest-test-source");
+    private final Path manifests = createTempFolder("dts-sync-manifest-test-manifests");
+    private final SyncManifestService service = new SyncManifestService(manifests.toString());
+    private final AutonomousSyncRule rule = new AutonomousSyncRule(source.toString(), DESTINATION, null, false,
+            Collections.emptyList());
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteQuietly(source.toFile());
+        FileUtils.deleteQuietly(manifests.toFile());
+    }
+
+    @Test
+    void deltaShouldContainAllFilesIfManifestDoesNotExist() {
+        write(FILE_1, "content");
+        write(FILE_2, "other content");
+
+        final SyncDelta delta = service.getDelta(rule);
+
+        assertThat(delta.getChanged().size(), is(2));
+        assertThat(delta.getChangedBytes(), is(20L));
+        assertThat(delta.getDeleted().isEmpty(), is(true));
+    }
+
+    @Test
+    void deltaShouldBeEmptyIfFilesAreNotChanged() {
+        write(FILE_1, "content");
+        service.save(rule, service.getDelta(rule).getManifest());
+
+        assertThat(service.getDelta(rule).isEmpty(), is(true));
+    }
+
+    @Test
+    void deltaShouldNotContainTouchedFilesWithTheSameContent() {
+        final Path file = write(FILE_1, "content");
+        service.save(rule, service.getDelta(rule).getManifest());
+        touch(file);
+
+        assertThat(service.getDelta(rule).isEmpty(), is(true));
+    }
+
+    @Test
+    void deltaShouldContainChangedAndDeletedFiles() {
+        write(FILE_1, "content");
+        final Path deleted = write(FILE_2, "content");
+        service.save(rule, service.getDelta(rule).getManifest());
+        write(FILE_1, "changed content");
+        FileUtils.deleteQuietly(deleted.toFile());
+
+        final SyncDelta delta = service.getDelta(rule);
+
+        assertThat(delta.getChanged(), is(Collections.singletonList(FILE_1)));
+        assertThat(delta.getDeleted(), is(Collections.singletonList(FILE_2)));
+    }
+
+    @SneakyThrows
+    private Path write(final String name, final String content) {
+        return Files.write(source.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SneakyThrows
+    private void touch(final Path file) {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+    }
+}
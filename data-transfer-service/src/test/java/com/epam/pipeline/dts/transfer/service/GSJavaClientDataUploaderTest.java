@@ -21,6 +21,7 @@ import com.epam.pipeline.dts.transfer.model.StorageType;
 import com.epam.pipeline.dts.transfer.model.TransferTask;
 import com.epam.pipeline.dts.transfer.model.google.GoogleCredentials;
 import com.epam.pipeline.dts.transfer.model.google.GoogleTransferInfo;
+import com.epam.pipeline.dts.transfer.service.impl.AbstractDataUploader;
 import com.epam.pipeline.dts.transfer.service.impl.GSJavaClientDataUploader;
 import com.epam.pipeline.dts.transfer.service.impl.GoogleStorageClient;
 import org.apache.commons.io.FilenameUtils;
@@ -28,6 +29,8 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -43,6 +46,7 @@ public class GSJavaClientDataUploaderTest extends AbstractTransferTest {
     private static final String GS_BUCKET_PATH_TO_FILE = "gs://bucket/path/to/file";
     private static final String BUCKET = "bucket";
     private static final String PATH_TO_FOLDER_RELATIVE = "path/to/folder";
+    private static final String USER = "USER";
 
     private final GoogleStorageClient googleStorageClient = mock(GoogleStorageClient.class);
     private final DataUploader dataUploader = new GSJavaClientDataUploader(googleStorageClient);
@@ -197,6 +201,44 @@ public class GSJavaClientDataUploaderTest extends AbstractTransferTest {
         verify(googleStorageClient).downloadFile(eq(transferInfo));
     }
 
+    @Test
+    void transferShouldPassIncludedPathsAndSourceDeletion() {
+        final StorageItem source = localFolderItem();
+        final StorageItem destination = gsItem();
+        final List<String> included = Collections.singletonList("*.txt");
+
+        dataUploader.transfer(taskOf(source, destination).withIncluded(included).withDeleteSource(true));
+
+        final GoogleTransferInfo transferInfo = GoogleTransferInfo.builder()
+            .source(source.getPath())
+            .destination(destination.getPath())
+            .credentials(GoogleCredentials.from(destination.getCredentials()))
+            .include(included)
+            .deleteSource(true)
+            .build();
+        verify(googleStorageClient).uploadDirectory(eq(transferInfo));
+    }
+
+    @Test
+    void transferShouldDelegateTransferOnBehalfOfUserToFallbackUploader() {
+        final AbstractDataUploader fallbackUploader = mock(AbstractDataUploader.class);
+        final DataUploader uploader = new GSJavaClientDataUploader(googleStorageClient, null, 0L, fallbackUploader);
+        final TransferTask task = taskOf(localFolderItem(), gsItem()).withUser(USER);
+
+        uploader.transfer(task);
+
+        verify(fallbackUploader).transfer(task);
+        verify(googleStorageClient, never()).uploadDirectory(any());
+    }
+
+    @Test
+    void transferShouldFailOnBehalfOfUserWithoutFallbackUploader() {
+        final TransferTask task = taskOf(localFolderItem(), gsItem()).withUser(USER);
+
+        assertThrows(IllegalStateException.class, () -> dataUploader.transfer(task));
+        verify(googleStorageClient, never()).uploadDirectory(any());
+    }
+
     private StorageItem localFolderItem() {
         return localItem(existingFolderPath.toString());
     }
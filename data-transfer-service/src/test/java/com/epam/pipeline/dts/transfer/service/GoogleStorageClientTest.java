@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.AbstractTest;
+import com.epam.pipeline.dts.transfer.model.google.GoogleCredentials;
+import com.epam.pipeline.dts.transfer.model.google.GoogleTransferInfo;
+import com.epam.pipeline.dts.transfer.service.impl.GoogleStorageClient;
+import com.epam.pipeline.dts.transfer.service.impl.ParallelTransferEngine;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.common.collect.Iterables;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GoogleStorageClientTest extends AbstractTest {
+
+    private static final int CHUNK_SIZE = 10;
+    private static final int FILE_SIZE = 25;
+    private static final int CHUNKS = 3;
+    private static final String DESTINATION = "gs://bucket/path/to/file";
+    private static final String FOLDER_DESTINATION = "gs://bucket/path/to/folder";
+
+    private final Path checkpointsDir = createTempFolder("dts-google-storage-client-test");
+    private final Path source = createTempFile("dts-google-storage-client-test-file");
+    private final ParallelTransferEngine engine = new ParallelTransferEngine(2, CHUNK_SIZE,
+            checkpointsDir.toString(), false);
+    private final Storage storage = mock(Storage.class);
+    private final WriteChannel writer = mock(WriteChannel.class);
+    private final GoogleStorageClient client = new GoogleStorageClient(engine, credentials -> storage);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.write(source, new byte[FILE_SIZE]);
+        when(writer.write(any())).thenAnswer(invocation -> {
+            final ByteBuffer buffer = invocation.getArgument(0);
+            final int remaining = buffer.remaining();
+            buffer.position(buffer.limit());
+            return remaining;
+        });
+        when(storage.writer(any(BlobInfo.class))).thenReturn(writer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        FileUtils.deleteQuietly(checkpointsDir.toFile());
+        FileUtils.deleteQuietly(source.toFile());
+    }
+
+    @Test
+    void uploadFileShouldComposeChunksAndDeleteParts() {
+        when(storage.compose(any())).thenReturn(mock(Blob.class));
+
+        client.uploadFile(transferInfo());
+
+        verify(storage).compose(argThat(request -> request.getSourceBlobs().size() == CHUNKS
+                && request.getTarget().getName().equals("path/to/file")));
+        verify(storage).delete(argThat((Iterable<BlobId> parts) -> Iterables.size(parts) == CHUNKS));
+    }
+
+    @Test
+    void uploadFileShouldDeletePartsIfAnyChunkFails() {
+        doThrow(new IllegalStateException("failure")).when(storage)
+                .writer(argThat((BlobInfo part) -> part != null && part.getName().endsWith("/1")));
+
+        assertThrows(IllegalStateException.class, () -> client.uploadFile(transferInfo()));
+
+        verify(storage, never()).compose(any());
+        verify(storage).delete(argThat((Iterable<BlobId> parts) -> Iterables.size(parts) == CHUNKS));
+    }
+
+    @Test
+    void uploadSmallFileShouldNotCreateParts() {
+        engine.shutdown();
+        final ParallelTransferEngine largeChunksEngine = new ParallelTransferEngine(1, FILE_SIZE,
+                checkpointsDir.toString(), false);
+        try {
+            new GoogleStorageClient(largeChunksEngine, credentials -> storage).uploadFile(transferInfo());
+        } finally {
+            largeChunksEngine.shutdown();
+        }
+
+        verify(storage).writer(argThat((BlobInfo blob) -> blob != null && blob.getName().equals("path/to/file")));
+        verify(storage, never()).compose(any());
+    }
+
+    @Test
+    void uploadDirectoryShouldUploadOnlyIncludedFilesAndDeleteThem() throws IOException {
+        final Path folder = createTempFolder("dts-google-storage-client-test-folder");
+        try {
+            final Path included = Files.write(folder.resolve("a.txt"), new byte[1]);
+            final Path excluded = Files.write(folder.resolve("b.log"), new byte[1]);
+
+            client.uploadDirectory(new GoogleTransferInfo()
+                    .withCredentials(new GoogleCredentials())
+                    .withSource(folder.toString())
+                    .withDestination(FOLDER_DESTINATION)
+                    .withInclude(Collections.singletonList("*.txt"))
+                    .withDeleteSource(true));
+
+            verify(storage).writer(argThat((BlobInfo blob) -> blob != null
+                    && blob.getName().equals("path/to/folder/a.txt")));
+            verify(storage, never()).writer(argThat((BlobInfo blob) -> blob != null
+                    && blob.getName().endsWith("b.log")));
+            assertFalse(Files.exists(included));
+            assertTrue(Files.exists(excluded));
+        } finally {
+            FileUtils.deleteQuietly(folder.toFile());
+        }
+    }
+
+    private GoogleTransferInfo transferInfo() {
+        return new GoogleTransferInfo()
+                .withCredentials(new GoogleCredentials())
+                .withSource(source.toString())
+                .withDestination(DESTINATION);
+    }
+}
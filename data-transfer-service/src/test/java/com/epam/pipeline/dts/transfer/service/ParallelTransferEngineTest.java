@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.dts.transfer.service;
+
+import com.epam.pipeline.dts.AbstractTest;
+import com.epam.pipeline.dts.transfer.service.impl.ParallelTransferEngine;
+import com.epam.pipeline.dts.transfer.service.impl.TransferCheckpoint;
+import com.epam.pipeline.dts.transfer.service.impl.TransferChunk;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelTransferEngineTest extends AbstractTest {
+
+    private static final String SOURCE = "gs://bucket/file";
+    private static final String DESTINATION = "/path/to/file";
+    private static final String VERSION = "1";
+
+    private final Path checkpointsDir = createTempFolder("dts-parallel-transfer-engine-test");
+    private final ParallelTransferEngine engine = new ParallelTransferEngine(2, 10, checkpointsDir.toString(),
+            true);
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        FileUtils.deleteQuietly(checkpointsDir.toFile());
+    }
+
+    @Test
+    void splitShouldCoverWholeFile() {
+        final List<TransferChunk> chunks = engine.split(25, Integer.MAX_VALUE);
+
+        assertThat(chunks, is(Arrays.asList(
+                new TransferChunk(0, 0, 10),
+                new TransferChunk(1, 10, 10),
+                new TransferChunk(2, 20, 5))));
+    }
+
+    @Test
+    void splitShouldIncreaseChunkSizeToFitMaxChunks() {
+        final List<TransferChunk> chunks = engine.split(100, 4);
+
+        assertThat(chunks.size(), is(4));
+        assertThat(chunks.get(3), is(new TransferChunk(3, 75, 25)));
+    }
+
+    @Test
+    void checkpointShouldKeepCompletedChunksOfTheSameVersion() {
+        engine.checkpoint(SOURCE, DESTINATION, VERSION).complete(1);
+
+        final TransferCheckpoint checkpoint = engine.checkpoint(SOURCE, DESTINATION, VERSION);
+
+        assertThat(checkpoint.isCompleted(0), is(false));
+        assertThat(checkpoint.isCompleted(1), is(true));
+    }
+
+    @Test
+    void checkpointShouldBeResetIfVersionChanges() {
+        engine.checkpoint(SOURCE, DESTINATION, VERSION).complete(1);
+
+        final TransferCheckpoint checkpoint = engine.checkpoint(SOURCE, DESTINATION, "2");
+
+        assertThat(checkpoint.isCompleted(1), is(false));
+    }
+
+    @Test
+    void runShouldExecuteAllJobs() {
+        final AtomicInteger counter = new AtomicInteger();
+
+        engine.run(Arrays.asList(counter::incrementAndGet, counter::incrementAndGet, counter::incrementAndGet));
+
+        assertThat(counter.get(), is(3));
+    }
+
+    @Test
+    void runShouldRethrowJobFailure() {
+        assertThrows(IllegalStateException.class, () -> engine.run(Arrays.asList(() -> { },
+            () -> {
+                throw new IllegalStateException("failure");
+            })));
+    }
+}
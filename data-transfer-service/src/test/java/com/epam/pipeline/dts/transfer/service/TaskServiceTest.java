@@ -194,6 +194,24 @@ public class TaskServiceTest extends AbstractTransferTest {
         verify(taskRepository).save(eq(updatedTask));
     }
 
+    @Test
+    void updateProgressShouldUpdateOnlyProgressOfTheTask() {
+        final Long taskId = 1L;
+        when(taskRepository.updateProgress(taskId, 10L, 100L)).thenReturn(1);
+
+        taskService.updateProgress(taskId, 10L, 100L);
+
+        verify(taskRepository).updateProgress(taskId, 10L, 100L);
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void updateProgressShouldFailIfTransferTaskDoesNotExist() {
+        when(taskRepository.updateProgress(any(), any(), any())).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> taskService.updateProgress(1L, 10L, 100L));
+    }
+
     @Test
     void deleteTaskShouldFailIfTransferTaskDoesNotExist() {
         final Long taskId = 1L;
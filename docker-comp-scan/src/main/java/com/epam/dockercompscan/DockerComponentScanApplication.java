@@ -18,7 +18,9 @@ package com.epam.dockercompscan;
 
 import com.epam.dockercompscan.config.WEBMVCConfiguration;
 import com.epam.dockercompscan.util.LayerScanCache;
+import com.epam.dockercompscan.util.LayerScanStore;
 import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,6 +34,7 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.Semaphore;
@@ -52,6 +55,9 @@ public class DockerComponentScanApplication {
     @Value("${number.cached.scans:50}")
     private int numberOfCachedScans;
 
+    @Value("${layer.results.dir:}")
+    private String layerResultsDir;
+
     @Value("${ssl.insecure.enable}")
     private boolean sslInsecureEnable;
 
@@ -104,8 +110,13 @@ public class DockerComponentScanApplication {
     }
 
     @Bean
-    public LayerScanCache layerScanCache() {
-        return new LayerScanCache(expireCacheTime, numberOfCachedScans);
+    public LayerScanCache layerScanCache() throws IOException {
+        if (StringUtils.isBlank(layerResultsDir)) {
+            LOGGER.warn("Layer results directory is not specified, scan results will be kept in memory only.");
+            return new LayerScanCache(expireCacheTime, numberOfCachedScans);
+        }
+        return new LayerScanCache(expireCacheTime, numberOfCachedScans,
+                new LayerScanStore(layerResultsDir, expireCacheTime));
     }
 
     @Bean
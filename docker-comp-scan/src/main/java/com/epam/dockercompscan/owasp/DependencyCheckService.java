@@ -19,6 +19,7 @@ package com.epam.dockercompscan.owasp;
 import com.epam.dockercompscan.owasp.analyzer.AnalyzeEnabler;
 import com.epam.dockercompscan.scan.domain.Dependency;
 import org.owasp.dependencycheck.Engine;
+import org.owasp.dependencycheck.analyzer.FileTypeAnalyzer;
 import org.owasp.dependencycheck.exception.ExceptionCollection;
 import org.owasp.dependencycheck.utils.Settings;
 import org.slf4j.Logger;
@@ -27,6 +28,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
@@ -40,6 +43,8 @@ public class DependencyCheckService {
     @Value("#{'${enable.analyzers}'.split(',')}")
     private List<String> enabledAnalysers;
 
+    private volatile FileFilter supportedFilesFilter;
+
     public List<Dependency> runScan(File outputFolder) {
         LOGGER.debug("Start scanning: " + outputFolder.getName());
         Settings settings = populateSettings();
@@ -62,6 +67,34 @@ public class DependencyCheckService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns a filter which accepts only files that can be processed by any of the enabled analyzers.
+     * It allows to skip the rest of a layer content without writing it to disk.
+     */
+    public FileFilter getSupportedFilesFilter() {
+        if (supportedFilesFilter == null) {
+            synchronized (this) {
+                if (supportedFilesFilter == null) {
+                    supportedFilesFilter = buildSupportedFilesFilter();
+                }
+            }
+        }
+        return supportedFilesFilter;
+    }
+
+    private FileFilter buildSupportedFilesFilter() {
+        Settings settings = populateSettings();
+        Engine engine = new Engine(Engine.Mode.EVIDENCE_COLLECTION, settings);
+        try {
+            List<FileTypeAnalyzer> analyzers = new ArrayList<>(engine.getFileTypeAnalyzers());
+            LOGGER.debug("Layer files will be filtered by " + analyzers.size() + " file type analyzers");
+            return file -> analyzers.stream().anyMatch(analyzer -> analyzer.accept(file));
+        } finally {
+            engine.close();
+            settings.cleanup();
+        }
+    }
+
     private Predicate<org.owasp.dependencycheck.dependency.Dependency> getDependencyFilter() {
         return d -> d.getName() != null && d.getEcosystem() != null
                 && (enabledAnalysers.stream()
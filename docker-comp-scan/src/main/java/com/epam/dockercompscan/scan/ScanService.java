@@ -24,8 +24,7 @@ import com.epam.dockercompscan.scan.domain.LayerScanResult;
 import com.epam.dockercompscan.scan.domain.ScanRequest;
 import com.epam.dockercompscan.util.LayerKey;
 import com.epam.dockercompscan.util.LayerScanCache;
-import org.apache.commons.compress.archivers.ArchiveEntry;
-import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
@@ -42,14 +41,20 @@ import javax.annotation.PostConstruct;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileFilter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URLDecoder;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.zip.GZIPInputStream;
 
@@ -75,6 +80,9 @@ public class ScanService {
 
     private Semaphore scanSlots;
 
+    private final ConcurrentMap<String, CompletableFuture<LayerScanResult>> scansInProgress =
+            new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         scanSlots = new Semaphore(numberOfScanningThreads);
@@ -108,63 +116,121 @@ public class ScanService {
         return new ImageScanResult(id, layers);
     }
 
+    /**
+     * Scans a layer if there is no actual scan result for it yet. Concurrent requests for the same layer
+     * are coalesced: only the first one analyzes the layer while the others wait for its result.
+     */
     public LayerScanResult scan(final ScanRequest request) {
         LOGGER.debug("Register ScanRequset with layer: " + request.getLayer());
         ScanRequest.Layer toScan = request.getLayer();
 
         LayerKey cacheKey = LayerKey.create(toScan.getName(), toScan.getParentName());
         LayerScanResult result = layerScanCache.getIfPresent(cacheKey);
+        if (isCompleted(result)) {
+            return result;
+        }
+
+        CompletableFuture<LayerScanResult> scan = new CompletableFuture<>();
+        CompletableFuture<LayerScanResult> inProgress = scansInProgress.putIfAbsent(cacheKey.getName(), scan);
+        if (inProgress != null) {
+            LOGGER.debug("Layer: " + cacheKey.getName() + " is already being scanned, waiting for the result");
+            return awaitScan(inProgress);
+        }
+        try {
+            result = layerScanCache.getIfPresent(cacheKey);
+            if (!isCompleted(result)) {
+                result = scanLayer(toScan, cacheKey);
+            }
+            scan.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            scan.completeExceptionally(e);
+            throw e;
+        } finally {
+            scansInProgress.remove(cacheKey.getName(), scan);
+        }
+    }
 
-        if (result == null || result.getStatus() == LayerScanResult.Status.FAILURE) {
-            result = new LayerScanResult(toScan.getName(), LayerScanResult.Status.RUNNING, toScan.getParentName());
+    private LayerScanResult scanLayer(final ScanRequest.Layer toScan, final LayerKey cacheKey) {
+        LayerScanResult result = new LayerScanResult(toScan.getName(), LayerScanResult.Status.RUNNING,
+                toScan.getParentName());
+        layerScanCache.put(cacheKey, result);
+
+        File outputFolder = new File(baseWorkingDir, toScan.getName());
+        try {
+            scanSlots.acquire();
+            Files.createDirectories(Paths.get(outputFolder.getPath()));
+            fetchLayer(toScan, outputFolder);
+            List<Dependency> dependencies = checkService.runScan(outputFolder);
+            dependencies.forEach(d -> d.setLayerId(toScan.getName()));
+            result.setDependencies(dependencies);
+            result.setStatus(LayerScanResult.Status.SUCCESSFUL);
             layerScanCache.put(cacheKey, result);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            result.setStatus(LayerScanResult.Status.FAILURE);
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error(e.getMessage(), e);
+            result.setStatus(LayerScanResult.Status.FAILURE);
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } finally {
+            FileUtils.deleteQuietly(outputFolder);
+            scanSlots.release();
+        }
+        return result;
+    }
+
+    private static boolean isCompleted(@Nullable final LayerScanResult result) {
+        return result != null && result.getStatus() == LayerScanResult.Status.SUCCESSFUL;
+    }
 
-            File outputFolder = new File(baseWorkingDir, toScan.getName());
-            try {
-                scanSlots.acquire();
-                Files.createDirectories(Paths.get(outputFolder.getPath()));
-                fetchLayer(toScan, outputFolder);
-                List<Dependency> dependencies = checkService.runScan(outputFolder);
-                dependencies.forEach(d -> d.setLayerId(toScan.getName()));
-                result.setDependencies(dependencies);
-                result.setStatus(LayerScanResult.Status.SUCCESSFUL);
-            } catch (IOException e) {
-                LOGGER.error(e.getMessage(), e);
-                result.setStatus(LayerScanResult.Status.FAILURE);
-                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                LOGGER.error(e.getMessage(), e);
-                result.setStatus(LayerScanResult.Status.FAILURE);
-                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
-            } finally {
-                FileUtils.deleteQuietly(outputFolder);
-                scanSlots.release();
+    private LayerScanResult awaitScan(final CompletableFuture<LayerScanResult> scan) {
+        try {
+            return scan.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error(e.getMessage(), e);
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpServerErrorException) {
+                throw (HttpServerErrorException) e.getCause();
             }
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, e.getCause().getMessage());
         }
-        return result;
     }
 
+    /**
+     * Reads layer tarball as a stream and unpacks only the files supported by the enabled analyzers,
+     * the rest of the entries are skipped without being written to disk.
+     */
     private void fetchLayer(ScanRequest.Layer layerToScan, File layerFolder) throws IOException {
 
         GZIPInputStream gzipInputStream = new GZIPInputStream(
                 new BufferedInputStream(dockerRegistryService.getDockerLayerBlob(layerToScan)));
 
         LOGGER.debug("Unpack layer: " + layerToScan.getName() + " into: " + layerFolder.getAbsolutePath());
-        try (ArchiveInputStream tarStream = new TarArchiveInputStream(gzipInputStream)) {
-            ArchiveEntry entry;
-            while ((entry = tarStream.getNextEntry()) != null) {
-                String entryName = entry.getName();
-                final File entryFile = new File(layerFolder, entryName);
-                if (entry.isDirectory()) {
-                    Files.createDirectories(entryFile.toPath());
-                } else {
-                    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(entryFile))) {
-                        IOUtils.copy(tarStream, out);
-                    }
+        FileFilter supportedFilesFilter = checkService.getSupportedFilesFilter();
+        Path layerRoot = layerFolder.toPath().toAbsolutePath().normalize();
+        int unpacked = 0;
+        try (TarArchiveInputStream tarStream = new TarArchiveInputStream(gzipInputStream)) {
+            TarArchiveEntry entry;
+            while ((entry = tarStream.getNextTarEntry()) != null) {
+                if (!entry.isFile()) {
+                    continue;
+                }
+                final Path entryPath = layerRoot.resolve(entry.getName()).normalize();
+                if (!entryPath.startsWith(layerRoot) || !supportedFilesFilter.accept(entryPath.toFile())) {
+                    continue;
+                }
+                Files.createDirectories(entryPath.getParent());
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(entryPath.toFile()))) {
+                    IOUtils.copy(tarStream, out);
                 }
+                unpacked++;
             }
-            LOGGER.debug("Successfully unpack layer: " + layerToScan.getName());
+            LOGGER.debug("Successfully unpack " + unpacked + " files of layer: " + layerToScan.getName());
         }
     }
 }
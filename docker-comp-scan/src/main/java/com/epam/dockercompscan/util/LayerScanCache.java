@@ -32,7 +32,15 @@ public class LayerScanCache {
 
     private final Cache<String, LayerScanResult> byNames;
 
+    @Nullable
+    private final LayerScanStore store;
+
     public LayerScanCache(int expireCacheTime, int numberOfCachedScans) {
+        this(expireCacheTime, numberOfCachedScans, null);
+    }
+
+    public LayerScanCache(int expireCacheTime, int numberOfCachedScans, @Nullable LayerScanStore store) {
+        this.store = store;
         byParents = CacheBuilder.newBuilder()
                 .maximumSize(MAX_NUMBER_OF_LAYERS_PER_IMAGE * numberOfCachedScans)
                 .expireAfterWrite(expireCacheTime * SECONDS_IN_HOUR + 1, TimeUnit.SECONDS)
@@ -44,22 +52,38 @@ public class LayerScanCache {
     }
 
 
+    /**
+     * Looks up a layer scan result in memory first and in the persistent store, if it is configured, second.
+     * Results loaded from the store are put back to memory so subsequent lookups of the same image are cheap.
+     */
     @Nullable
     public LayerScanResult getIfPresent(LayerKey key) {
         if (key.getName() != null) {
-            return byNames.getIfPresent(key.getName());
+            return getByName(key.getName());
         } else {
             String nameByParent = byParents.getIfPresent(key.getParentName());
-            return nameByParent != null ? byNames.getIfPresent(nameByParent) : null;
+            if (nameByParent == null && store != null) {
+                nameByParent = store.findNameByParent(key.getParentName());
+            }
+            return nameByParent != null ? getByName(nameByParent) : null;
         }
     }
 
-    public synchronized void put(LayerKey key, LayerScanResult value) {
-        if (key.getParentName() != null) {
-            byParents.put(key.getParentName(), value.getLayerId());
+    /**
+     * Puts a layer scan result to memory. Successful results are also saved to the persistent store,
+     * if it is configured.
+     */
+    public void put(LayerKey key, LayerScanResult value) {
+        synchronized (this) {
+            if (key.getParentName() != null) {
+                byParents.put(key.getParentName(), value.getLayerId());
+            }
+            if (key.getName() != null){
+                byNames.put(key.getName(), value);
+            }
         }
-        if (key.getName() != null){
-            byNames.put(key.getName(), value);
+        if (store != null) {
+            store.save(value);
         }
     }
 
@@ -67,6 +91,18 @@ public class LayerScanCache {
         return byParents.size();
     }
 
+    @Nullable
+    private LayerScanResult getByName(String name) {
+        LayerScanResult result = byNames.getIfPresent(name);
+        if (result == null && store != null) {
+            result = store.find(name);
+            if (result != null) {
+                byNames.put(name, result);
+            }
+        }
+        return result;
+    }
+
     public void cleanUp() {
         byParents.cleanUp();
         byNames.cleanUp();
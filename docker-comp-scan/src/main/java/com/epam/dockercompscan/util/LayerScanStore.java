@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.dockercompscan.util;
+
+import com.epam.dockercompscan.config.JsonMapper;
+import com.epam.dockercompscan.scan.domain.LayerScanResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Durable storage of successful layer scan results.
+ *
+ * Each result is kept as a separate json file named after the hash of the layer name, so a layer which was
+ * scanned once is not analyzed again, even after the service restart. Layer names, their parents and save times
+ * are also appended to a small index file, so layers chain (parent to child and child to parent) is indexed
+ * in memory on startup without reading of the results themselves. If the index file is missing, it is rebuilt
+ * from the stored results.
+ *
+ * Results are kept for the retention time only, the same as in-memory scan results. Expired results are
+ * ignored on lookup and are deleted on startup along with the results missing in the index.
+ */
+public class LayerScanStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LayerScanStore.class);
+    private static final String RESULT_EXTENSION = ".json";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final String INDEX_FILE = "index";
+    private static final String INDEX_SEPARATOR = "\t";
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+    private static final int INDEX_COLUMNS = 3;
+
+    private final Path storeDir;
+    private final Path indexPath;
+    private final long retentionMillis;
+    private final ObjectMapper mapper = new JsonMapper();
+    private final Map<String, Long> savedTimes = new ConcurrentHashMap<>();
+    private final Map<String, String> namesByParents = new ConcurrentHashMap<>();
+
+    /**
+     * @param storeDir directory to store results in
+     * @param retentionHours number of hours a result is kept for
+     */
+    public LayerScanStore(String storeDir, long retentionHours) throws IOException {
+        this.storeDir = Files.createDirectories(Paths.get(storeDir));
+        this.indexPath = this.storeDir.resolve(INDEX_FILE);
+        this.retentionMillis = TimeUnit.HOURS.toMillis(retentionHours);
+        loadIndex();
+    }
+
+    public boolean contains(String name) {
+        Long savedTime = savedTimes.get(name);
+        return savedTime != null && !isExpired(savedTime);
+    }
+
+    @Nullable
+    public String findNameByParent(String parentName) {
+        String name = namesByParents.get(parentName);
+        return name != null && contains(name) ? name : null;
+    }
+
+    @Nullable
+    public LayerScanResult find(String name) {
+        if (!contains(name)) {
+            return null;
+        }
+        try {
+            return read(getResultPath(name));
+        } catch (IOException e) {
+            LOGGER.error("Failed to read stored scan result of layer: " + name, e);
+            return null;
+        }
+    }
+
+    public void save(LayerScanResult result) {
+        if (result.getStatus() != LayerScanResult.Status.SUCCESSFUL) {
+            return;
+        }
+        Path resultPath = getResultPath(result.getLayerId());
+        Path tempPath = resultPath.resolveSibling(resultPath.getFileName() + TEMP_EXTENSION);
+        try {
+            mapper.writeValue(tempPath.toFile(), result);
+            Files.move(tempPath, resultPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long savedTime = System.currentTimeMillis();
+            appendToIndex(result.getLayerId(), result.getParentId(), savedTime);
+            index(result.getLayerId(), result.getParentId(), savedTime);
+        } catch (IOException e) {
+            LOGGER.error("Failed to store scan result of layer: " + result.getLayerId(), e);
+            deleteQuietly(tempPath);
+        }
+    }
+
+    public int size() {
+        return (int) savedTimes.values().stream().filter(savedTime -> !isExpired(savedTime)).count();
+    }
+
+    private void loadIndex() throws IOException {
+        if (Files.exists(indexPath)) {
+            readIndex();
+        } else {
+            rebuildIndex();
+        }
+        removeExpired();
+        deleteNotIndexedResults();
+        writeIndex();
+        LOGGER.info("Loaded " + size() + " stored layer scan results from: " + storeDir);
+    }
+
+    private void readIndex() throws IOException {
+        for (String line : Files.readAllLines(indexPath, StandardCharsets.UTF_8)) {
+            String[] columns = line.split(INDEX_SEPARATOR, -1);
+            if (columns.length != INDEX_COLUMNS) {
+                LOGGER.warn("Skip corrupted scan results index entry: " + line);
+                continue;
+            }
+            try {
+                index(decode(columns[1]), columns[2].isEmpty() ? null : decode(columns[2]),
+                        Long.parseLong(columns[0]));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Skip corrupted scan results index entry: " + line);
+            }
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        LOGGER.info("Scan results index is missing, rebuilding it from: " + storeDir);
+        try (DirectoryStream<Path> results = Files.newDirectoryStream(storeDir, "*" + RESULT_EXTENSION)) {
+            for (Path resultPath : results) {
+                try {
+                    LayerScanResult result = read(resultPath);
+                    index(result.getLayerId(), result.getParentId(),
+                            Files.getLastModifiedTime(resultPath).toMillis());
+                } catch (IOException e) {
+                    LOGGER.warn("Skip corrupted scan result: " + resultPath, e);
+                    deleteQuietly(resultPath);
+                }
+            }
+        }
+    }
+
+    private void removeExpired() {
+        savedTimes.values().removeIf(this::isExpired);
+        namesByParents.values().removeIf(name -> !savedTimes.containsKey(name));
+    }
+
+    private void deleteNotIndexedResults() throws IOException {
+        Set<Path> indexed = savedTimes.keySet().stream()
+                .map(this::getResultPath)
+                .collect(Collectors.toSet());
+        try (DirectoryStream<Path> results = Files.newDirectoryStream(storeDir, "*" + RESULT_EXTENSION)) {
+            for (Path resultPath : results) {
+                if (!indexed.contains(resultPath)) {
+                    deleteQuietly(resultPath);
+                }
+            }
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        Path tempPath = indexPath.resolveSibling(INDEX_FILE + TEMP_EXTENSION);
+        try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+            Map<String, String> parentsByNames = new HashMap<>();
+            namesByParents.forEach((parent, name) -> parentsByNames.put(name, parent));
+            for (Map.Entry<String, Long> entry : savedTimes.entrySet()) {
+                writer.write(toIndexLine(entry.getKey(), parentsByNames.get(entry.getKey()), entry.getValue()));
+                writer.newLine();
+            }
+        }
+        Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private synchronized void appendToIndex(String name, @Nullable String parentName, long savedTime)
+            throws IOException {
+        Files.write(indexPath, Collections.singletonList(toIndexLine(name, parentName, savedTime)),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void index(String name, @Nullable String parentName, long savedTime) {
+        savedTimes.merge(name, savedTime, Math::max);
+        if (parentName != null) {
+            namesByParents.put(parentName, name);
+        }
+    }
+
+    private boolean isExpired(long savedTime) {
+        return System.currentTimeMillis() - savedTime > retentionMillis;
+    }
+
+    private LayerScanResult read(Path resultPath) throws IOException {
+        LayerScanResult result = mapper.readValue(resultPath.toFile(), LayerScanResult.class);
+        if (result.getDependencies() == null) {
+            result.setDependencies(Collections.emptyList());
+        }
+        return result;
+    }
+
+    private Path getResultPath(String name) {
+        return storeDir.resolve(Hashing.sha256().hashString(name, StandardCharsets.UTF_8).toString()
+                + RESULT_EXTENSION);
+    }
+
+    private static String toIndexLine(String name, @Nullable String parentName, long savedTime) {
+        return String.join(INDEX_SEPARATOR, String.valueOf(savedTime), encode(name),
+                parentName == null ? "" : encode(parentName));
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, ENCODING);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, ENCODING);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.owasp.dependencycheck.exception.ExceptionCollection;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.File;
+import java.io.FileFilter;
 import java.net.URISyntaxException;
 import java.util.List;
 
@@ -44,4 +45,14 @@ public class DependencyCheckServiceTest extends AbstractSpringTest {
         Assert.assertEquals(RPackageAnalyzer.DEPENDENCY_ECOSYSTEM, dependencies.get(0).getEcosystem());
         Assert.assertEquals("PositiveTest", dependencies.get(0).getName());
     }
+
+    @Test
+    public void supportedFilesFilterShouldAcceptOnlyFilesOfEnabledAnalyzers() {
+        FileFilter filter = dependencyCheckService.getSupportedFilesFilter();
+
+        Assert.assertTrue(filter.accept(new File("usr/lib/R/library/base/DESCRIPTION")));
+        Assert.assertTrue(filter.accept(new File("usr/lib/python3/site-packages/numpy-1.0.dist-info/METADATA")));
+        Assert.assertFalse(filter.accept(new File("etc/os-release")));
+        Assert.assertFalse(filter.accept(new File("usr/local/cuda/lib64/libcudart.so")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.dockercompscan.util;
+
+import com.epam.dockercompscan.scan.domain.Dependency;
+import com.epam.dockercompscan.scan.domain.LayerScanResult;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class LayerScanStoreTest {
+
+    private static final String PARENT_LAYER = "sha256:parent";
+    private static final String CHILD_LAYER = "sha256:child";
+    private static final String DEPENDENCY = "numpy";
+    private static final long RETENTION_HOURS = 1;
+    private static final String INDEX_FILE = "index";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void storedResultsShouldSurviveStoreReload() throws IOException {
+        String storeDir = folder.getRoot().getAbsolutePath();
+        LayerScanStore store = new LayerScanStore(storeDir, RETENTION_HOURS);
+        store.save(new LayerScanResult(PARENT_LAYER, LayerScanResult.Status.SUCCESSFUL, null));
+        store.save(childResult());
+
+        LayerScanStore reloaded = new LayerScanStore(storeDir, RETENTION_HOURS);
+
+        Assert.assertEquals(2, reloaded.size());
+        Assert.assertEquals(CHILD_LAYER, reloaded.findNameByParent(PARENT_LAYER));
+        LayerScanResult child = reloaded.find(CHILD_LAYER);
+        Assert.assertNotNull(child);
+        Assert.assertEquals(PARENT_LAYER, child.getParentId());
+        Assert.assertEquals(DEPENDENCY, child.getDependencies().get(0).getName());
+        Assert.assertTrue(reloaded.find(PARENT_LAYER).getDependencies().isEmpty());
+    }
+
+    @Test
+    public void notSuccessfulResultsShouldNotBeStored() throws IOException {
+        LayerScanStore store = new LayerScanStore(folder.getRoot().getAbsolutePath(), RETENTION_HOURS);
+        store.save(new LayerScanResult(PARENT_LAYER, LayerScanResult.Status.RUNNING, null));
+        store.save(new LayerScanResult(CHILD_LAYER, LayerScanResult.Status.FAILURE, PARENT_LAYER));
+
+        Assert.assertEquals(0, store.size());
+        Assert.assertNull(store.find(PARENT_LAYER));
+        Assert.assertNull(store.findNameByParent(PARENT_LAYER));
+    }
+
+    @Test
+    public void cacheShouldFallBackToStoreWhenResultIsEvicted() throws IOException {
+        LayerScanStore store = new LayerScanStore(folder.getRoot().getAbsolutePath(), RETENTION_HOURS);
+        LayerScanCache cache = new LayerScanCache(0, 1, store);
+        cache.put(LayerKey.create(CHILD_LAYER, PARENT_LAYER), childResult());
+
+        LayerScanCache restarted = new LayerScanCache(0, 1,
+                new LayerScanStore(folder.getRoot().getAbsolutePath(), RETENTION_HOURS));
+
+        Assert.assertNotNull(restarted.getIfPresent(LayerKey.withName(CHILD_LAYER)));
+        Assert.assertNotNull(restarted.getIfPresent(LayerKey.withParent(PARENT_LAYER)));
+    }
+
+    @Test
+    public void storeReloadShouldNotReadStoredResults() throws IOException {
+        String storeDir = folder.getRoot().getAbsolutePath();
+        LayerScanStore store = new LayerScanStore(storeDir, RETENTION_HOURS);
+        store.save(childResult());
+        for (Path resultPath : listResults()) {
+            Files.write(resultPath, "corrupted".getBytes(StandardCharsets.UTF_8));
+        }
+
+        LayerScanStore reloaded = new LayerScanStore(storeDir, RETENTION_HOURS);
+
+        Assert.assertEquals(1, reloaded.size());
+        Assert.assertEquals(CHILD_LAYER, reloaded.findNameByParent(PARENT_LAYER));
+    }
+
+    @Test
+    public void storeIndexShouldBeRebuiltIfItIsMissing() throws IOException {
+        String storeDir = folder.getRoot().getAbsolutePath();
+        LayerScanStore store = new LayerScanStore(storeDir, RETENTION_HOURS);
+        store.save(childResult());
+        Files.delete(folder.getRoot().toPath().resolve(INDEX_FILE));
+
+        LayerScanStore reloaded = new LayerScanStore(storeDir, RETENTION_HOURS);
+
+        Assert.assertEquals(CHILD_LAYER, reloaded.findNameByParent(PARENT_LAYER));
+        Assert.assertNotNull(reloaded.find(CHILD_LAYER));
+        Assert.assertTrue(Files.exists(folder.getRoot().toPath().resolve(INDEX_FILE)));
+    }
+
+    @Test
+    public void expiredResultsShouldBeDeletedOnStoreReload() throws IOException {
+        String storeDir = folder.getRoot().getAbsolutePath();
+        LayerScanStore store = new LayerScanStore(storeDir, RETENTION_HOURS);
+        store.save(childResult());
+        Files.write(folder.getRoot().toPath().resolve(INDEX_FILE),
+                Collections.singletonList("0\tsha256%3Achild\tsha256%3Aparent"), StandardCharsets.UTF_8);
+
+        LayerScanStore reloaded = new LayerScanStore(storeDir, RETENTION_HOURS);
+
+        Assert.assertEquals(0, reloaded.size());
+        Assert.assertNull(reloaded.find(CHILD_LAYER));
+        Assert.assertNull(reloaded.findNameByParent(PARENT_LAYER));
+        Assert.assertTrue(listResults().isEmpty());
+    }
+
+    private List<Path> listResults() throws IOException {
+        try (Stream<Path> paths = Files.list(folder.getRoot().toPath())) {
+            return paths.filter(path -> path.toString().endsWith(".json")).collect(Collectors.toList());
+        }
+    }
+
+    private static LayerScanResult childResult() {
+        Dependency dependency = new Dependency();
+        dependency.setName(DEPENDENCY);
+        dependency.setLayerId(CHILD_LAYER);
+        LayerScanResult result = new LayerScanResult(CHILD_LAYER, LayerScanResult.Status.SUCCESSFUL, PARENT_LAYER);
+        result.setDependencies(Collections.singletonList(dependency));
+        return result;
+    }
+}
@@ -20,9 +20,11 @@ import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageFileManager;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageIndex;
 import com.epam.pipeline.elasticsearchagent.service.impl.AzureBlobManager;
+import com.epam.pipeline.elasticsearchagent.service.impl.CheckpointStore;
 import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.elasticsearchagent.service.impl.ObjectStorageIndexImpl;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexingPipeline;
 import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.search.SearchDocumentType;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -49,6 +51,12 @@ public class AzureFileSyncConfiguration {
     @Value("${sync.az-blob.index.name}")
     private String indexName;
 
+    @Value("${sync.az-blob.incremental:false}")
+    private boolean incremental;
+
+    @Value("${sync.az-blob.full.rebuild.cron:}")
+    private String fullRebuildCron;
+
     @Bean
     public ObjectStorageFileManager azFileManager() {
         return new AzureBlobManager();
@@ -60,11 +68,19 @@ public class AzureFileSyncConfiguration {
             final CloudPipelineAPIClient apiClient,
             final ElasticsearchServiceClient esClient,
             final ElasticIndexService indexService,
+            final StorageIndexingPipeline indexingPipeline,
+            final CheckpointStore checkpointStore,
             final @Qualifier("azFileManager") ObjectStorageFileManager azFileManager) {
-        return new ObjectStorageIndexImpl(apiClient, esClient, indexService,
+        final ObjectStorageIndexImpl synchronizer = new ObjectStorageIndexImpl(apiClient, esClient, indexService,
                 azFileManager, indexPrefix + indexName,
                 indexSettingsPath, bulkInsertSize, bulkLoadTagsSize,
                 DataStorageType.AZ,
-                SearchDocumentType.AZ_BLOB_FILE);
+                SearchDocumentType.AZ_BLOB_FILE,
+                indexingPipeline);
+        if (incremental) {
+            synchronizer.setCheckpointStore(checkpointStore);
+            synchronizer.setFullRebuildCron(fullRebuildCron);
+        }
+        return synchronizer;
     }
 }
@@ -45,6 +45,12 @@ public class GSFileSyncConfiguration {
     @Value("${sync.gs-file.bulk.load.tags.size:100}")
     private Integer bulkLoadTagsSize;
 
+    @Value("${sync.gs-file.incremental:false}")
+    private boolean incremental;
+
+    @Value("${sync.gs-file.full.rebuild.cron:}")
+    private String fullRebuildCron;
+
     @Bean
     public ObjectStorageFileManager gsFileManager() {
         return new GsBucketFileManager();
@@ -56,12 +62,20 @@ public class GSFileSyncConfiguration {
             final CloudPipelineAPIClient apiClient,
             final ElasticsearchServiceClient esClient,
             final ElasticIndexService indexService,
+            final StorageIndexingPipeline indexingPipeline,
+            final CheckpointStore checkpointStore,
             final @Qualifier("gsFileManager") ObjectStorageFileManager gsFileManager) {
-        return new ObjectStorageIndexImpl(apiClient, esClient, indexService,
+        final ObjectStorageIndexImpl synchronizer = new ObjectStorageIndexImpl(apiClient, esClient, indexService,
                 gsFileManager, indexPrefix + indexName,
                 indexSettingsPath, bulkInsertSize, bulkLoadTagsSize,
                 DataStorageType.GS,
-                SearchDocumentType.GS_FILE);
+                SearchDocumentType.GS_FILE,
+                indexingPipeline);
+        if (incremental) {
+            synchronizer.setCheckpointStore(checkpointStore);
+            synchronizer.setFullRebuildCron(fullRebuildCron);
+        }
+        return synchronizer;
     }
 
 }
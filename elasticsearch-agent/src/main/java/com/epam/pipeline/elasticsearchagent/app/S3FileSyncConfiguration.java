@@ -19,10 +19,12 @@ package com.epam.pipeline.elasticsearchagent.app;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageFileManager;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageIndex;
+import com.epam.pipeline.elasticsearchagent.service.impl.CheckpointStore;
 import com.epam.pipeline.elasticsearchagent.service.impl.CloudPipelineAPIClient;
 import com.epam.pipeline.elasticsearchagent.service.impl.ElasticIndexService;
 import com.epam.pipeline.elasticsearchagent.service.impl.ObjectStorageIndexImpl;
 import com.epam.pipeline.elasticsearchagent.service.impl.S3FileManager;
+import com.epam.pipeline.elasticsearchagent.service.impl.StorageIndexingPipeline;
 import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.search.SearchDocumentType;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -45,6 +47,11 @@ public class S3FileSyncConfiguration {
     @Value("${sync.s3-file.bulk.load.tags.size:100}")
     private Integer bulkLoadTagsSize;
 
+    @Value("${sync.s3-file.incremental:false}")
+    private boolean incremental;
+    @Value("${sync.s3-file.full.rebuild.cron:}")
+    private String fullRebuildCron;
+
     @Bean
     public ObjectStorageFileManager s3FileManager() {
         return new S3FileManager();
@@ -56,12 +63,20 @@ public class S3FileSyncConfiguration {
             final CloudPipelineAPIClient apiClient,
             final ElasticsearchServiceClient esClient,
             final ElasticIndexService indexService,
+            final StorageIndexingPipeline indexingPipeline,
+            final CheckpointStore checkpointStore,
             final @Qualifier("s3FileManager") ObjectStorageFileManager s3FileManager) {
-        return new ObjectStorageIndexImpl(apiClient, esClient, indexService,
+        final ObjectStorageIndexImpl synchronizer = new ObjectStorageIndexImpl(apiClient, esClient, indexService,
                 s3FileManager, indexPrefix + indexName,
                 indexSettingsPath, bulkInsertSize, bulkLoadTagsSize,
                 DataStorageType.S3,
-                SearchDocumentType.S3_FILE);
+                SearchDocumentType.S3_FILE,
+                indexingPipeline);
+        if (incremental) {
+            synchronizer.setCheckpointStore(checkpointStore);
+            synchronizer.setFullRebuildCron(fullRebuildCron);
+        }
+        return synchronizer;
     }
 
 }
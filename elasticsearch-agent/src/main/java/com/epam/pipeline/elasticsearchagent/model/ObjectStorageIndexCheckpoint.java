@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Listing state of a single object storage which is persisted between incremental synchronizations.
+ */
+@Data
+@NoArgsConstructor
+public class ObjectStorageIndexCheckpoint {
+
+    /**
+     * The latest file modification date observed during the previous listing,
+     * formatted with {@link com.epam.pipeline.elasticsearchagent.utils.ESConstants#FILE_DATE_FORMAT}.
+     */
+    private String watermark;
+
+    /**
+     * Epoch millis of the last full index rebuild.
+     */
+    private long lastFullRebuild;
+
+    /**
+     * Hash of the storage state which is incorporated into each file document, e.g. storage permissions.
+     * Index is rebuilt if it changes.
+     */
+    private String storageState;
+
+    /**
+     * Listing digests of storage top level prefixes. Files from the storage root are stored with an empty key.
+     */
+    private Map<String, PrefixDigest> prefixes = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class PrefixDigest {
+        private long count;
+        private long digest;
+
+        public void add(final String path, final Long size, final String changed) {
+            count++;
+            digest += hash(path + '|' + size + '|' + changed);
+        }
+
+        private static long hash(final String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.epam.pipeline.elasticsearchagent.service;
 
+import com.epam.pipeline.elasticsearchagent.model.SynchronizerCheckpoint;
+import com.epam.pipeline.elasticsearchagent.service.impl.CheckpointStore;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.input.ReversedLinesFileReader;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,22 +29,17 @@ import org.springframework.util.StringUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -50,68 +47,79 @@ public class ElasticsearchAgentService {
 
     private static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+    private static final String CHECKPOINT_PREFIX = "synchronizer-";
 
     private final ExecutorService elasticsearchAgentThreadPool;
     private final Set<ElasticsearchSynchronizer> synchronizers;
     private final String lastSynchronizationTimeFilePath;
+    private final CheckpointStore checkpointStore;
+    private final Set<ElasticsearchSynchronizer> activeSynchronizers = ConcurrentHashMap.newKeySet();
 
     public ElasticsearchAgentService(
             final ExecutorService elasticsearchAgentThreadPool,
             final Optional<Set<ElasticsearchSynchronizer>> synchronizers,
-            final @Value("${sync.last.synchronization.file}") String lastSynchronizationTimeFilePath) {
+            final @Value("${sync.last.synchronization.file}") String lastSynchronizationTimeFilePath,
+            final CheckpointStore checkpointStore) {
         this.elasticsearchAgentThreadPool = elasticsearchAgentThreadPool;
         this.synchronizers = synchronizers.orElse(Collections.emptySet());
         this.lastSynchronizationTimeFilePath = lastSynchronizationTimeFilePath;
+        this.checkpointStore = checkpointStore;
     }
 
     /**
      * Scheduled task to monitor changes in the database,
      * to retrieve and send data to Elasticsearch service
-     * to indexes the data as documents inside Elasticsearch
+     * to indexes the data as documents inside Elasticsearch.
+     *
+     * Each synchronizer is submitted independently and only if its previous run is already finished,
+     * so a slow synchronizer doesn't delay the others. After a successful run synchronizer checkpoint is
+     * stored and the next run of this synchronizer, even after a restart, continues from it.
      */
     @Scheduled(fixedDelayString = "${sync.scheduler.delay}")
     @Transactional(propagation = Propagation.REQUIRED)
     public void startElasticsearchAgent() {
         log.debug("Start scheduled database changes...");
+        synchronizers.stream()
+                .filter(activeSynchronizers::add)
+                .forEach(synchronizer -> CompletableFuture
+                        .runAsync(() -> synchronize(synchronizer), elasticsearchAgentThreadPool)
+                        .whenComplete((result, throwable) -> {
+                            activeSynchronizers.remove(synchronizer);
+                            if (throwable != null) {
+                                log.warn("Exception while trying to send data to Elasticsearch service", throwable);
+                                log.debug("Synchronizer {} stops work at {}.",
+                                        synchronizer.getName(), LocalDateTime.now(Clock.systemUTC()));
+                            }
+                        }));
+    }
 
-        LocalDateTime lastSyncTime = getLastSyncTime();
-        LocalDateTime syncStart = LocalDateTime.now(Clock.systemUTC());
+    private void synchronize(final ElasticsearchSynchronizer synchronizer) {
+        final LocalDateTime lastSyncTime = getLastSyncTime(synchronizer);
+        final LocalDateTime syncStart = LocalDateTime.now(Clock.systemUTC());
+        log.debug("Synchronizer {} starts work at {} ", synchronizer.getName(), syncStart);
+        synchronizer.synchronize(lastSyncTime, syncStart);
+        checkpointStore.save(getCheckpointKey(synchronizer),
+                new SynchronizerCheckpoint(syncStart.format(DATE_TIME_FORMATTER)));
+        log.debug("Synchronizer {} stops work at {}. Duration is {} seconds.",
+                synchronizer.getName(),
+                LocalDateTime.now(Clock.systemUTC()),
+                Duration.between(syncStart, LocalDateTime.now(Clock.systemUTC()))
+                        .abs()
+                        .getSeconds());
+    }
 
-        List<CompletableFuture<Void>> results = synchronizers.stream()
-                .map(synchronizer -> CompletableFuture.runAsync(() -> {
-                    LocalDateTime startSyncTime = LocalDateTime.now(Clock.systemUTC());
-                    log.debug("Synchronizer {} starts work at {} ", synchronizer.getClass().getSimpleName(),
-                            startSyncTime);
-                    synchronizer.synchronize(lastSyncTime, syncStart);
-                    log.debug("Synchronizer {} stops work at {}. Duration is {} seconds.",
-                            synchronizer.getClass().getSimpleName(),
-                            LocalDateTime.now(Clock.systemUTC()),
-                            Duration.between(startSyncTime, LocalDateTime.now(Clock.systemUTC()))
-                                    .abs()
-                                    .getSeconds());
-                }, elasticsearchAgentThreadPool)
-                .exceptionally(throwable -> {
-                    log.warn("Exception while trying to send data to Elasticsearch service", throwable);
-                    log.debug("Synchronizer {} stops work at {}.",
-                            synchronizer.getClass().getSimpleName(), LocalDateTime.now(Clock.systemUTC()));
-                    return null;
-                })).collect(Collectors.toList());
-        try {
-            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
-            Files.write(Paths.get(lastSynchronizationTimeFilePath),
-                    (syncStart.toString() + System.lineSeparator()).getBytes(),
-                    StandardOpenOption.APPEND, StandardOpenOption.CREATE);
-            log.debug("Finished synchronization...");
-        } catch (IOException | InterruptedException | ExecutionException e) {
-            log.error("An error occurred synchronization: {}", e.getMessage());
-            log.error(e.getMessage(), e);
-        }
+    private LocalDateTime getLastSyncTime(final ElasticsearchSynchronizer synchronizer) {
+        return checkpointStore.load(getCheckpointKey(synchronizer), SynchronizerCheckpoint.class)
+                .map(SynchronizerCheckpoint::getLastSyncTime)
+                .map(this::parseSyncTime)
+                .orElseGet(() -> parseSyncTime(getLastLineFromFile()));
+    }
 
-        log.debug("Stop Elasticsearch agent.");
+    private String getCheckpointKey(final ElasticsearchSynchronizer synchronizer) {
+        return CHECKPOINT_PREFIX + synchronizer.getName().toLowerCase().replaceAll("[^a-z0-9_-]", "_");
     }
 
-    private LocalDateTime getLastSyncTime() {
-        String lastTime = getLastLineFromFile();
+    private LocalDateTime parseSyncTime(final String lastTime) {
         if (StringUtils.isEmpty(lastTime)) {
             return LocalDateTime.now(Clock.systemUTC());
         }
@@ -123,6 +131,10 @@ public class ElasticsearchAgentService {
         }
     }
 
+    /**
+     * Reads the global synchronization time which was used before per synchronizer checkpoints,
+     * it is used only for synchronizers which don't have their own checkpoint yet.
+     */
     private String getLastLineFromFile() {
         try (ReversedLinesFileReader linesFileReader = new ReversedLinesFileReader(
                 new File(lastSynchronizationTimeFilePath), StandardCharsets.UTF_8)) {
@@ -21,4 +21,11 @@ public interface ElasticsearchSynchronizer {
 
     String DOC_TYPE_FIELD = "doc_type";
     void synchronize(LocalDateTime lastSyncTime, LocalDateTime syncStart);
+
+    /**
+     * Returns synchronizer name which is unique among all the synchronizers.
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Stores synchronization checkpoints as separate json files in the configured directory.
+ * Checkpoints are written to a temporary file first and then atomically moved to the target one, so an interrupted
+ * write never corrupts the previous checkpoint.
+ */
+@Slf4j
+@Component
+public class CheckpointStore {
+
+    private static final String CHECKPOINT_EXTENSION = ".json";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CheckpointStore(final @Value("${sync.index.checkpoint.dir:checkpoints}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    public <T> Optional<T> load(final String key, final Class<T> type) {
+        final Path checkpoint = resolve(key);
+        if (!Files.exists(checkpoint)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(checkpoint.toFile(), type));
+        } catch (IOException e) {
+            log.warn("Failed to read checkpoint {}: {}", checkpoint, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void save(final String key, final Object checkpoint) {
+        final Path target = resolve(key);
+        final Path temporary = directory.resolve(key + TEMPORARY_EXTENSION);
+        try {
+            Files.createDirectories(directory);
+            objectMapper.writeValue(temporary.toFile(), checkpoint);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to write checkpoint {}: {}", target, e.getMessage());
+        }
+    }
+
+    public void delete(final String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            log.warn("Failed to delete checkpoint {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Path resolve(final String key) {
+        return directory.resolve(key + CHECKPOINT_EXTENSION);
+    }
+}
@@ -49,6 +49,11 @@ public class EntitySynchronizer implements ElasticsearchSynchronizer {
                 chunkSize, chunkSize);
     }
 
+    @Override
+    public String getName() {
+        return getClass().getSimpleName() + "-" + objectType.name();
+    }
+
     @Override
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
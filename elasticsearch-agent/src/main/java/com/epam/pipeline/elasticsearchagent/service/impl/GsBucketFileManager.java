@@ -44,7 +44,6 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TimeZone;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -57,11 +56,6 @@ public class GsBucketFileManager implements ObjectStorageFileManager {
     @Getter
     private final DataStorageType type = DataStorageType.GS;
 
-    static {
-        TimeZone tz = TimeZone.getTimeZone("UTC");
-        ESConstants.FILE_DATE_FORMAT.setTimeZone(tz);
-    }
-
     @Override
     public Stream<DataStorageFile> files(final String storage,
                                          final String path,
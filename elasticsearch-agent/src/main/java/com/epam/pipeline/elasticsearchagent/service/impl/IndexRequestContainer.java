@@ -31,6 +31,7 @@ public class IndexRequestContainer implements AutoCloseable {
     private List<DocWriteRequest> requests;
     private BulkRequestCreator bulkRequestCreator;
     private Integer bulkSize;
+    private long failedRequestsCount;
 
     public IndexRequestContainer(BulkRequestCreator bulkRequestCreator, Integer bulkSize) {
         this.requests = new ArrayList<>();
@@ -53,6 +54,13 @@ public class IndexRequestContainer implements AutoCloseable {
         flush();
     }
 
+    /**
+     * Returns true if any of the sent requests has failed.
+     */
+    public boolean hasFailures() {
+        return failedRequestsCount > 0;
+    }
+
     private void flush() {
         BulkResponse documents = bulkRequestCreator.sendRequest(requests);
         long successfulRequestsCount = 0L;
@@ -66,6 +74,7 @@ public class IndexRequestContainer implements AutoCloseable {
                 }
             }
         }
+        failedRequestsCount += unsuccessfulRequestsCount;
         if (unsuccessfulRequestsCount == 0) {
             log.info("{} files have been uploaded", successfulRequestsCount);
         } else {
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Matches a sorted storage listing with the documents of a storage index sorted by file path.
+ *
+ * Both listing and index documents are consumed only once, so that a storage prefix of any size is reconciled with
+ * the index without loading all of its documents in memory. Paths are compared by code points which corresponds
+ * both to object storages listing order and to Elasticsearch keyword fields sorting order.
+ */
+@RequiredArgsConstructor
+public class IndexedDocumentMatcher {
+
+    private final Iterator<IndexedDocument> documents;
+    private final Consumer<IndexedDocument> staleDocumentConsumer;
+
+    private IndexedDocument current;
+    private String lastPath;
+
+    /**
+     * Checks whether the specified listed file path has a document in the index. All the skipped documents
+     * which paths precede the specified one are passed to the stale documents consumer.
+     *
+     * @param path listed file path which shall be greater than all the previously checked paths
+     * @return true if the file is already indexed
+     * @throws UnsortedListingException if the specified path precedes the previously checked path
+     */
+    public boolean isIndexed(final String path) {
+        if (lastPath != null && compare(path, lastPath) < 0) {
+            throw new UnsortedListingException(
+                    String.format("Listing is not sorted: '%s' goes after '%s'", path, lastPath));
+        }
+        lastPath = path;
+        while (advance() && compare(current.getPath(), path) < 0) {
+            staleDocumentConsumer.accept(current);
+            current = null;
+        }
+        if (current != null && current.getPath().equals(path)) {
+            current = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Passes all the documents which were not matched with the listing to the stale documents consumer.
+     */
+    public void finish() {
+        while (advance()) {
+            staleDocumentConsumer.accept(current);
+            current = null;
+        }
+    }
+
+    private boolean advance() {
+        if (current == null && documents.hasNext()) {
+            current = documents.next();
+        }
+        return current != null;
+    }
+
+    static int compare(final String first, final String second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length() && j < second.length()) {
+            final int firstCodePoint = first.codePointAt(i);
+            final int secondCodePoint = second.codePointAt(j);
+            if (firstCodePoint != secondCodePoint) {
+                return Integer.compare(firstCodePoint, secondCodePoint);
+            }
+            i += Character.charCount(firstCodePoint);
+            j += Character.charCount(secondCodePoint);
+        }
+        return Integer.compare(first.length() - i, second.length() - j);
+    }
+
+    @Value
+    public static class IndexedDocument {
+        String path;
+        String id;
+    }
+
+    public static class UnsortedListingException extends IllegalStateException {
+
+        public UnsortedListingException(final String message) {
+            super(message);
+        }
+    }
+}
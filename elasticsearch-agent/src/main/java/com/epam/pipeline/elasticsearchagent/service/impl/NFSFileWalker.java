@@ -0,0 +1,302 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.utils.ESConstants;
+import com.epam.pipeline.entity.datastorage.DataStorageFile;
+import com.epam.pipeline.utils.StreamUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FilenameUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Walks NFS directory trees reading attributes of each entry only once.
+ *
+ * Each directory is listed by a separate fork join task, so large subtrees are walked in parallel. Found files
+ * are passed to the resulting stream through a bounded queue which blocks the walking tasks if the stream
+ * consumer falls behind. Walking tasks wait for the queue as managed blockers, so concurrent walks do not
+ * starve each other of pool threads. Closing the stream cancels the walk.
+ *
+ * Symbolic links to regular files are listed with attributes of their targets, symbolic links to directories
+ * are not followed. Entries and directories which cannot be read are logged and skipped.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class NFSFileWalker {
+
+    private static final long OFFER_TIMEOUT_MS = 500;
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final DataStorageFile END = new DataStorageFile();
+
+    private final ForkJoinPool pool;
+    private final int queueSize;
+
+    public NFSFileWalker(final @Value("${sync.nfs-file.walk.threads:4}") int threads,
+                         final @Value("${sync.nfs-file.walk.queue.size:10000}") int queueSize) {
+        this.pool = new ForkJoinPool(threads);
+        this.queueSize = queueSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Lists all regular files of the specified directory tree.
+     *
+     * @param root directory to walk
+     * @return stream of files with paths relative to the root directory, stream has to be closed
+     */
+    public Stream<DataStorageFile> walk(final Path root) {
+        final Walk walk = new Walk(root);
+        pool.execute(() -> {
+            try {
+                new DirectoryTask(walk, root).invoke();
+            } catch (RuntimeException e) {
+                walk.fail(e);
+            } finally {
+                walk.finish();
+            }
+        });
+        return StreamUtils.from(walk).onClose(walk::cancel);
+    }
+
+    /**
+     * Converts a file to {@link DataStorageFile} using the already read attributes.
+     */
+    public static DataStorageFile toStorageFile(final Path root, final Path path,
+                                                final BasicFileAttributes attributes) {
+        final DataStorageFile file = new DataStorageFile();
+        file.setPath(root.relativize(path).toString());
+        file.setName(FilenameUtils.getName(file.getPath()));
+        file.setChanged(ESConstants.FILE_DATE_FORMAT.format(attributes.lastModifiedTime().toMillis()));
+        file.setSize(attributes.size());
+        return file;
+    }
+
+    private final class Walk implements Iterator<DataStorageFile> {
+
+        private final Path root;
+        private final BlockingQueue<DataStorageFile> queue = new LinkedBlockingQueue<>(queueSize);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+        private DataStorageFile next;
+
+        Walk(final Path root) {
+            this.root = root;
+        }
+
+        boolean emit(final DataStorageFile file) {
+            final QueueOffer offer = new QueueOffer(file);
+            try {
+                ForkJoinPool.managedBlock(offer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(new IllegalStateException("NFS walk was interrupted", e));
+            }
+            return offer.offered;
+        }
+
+        void fail(final RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        /**
+         * Delivers the end of the walk to the consumer. The end is delivered even if the walk was cancelled
+         * or failed, otherwise the consumer would wait for it forever. Remaining files are dropped in this case.
+         */
+        void finish() {
+            if (emit(END)) {
+                return;
+            }
+            while (!queue.offer(END)) {
+                queue.clear();
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+
+        boolean isCancelled() {
+            return cancelled || failure.get() != null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = take();
+            }
+            if (next == END) {
+                if (failure.get() != null) {
+                    throw failure.get();
+                }
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public DataStorageFile next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final DataStorageFile current = next;
+            next = null;
+            return current;
+        }
+
+        private DataStorageFile take() {
+            try {
+                DataStorageFile file = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                while (file == null) {
+                    if (cancelled) {
+                        return END;
+                    }
+                    if (failure.get() != null) {
+                        throw failure.get();
+                    }
+                    log.trace("Waiting for NFS files producer...");
+                    file = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                return file;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("NFS walk was interrupted", e);
+            }
+        }
+
+        private final class QueueOffer implements ForkJoinPool.ManagedBlocker {
+
+            private final DataStorageFile file;
+            private boolean offered;
+
+            QueueOffer(final DataStorageFile file) {
+                this.file = file;
+            }
+
+            @Override
+            public boolean block() throws InterruptedException {
+                while (!isReleasable()) {
+                    log.trace("Waiting for NFS files consumer...");
+                    offered = queue.offer(file, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                if (!offered && !isCancelled()) {
+                    offered = queue.offer(file);
+                }
+                return offered || isCancelled();
+            }
+        }
+    }
+
+    private static final class DirectoryTask extends RecursiveAction {
+
+        private final Walk walk;
+        private final Path directory;
+
+        DirectoryTask(final Walk walk, final Path directory) {
+            this.walk = walk;
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            if (walk.isCancelled()) {
+                return;
+            }
+            final List<DirectoryTask> subdirectories = new ArrayList<>();
+            try {
+                Files.walkFileTree(directory, Collections.emptySet(), 1, new SimpleFileVisitor<Path>() {
+
+                    @Override
+                    public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) {
+                        if (walk.isCancelled()) {
+                            return FileVisitResult.TERMINATE;
+                        }
+                        if (attributes.isDirectory()) {
+                            subdirectories.add(new DirectoryTask(walk, path));
+                        } else if (attributes.isRegularFile()) {
+                            walk.emit(toStorageFile(walk.root, path, attributes));
+                        } else if (attributes.isSymbolicLink()) {
+                            visitLink(path);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(final Path path, final IOException e) {
+                        log.error("Cannot read attributes of {}. Error: {}.", path.toAbsolutePath(), e.getMessage());
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(final Path path, final IOException e) {
+                        if (e != null) {
+                            log.error("Cannot list directory {}. Error: {}.", path.toAbsolutePath(), e.getMessage());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                log.error("Cannot walk directory {}. Error: {}.", directory.toAbsolutePath(), e.getMessage());
+            }
+            invokeAll(subdirectories);
+        }
+
+        private void visitLink(final Path path) {
+            try {
+                final BasicFileAttributes targetAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (targetAttributes.isRegularFile()) {
+                    walk.emit(toStorageFile(walk.root, path, targetAttributes));
+                }
+            } catch (IOException e) {
+                log.debug("Cannot read attributes of link target {}. Error: {}.",
+                        path.toAbsolutePath(), e.getMessage());
+            }
+        }
+    }
+}
@@ -116,9 +116,12 @@ public class NFSObserverEventSynchronizer extends NFSSynchronizer {
                                         final ElasticsearchServiceClient elasticsearchServiceClient,
                                         final ElasticIndexService elasticIndexService,
                                         final List<ObjectStorageFileManager> objectStorageFileManagers,
-                                        final NFSStorageMounter nfsMounter) {
+                                        final NFSStorageMounter nfsMounter,
+                                        final StorageIndexingPipeline indexingPipeline,
+                                        final NFSFileWalker fileWalker) {
         super(indexSettingsPath, rootMountPoint, indexPrefix, indexName, bulkInsertSize, bulkLoadTagsSize,
-              cloudPipelineAPIClient, elasticsearchServiceClient, elasticIndexService, nfsMounter);
+              cloudPipelineAPIClient, elasticsearchServiceClient, elasticIndexService, nfsMounter,
+              indexingPipeline, fileWalker);
 
         this.eventsFileChunkSize = eventsFileChunkSize;
         final URI eventsBucketURI = URI.create(eventsBucketUriStr);
@@ -19,7 +19,6 @@ import com.epam.pipeline.elasticsearchagent.model.PermissionsContainer;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchSynchronizer;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.storage.StorageFileMapper;
-import com.epam.pipeline.elasticsearchagent.utils.ESConstants;
 import com.epam.pipeline.entity.datastorage.NFSDataStorage;
 import com.epam.pipeline.utils.StreamUtils;
 import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
@@ -43,8 +42,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -73,6 +72,8 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
     private final ElasticsearchServiceClient elasticsearchServiceClient;
     private final ElasticIndexService elasticIndexService;
     private final NFSStorageMounter nfsMounter;
+    private final StorageIndexingPipeline indexingPipeline;
+    private final NFSFileWalker fileWalker;
     private final StorageFileMapper fileMapper = new StorageFileMapper();
 
     public NFSSynchronizer(@Value("${sync.nfs-file.index.mapping}") String indexSettingsPath,
@@ -84,7 +85,9 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
                            CloudPipelineAPIClient cloudPipelineAPIClient,
                            ElasticsearchServiceClient elasticsearchServiceClient,
                            ElasticIndexService elasticIndexService,
-                           NFSStorageMounter nfsMounter) {
+                           NFSStorageMounter nfsMounter,
+                           StorageIndexingPipeline indexingPipeline,
+                           NFSFileWalker fileWalker) {
         this.indexSettingsPath = indexSettingsPath;
         this.rootMountPoint = rootMountPoint;
         this.indexPrefix = indexPrefix;
@@ -95,6 +98,8 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
         this.elasticsearchServiceClient = elasticsearchServiceClient;
         this.elasticIndexService = elasticIndexService;
         this.nfsMounter = nfsMounter;
+        this.indexingPipeline = indexingPipeline;
+        this.fileWalker = fileWalker;
     }
 
     @Override
@@ -102,10 +107,10 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
         log.debug("Started NFS synchronization");
         fileMapper.updateSearchMasks(cloudPipelineAPIClient, log);
 
-        List<AbstractDataStorage> allDataStorages = cloudPipelineAPIClient.loadAllDataStorages();
-        allDataStorages.stream()
+        List<AbstractDataStorage> nfsDataStorages = cloudPipelineAPIClient.loadAllDataStorages().stream()
                 .filter(dataStorage -> dataStorage.getType() == DataStorageType.NFS)
-                .forEach(this::createIndexAndDocuments);
+                .collect(Collectors.toList());
+        indexingPipeline.indexStorages(nfsDataStorages, this::createIndexAndDocuments);
     }
 
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
@@ -148,15 +153,11 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
                                  final PermissionsContainer permissionsContainer) {
         try (IndexRequestContainer walker = new IndexRequestContainer(requests ->
                 elasticsearchServiceClient.sendRequests(indexName, requests), bulkInsertSize);
-             Stream<Path> paths = Files.walk(mountFolder)) {
-            final Stream<DataStorageFile> files = paths
-                    .filter(path -> path.toFile().isFile())
-                    .map(path -> convertToStorageFile(path, mountFolder));
-            processFilesTagsInChunks(dataStorage, files)
-                    .map(file -> createIndexRequest(file, indexName, dataStorage, permissionsContainer))
-                    .forEach(walker::add);
-        } catch (IOException e) {
-            throw new IllegalArgumentException("An error occurred during creating document.", e);
+             Stream<DataStorageFile> files = fileWalker.walk(mountFolder)) {
+            indexingPipeline.indexFiles(files, bulkLoadTagsSize, filesChunk ->
+                    filesWithIncorporatedTags(dataStorage, filesChunk)
+                            .map(file -> createIndexRequest(file, indexName, dataStorage, permissionsContainer)),
+                    walker);
         }
     }
 
@@ -186,33 +187,15 @@ public class NFSSynchronizer implements ElasticsearchSynchronizer {
     }
 
     protected DataStorageFile convertToStorageFile(final Path path, final Path mountFolder) {
-        final DataStorageFile file = new DataStorageFile();
-        file.setPath(getRelativePath(mountFolder, path));
-        file.setName(FilenameUtils.getName(file.getPath()));
-        file.setChanged(getLastModified(path));
-        file.setSize(getSize(path));
-        return file;
-    }
-
-    private String getRelativePath(final Path mountFolder, final Path path) {
-        return mountFolder.relativize(path).toString();
-    }
-
-    private String getLastModified(final Path path) {
-        try {
-            return ESConstants.FILE_DATE_FORMAT.format(Date.from(Files.getLastModifiedTime(path).toInstant()));
-        } catch (IOException e) {
-            log.error("Cannot get last modified time for file {}. Error: {}.", path.toAbsolutePath(), e.getMessage());
-            return null;
-        }
-    }
-
-    private Long getSize(final Path path) {
         try {
-            return Files.size(path);
+            return NFSFileWalker.toStorageFile(mountFolder, path,
+                    Files.readAttributes(path, BasicFileAttributes.class));
         } catch (IOException e) {
-            log.error("Cannot get size for file file {}. Error: {}.", path.toAbsolutePath(), e.getMessage());
-            return null;
+            log.error("Cannot read attributes of file {}. Error: {}.", path.toAbsolutePath(), e.getMessage());
+            final DataStorageFile file = new DataStorageFile();
+            file.setPath(mountFolder.relativize(path).toString());
+            file.setName(FilenameUtils.getName(file.getPath()));
+            return file;
         }
     }
 
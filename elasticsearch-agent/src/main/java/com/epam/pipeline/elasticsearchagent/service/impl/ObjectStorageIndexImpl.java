@@ -16,33 +16,60 @@
 
 package com.epam.pipeline.elasticsearchagent.service.impl;
 
+import com.epam.pipeline.elasticsearchagent.model.ObjectStorageIndexCheckpoint;
+import com.epam.pipeline.elasticsearchagent.model.ObjectStorageIndexCheckpoint.PrefixDigest;
 import com.epam.pipeline.elasticsearchagent.model.PermissionsContainer;
 import com.epam.pipeline.elasticsearchagent.service.ElasticsearchServiceClient;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageFileManager;
 import com.epam.pipeline.elasticsearchagent.service.ObjectStorageIndex;
+import com.epam.pipeline.elasticsearchagent.service.impl.IndexedDocumentMatcher.IndexedDocument;
+import com.epam.pipeline.elasticsearchagent.service.impl.IndexedDocumentMatcher.UnsortedListingException;
 import com.epam.pipeline.elasticsearchagent.service.impl.converter.storage.StorageFileMapper;
-import com.epam.pipeline.utils.StreamUtils;
 import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
 import com.epam.pipeline.entity.datastorage.DataStorageAction;
 import com.epam.pipeline.entity.datastorage.DataStorageFile;
 import com.epam.pipeline.entity.datastorage.DataStorageType;
 import com.epam.pipeline.entity.datastorage.TemporaryCredentials;
 import com.epam.pipeline.entity.search.SearchDocumentType;
+import com.epam.pipeline.utils.StreamUtils;
 import com.epam.pipeline.vo.EntityPermissionVO;
 import com.epam.pipeline.vo.data.storage.DataStorageTagLoadBatchRequest;
 import com.epam.pipeline.vo.data.storage.DataStorageTagLoadRequest;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+import org.springframework.scheduling.support.CronSequenceGenerator;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -50,10 +77,27 @@ import java.util.stream.Stream;
 import static com.epam.pipeline.elasticsearchagent.utils.ESConstants.DOC_MAPPING_TYPE;
 import static com.epam.pipeline.utils.PasswordGenerator.generateRandomString;
 
+/**
+ * Indexes files of object storages of a single type.
+ *
+ * By default each storage is fully reindexed into a new index on every synchronization. If a checkpoint store
+ * and {@code fullRebuildCron} are configured, storage is fully reindexed only if there is no checkpoint yet,
+ * if storage permissions or search masks have changed or if a full rebuild is due according to
+ * {@code fullRebuildCron}, otherwise the existing index is updated in place: files modified after the previous
+ * listing are upserted and top level prefixes which listing digest has unexpectedly changed are reconciled with
+ * the index to remove documents of deleted files. Object tag changes don't change files modification dates,
+ * therefore they are applied to the index only by the scheduled full rebuilds.
+ */
 @RequiredArgsConstructor
 @Slf4j
 public class ObjectStorageIndexImpl implements ObjectStorageIndex {
 
+    private static final String FILE_ID_FIELD = "id";
+    private static final String STORAGE_ID_FIELD = "storage_id";
+    private static final String ROOT_PREFIX = StringUtils.EMPTY;
+    private static final int SEARCH_PAGE_SIZE = 1000;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
     private final CloudPipelineAPIClient cloudPipelineAPIClient;
     private final ElasticsearchServiceClient elasticsearchServiceClient;
     private final ElasticIndexService elasticIndexService;
@@ -66,53 +110,74 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
     private final DataStorageType storageType;
     @Getter
     private final SearchDocumentType documentType;
+    private final StorageIndexingPipeline indexingPipeline;
     private final StorageFileMapper fileMapper = new StorageFileMapper();
 
+    /**
+     * Enables incremental synchronization if specified.
+     */
+    @Setter
+    private CheckpointStore checkpointStore;
+    /**
+     * Schedule of full index rebuilds in incremental mode. Incremental mode is disabled if not specified.
+     */
+    @Setter
+    private String fullRebuildCron;
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName() + "-" + getDocumentType().name();
+    }
+
     @Override
     public void synchronize(final LocalDateTime lastSyncTime, final LocalDateTime syncStart) {
         log.debug("Started {} files synchronization", getStorageType());
         fileMapper.updateSearchMasks(cloudPipelineAPIClient, log);
+        if (checkpointStore != null && StringUtils.isBlank(fullRebuildCron)) {
+            log.warn("Full rebuild schedule is not specified, {} files will be fully reindexed.", getStorageType());
+        }
         final List<AbstractDataStorage> allStorages = cloudPipelineAPIClient.loadAllDataStorages();
-        allStorages
+        final List<AbstractDataStorage> storages = allStorages
                 .stream()
                 .filter(dataStorage -> dataStorage.getType() == getStorageType())
                 .filter(dataStorage -> isNotSharedOrChild(dataStorage, allStorages))
-                .forEach(this::indexStorage);
+                .collect(Collectors.toList());
+        indexingPipeline.indexStorages(storages, this::synchronizeStorage);
     }
 
     @Override
-    @SuppressWarnings("PMD.AvoidCatchingGenericException")
     public void indexStorage(final AbstractDataStorage dataStorage) {
-        final EntityPermissionVO entityPermission = cloudPipelineAPIClient
-                .loadPermissionsForEntity(dataStorage.getId(), dataStorage.getAclClass());
-        final PermissionsContainer permissionsContainer = new PermissionsContainer();
-        permissionsContainer.add(Optional.ofNullable(entityPermission)
-                .map(EntityPermissionVO::getPermissions)
-                .orElse(Collections.emptySet()), dataStorage.getOwner());
-        final String alias = indexPrefix + String.format("-%d", dataStorage.getId());
+        indexStorage(dataStorage, loadPermissions(dataStorage));
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void indexStorage(final AbstractDataStorage dataStorage, final PermissionsContainer permissionsContainer) {
+        final String alias = getAlias(dataStorage);
         final String indexName = generateRandomString(5).toLowerCase() + "-" + alias;
+        final ObjectStorageIndexCheckpoint checkpoint = new ObjectStorageIndexCheckpoint();
+        checkpoint.setLastFullRebuild(System.currentTimeMillis());
+        checkpoint.setStorageState(getStorageState(dataStorage, permissionsContainer));
         try {
             final String currentIndexName = elasticsearchServiceClient.getIndexNameByAlias(alias);
             elasticIndexService.createIndexIfNotExist(indexName, indexMappingFile);
             final Supplier<TemporaryCredentials> credentialsSupplier = () -> getTemporaryCredentials(dataStorage);
             final TemporaryCredentials credentials = credentialsSupplier.get();
-            try (IndexRequestContainer requestContainer = getRequestContainer(indexName, bulkInsertSize)) {
+            final IndexRequestContainer requestContainer = getRequestContainer(indexName, bulkInsertSize);
+            try (IndexRequestContainer container = requestContainer) {
                 final Stream<DataStorageFile> files = fileManager
-                        .files(dataStorage.getRoot(),
-                                Optional.ofNullable(dataStorage.getPrefix()).orElse(StringUtils.EMPTY),
-                                credentialsSupplier);
-                StreamUtils.chunked(files, bulkLoadTagsSize)
-                        .flatMap(filesChunk -> filesWithIncorporatedTags(dataStorage, filesChunk))
-                        .peek(file -> file.setPath(dataStorage.resolveRelativePath(file.getPath())))
-                        .map(file -> createIndexRequest(file, dataStorage, permissionsContainer, indexName,
-                                credentials.getRegion()))
-                        .forEach(requestContainer::add);
+                        .files(dataStorage.getRoot(), getStoragePrefix(dataStorage), credentialsSupplier)
+                        .peek(file -> trackFile(checkpoint, dataStorage, file));
+                indexFiles(files, dataStorage, permissionsContainer, indexName, credentials.getRegion(),
+                        container);
             }
 
             elasticsearchServiceClient.createIndexAlias(indexName, alias);
             if (StringUtils.isNotBlank(currentIndexName)) {
                 elasticsearchServiceClient.deleteIndex(currentIndexName);
             }
+            if (checkpointStore != null) {
+                saveCheckpoint(dataStorage, checkpoint, requestContainer.hasFailures(), true);
+            }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             if (elasticsearchServiceClient.isIndexExists(indexName))  {
@@ -121,6 +186,236 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
         }
     }
 
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void synchronizeStorage(final AbstractDataStorage dataStorage) {
+        final PermissionsContainer permissionsContainer = loadPermissions(dataStorage);
+        if (checkpointStore == null || StringUtils.isBlank(fullRebuildCron)) {
+            indexStorage(dataStorage, permissionsContainer);
+            return;
+        }
+        final Optional<ObjectStorageIndexCheckpoint> checkpoint = checkpointStore
+                .load(getCheckpointKey(dataStorage), ObjectStorageIndexCheckpoint.class);
+        final String currentIndexName = elasticsearchServiceClient.getIndexNameByAlias(getAlias(dataStorage));
+        final String storageState = getStorageState(dataStorage, permissionsContainer);
+        if (!checkpoint.isPresent() || StringUtils.isBlank(currentIndexName)
+                || !storageState.equals(checkpoint.get().getStorageState())
+                || isFullRebuildRequired(checkpoint.get())) {
+            log.debug("Rebuilding {} storage {} index...", getStorageType(), dataStorage.getId());
+            indexStorage(dataStorage, permissionsContainer);
+            return;
+        }
+        try {
+            updateStorageIndex(dataStorage, currentIndexName, checkpoint.get(), permissionsContainer);
+        } catch (UnsortedListingException e) {
+            log.warn("Failed to reconcile {} storage {} index, rebuilding it: {}", getStorageType(),
+                    dataStorage.getId(), e.getMessage());
+            indexStorage(dataStorage, permissionsContainer);
+        } catch (Exception e) {
+            log.error("Failed to update {} storage {} index: {}", getStorageType(), dataStorage.getId(),
+                    e.getMessage());
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Updates existing storage index in place.
+     *
+     * Storage is listed once to calculate the actual checkpoint. All the files which were modified since the
+     * previous listing watermark are upserted. Each prefix which digest of files modified before the watermark
+     * differs from the previous one either has deleted, overwritten or new backdated files and therefore it is
+     * listed once again and compared with the index.
+     */
+    private void updateStorageIndex(final AbstractDataStorage dataStorage,
+                                    final String indexName,
+                                    final ObjectStorageIndexCheckpoint previous,
+                                    final PermissionsContainer permissionsContainer) {
+        final Supplier<TemporaryCredentials> credentialsSupplier = () -> getTemporaryCredentials(dataStorage);
+        final TemporaryCredentials credentials = credentialsSupplier.get();
+        final ObjectStorageIndexCheckpoint actual = new ObjectStorageIndexCheckpoint();
+        actual.setLastFullRebuild(previous.getLastFullRebuild());
+        actual.setStorageState(previous.getStorageState());
+        final Map<String, PrefixDigest> unchanged = new HashMap<>();
+        final IndexRequestContainer requestContainer = getRequestContainer(indexName, bulkInsertSize);
+        try (IndexRequestContainer container = requestContainer) {
+            final Stream<DataStorageFile> files = fileManager
+                    .files(dataStorage.getRoot(), getStoragePrefix(dataStorage), credentialsSupplier)
+                    .peek(file -> trackFile(actual, dataStorage, file))
+                    .peek(file -> trackUnchangedFile(unchanged, previous.getWatermark(), dataStorage, file))
+                    .filter(file -> isModifiedAfter(file, previous.getWatermark()));
+            indexFiles(files, dataStorage, permissionsContainer, indexName, credentials.getRegion(),
+                    container);
+        }
+        final Set<String> prefixes = new HashSet<>(previous.getPrefixes().keySet());
+        prefixes.addAll(unchanged.keySet());
+        final long failedPrefixes = prefixes.stream()
+                .filter(prefix -> !Objects.equals(previous.getPrefixes().get(prefix), unchanged.get(prefix)))
+                .map(prefix -> reconcilePrefix(dataStorage, prefix, indexName, permissionsContainer,
+                        credentials.getRegion(), credentialsSupplier))
+                .filter(Boolean.FALSE::equals)
+                .count();
+        saveCheckpoint(dataStorage, actual, requestContainer.hasFailures() || failedPrefixes > 0, false);
+    }
+
+    /**
+     * Saves storage checkpoint only if all the documents were indexed successfully. Otherwise, the previous
+     * checkpoint is kept so that failed documents are indexed again during the next synchronization. Checkpoint
+     * of a fully rebuilt index is discarded in this case, so that the index is rebuilt once again.
+     */
+    private void saveCheckpoint(final AbstractDataStorage dataStorage,
+                                final ObjectStorageIndexCheckpoint checkpoint,
+                                final boolean hasFailures,
+                                final boolean rebuild) {
+        final String key = getCheckpointKey(dataStorage);
+        if (!hasFailures) {
+            checkpointStore.save(key, checkpoint);
+            return;
+        }
+        log.warn("Some documents of {} storage {} were not indexed, checkpoint won't be updated.",
+                getStorageType(), dataStorage.getId());
+        if (rebuild) {
+            checkpointStore.delete(key);
+        }
+    }
+
+    /**
+     * Reconciles a storage prefix with the index. Both the prefix listing and the prefix documents are sorted by
+     * file path, so they are compared page by page: listed files which are missing in the index are indexed and
+     * documents of the files which are missing in the listing are deleted.
+     *
+     * @return true if all the prefix documents were updated successfully
+     * @throws UnsortedListingException if the storage listing is not sorted by file path
+     */
+    private boolean reconcilePrefix(final AbstractDataStorage dataStorage,
+                                    final String prefix,
+                                    final String indexName,
+                                    final PermissionsContainer permissionsContainer,
+                                    final String region,
+                                    final Supplier<TemporaryCredentials> credentialsSupplier) {
+        log.debug("Reconciling {} storage {} prefix '{}' with index...", getStorageType(), dataStorage.getId(),
+                prefix);
+        final IndexRequestContainer requestContainer = getRequestContainer(indexName, bulkInsertSize);
+        final IndexRequestContainer deleteRequestContainer = getRequestContainer(indexName, bulkInsertSize);
+        try (IndexRequestContainer container = requestContainer;
+             IndexRequestContainer deleteContainer = deleteRequestContainer) {
+            final IndexedDocumentMatcher matcher = new IndexedDocumentMatcher(
+                    loadIndexedDocuments(dataStorage, prefix, indexName),
+                    document -> deleteContainer.add(new DeleteRequest(indexName, DOC_MAPPING_TYPE, document.getId())));
+            final Stream<DataStorageFile> files = fileManager
+                    .files(dataStorage.getRoot(), getStoragePrefix(dataStorage) + prefix, credentialsSupplier)
+                    .filter(file -> prefix.equals(getTopLevelPrefix(dataStorage, file)))
+                    .filter(file -> !matcher.isIndexed(dataStorage.resolveRelativePath(file.getPath())));
+            indexFiles(files, dataStorage, permissionsContainer, indexName, region, container);
+            matcher.finish();
+        }
+        return !requestContainer.hasFailures() && !deleteRequestContainer.hasFailures();
+    }
+
+    /**
+     * Lazily loads documents of the specified storage prefix from the index sorted by file path.
+     */
+    private Iterator<IndexedDocument> loadIndexedDocuments(final AbstractDataStorage dataStorage,
+                                                           final String prefix,
+                                                           final String indexName) {
+        final QueryBuilder pathQuery = ROOT_PREFIX.equals(prefix)
+                ? QueryBuilders.regexpQuery(FILE_ID_FIELD, "[^" + dataStorage.getDelimiter() + "]*")
+                : QueryBuilders.prefixQuery(FILE_ID_FIELD, prefix);
+        final QueryBuilder query = QueryBuilders.boolQuery()
+                .must(pathQuery)
+                .must(QueryBuilders.termQuery(STORAGE_ID_FIELD, dataStorage.getId()));
+        return StreamUtils.from(new IndexedDocumentPageIterator(indexName, query))
+                .flatMap(List::stream)
+                .iterator();
+    }
+
+    private String getFileId(final SearchHit hit) {
+        return Optional.ofNullable(hit.getSourceAsMap())
+                .map(source -> source.get(FILE_ID_FIELD))
+                .map(String.class::cast)
+                .orElseGet(hit::getId);
+    }
+
+    private void indexFiles(final Stream<DataStorageFile> files,
+                            final AbstractDataStorage dataStorage,
+                            final PermissionsContainer permissionsContainer,
+                            final String indexName,
+                            final String region,
+                            final IndexRequestContainer requestContainer) {
+        indexingPipeline.indexFiles(files, bulkLoadTagsSize, filesChunk ->
+                filesWithIncorporatedTags(dataStorage, filesChunk)
+                        .peek(file -> file.setPath(dataStorage.resolveRelativePath(file.getPath())))
+                        .map(file -> createIndexRequest(file, dataStorage, permissionsContainer, indexName, region)),
+                requestContainer);
+    }
+
+    private void trackFile(final ObjectStorageIndexCheckpoint checkpoint,
+                           final AbstractDataStorage dataStorage,
+                           final DataStorageFile file) {
+        checkpoint.getPrefixes()
+                .computeIfAbsent(getTopLevelPrefix(dataStorage, file), prefix -> new PrefixDigest())
+                .add(file.getPath(), file.getSize(), file.getChanged());
+        if (file.getChanged() != null && (checkpoint.getWatermark() == null
+                || file.getChanged().compareTo(checkpoint.getWatermark()) > 0)) {
+            checkpoint.setWatermark(file.getChanged());
+        }
+    }
+
+    /**
+     * Tracks files which were already listed during the previous synchronization. Files modified exactly at the
+     * watermark are considered both unchanged and modified, since the previous listing could miss some of them.
+     */
+    private void trackUnchangedFile(final Map<String, PrefixDigest> unchanged,
+                                    final String watermark,
+                                    final AbstractDataStorage dataStorage,
+                                    final DataStorageFile file) {
+        if (watermark == null || file.getChanged() == null || file.getChanged().compareTo(watermark) > 0) {
+            return;
+        }
+        unchanged.computeIfAbsent(getTopLevelPrefix(dataStorage, file), prefix -> new PrefixDigest())
+                .add(file.getPath(), file.getSize(), file.getChanged());
+    }
+
+    private boolean isModifiedAfter(final DataStorageFile file, final String watermark) {
+        return watermark == null || file.getChanged() == null || file.getChanged().compareTo(watermark) >= 0;
+    }
+
+    private String getTopLevelPrefix(final AbstractDataStorage dataStorage, final DataStorageFile file) {
+        final String relativePath = dataStorage.resolveRelativePath(file.getPath());
+        final int delimiterIndex = relativePath.indexOf(dataStorage.getDelimiter());
+        return delimiterIndex < 0 ? ROOT_PREFIX : relativePath.substring(0, delimiterIndex + 1);
+    }
+
+    private boolean isFullRebuildRequired(final ObjectStorageIndexCheckpoint checkpoint) {
+        if (StringUtils.isBlank(fullRebuildCron)) {
+            return false;
+        }
+        final Date nextRebuild = new CronSequenceGenerator(fullRebuildCron)
+                .next(new Date(checkpoint.getLastFullRebuild()));
+        return !nextRebuild.after(new Date());
+    }
+
+    private String getStoragePrefix(final AbstractDataStorage dataStorage) {
+        final String prefix = Optional.ofNullable(dataStorage.getPrefix()).orElse(StringUtils.EMPTY);
+        return checkpointStore == null ? prefix : withTrailingDelimiter(prefix, dataStorage.getDelimiter());
+    }
+
+    private String getAlias(final AbstractDataStorage dataStorage) {
+        return indexPrefix + String.format("-%d", dataStorage.getId());
+    }
+
+    private String getCheckpointKey(final AbstractDataStorage dataStorage) {
+        return getDocumentType().name().toLowerCase() + "-" + dataStorage.getId();
+    }
+
+    private PermissionsContainer loadPermissions(final AbstractDataStorage dataStorage) {
+        final EntityPermissionVO entityPermission = cloudPipelineAPIClient
+                .loadPermissionsForEntity(dataStorage.getId(), dataStorage.getAclClass());
+        final PermissionsContainer permissionsContainer = new PermissionsContainer();
+        permissionsContainer.add(Optional.ofNullable(entityPermission)
+                .map(EntityPermissionVO::getPermissions)
+                .orElse(Collections.emptySet()), dataStorage.getOwner());
+        return permissionsContainer;
+    }
+
     private IndexRequestContainer getRequestContainer(final String indexName, final int bulkInsertSize) {
         return new IndexRequestContainer(requests -> elasticsearchServiceClient.sendRequests(indexName, requests),
                 bulkInsertSize);
@@ -153,12 +448,44 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
                                             final PermissionsContainer permissionsContainer,
                                             final String indexName,
                                             final String region) {
-        return new IndexRequest(indexName, DOC_MAPPING_TYPE)
+        return new IndexRequest(indexName, DOC_MAPPING_TYPE, getDocumentId(file.getPath()))
                 .source(fileMapper.fileToDocument(file, dataStorage, region,
                         permissionsContainer,
                         getDocumentType()));
     }
 
+    /**
+     * Document id is a hash of the file path, since object keys may exceed the maximum document id length.
+     */
+    private String getDocumentId(final String path) {
+        return hash(path);
+    }
+
+    /**
+     * Storage state consists of all the storage properties which are incorporated into each file document.
+     */
+    private String getStorageState(final AbstractDataStorage dataStorage,
+                                   final PermissionsContainer permissionsContainer) {
+        return hash(Stream.of(new TreeSet<>(permissionsContainer.getAllowedUsers()),
+                        new TreeSet<>(permissionsContainer.getDeniedUsers()),
+                        new TreeSet<>(permissionsContainer.getAllowedGroups()),
+                        new TreeSet<>(permissionsContainer.getDeniedGroups()),
+                        new TreeSet<>(fileMapper.getSearchMasks(dataStorage.getName())),
+                        dataStorage.getName())
+                .map(String::valueOf)
+                .collect(Collectors.joining("\n")));
+    }
+
+    private String hash(final String value) {
+        try {
+            final byte[] hash = MessageDigest.getInstance(HASH_ALGORITHM)
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private boolean isNotSharedOrChild(final AbstractDataStorage dataStorage,
                                        final List<AbstractDataStorage> allStorages) {
         if (!dataStorage.isShared()) {
@@ -179,4 +506,50 @@ public class ObjectStorageIndexImpl implements ObjectStorageIndex {
     private String withTrailingDelimiter(final String path, final String delimiter) {
         return StringUtils.isNotBlank(path) && !path.endsWith(delimiter) ? path + delimiter : path;
     }
+
+    /**
+     * Pages index documents sorted by file path using search after requests, so that no search context is kept
+     * open while the corresponding storage listing is processed.
+     */
+    @RequiredArgsConstructor
+    private class IndexedDocumentPageIterator implements Iterator<List<IndexedDocument>> {
+
+        private final String indexName;
+        private final QueryBuilder query;
+
+        private Object[] searchAfter;
+        private boolean finished;
+
+        @Override
+        public boolean hasNext() {
+            return !finished;
+        }
+
+        @Override
+        public List<IndexedDocument> next() {
+            if (finished) {
+                throw new NoSuchElementException();
+            }
+            final SearchSourceBuilder source = new SearchSourceBuilder()
+                    .query(query)
+                    .fetchSource(FILE_ID_FIELD, null)
+                    .sort(FILE_ID_FIELD, SortOrder.ASC)
+                    .size(SEARCH_PAGE_SIZE);
+            if (searchAfter != null) {
+                source.searchAfter(searchAfter);
+            }
+            final SearchHit[] hits = Optional.ofNullable(elasticsearchServiceClient
+                            .search(new SearchRequest(indexName).source(source)))
+                    .map(SearchResponse::getHits)
+                    .map(SearchHits::getHits)
+                    .orElseGet(() -> new SearchHit[0]);
+            finished = hits.length < SEARCH_PAGE_SIZE;
+            if (hits.length > 0) {
+                searchAfter = hits[hits.length - 1].getSortValues();
+            }
+            return Stream.of(hits)
+                    .map(hit -> new IndexedDocument(getFileId(hit), hit.getId()))
+                    .collect(Collectors.toList());
+        }
+    }
 }
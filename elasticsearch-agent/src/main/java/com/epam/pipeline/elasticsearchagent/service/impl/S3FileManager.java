@@ -55,7 +55,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TimeZone;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -68,11 +67,6 @@ public class S3FileManager implements ObjectStorageFileManager {
     @Getter
     private final DataStorageType type = DataStorageType.S3;
 
-    static {
-        TimeZone tz = TimeZone.getTimeZone("UTC");
-        ESConstants.FILE_DATE_FORMAT.setTimeZone(tz);
-    }
-
     @Override
     public Stream<DataStorageFile> files(final String storage,
                                          final String path,
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.DataStorageFile;
+import com.epam.pipeline.utils.StreamUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs storage indexing in a bounded staged pipeline.
+ *
+ * Storages of all the storage synchronizers are indexed in a single shared pool which size limits the number of
+ * storages processed at the same time. Inside each storage files are listed in the calling thread, split into
+ * chunks and passed through a bounded queue to the storage workers which resolve tags and build requests.
+ * Requests are sent to Elasticsearch one bulk at a time per storage, so a slow Elasticsearch blocks the workers,
+ * the queue fills up and the listing itself is slowed down.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class StorageIndexingPipeline {
+
+    private final ExecutorService storagesExecutor;
+    private final int storageThreads;
+    private final int queueSize;
+
+    public StorageIndexingPipeline(final @Value("${sync.storage.index.parallelism:2}") int parallelism,
+                                   final @Value("${sync.storage.index.storage.threads:2}") int storageThreads,
+                                   final @Value("${sync.storage.index.queue.size:4}") int queueSize) {
+        this.storagesExecutor = Executors.newFixedThreadPool(parallelism);
+        this.storageThreads = storageThreads;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * Indexes the specified storages in parallel and waits for all of them to finish. A failure of a single
+     * storage doesn't affect the others.
+     */
+    public <T extends AbstractDataStorage> void indexStorages(final List<T> storages, final Consumer<T> indexer) {
+        final List<CompletableFuture<Void>> tasks = storages.stream()
+                .map(storage -> CompletableFuture.runAsync(() -> indexer.accept(storage), storagesExecutor)
+                        .exceptionally(e -> {
+                            log.error("Failed to index {} storage {}: {}",
+                                    storage.getType(), storage.getId(), e.getMessage());
+                            return null;
+                        }))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Splits files into chunks, maps each chunk to requests in the storage workers and
+     * adds the requests to the specified container.
+     *
+     * @param files storage files stream which is consumed in the calling thread
+     * @param chunkSize number of files processed by a worker at once
+     * @param chunkMapper resolves chunk files tags and builds requests
+     * @param requestContainer container to send requests with
+     */
+    public void indexFiles(final Stream<DataStorageFile> files,
+                           final int chunkSize,
+                           final Function<List<DataStorageFile>, Stream<? extends DocWriteRequest>> chunkMapper,
+                           final IndexRequestContainer requestContainer) {
+        final Iterator<List<DataStorageFile>> chunks = StreamUtils.chunked(files, chunkSize).iterator();
+        if (storageThreads <= 1) {
+            chunks.forEachRemaining(chunk -> chunkMapper.apply(chunk).forEach(requestContainer::add));
+            return;
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(storageThreads, storageThreads,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try {
+            while (failure.get() == null && chunks.hasNext()) {
+                final List<DataStorageFile> chunk = chunks.next();
+                executor.execute(() -> processChunk(chunk, chunkMapper, requestContainer, failure));
+            }
+        } finally {
+            awaitTermination(executor);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        storagesExecutor.shutdownNow();
+    }
+
+    private void processChunk(final List<DataStorageFile> chunk,
+                              final Function<List<DataStorageFile>, Stream<? extends DocWriteRequest>> chunkMapper,
+                              final IndexRequestContainer requestContainer,
+                              final AtomicReference<RuntimeException> failure) {
+        if (failure.get() != null) {
+            return;
+        }
+        try {
+            final List<DocWriteRequest> requests = chunkMapper.apply(chunk).collect(Collectors.toList());
+            synchronized (requestContainer) {
+                requests.forEach(requestContainer::add);
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void awaitTermination(final ExecutorService executor) {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.debug("Waiting for storage indexing workers to finish...");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Storage indexing was interrupted", e);
+        }
+    }
+}
@@ -91,6 +91,10 @@ public class StorageFileMapper {
         searchMasks.putAll(newMasks);
     }
 
+    public Set<String> getSearchMasks(final String storageName) {
+        return SetUtils.emptyIfNull(searchMasks.get(storageName));
+    }
+
     private boolean isHidden(final AbstractDataStorage dataStorage, final DataStorageFile file) {
         final String storageName = dataStorage.getName();
         if (searchMasks.containsKey(storageName)) {
@@ -16,15 +16,17 @@
 
 package com.epam.pipeline.elasticsearchagent.utils;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import java.util.TimeZone;
 
 public final class ESConstants {
 
     public static final String DOC_MAPPING_TYPE = "_doc";
     public static final String HIDDEN_FILE_NAME = ".DS_Store";
     public static final String STORAGE_CLASS_LABEL = "StorageClass";
-    public static final DateFormat FILE_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    public static final FastDateFormat FILE_DATE_FORMAT = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.SSS",
+            TimeZone.getTimeZone("UTC"));
 
     private ESConstants() {
         //
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.model.ObjectStorageIndexCheckpoint;
+import com.epam.pipeline.elasticsearchagent.model.ObjectStorageIndexCheckpoint.PrefixDigest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CheckpointStoreTest {
+
+    private static final String KEY = "s3_file-1";
+    private static final String CHANGED = "2022-01-01 00:00:00.000";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldSaveAndLoadCheckpoint() {
+        final CheckpointStore store = new CheckpointStore(folder.getRoot().getPath());
+        final ObjectStorageIndexCheckpoint checkpoint = new ObjectStorageIndexCheckpoint();
+        checkpoint.setWatermark(CHANGED);
+        checkpoint.setLastFullRebuild(1L);
+        checkpoint.getPrefixes().put("folder/", digest("folder/file"));
+
+        store.save(KEY, checkpoint);
+        final Optional<ObjectStorageIndexCheckpoint> loaded = store.load(KEY, ObjectStorageIndexCheckpoint.class);
+
+        assertTrue(loaded.isPresent());
+        assertEquals(checkpoint, loaded.get());
+    }
+
+    @Test
+    public void shouldReturnEmptyCheckpointIfMissing() {
+        final CheckpointStore store = new CheckpointStore(folder.getRoot().getPath());
+        store.save(KEY, new ObjectStorageIndexCheckpoint());
+        store.delete(KEY);
+
+        assertFalse(store.load(KEY, ObjectStorageIndexCheckpoint.class).isPresent());
+    }
+
+    @Test
+    public void prefixDigestShouldNotDependOnFilesOrder() {
+        final PrefixDigest first = digest("a", "b");
+        final PrefixDigest second = digest("b", "a");
+
+        assertEquals(first, second);
+        assertNotEquals(first, digest("a", "c"));
+    }
+
+    private PrefixDigest digest(final String... paths) {
+        final PrefixDigest digest = new PrefixDigest();
+        for (final String path : paths) {
+            digest.add(path, 1L, CHANGED);
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.elasticsearchagent.service.impl.IndexedDocumentMatcher.IndexedDocument;
+import com.epam.pipeline.elasticsearchagent.service.impl.IndexedDocumentMatcher.UnsortedListingException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedDocumentMatcherTest {
+
+    private final List<String> staleDocuments = new ArrayList<>();
+
+    @Test
+    public void shouldMatchListingWithIndexedDocuments() {
+        final IndexedDocumentMatcher matcher = matcher("a", "b", "d", "f");
+
+        assertTrue(matcher.isIndexed("a"));
+        assertFalse(matcher.isIndexed("c"));
+        assertTrue(matcher.isIndexed("d"));
+        assertFalse(matcher.isIndexed("e"));
+        matcher.finish();
+
+        assertEquals(Arrays.asList("id-b", "id-f"), staleDocuments);
+    }
+
+    @Test
+    public void shouldDeleteAllDocumentsIfListingIsEmpty() {
+        final IndexedDocumentMatcher matcher = matcher("a", "b");
+
+        matcher.finish();
+
+        assertEquals(Arrays.asList("id-a", "id-b"), staleDocuments);
+    }
+
+    @Test
+    public void shouldIndexAllFilesIfThereAreNoDocuments() {
+        final IndexedDocumentMatcher matcher = matcher();
+
+        assertFalse(matcher.isIndexed("a"));
+        assertFalse(matcher.isIndexed("b"));
+        matcher.finish();
+
+        assertEquals(Collections.emptyList(), staleDocuments);
+    }
+
+    @Test
+    public void shouldCompareSupplementaryCharactersByCodePoints() {
+        final String supplementary = new String(Character.toChars(0x1F600));
+        final String privateUse = String.valueOf((char) 0xE000);
+
+        assertTrue(IndexedDocumentMatcher.compare(privateUse, supplementary) < 0);
+        assertTrue(IndexedDocumentMatcher.compare("a", "a/b") < 0);
+        assertEquals(0, IndexedDocumentMatcher.compare("a/b", "a/b"));
+    }
+
+    @Test(expected = UnsortedListingException.class)
+    public void shouldFailIfListingIsNotSorted() {
+        final IndexedDocumentMatcher matcher = matcher("a", "b");
+
+        matcher.isIndexed("b");
+        matcher.isIndexed("a");
+    }
+
+    private IndexedDocumentMatcher matcher(final String... paths) {
+        final List<IndexedDocument> documents = Stream.of(paths)
+                .map(path -> new IndexedDocument(path, "id-" + path))
+                .collect(Collectors.toList());
+        return new IndexedDocumentMatcher(documents.iterator(), document -> staleDocuments.add(document.getId()));
+    }
+}
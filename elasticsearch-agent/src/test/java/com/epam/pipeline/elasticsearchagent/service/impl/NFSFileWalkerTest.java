@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.entity.datastorage.DataStorageFile;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeTrue;
+
+public class NFSFileWalkerTest {
+
+    private static final String CONTENT = "content";
+    private static final int FILES = 5;
+    private static final long WALK_START_MS = 500;
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NFSFileWalker walker = new NFSFileWalker(2, 2);
+
+    @After
+    public void tearDown() {
+        walker.shutdown();
+    }
+
+    @Test
+    public void shouldListAllFilesOfTree() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        createFile(root.resolve("file"));
+        createFile(root.resolve("a/file"));
+        createFile(root.resolve("a/b/file"));
+        createFile(root.resolve("c/file"));
+        Files.createDirectories(root.resolve("d"));
+
+        final Map<String, DataStorageFile> files;
+        try (Stream<DataStorageFile> stream = walker.walk(root)) {
+            files = stream.collect(Collectors.toMap(DataStorageFile::getPath, Function.identity()));
+        }
+
+        assertEquals(new HashSet<>(Arrays.asList("file", "a/file", "a/b/file", "c/file")), files.keySet());
+        final DataStorageFile file = files.get("a/b/file");
+        assertEquals("file", file.getName());
+        assertEquals(Long.valueOf(CONTENT.length()), file.getSize());
+        assertNotNull(file.getChanged());
+    }
+
+    @Test
+    public void shouldListSymlinkedFilesButNotFollowSymlinkedDirectories() throws IOException {
+        final Path root = folder.getRoot().toPath();
+        final Path target = folder.newFolder("target").toPath();
+        createFile(target.resolve("file"));
+        createFile(root.resolve("data/file"));
+        assumeTrue(createSymbolicLink(root.resolve("data/link"), target.resolve("file")));
+        assumeTrue(createSymbolicLink(root.resolve("data/dir"), target));
+        assumeTrue(createSymbolicLink(root.resolve("data/broken"), root.resolve("missing")));
+
+        final Map<String, DataStorageFile> files;
+        try (Stream<DataStorageFile> stream = walker.walk(root.resolve("data"))) {
+            files = stream.collect(Collectors.toMap(DataStorageFile::getPath, Function.identity()));
+        }
+
+        assertEquals(new HashSet<>(Arrays.asList("file", "link")), files.keySet());
+        assertEquals(Long.valueOf(CONTENT.length()), files.get("link").getSize());
+    }
+
+    @Test(timeout = TIMEOUT_MS, expected = IllegalStateException.class)
+    public void shouldFailStreamIfWalkIsInterruptedWhileQueueIsFull() throws IOException, InterruptedException {
+        final Path root = folder.getRoot().toPath();
+        for (int i = 0; i < FILES; i++) {
+            createFile(root.resolve("file" + i));
+        }
+
+        try (Stream<DataStorageFile> stream = walker.walk(root)) {
+            Thread.sleep(WALK_START_MS);
+            walker.shutdown();
+            stream.count();
+        }
+    }
+
+    private boolean createSymbolicLink(final Path link, final Path target) {
+        try {
+            Files.createSymbolicLink(link, target);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private void createFile(final Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, CONTENT.getBytes(StandardCharsets.UTF_8));
+    }
+}
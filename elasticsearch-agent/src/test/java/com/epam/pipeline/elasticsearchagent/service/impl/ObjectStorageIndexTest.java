@@ -61,6 +61,8 @@ public class ObjectStorageIndexTest {
     private ElasticsearchServiceClient elasticsearchServiceClient;
     @Mock
     private ElasticIndexService elasticIndexService;
+    @Mock
+    private StorageIndexingPipeline indexingPipeline;
     
     @Spy
     private final ObjectStorageIndex objectStorageIndex = new ObjectStorageIndexImpl(
@@ -73,7 +75,8 @@ public class ObjectStorageIndexTest {
             1000,
             1000,
             DataStorageType.GS,
-            SearchDocumentType.GS_FILE);
+            SearchDocumentType.GS_FILE,
+            indexingPipeline);
 
     @Test
     public void shouldAddZeroFilesToRequestContainer() {
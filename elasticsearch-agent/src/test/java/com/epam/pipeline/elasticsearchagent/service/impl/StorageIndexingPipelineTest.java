@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.epam.pipeline.elasticsearchagent.service.impl;
+
+import com.epam.pipeline.entity.datastorage.AbstractDataStorage;
+import com.epam.pipeline.entity.datastorage.DataStorageFile;
+import com.epam.pipeline.entity.datastorage.GSBucketStorage;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+public class StorageIndexingPipelineTest {
+
+    private static final int FILES_COUNT = 1000;
+    private static final int CHUNK_SIZE = 10;
+    private static final int BULK_SIZE = 30;
+
+    private final StorageIndexingPipeline pipeline = new StorageIndexingPipeline(2, 4, 2);
+
+    @After
+    public void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void shouldSendRequestsForAllFiles() {
+        final List<DocWriteRequest> sent = Collections.synchronizedList(new ArrayList<>());
+        try (IndexRequestContainer container = new IndexRequestContainer(requests -> {
+            sent.addAll(requests);
+            return null;
+        }, BULK_SIZE)) {
+            pipeline.indexFiles(files(), CHUNK_SIZE, chunk -> chunk.stream()
+                    .map(file -> new IndexRequest("index", "_doc", file.getPath())), container);
+        }
+
+        assertEquals(expectedIds(), sent.stream().map(DocWriteRequest::id).collect(Collectors.toSet()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailIfChunkProcessingFails() {
+        try (IndexRequestContainer container = new IndexRequestContainer(requests -> null, BULK_SIZE)) {
+            pipeline.indexFiles(files(), CHUNK_SIZE, chunk -> {
+                throw new IllegalStateException();
+            }, container);
+        }
+    }
+
+    @Test
+    public void shouldIndexAllStoragesEvenIfSomeOfThemFail() {
+        final Set<Long> indexed = ConcurrentHashMap.newKeySet();
+        final List<AbstractDataStorage> storages = Arrays.asList(storage(1L), storage(2L), storage(3L));
+
+        pipeline.indexStorages(storages, storage -> {
+            if (storage.getId() == 2L) {
+                throw new IllegalStateException();
+            }
+            indexed.add(storage.getId());
+        });
+
+        assertEquals(2, indexed.size());
+    }
+
+    private static Set<String> expectedIds() {
+        return IntStream.range(0, FILES_COUNT).mapToObj(String::valueOf).collect(Collectors.toSet());
+    }
+
+    private static Stream<DataStorageFile> files() {
+        return IntStream.range(0, FILES_COUNT).mapToObj(i -> {
+            final DataStorageFile file = new DataStorageFile();
+            file.setPath(String.valueOf(i));
+            return file;
+        });
+    }
+
+    private static AbstractDataStorage storage(final Long id) {
+        final AbstractDataStorage storage = new GSBucketStorage();
+        storage.setId(id);
+        return storage;
+    }
+}
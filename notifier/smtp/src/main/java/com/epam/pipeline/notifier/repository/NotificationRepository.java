@@ -19,10 +19,15 @@ package com.epam.pipeline.notifier.repository;
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -39,6 +44,27 @@ public interface NotificationRepository extends JpaRepository<NotificationMessag
     @Query("select n from NotificationMessage n order by n.id")
     List<NotificationMessage> loadNotification(Pageable pageable);
 
+    /**
+     * Claims limited number of {@link NotificationMessage} ordered by @{@link NotificationMessage#id}. Loaded rows
+     * are locked until the end of the transaction, so messages shall be deleted in the same transaction.
+     * @param pageable   object to limit number of returned messages
+     * @return list of {@link NotificationMessage}
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("select n from NotificationMessage n order by n.id")
+    List<NotificationMessage> claimNotifications(Pageable pageable);
+
+    /**
+     * Delete {@link NotificationMessage} by ids
+     * @param ids   ids of {@link NotificationMessage} to be deleted
+     * @return number of deleted messages
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query("delete from NotificationMessage n where n.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Delete {@link NotificationMessage} by id
      * @param id   id of {@link NotificationMessage} to be deleted
@@ -19,10 +19,12 @@ package com.epam.pipeline.notifier.service;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.notifier.repository.NotificationRepository;
 import com.epam.pipeline.notifier.service.task.NotificationManager;
+import org.apache.commons.collections4.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,9 +44,12 @@ public class NotificationService {
     @Autowired
     private ExecutorService notificationThreadPool;
 
-    @Value(value = "${notification.at.time:5}")
+    @Value(value = "${notification.at.time:500}")
     private int notificationAtTime;
 
+    @Value(value = "${notification.send.chunk.size:50}")
+    private int sendChunkSize;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -52,21 +57,30 @@ public class NotificationService {
     private List<NotificationManager> notificationManagers;
 
     /**
-     * Scheduled task to load batch of {@link NotificationMessage} from database
-     * and delegate it to all realizations of {@link NotificationManager}
+     * Scheduled task to claim batch of {@link NotificationMessage} from database
+     * and delegate it to all realizations of {@link NotificationManager}.
+     * Claimed messages are removed from the queue with a single query and are sent in chunks
+     * of {@code notification.send.chunk.size} messages.
      */
     @Scheduled(fixedDelayString = "${notification.scheduler.delay}")
     @Transactional(propagation = Propagation.REQUIRED)
     public void sendNotification() {
         LOGGER.debug("Start scheduled notification loop...");
         Pageable limit = new PageRequest(0, notificationAtTime);
-        List<NotificationMessage> result = notificationRepository.loadNotification(limit);
-        result.forEach(message -> {
-            notificationRepository.deleteById(message.getId());
+        List<NotificationMessage> result = notificationRepository.claimNotifications(limit);
+        if (result.isEmpty()) {
+            LOGGER.debug("End scheduled notification loop...");
+            return;
+        }
+        notificationRepository.deleteByIds(result.stream()
+                .map(NotificationMessage::getId)
+                .collect(Collectors.toList()));
+        LOGGER.debug("Claimed {} notifications", result.size());
 
+        ListUtils.partition(result, Math.max(1, sendChunkSize)).forEach(chunk -> {
             for (NotificationManager notificationManager : notificationManagers) {
                 CompletableFuture.runAsync(
-                    () -> notificationManager.notifySubscribers(message),
+                    () -> notificationManager.notifySubscribers(chunk),
                     notificationThreadPool)
                     .exceptionally(throwable -> {
                         LOGGER.warn("Exception while trying to send email", throwable);
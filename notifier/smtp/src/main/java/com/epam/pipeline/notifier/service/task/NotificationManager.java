@@ -18,9 +18,18 @@ package com.epam.pipeline.notifier.service.task;
 
 import com.epam.pipeline.entity.notification.NotificationMessage;
 
+import java.util.List;
+
 /**
  * Simple interface of abstract {@link NotificationManager}
  */
 public interface NotificationManager {
     void notifySubscribers(NotificationMessage message);
+
+    /**
+     * Sends a batch of messages. Realizations may override it to share resources between messages of a batch.
+     */
+    default void notifySubscribers(List<NotificationMessage> messages) {
+        messages.forEach(this::notifySubscribers);
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.notifier.service.task;
+
+import com.epam.pipeline.entity.notification.NotificationTemplate;
+import org.apache.velocity.Template;
+import org.apache.velocity.context.Context;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.apache.velocity.runtime.parser.node.SimpleNode;
+import org.springframework.stereotype.Component;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps compiled Velocity templates of {@link NotificationTemplate} subjects and bodies, so each template is parsed
+ * only once instead of once per sent message.
+ *
+ * Templates are cached by {@link NotificationTemplate#getId()} together with their source, if a template is changed
+ * in the database it is compiled again on the first use. Messages without a template are compiled on each call.
+ */
+@Component
+public class NotificationTemplateCache {
+
+    private static final String SUBJECT = "subject";
+    private static final String BODY = "body";
+
+    private final RuntimeInstance runtime;
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+
+    public NotificationTemplateCache() {
+        this.runtime = new RuntimeInstance();
+        this.runtime.init();
+    }
+
+    /**
+     * Renders subject of the given template or raw subject if template is not specified.
+     */
+    public String renderSubject(final NotificationTemplate template, final String source, final Context context) {
+        return render(template, SUBJECT, source, context);
+    }
+
+    /**
+     * Renders body of the given template or raw body if template is not specified.
+     */
+    public String renderBody(final NotificationTemplate template, final String source, final Context context) {
+        return render(template, BODY, source, context);
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+
+    private String render(final NotificationTemplate template, final String part, final String source,
+                          final Context context) {
+        final String actualSource = source == null ? "" : source;
+        final Template compiled = template == null || template.getId() == null
+                ? compile(part, actualSource)
+                : getCompiled(template.getId() + ":" + part, actualSource);
+        final StringWriter writer = new StringWriter();
+        compiled.merge(context, writer);
+        return writer.toString();
+    }
+
+    private Template getCompiled(final String key, final String source) {
+        final CompiledTemplate cached = templates.get(key);
+        if (cached != null && Objects.equals(cached.source, source)) {
+            return cached.template;
+        }
+        final CompiledTemplate compiled = new CompiledTemplate(source, compile(key, source));
+        templates.put(key, compiled);
+        return compiled.template;
+    }
+
+    private Template compile(final String name, final String source) {
+        try {
+            final SimpleNode node = runtime.parse(new StringReader(source), SMTPNotificationManager.MESSAGE_TAG
+                    + name);
+            final Template template = new Template();
+            template.setName(SMTPNotificationManager.MESSAGE_TAG + name);
+            template.setRuntimeServices(runtime);
+            template.setData(node);
+            template.initDocument();
+            return template;
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(String.format("Failed to parse notification %s: %s",
+                    name, e.getMessage()), e);
+        }
+    }
+
+    private static final class CompiledTemplate {
+
+        private final String source;
+        private final Template template;
+
+        private CompiledTemplate(final String source, final Template template) {
+            this.source = source;
+            this.template = template;
+        }
+    }
+}
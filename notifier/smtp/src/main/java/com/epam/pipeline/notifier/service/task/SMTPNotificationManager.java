@@ -20,12 +20,9 @@ import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.entity.notification.NotificationTemplate;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.notifier.repository.UserRepository;
-import org.apache.commons.mail.DefaultAuthenticator;
-import org.apache.commons.mail.Email;
 import org.apache.commons.mail.EmailException;
 import org.apache.commons.mail.HtmlEmail;
 import org.apache.velocity.VelocityContext;
-import org.apache.velocity.app.Velocity;
 import org.apache.velocity.tools.generic.NumberTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,22 +30,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.StringUtils;
 
+import javax.mail.MessagingException;
 import javax.mail.internet.InternetAddress;
-import java.io.StringWriter;
+import javax.mail.internet.MimeMessage;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.TimeZone;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * SMTP realization of {@link NotificationManager}.
  * {@link SMTPNotificationManager} sends message to all target users from {@link NotificationMessage#getToUserId()} and
  * {@link NotificationMessage#getCopyUserIds()}
+ *
+ * Messages are sent over persistent connections of {@link SMTPTransportPool}, templates are compiled once
+ * by {@link NotificationTemplateCache} and recipients of a whole batch of messages are loaded with a single query.
  */
 @Component
 public class SMTPNotificationManager implements NotificationManager {
@@ -62,27 +67,9 @@ public class SMTPNotificationManager implements NotificationManager {
     @Value(value = "${email.notification.retry.count:3}")
     private int notifyRetryCount;
 
-    @Value(value = "${email.smtp.server.host.name}")
-    private String smtpServerHostName;
-
-    @Value(value = "${email.smtp.port}")
-    private int smtpPort;
-
-    @Value(value = "${email.ssl.on.connect}")
-    private boolean sslOnConnect;
-
-    @Value(value = "${email.start.tls.enabled}")
-    private boolean startTlsEnabled;
-
     @Value(value = "${email.from}")
     private String emailFrom;
 
-    @Value(value = "${email.user:}")
-    private String username;
-
-    @Value(value = "${email.password:}")
-    private String password;
-
     @Value(value = "${email.notification.letter.delay:-1}")
     private long emailDelay;
 
@@ -92,6 +79,12 @@ public class SMTPNotificationManager implements NotificationManager {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationTemplateCache templateCache;
+
+    @Autowired
+    private SMTPTransportPool transportPool;
+
     /**
      * Sends a notification to all specified recipients.
      *
@@ -103,20 +96,40 @@ public class SMTPNotificationManager implements NotificationManager {
      */
     @Override
     public void notifySubscribers(NotificationMessage message) {
-        if (!isEnabled) {
+        notifySubscribers(Collections.singletonList(message));
+    }
+
+    /**
+     * Sends a batch of notifications. Recipients of all messages in the batch are resolved with a single query.
+     */
+    @Override
+    public void notifySubscribers(List<NotificationMessage> messages) {
+        if (!isEnabled || CollectionUtils.isEmpty(messages)) {
+            return;
+        }
+        final Map<Long, PipelineUser> recipients = loadRecipients(messages);
+        messages.forEach(message -> send(message, recipients));
+    }
+
+    private void send(NotificationMessage message, Map<Long, PipelineUser> recipients) {
+        final Optional<MimeMessage> email;
+        try {
+            email = buildEmail(message, recipients);
+        } catch (EmailException | IllegalArgumentException e) {
+            LOGGER.error(String.format("Failed to build message with id %d. Message will not be sent.",
+                    message.getId()), e);
+            return;
+        }
+        if (!email.isPresent()) {
             return;
         }
         for (int i = 0; i < notifyRetryCount; i++) {
             try {
-                Optional<Email> email = buildEmail(message);
-                if (email.isPresent()) {
-                    email.get().send();
-                }
-
+                transportPool.send(email.get());
                 LOGGER.info("Message with id: {} was successfully send", message.getId());
                 sleepIfRequired(emailDelay);
                 return;
-            } catch (EmailException e) {
+            } catch (MessagingException e) {
                 LOGGER.warn(String.format("Fail to send message with id %d. Attempt %d/%d. %n Cause: %n ",
                         message.getId(), i + 1, notifyRetryCount), e);
                 sleepIfRequired(retryDelay);
@@ -127,55 +140,48 @@ public class SMTPNotificationManager implements NotificationManager {
 
     }
 
-    private Optional<Email> buildEmail(NotificationMessage message) throws EmailException {
-        HtmlEmail email = new HtmlEmail();
-        email.setHostName(smtpServerHostName);
-        email.setSmtpPort(smtpPort);
-        email.setSSLOnConnect(sslOnConnect);
-        email.setStartTLSEnabled(startTlsEnabled);
-
-        // check that credentials are provided, otherwise try to proceed without authentication
-        if (!StringUtils.isEmpty(username) && !StringUtils.isEmpty(password)) {
-            email.setAuthenticator(new DefaultAuthenticator(username, password));
+    private Optional<MimeMessage> buildEmail(NotificationMessage message,
+                                             Map<Long, PipelineUser> recipients) throws EmailException {
+        if (message.getToUserId() == null && CollectionUtils.isEmpty(message.getCopyUserIds())) {
+            LOGGER.info("Email with message {} won't be sent: no recipients found", message.getId());
+            return Optional.empty();
         }
 
+        HtmlEmail email = new HtmlEmail();
+        email.setMailSession(transportPool.getSession());
         email.setFrom(emailFrom);
 
-        Optional<NotificationTemplate> template = Optional.ofNullable(message.getTemplate());
-        String subject = template.map(NotificationTemplate::getSubject).orElse(message.getSubject());
-        String body = template.map(NotificationTemplate::getBody).orElse(message.getBody());
+        NotificationTemplate template = message.getTemplate();
+        String subject = template != null ? template.getSubject() : message.getSubject();
+        String body = template != null ? template.getBody() : message.getBody();
 
         VelocityContext velocityContext = getVelocityContext(message);
         velocityContext.put("numberTool", new NumberTool());
 
-        StringWriter subjectOut = new StringWriter();
-        StringWriter bodyOut = new StringWriter();
-
-        Velocity.evaluate(velocityContext, subjectOut, MESSAGE_TAG + message.hashCode(), subject);
-        Velocity.evaluate(velocityContext, bodyOut, MESSAGE_TAG + message.hashCode(), body);
-
-        email.setSubject(subjectOut.toString());
-        email.setHtmlMsg(bodyOut.toString());
+        email.setSubject(templateCache.renderSubject(template, subject, velocityContext));
+        email.setHtmlMsg(templateCache.renderBody(template, body, velocityContext));
 
-        if (message.getToUserId() == null && CollectionUtils.isEmpty(message.getCopyUserIds())) {
-            LOGGER.info("Email with message {} won't be sent: no recipients found", message.getId());
-            return Optional.empty();
-        }
-
-        String userEmail = getTargetUserEmail(message);
+        String userEmail = getTargetUserEmail(message, recipients);
         if (userEmail != null) {
             email.addTo(userEmail);
         }
 
-        List<PipelineUser> keepInformedUsers = userRepository.findByIdIn(message.getCopyUserIds());
-
-        for (PipelineUser user : keepInformedUsers) {
-            String address = user.getEmail();
+        boolean hasCopyRecipients = false;
+        for (Long userId : CollectionUtils.isEmpty(message.getCopyUserIds())
+                ? Collections.<Long>emptyList() : message.getCopyUserIds()) {
+            PipelineUser user = recipients.get(userId);
+            String address = user == null ? null : user.getEmail();
             if (address != null) {
                 email.addBcc(address);
+                hasCopyRecipients = true;
             }
         }
 
+        if (userEmail == null && !hasCopyRecipients) {
+            LOGGER.info("Email with message {} won't be sent: no recipients with email found", message.getId());
+            return Optional.empty();
+        }
+
         LOGGER.info("Email from message {} formed and will be send to: {}",
                 message.getId(),
                 email.getToAddresses()
@@ -184,15 +190,31 @@ public class SMTPNotificationManager implements NotificationManager {
                         .collect(Collectors.toList())
         );
 
-        return Optional.of(email);
+        email.buildMimeMessage();
+        return Optional.of(email.getMimeMessage());
+    }
+
+    private Map<Long, PipelineUser> loadRecipients(List<NotificationMessage> messages) {
+        List<Long> userIds = messages.stream()
+                .flatMap(message -> Stream.concat(Stream.of(message.getToUserId()),
+                        CollectionUtils.isEmpty(message.getCopyUserIds())
+                                ? Stream.<Long>empty() : message.getCopyUserIds().stream()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userRepository.findByIdIn(userIds).stream()
+                .collect(Collectors.toMap(PipelineUser::getId, Function.identity(), (u1, u2) -> u1));
     }
 
-    private String getTargetUserEmail(NotificationMessage message) {
+    private String getTargetUserEmail(NotificationMessage message, Map<Long, PipelineUser> recipients) {
         if (message.getToUserId() == null) {
             LOGGER.info("toUserId is not set for message {}", message.getId());
             return null;
         }
-        PipelineUser targetUser = userRepository.findOne(message.getToUserId());
+        PipelineUser targetUser = recipients.get(message.getToUserId());
         if (targetUser == null) {
             LOGGER.info("Cannot find user with id {} for message {}", message.getToUserId(), message.getId());
             return null;
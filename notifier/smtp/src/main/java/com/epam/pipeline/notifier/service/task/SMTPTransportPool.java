@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.notifier.service.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small pool of persistent SMTP connections to the configured server.
+ *
+ * Connections are opened lazily up to {@code email.smtp.transport.pool.size} and are reused by all sending
+ * threads, a thread waits for a free connection if all of them are busy. A connection which failed to send a message
+ * is closed and reopened on the next use. Sending rate to the server may be limited with
+ * {@code email.smtp.rate.limit} messages per second.
+ */
+@Component
+public class SMTPTransportPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SMTPTransportPool.class);
+    private static final String TIMEOUT = "60000";
+
+    private final Session session;
+    private final String username;
+    private final String password;
+    private final int poolSize;
+    private final long sendInterval;
+    private final BlockingQueue<Transport> idle;
+    private final AtomicInteger created = new AtomicInteger();
+    private long nextSendTime;
+
+    public SMTPTransportPool(@Value(value = "${email.smtp.server.host.name}") final String hostName,
+                             @Value(value = "${email.smtp.port}") final int port,
+                             @Value(value = "${email.ssl.on.connect}") final boolean sslOnConnect,
+                             @Value(value = "${email.start.tls.enabled}") final boolean startTlsEnabled,
+                             @Value(value = "${email.user:}") final String username,
+                             @Value(value = "${email.password:}") final String password,
+                             @Value(value = "${email.smtp.transport.pool.size:2}") final int poolSize,
+                             @Value(value = "${email.smtp.rate.limit:0}") final double rateLimit) {
+        this.username = username;
+        this.password = password;
+        this.poolSize = Math.max(1, poolSize);
+        this.sendInterval = rateLimit > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rateLimit) : 0;
+        this.idle = new LinkedBlockingQueue<>(this.poolSize);
+        this.session = Session.getInstance(buildProperties(hostName, port, sslOnConnect, startTlsEnabled,
+                hasCredentials()));
+    }
+
+    /**
+     * Returns mail session which shall be used to build messages sent with this pool.
+     */
+    public Session getSession() {
+        return session;
+    }
+
+    /**
+     * Sends the message over one of the pooled connections.
+     */
+    public void send(final MimeMessage message) throws MessagingException {
+        final Transport transport = borrow();
+        boolean healthy = false;
+        try {
+            if (!transport.isConnected()) {
+                connect(transport);
+            }
+            acquirePermit();
+            transport.sendMessage(message, message.getAllRecipients());
+            healthy = true;
+        } finally {
+            release(transport, healthy);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        Transport transport = idle.poll();
+        while (transport != null) {
+            closeQuietly(transport);
+            transport = idle.poll();
+        }
+    }
+
+    private Transport borrow() throws MessagingException {
+        final Transport pooled = idle.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        if (created.incrementAndGet() <= poolSize) {
+            return session.getTransport();
+        }
+        created.decrementAndGet();
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for SMTP connection", e);
+        }
+    }
+
+    private void release(final Transport transport, final boolean healthy) {
+        if (!healthy) {
+            closeQuietly(transport);
+        }
+        if (!idle.offer(transport)) {
+            closeQuietly(transport);
+            created.decrementAndGet();
+        }
+    }
+
+    private void connect(final Transport transport) throws MessagingException {
+        if (hasCredentials()) {
+            transport.connect(username, password);
+        } else {
+            transport.connect();
+        }
+    }
+
+    private void acquirePermit() throws MessagingException {
+        if (sendInterval <= 0) {
+            return;
+        }
+        final long waitTime;
+        synchronized (this) {
+            final long now = System.nanoTime();
+            final long sendTime = Math.max(now, nextSendTime);
+            nextSendTime = sendTime + sendInterval;
+            waitTime = sendTime - now;
+        }
+        if (waitTime <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for SMTP rate limit", e);
+        }
+    }
+
+    private boolean hasCredentials() {
+        return !StringUtils.isEmpty(username) && !StringUtils.isEmpty(password);
+    }
+
+    private void closeQuietly(final Transport transport) {
+        try {
+            if (transport.isConnected()) {
+                transport.close();
+            }
+        } catch (MessagingException e) {
+            LOGGER.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static Properties buildProperties(final String hostName, final int port, final boolean sslOnConnect,
+                                              final boolean startTlsEnabled, final boolean auth) {
+        final Properties properties = new Properties();
+        properties.setProperty("mail.transport.protocol", "smtp");
+        properties.setProperty("mail.smtp.host", hostName);
+        properties.setProperty("mail.smtp.port", String.valueOf(port));
+        properties.setProperty("mail.smtp.ssl.enable", String.valueOf(sslOnConnect));
+        properties.setProperty("mail.smtp.starttls.enable", String.valueOf(startTlsEnabled));
+        properties.setProperty("mail.smtp.auth", String.valueOf(auth));
+        properties.setProperty("mail.smtp.timeout", TIMEOUT);
+        properties.setProperty("mail.smtp.connectiontimeout", TIMEOUT);
+        return properties;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.epam.pipeline.notifier.repository;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -81,4 +82,29 @@ public class NotificationRepositoryTest extends AbstractSpringTest {
         Assert.assertNull(notificationRepository.findOne(idToDelete));
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void claimAndDeleteByIdsTest() {
+        NotificationMessage first = createMessage();
+        NotificationMessage second = createMessage();
+        NotificationMessage third = createMessage();
+
+        List<NotificationMessage> claimed = notificationRepository.claimNotifications(new PageRequest(0, 2));
+        Assert.assertEquals(Arrays.asList(first.getId(), second.getId()),
+                Arrays.asList(claimed.get(0).getId(), claimed.get(1).getId()));
+
+        Assert.assertEquals(2, notificationRepository.deleteByIds(Arrays.asList(first.getId(), second.getId())));
+        Assert.assertNull(notificationRepository.findOne(first.getId()));
+        Assert.assertNull(notificationRepository.findOne(second.getId()));
+        Assert.assertNotNull(notificationRepository.findOne(third.getId()));
+    }
+
+    private NotificationMessage createMessage() {
+        NotificationMessage message = new NotificationMessage();
+        message.setSubject(SUBJECT);
+        message.setBody(BODY_WITHOUT_PARAM);
+        message.setToUserId(0L);
+        message.setCopyUserIds(Collections.singletonList(0L));
+        return notificationRepository.save(message);
+    }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Collections;
 import javax.mail.Message;
 import javax.mail.MessagingException;
@@ -35,6 +36,7 @@ import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.entity.notification.NotificationTemplate;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.notifier.AbstractSpringTest;
+import com.epam.pipeline.notifier.repository.NotificationTemplateRepository;
 import com.epam.pipeline.notifier.repository.UserRepository;
 import com.icegreen.greenmail.junit.GreenMailRule;
 import com.icegreen.greenmail.util.GreenMailUtil;
@@ -63,6 +65,9 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationTemplateRepository templateRepository;
+
 
     @Test
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
@@ -206,4 +211,36 @@ public class SMTPNotificationManagerTest extends AbstractSpringTest {
         assertNull(receivedMessages[0].getRecipients(Message.RecipientType.TO));
         assertEquals(1, receivedMessages[0].getRecipients(Message.RecipientType.CC).length);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Throwable.class)
+    public void testBatchEmailSendingWithSharedTemplate() {
+        PipelineUser user = new PipelineUser();
+        user.setUserName(USER_NAME);
+        user.setAttributes(Collections.singletonMap(EMAIL_KEY, EMAIL));
+        userRepository.save(user);
+
+        NotificationTemplate template = new NotificationTemplate();
+        template.setSubject(MESSAGE_SUBJECT);
+        template.setBody(MESSAGE_BODY_WITH_PARAM);
+        templateRepository.save(template);
+
+        NotificationMessage first = new NotificationMessage();
+        first.setTemplate(template);
+        first.setTemplateParameters(Collections.singletonMap("name", USER_NAME));
+        first.setToUserId(user.getId());
+
+        NotificationMessage second = new NotificationMessage();
+        second.setTemplate(template);
+        second.setTemplateParameters(Collections.singletonMap("name", EMAIL));
+        second.setToUserId(user.getId());
+
+        smtpNotificationManager.notifySubscribers(Arrays.asList(first, second));
+        MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertEquals(2, receivedMessages.length);
+        assertTrue(GreenMailUtil.getBody(receivedMessages[0]).contains(PARSED_MESSAGE_BODY_WITH_PARAM
+                .replace("$templateParameters.get(\"name\")", USER_NAME)));
+        assertTrue(GreenMailUtil.getBody(receivedMessages[1]).contains(PARSED_MESSAGE_BODY_WITH_PARAM
+                .replace("$templateParameters.get(\"name\")", EMAIL)));
+    }
+}
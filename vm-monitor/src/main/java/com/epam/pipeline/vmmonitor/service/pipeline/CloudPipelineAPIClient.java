@@ -24,6 +24,7 @@ import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.filter.FilterExpression;
 import com.epam.pipeline.entity.notification.NotificationMessage;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
+import com.epam.pipeline.entity.pipeline.TaskStatus;
 import com.epam.pipeline.entity.region.AbstractCloudRegion;
 import com.epam.pipeline.entity.user.PipelineUser;
 import com.epam.pipeline.exception.PipelineResponseException;
@@ -31,6 +32,7 @@ import com.epam.pipeline.rest.PagedResult;
 import com.epam.pipeline.utils.QueryUtils;
 import com.epam.pipeline.vo.FilterNodesVO;
 import com.epam.pipeline.vo.PagingRunFilterExpressionVO;
+import com.epam.pipeline.vo.PagingRunFilterVO;
 import com.epam.pipeline.vo.notification.NotificationMessageVO;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
@@ -41,6 +43,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Service
@@ -49,6 +52,9 @@ public class CloudPipelineAPIClient {
     private static final APIVersion REGION_CHANGE_VERSION = new APIVersion("0.15");
     private static final APIVersion USER_CHANGE_VERSION = new APIVersion("0.14");
     public static final int SEARCH_PAGE_SIZE = 20;
+    public static final int FILTER_PAGE_SIZE = 500;
+    private static final List<TaskStatus> ACTIVE_STATUSES = Arrays.asList(TaskStatus.RUNNING, TaskStatus.PAUSING,
+            TaskStatus.PAUSED, TaskStatus.RESUMING);
 
     private final CloudPipelineAPI cloudPipelineAPI;
     private final APIVersion apiVersion;
@@ -75,6 +81,10 @@ public class CloudPipelineAPIClient {
         return QueryUtils.execute((cloudPipelineAPI.findNodes(filterNodesVO)));
     }
 
+    public List<NodeInstance> loadNodes() {
+        return QueryUtils.execute((cloudPipelineAPI.findNodes(new FilterNodesVO())));
+    }
+
     public NotificationMessage sendNotification(final NotificationMessageVO messageVO) {
         return QueryUtils.execute(cloudPipelineAPI.createNotification(messageVO));
     }
@@ -95,6 +105,24 @@ public class CloudPipelineAPIClient {
         return QueryUtils.execute(cloudPipelineAPI.loadPipelineRun(runId));
     }
 
+    public List<PipelineRun> loadActiveRuns() {
+        final List<PipelineRun> runs = new ArrayList<>();
+        int page = 1;
+        while (true) {
+            final PagingRunFilterVO filter = new PagingRunFilterVO();
+            filter.setStatuses(ACTIVE_STATUSES);
+            filter.setPage(page);
+            filter.setPageSize(FILTER_PAGE_SIZE);
+            final PagedResult<List<PipelineRun>> result = QueryUtils.execute(cloudPipelineAPI.filterRuns(filter));
+            final List<PipelineRun> elements = ListUtils.emptyIfNull(result.getElements());
+            runs.addAll(elements);
+            if (elements.size() < FILTER_PAGE_SIZE || runs.size() >= result.getTotalCount()) {
+                return runs;
+            }
+            page++;
+        }
+    }
+
     public List<PipelineRun> searchRunsByInstanceId(final String instanceId) {
         final List<PipelineRun> searchResults = new ArrayList<>();
         final PagedResult<List<PipelineRun>> initialSearchResult = addSearchResults(instanceId, 1, searchResults);
@@ -43,11 +43,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Main monitoring service class, checks VM status on a scheduled basis
+ *
+ * In bulk reconciliation mode cluster nodes, active runs and node pools are loaded once per monitoring pass
+ * and VMs are matched against them locally. Only VMs which look unregistered are checked once again with
+ * per VM API requests before a notification is queued. Regions are checked in parallel.
  */
 @Slf4j
 @Service
@@ -64,6 +71,9 @@ public class VMMonitor {
     private final String runIdLabel;
     private final String poolIdLabel;
     private final long vmMaxLiveMinutes;
+    private final boolean bulkReconciliation;
+    private final int regionThreads;
+    private final VMStateSource apiStateSource;
 
     public VMMonitor(final CloudPipelineAPIClient apiClient,
                      final VMNotifier notifier,
@@ -71,7 +81,9 @@ public class VMMonitor {
                      @Value("${monitor.required.labels:}") final String requiredLabels,
                      @Value("${monitor.runid.label:}") final String runIdLabel,
                      @Value("${monitor.poolid.label:}") final String poolIdLabel,
-                     @Value("${monitor.vm.max.live.minutes:60}") final long vmMaxLiveMinutes) {
+                     @Value("${monitor.vm.max.live.minutes:60}") final long vmMaxLiveMinutes,
+                     @Value("${monitor.vm.bulk.enabled:true}") final boolean bulkReconciliation,
+                     @Value("${monitor.vm.region.threads:4}") final int regionThreads) {
         this.apiClient = apiClient;
         this.notifier = notifier;
         this.services = ListUtils.emptyIfNull(services).stream()
@@ -80,19 +92,54 @@ public class VMMonitor {
         this.runIdLabel = runIdLabel;
         this.poolIdLabel = poolIdLabel;
         this.vmMaxLiveMinutes = vmMaxLiveMinutes;
+        this.bulkReconciliation = bulkReconciliation;
+        this.regionThreads = Math.max(1, regionThreads);
+        this.apiStateSource = new ApiStateSource();
     }
 
     public void monitor() {
         try {
-            ListUtils.emptyIfNull(apiClient.loadRegions())
-                    .forEach(this::checkVMs);
+            final List<? extends AbstractCloudRegion> regions = ListUtils.emptyIfNull(apiClient.loadRegions());
+            final VMStateSource snapshot = loadSnapshot();
+            checkRegions(regions, snapshot);
         } finally {
             notifier.sendNotifications();
         }
     }
 
+    private VMStateSource loadSnapshot() {
+        if (!bulkReconciliation) {
+            return null;
+        }
+        try {
+            final VMStateSnapshot snapshot = VMStateSnapshot.of(apiClient.loadNodes(), apiClient.loadActiveRuns(),
+                    apiClient.loadNodePools());
+            log.debug("Cluster state snapshot is loaded for VMs reconciliation.");
+            return snapshot;
+        } catch (Exception e) {
+            log.error("Failed to load cluster state snapshot, VMs will be checked one by one: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void checkRegions(final List<? extends AbstractCloudRegion> regions, final VMStateSource snapshot) {
+        if (regionThreads == 1 || regions.size() <= 1) {
+            regions.forEach(region -> checkVMs(region, snapshot));
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(regionThreads, regions.size()));
+        try {
+            CompletableFuture.allOf(regions.stream()
+                    .map(region -> CompletableFuture.runAsync(() -> checkVMs(region, snapshot), executor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private void checkVMs(final AbstractCloudRegion region) {
+    private void checkVMs(final AbstractCloudRegion region, final VMStateSource snapshot) {
         try {
             log.debug("Checking VMs in region {} {}", region.getRegionCode(), region.getProvider());
             getVmService(region)
@@ -100,7 +147,7 @@ public class VMMonitor {
                         final List<VirtualMachine> vms = ListUtils.emptyIfNull(service.fetchRunningVms(region));
                         log.debug("Found {} running VM(s) in {} {}", vms.size(),
                                 region.getRegionCode(), region.getProvider());
-                        vms.forEach(this::checkVmState);
+                        vms.forEach(vm -> checkVmState(vm, snapshot));
                     });
         } catch (Exception e) {
             log.error("An error during region {} {} check.", region.getRegionCode(), region.getProvider());
@@ -117,16 +164,20 @@ public class VMMonitor {
         return Optional.of(services.get(provider));
     }
 
-    private void checkVmState(final VirtualMachine vm) {
+    private void checkVmState(final VirtualMachine vm, final VMStateSource snapshot) {
         try {
-            final List<NodeInstance> nodes = apiClient.findNodes(vm.getPrivateIp());
+            if (snapshot != null && isRegistered(vm, snapshot)) {
+                log.debug("VM {} {} matches cluster state snapshot.", vm.getInstanceId(), vm.getCloudProvider());
+                return;
+            }
+            final List<NodeInstance> nodes = apiStateSource.findNodes(vm.getPrivateIp());
             if (CollectionUtils.isNotEmpty(nodes)) {
                 log.debug("Found {} node(s) matching VM {} {}", nodes.size(),
                         vm.getInstanceId(), vm.getCloudProvider());
                 checkMatchingNodes(nodes, vm);
             } else {
                 log.debug("No matching nodes were found for VM {} {}.", vm.getInstanceId(), vm.getCloudProvider());
-                if (!matchingRunExists(vm) && !checkVMPoolNode(vm)) {
+                if (!matchingRunExists(vm, apiStateSource) && !checkVMPoolNode(vm)) {
                     final Map<String, String> vmTags = MapUtils.emptyIfNull(vm.getTags());
                     final List<PipelineRun> matchingRuns = findLongValueInMap(vmTags, runIdLabel)
                         .map(runId -> loadPipelineRun(runId).orElseGet(() -> new PipelineRun(runId, null)))
@@ -142,26 +193,35 @@ public class VMMonitor {
         }
     }
 
-    private boolean matchingRunExists(final VirtualMachine vm) {
+    private boolean isRegistered(final VirtualMachine vm, final VMStateSource source) {
+        final List<NodeInstance> nodes = source.findNodes(vm.getPrivateIp());
+        if (CollectionUtils.isEmpty(nodes)) {
+            return matchingRunExists(vm, source) || checkVMPoolNode(vm);
+        }
+        return nodes.stream().allMatch(node -> matchingRunExists(vm, source) || poolIdExists(vm, node, source)
+                || CollectionUtils.isEmpty(getMissingLabels(node)));
+    }
+
+    private boolean matchingRunExists(final VirtualMachine vm, final VMStateSource source) {
         log.debug("Checking whether a run exists matching instance.");
         final String runIdValue = MapUtils.emptyIfNull(vm.getTags()).get(runIdLabel);
         if (StringUtils.isNotBlank(runIdValue) && NumberUtils.isDigits(runIdValue)) {
             final long runId = Long.parseLong(runIdValue);
             log.debug("VM {} {} is associated with run id {}. Checking run status.",
                     vm.getInstanceId(), vm.getCloudProvider(), runId);
-            return isRunActive(vm, runId);
+            return isRunActive(vm, runId, source);
         }
         return false;
     }
 
-    private boolean poolIdExists(final VirtualMachine vm, final NodeInstance node) {
+    private boolean poolIdExists(final VirtualMachine vm, final NodeInstance node, final VMStateSource source) {
         log.debug("Checking whether a node pool with corresponding pool id exists.");
         final String poolIdValue = MapUtils.emptyIfNull(node.getLabels()).get(poolIdLabel);
         if (StringUtils.isNotBlank(poolIdValue) && NumberUtils.isDigits(poolIdValue)) {
             final long poolId = Long.parseLong(poolIdValue);
             log.debug("NodeInstance {} {} is associated with pool id {}. Checking node pool existence.",
                     node.getUid(), node.getClusterName(), poolId);
-            return isNodePoolExists(poolId);
+            return source.isNodePoolExists(poolId);
         }
         return checkVMPoolNode(vm);
     }
@@ -190,8 +250,8 @@ public class VMMonitor {
         return nodePools.stream().map(NodePool::getId).collect(Collectors.toList()).contains(poolId);
     }
 
-    private boolean isRunActive(final VirtualMachine vm, final long runId) {
-        return loadPipelineRun(runId)
+    private boolean isRunActive(final VirtualMachine vm, final long runId, final VMStateSource source) {
+        return source.findRun(runId)
             .map(PipelineRun::getStatus)
             .map(status -> {
                 if (status.isFinal()) {
@@ -219,7 +279,7 @@ public class VMMonitor {
 
     private void checkLabels(final NodeInstance node, final VirtualMachine vm) {
         log.debug("Checking status of node {} for VM {} {}", node.getName(), vm.getInstanceId(), vm.getCloudProvider());
-        if (matchingRunExists(vm) || poolIdExists(vm, node)) {
+        if (matchingRunExists(vm, apiStateSource) || poolIdExists(vm, node, apiStateSource)) {
             return;
         }
         log.debug("Checking whether node {} is labeled with required tags.", node.getName());
@@ -261,4 +321,22 @@ public class VMMonitor {
                 })
                 .collect(Collectors.toList());
     }
+
+    private class ApiStateSource implements VMStateSource {
+
+        @Override
+        public List<NodeInstance> findNodes(final String ip) {
+            return apiClient.findNodes(ip);
+        }
+
+        @Override
+        public Optional<PipelineRun> findRun(final long runId) {
+            return loadPipelineRun(runId);
+        }
+
+        @Override
+        public boolean isNodePoolExists(final long poolId) {
+            return VMMonitor.this.isNodePoolExists(poolId);
+        }
+    }
 }
@@ -30,10 +30,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Component
 @Slf4j
@@ -58,8 +58,8 @@ public class VMNotifier {
         this.missingNodeTemplatePath = missingNodeTemplatePath;
         this.missingLabelsSubject = missingLabelsSubject;
         this.missingLabelsTemplatePath = missingLabelsTemplatePath;
-        this.missingNodes = new LinkedList<>();
-        this.missingLabelsSummaries = new LinkedList<>();
+        this.missingNodes = new ConcurrentLinkedQueue<>();
+        this.missingLabelsSummaries = new ConcurrentLinkedQueue<>();
     }
 
     public void sendNotifications() {
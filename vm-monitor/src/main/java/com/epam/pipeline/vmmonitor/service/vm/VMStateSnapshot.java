@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.epam.pipeline.vmmonitor.service.vm;
+
+import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.NodeInstanceAddress;
+import com.epam.pipeline.entity.cluster.pool.NodePool;
+import com.epam.pipeline.entity.pipeline.PipelineRun;
+import lombok.Value;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of cluster nodes, active runs and node pools loaded once per monitoring pass.
+ *
+ * Nodes are indexed by their addresses, active runs are indexed by run id (the value of a VM run id label),
+ * so VMs may be matched without any additional API requests. Runs which are not active are not present
+ * in the snapshot, they shall be loaded from API if required.
+ */
+final class VMStateSnapshot implements VMStateSource {
+
+    private final Map<String, List<NodeInstance>> nodesByIp;
+    private final Map<Long, PipelineRun> activeRunsById;
+    private final Set<Long> poolIds;
+
+    private VMStateSnapshot(final List<NodeInstance> nodes, final List<PipelineRun> activeRuns,
+                            final List<NodePool> pools) {
+        this.nodesByIp = Collections.unmodifiableMap(nodes.stream()
+                .flatMap(node -> ListUtils.emptyIfNull(node.getAddresses()).stream()
+                        .map(NodeInstanceAddress::getAddress)
+                        .filter(StringUtils::isNotBlank)
+                        .map(String::toLowerCase)
+                        .distinct()
+                        .map(address -> new NodeAddress(address, node)))
+                .collect(Collectors.groupingBy(NodeAddress::getAddress,
+                        Collectors.mapping(NodeAddress::getNode, Collectors.toList()))));
+        this.activeRunsById = Collections.unmodifiableMap(activeRuns.stream()
+                .filter(run -> run.getId() != null)
+                .collect(Collectors.toMap(PipelineRun::getId, Function.identity(), (r1, r2) -> r1, HashMap::new)));
+        this.poolIds = Collections.unmodifiableSet(pools.stream()
+                .map(NodePool::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+    }
+
+    static VMStateSnapshot of(final Collection<NodeInstance> nodes, final Collection<PipelineRun> activeRuns,
+                              final Collection<NodePool> pools) {
+        return new VMStateSnapshot(toList(nodes), toList(activeRuns), toList(pools));
+    }
+
+    @Override
+    public List<NodeInstance> findNodes(final String ip) {
+        return StringUtils.isBlank(ip)
+                ? Collections.emptyList()
+                : nodesByIp.getOrDefault(ip.toLowerCase(), Collections.emptyList());
+    }
+
+    @Override
+    public Optional<PipelineRun> findRun(final long runId) {
+        return Optional.ofNullable(activeRunsById.get(runId));
+    }
+
+    @Override
+    public boolean isNodePoolExists(final long poolId) {
+        return poolIds.contains(poolId);
+    }
+
+    private static <T> List<T> toList(final Collection<T> items) {
+        return items == null
+                ? Collections.emptyList()
+                : items.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Value
+    private static class NodeAddress {
+        String address;
+        NodeInstance node;
+    }
+}
@@ -17,6 +17,7 @@
 package com.epam.pipeline.vmmonitor.service.vm;
 
 import com.epam.pipeline.entity.cluster.NodeInstance;
+import com.epam.pipeline.entity.cluster.NodeInstanceAddress;
 import com.epam.pipeline.entity.cluster.pool.NodePool;
 import com.epam.pipeline.entity.pipeline.PipelineRun;
 import com.epam.pipeline.entity.pipeline.TaskStatus;
@@ -30,6 +31,9 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -44,6 +48,9 @@ public class VMMonitorTest {
     private static final String POOL_ID_VALUE = "123";
     private static final Long POOL_ID = 123L;
     private static final int VM_MAX_LIVE_MINUTES = 60;
+    private static final int REGION_THREADS = 2;
+    private static final Long RUN_ID = 42L;
+    private static final String PRIVATE_IP = "10.0.0.1";
     private final Map<String, String> vmTags = Collections.singletonMap(RUN_ID_LABEL, RUN_ID_VALUE);
     private final Map<String, String> nodeLabels = Collections.singletonMap(POOL_ID_LABEL, POOL_ID_VALUE);
     private final AwsRegion region = new AwsRegion(CloudProvider.AWS, TEST_STRING, TEST_STRING, TEST_STRING,
@@ -60,7 +67,7 @@ public class VMMonitorTest {
         doReturn(CloudProvider.AWS).when(mockService).provider();
         vm = VirtualMachine.builder().tags(vmTags).build();
         monitor = new VMMonitor(mockApiClient, notifier, Collections.singletonList(mockService),
-                RUN_ID_LABEL, RUN_ID_LABEL, POOL_ID_LABEL, VM_MAX_LIVE_MINUTES);
+                RUN_ID_LABEL, RUN_ID_LABEL, POOL_ID_LABEL, VM_MAX_LIVE_MINUTES, true, REGION_THREADS);
 
     }
 
@@ -91,4 +98,29 @@ public class VMMonitorTest {
 
         verify(notifier).queueMissingNodeNotification(vm, Collections.emptyList(), null);
     }
+
+    @Test
+    public void shouldMatchVmWithClusterStateSnapshotWithoutPerVmRequests() {
+        final VirtualMachine registeredVm = VirtualMachine.builder()
+                .privateIp(PRIVATE_IP)
+                .tags(Collections.singletonMap(RUN_ID_LABEL, String.valueOf(RUN_ID)))
+                .build();
+        final NodeInstanceAddress address = new NodeInstanceAddress();
+        address.setAddress(PRIVATE_IP);
+        final NodeInstance nodeInstance = new NodeInstance();
+        nodeInstance.setAddresses(Collections.singletonList(address));
+        final PipelineRun pipelineRun = new PipelineRun();
+        pipelineRun.setId(RUN_ID);
+        pipelineRun.setStatus(TaskStatus.RUNNING);
+        doReturn(Collections.singletonList(region)).when(mockApiClient).loadRegions();
+        doReturn(Collections.singletonList(registeredVm)).when(mockService).fetchRunningVms(region);
+        doReturn(Collections.singletonList(nodeInstance)).when(mockApiClient).loadNodes();
+        doReturn(Collections.singletonList(pipelineRun)).when(mockApiClient).loadActiveRuns();
+        monitor.monitor();
+
+        verify(mockApiClient, never()).findNodes(anyString());
+        verify(mockApiClient, never()).loadRun(anyLong());
+        verify(notifier, never()).queueMissingNodeNotification(any(), any(), any());
+        verify(notifier, never()).queueMissingLabelsNotification(any(), any(), any(), any(), any());
+    }
 }